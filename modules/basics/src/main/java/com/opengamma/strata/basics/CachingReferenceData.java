@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.opengamma.strata.basics.schedule.PeriodicSchedule;
+import com.opengamma.strata.basics.schedule.ScheduleCache;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+
+/**
+ * A set of reference data which caches the values found in an underlying set of reference data.
+ * <p>
+ * When resolving a large portfolio, the same identifiers are looked up many times.
+ * Some values are derived each time they are looked up, notably the combined calendar of an
+ * identifier such as 'GBLO+USNY', which is created from the separate calendars.
+ * This class caches each value found in the underlying reference data, keyed by identifier,
+ * such that derived values are only created once and subsequent lookups are a single map access.
+ * <p>
+ * The cache is a concurrent map, so lookups of values that have been cached do not lock.
+ * Identifiers that are not found are not cached.
+ * The underlying reference data is expected to be immutable, as changes to it will not be seen
+ * for identifiers that have already been cached.
+ * <p>
+ * A {@link ScheduleCache} may also be attached, in which case {@link PeriodicSchedule#createSchedule(ReferenceData)}
+ * shares the schedules of equal definitions when resolving with this reference data.
+ * The schedule cache is the value of {@link ScheduleCache#REFERENCE_DATA_ID}.
+ * <p>
+ * This class is mutable and thread-safe.
+ */
+public final class CachingReferenceData
+    implements ReferenceData {
+
+  /**
+   * The underlying reference data.
+   */
+  private final ReferenceData underlying;
+  /**
+   * The cached values by identifier.
+   */
+  private final ConcurrentHashMap<ReferenceDataId<?>, Object> cache = new ConcurrentHashMap<>();
+  /**
+   * The cache of schedules, null if schedules are not cached.
+   */
+  private final ScheduleCache scheduleCache;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance that caches the values found in the underlying reference data.
+   * <p>
+   * If the underlying reference data is already caching, it is returned.
+   *
+   * @param underlying  the underlying reference data
+   * @return the caching reference data
+   */
+  public static CachingReferenceData of(ReferenceData underlying) {
+    ArgChecker.notNull(underlying, "underlying");
+    if (underlying instanceof CachingReferenceData) {
+      return (CachingReferenceData) underlying;
+    }
+    return new CachingReferenceData(underlying, null);
+  }
+
+  /**
+   * Obtains an instance that caches the values found in the underlying reference data,
+   * and the schedules created when resolving.
+   * <p>
+   * If the underlying reference data is already caching, the new instance caches from its underlying data.
+   *
+   * @param underlying  the underlying reference data
+   * @param scheduleCache  the cache of schedules
+   * @return the caching reference data
+   */
+  public static CachingReferenceData of(ReferenceData underlying, ScheduleCache scheduleCache) {
+    ArgChecker.notNull(underlying, "underlying");
+    ArgChecker.notNull(scheduleCache, "scheduleCache");
+    if (underlying instanceof CachingReferenceData) {
+      return new CachingReferenceData(((CachingReferenceData) underlying).underlying, scheduleCache);
+    }
+    return new CachingReferenceData(underlying, scheduleCache);
+  }
+
+  // restricted constructor
+  private CachingReferenceData(ReferenceData underlying, ScheduleCache scheduleCache) {
+    this.underlying = underlying;
+    this.scheduleCache = scheduleCache;
+    if (scheduleCache != null) {
+      cache.put(ScheduleCache.REFERENCE_DATA_ID, scheduleCache);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the underlying reference data.
+   *
+   * @return the underlying reference data
+   */
+  public ReferenceData getUnderlying() {
+    return underlying;
+  }
+
+  /**
+   * Gets the cache of schedules, empty if schedules are not cached.
+   *
+   * @return the cache of schedules
+   */
+  public Optional<ScheduleCache> getScheduleCache() {
+    return Optional.ofNullable(scheduleCache);
+  }
+
+  /**
+   * Returns the number of values in the cache.
+   *
+   * @return the size of the cache
+   */
+  public int cacheSize() {
+    return cache.size();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean containsValue(ReferenceDataId<?> id) {
+    return queryValueOrNull(id) != null;
+  }
+
+  @Override
+  public <T> T getValue(ReferenceDataId<T> id) {
+    T value = queryValueOrNull(id);
+    if (value == null) {
+      throw new ReferenceDataNotFoundException(msgValueNotFound(id));
+    }
+    return value;
+  }
+
+  // extracted to aid inlining performance
+  private String msgValueNotFound(ReferenceDataId<?> id) {
+    return Messages.format(
+        "Reference data not found for identifier '{}' of type '{}'", id, id.getClass().getSimpleName());
+  }
+
+  @Override
+  public <T> Optional<T> findValue(ReferenceDataId<T> id) {
+    return Optional.ofNullable(queryValueOrNull(id));
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T queryValueOrNull(ReferenceDataId<T> id) {
+    Object value = cache.get(id);
+    return value != null ? (T) value : lookup(id);
+  }
+
+  // looks up the value in the underlying reference data, broken out to aid inlining
+  private <T> T lookup(ReferenceDataId<T> id) {
+    // the identifier derives the value, such as a combined calendar, from the underlying data
+    T value = id.queryValueOrNull(underlying);
+    if (value == null) {
+      return null;
+    }
+    // first value cached wins, ensuring all threads see the same instance
+    @SuppressWarnings("unchecked")
+    T cached = (T) cache.putIfAbsent(id, value);
+    return cached != null ? cached : value;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "CachingReferenceData[underlying=" + underlying + ", cacheSize=" + cache.size() + "]";
+  }
+
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics;
+
+/**
+ * A reference to a calculation target, which creates the target when it is needed.
+ * <p>
+ * A large number of targets, such as a book of trades, can be held in a compact form
+ * and passed to the calculation runner as references. The calculation tasks hold the reference
+ * rather than the target, creating the target each time a calculation is performed.
+ * As such, the targets are not all held in memory for the whole of the calculation.
+ * <p>
+ * All implementations of this interface must be immutable and thread-safe.
+ */
+public interface CalculationTargetReference extends CalculationTarget {
+
+  /**
+   * Creates the target that this reference refers to.
+   * <p>
+   * Each call may return a new instance, but all instances must be equal.
+   * 
+   * @return the target
+   */
+  public abstract CalculationTarget createTarget();
+
+}
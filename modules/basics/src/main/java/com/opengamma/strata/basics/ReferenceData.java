@@ -21,6 +21,7 @@ import com.opengamma.strata.collect.Messages;
  * The identifier is parameterized with the type of the reference data to be returned.
  * <p>
  * The standard implementation is {@link ImmutableReferenceData}.
+ * Lookups can be cached when resolving many trades using {@link CachingReferenceData}.
  */
 public interface ReferenceData {
 
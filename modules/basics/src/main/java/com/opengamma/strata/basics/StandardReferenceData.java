@@ -5,12 +5,15 @@
  */
 package com.opengamma.strata.basics;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.Serializable;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.date.HolidayCalendar;
+import com.opengamma.strata.basics.date.HolidayCalendarId;
 import com.opengamma.strata.basics.date.HolidayCalendars;
+import com.opengamma.strata.collect.Messages;
 
 /**
  * Provides standard reference data for holiday calendars in common currencies.
@@ -19,15 +22,11 @@ final class StandardReferenceData {
 
   /**
    * Standard reference data.
+   * <p>
+   * The holiday calendars are looked up by name when first requested, as generating
+   * all the calendars is expensive relative to the number typically used.
    */
-  static final ImmutableReferenceData STANDARD;
-  static {
-    Map<ReferenceDataId<?>, Object> map = new HashMap<>();
-    for (HolidayCalendar cal : HolidayCalendars.extendedEnum().lookupAllNormalized().values()) {
-      map.put(cal.getId(), cal);
-    }
-    STANDARD = ImmutableReferenceData.of(map);
-  }
+  static final ReferenceData STANDARD = new StandardHolidayCalendarData();
   /**
    * Minimal reference data.
    */
@@ -45,4 +44,70 @@ final class StandardReferenceData {
   private StandardReferenceData() {
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Reference data containing the holiday calendars of {@link HolidayCalendars#extendedEnum()}.
+   */
+  private static final class StandardHolidayCalendarData implements ReferenceData, Serializable {
+
+    /** Serialization version. */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The calendars found so far.
+     */
+    private final transient ConcurrentHashMap<HolidayCalendarId, HolidayCalendar> calendars = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean containsValue(ReferenceDataId<?> id) {
+      return id.queryValueOrNull(this) != null;
+    }
+
+    @Override
+    public <T> T getValue(ReferenceDataId<T> id) {
+      T value = id.queryValueOrNull(this);
+      if (value == null) {
+        throw new ReferenceDataNotFoundException(Messages.format(
+            "Reference data not found for identifier '{}' of type '{}'", id, id.getClass().getSimpleName()));
+      }
+      return value;
+    }
+
+    @Override
+    public <T> Optional<T> findValue(ReferenceDataId<T> id) {
+      // the identifier derives the value, such as a combined calendar
+      return Optional.ofNullable(id.queryValueOrNull(this));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T queryValueOrNull(ReferenceDataId<T> id) {
+      if (!(id instanceof HolidayCalendarId)) {
+        return null;
+      }
+      HolidayCalendarId calId = (HolidayCalendarId) id;
+      HolidayCalendar cal = calendars.get(calId);
+      if (cal == null) {
+        // only the standard name of a calendar is present, not alternate names or combinations
+        cal = HolidayCalendars.extendedEnum().find(calId.getName())
+            .filter(found -> found.getId().equals(calId))
+            .orElse(null);
+        if (cal != null) {
+          calendars.putIfAbsent(calId, cal);
+        }
+      }
+      return (T) cal;
+    }
+
+    // resolve to the singleton
+    private Object readResolve() {
+      return STANDARD;
+    }
+
+    @Override
+    public String toString() {
+      return "StandardReferenceData";
+    }
+  }
+
 }
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.basics.date;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 import static java.time.DayOfWeek.FRIDAY;
 import static java.time.DayOfWeek.MONDAY;
 import static java.time.DayOfWeek.SATURDAY;
@@ -25,7 +26,14 @@ import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.collect.named.NamedLookup;
 
 /**
  * Implementation of some common global holiday calendars.
@@ -33,199 +41,48 @@ import java.util.Set;
  * The data provided here has been identified through direct research and is not
  * derived from a vendor of holiday calendar data.
  * This data may or may not be sufficient for your production needs.
+ * <p>
+ * Generating a calendar from its rules is relatively expensive, so each calendar is only
+ * generated when it is first looked up by name, and then retained.
  */
-final class GlobalHolidayCalendars {
+final class GlobalHolidayCalendars
+    implements NamedLookup<HolidayCalendar> {
 
   /**
-   * The holiday calendar for London, United Kingdom, with code 'GBLO'.
-   * <p>
-   * This constant provides the calendar for London bank holidays.
-   * <p>
-   * The default implementation is based on original research and covers 1950 to 2099.
-   * Future dates are an extrapolations of the latest known rules.
-   */
-  public static final HolidayCalendar GBLO = generateLondon();
-  /**
-   * The holiday calendar for Paris, France, with code 'FRPA'.
-   * <p>
-   * This constant provides the calendar for Paris public holidays.
-   * <p>
-   * The default implementation is based on original research and covers 1950 to 2099.
-   * Future and past dates are an extrapolations of the latest known rules.
-   */
-  public static final HolidayCalendar FRPA = generateParis();
-  /**
-   * The holiday calendar for Zurich, Switzerland, with code 'EUTA'.
-   * <p>
-   * This constant provides the calendar for Zurich public holidays.
-   * <p>
-   * The default implementation is based on original research and covers 1950 to 2099.
-   * Future and past dates are an extrapolations of the latest known rules.
-   */
-  public static final HolidayCalendar CHZU = generateZurich();
-  /**
-   * The holiday calendar for the European Union TARGET system, with code 'EUTA'.
-   * <p>
-   * This constant provides the calendar for the TARGET interbank payment system holidays.
-   * <p>
-   * The default implementation is based on original research and covers 1997 to 2099.
-   * Future dates are an extrapolations of the latest known rules.
-   * <p>
-   * Referenced by the 2006 ISDA definitions 1.8.
-   */
-  public static final HolidayCalendar EUTA = generateEuropeanTarget();
-  /**
-   * The holiday calendar for United States Government Securities, with code 'USGS'.
-   * <p>
-   * This constant provides the calendar for United States Government Securities as per SIFMA.
-   * <p>
-   * The default implementation is based on original research and covers 1950 to 2099.
-   * Future and past dates are an extrapolations of the latest known rules.
-   * <p>
-   * Referenced by the 2006 ISDA definitions 1.11.
-   */
-  public static final HolidayCalendar USGS = generateUsGovtSecurities();
-  /**
-   * The holiday calendar for New York, United States, with code 'USNY'.
-   * <p>
-   * This constant provides the calendar for New York holidays.
-   * <p>
-   * The default implementation is based on original research and covers 1950 to 2099.
-   * Future and past dates are an extrapolations of the latest known rules.
+   * The singleton instance of the lookup.
    */
-  public static final HolidayCalendar USNY = generateUsNewYork();
-  /**
-   * The holiday calendar for the Federal Reserve Bank of New York, with code 'NYFD'.
-   * <p>
-   * This constant provides the calendar for the Federal Reserve Bank of New York holidays.
-   * <p>
-   * The default implementation is based on original research and covers 1950 to 2099.
-   * Future and past dates are an extrapolations of the latest known rules.
-   * <p>
-   * Referenced by the 2006 ISDA definitions 1.9.
-   */
-  public static final HolidayCalendar NYFD = generateNewYorkFed();
-  /**
-   * The holiday calendar for the New York Stock Exchange, with code 'NYSE'.
-   * <p>
-   * This constant provides the calendar for the New York Stock Exchange.
-   * <p>
-   * The default implementation is based on original research and covers 1950 to 2099.
-   * Future and past dates are an extrapolations of the latest known rules.
-   * <p>
-   * Referenced by the 2006 ISDA definitions 1.10.
-   */
-  public static final HolidayCalendar NYSE = generateNewYorkStockExchange();
-  /**
-   * The holiday calendar for Tokyo, Japan, with code 'JPTO'.
-   * <p>
-   * This constant provides the calendar for Tokyo bank holidays.
-   * <p>
-   * The default implementation is based on original research and covers 1950 to 2099.
-   * Future and past dates are an extrapolations of the latest known rules.
-   */
-  public static final HolidayCalendar JPTO = generateTokyo();
+  public static final GlobalHolidayCalendars INSTANCE = new GlobalHolidayCalendars();
 
   /**
-   * The holiday calendar for Sydney, Australia, with code 'AUSY'.
-   * <p>
-   * This constant provides the calendar for Sydney holidays.
-   * <p>
-   * The default implementation is based on original research and covers 1950 to 2099.
-   * Future and past dates are an extrapolations of the latest known rules.
-   */
-  public static final HolidayCalendar AUSY = generateSydney();
-  /**
-   * The holiday calendar for Brazil with code 'BRBD'.
-   * <p>
-   * This constant references the combined calendar for Brazil bank holidays.
-   * This unites city-level calendars.
-   * <p>
-   * The default implementation is based on original research and covers 1950 to 2099.
-   * Future and past dates are an extrapolations of the latest known rules.
-   */
-  public static final HolidayCalendar BRBD = generateBrazil();
-  /**
-   * The holiday calendar for Toronto, Canada, with code 'CATO'.
-   * <p>
-   * This constant provides the calendar for Toronto holidays.
-   * <p>
-   * The default implementation is based on original research and covers 1950 to 2099.
-   * Future and past dates are an extrapolations of the latest known rules.
-   */
-  public static final HolidayCalendar CATO = generateToronto();
-  /**
-   * The holiday calendar of Prague, Czech Republic, with code 'CZPR'.
-   * <p>
-   * This constant provides the calendar for Prague bank holidays.
-   * <p>
-   * The default implementation is based on original research and covers 1950 to 2099.
-   * Future and past dates are an extrapolations of the latest known rules.
-   */
-  public static final HolidayCalendar CZPR = generatePrague();
-  /**
-   * The holiday calendar for Copenhagen, Denmark, with code 'DKCO'.
-   * <p>
-   * This constant provides the calendar for Copenhagen holidays.
-   * <p>
-   * The default implementation is based on original research and covers 1950 to 2099.
-   * Future and past dates are an extrapolations of the latest known rules.
-   */
-  public static final HolidayCalendar DKCO = generateCopenhagen();
-  /**
-   * The holiday calendar for Budapest, Hungary, with code 'HUBU'.
-   * <p>
-   * This constant provides the calendar for Budapest holidays.
-   * <p>
-   * The default implementation is based on original research and covers 1950 to 2099.
-   * Future and past dates are an extrapolations of the latest known rules.
-   */
-  public static final HolidayCalendar HUBU = generateBudapest();
-  /**
-   * The holiday calendar for Mexico City, Mexico, with code 'HUBU'.
-   * <p>
-   * This constant provides the calendar for Mexico City holidays.
-   * <p>
-   * The default implementation is based on original research and covers 1950 to 2099.
-   * Future and past dates are an extrapolations of the latest known rules.
+   * The functions generating the calendars, keyed by name.
    */
-  public static final HolidayCalendar MXMC = generateMexicoCity();
+  private static final ImmutableMap<String, Supplier<HolidayCalendar>> GENERATORS =
+      ImmutableMap.<String, Supplier<HolidayCalendar>>builder()
+          .put("GBLO", GlobalHolidayCalendars::generateLondon)
+          .put("FRPA", GlobalHolidayCalendars::generateParis)
+          .put("CHZU", GlobalHolidayCalendars::generateZurich)
+          .put("EUTA", GlobalHolidayCalendars::generateEuropeanTarget)
+          .put("USGS", GlobalHolidayCalendars::generateUsGovtSecurities)
+          .put("USNY", GlobalHolidayCalendars::generateUsNewYork)
+          .put("NYFD", GlobalHolidayCalendars::generateNewYorkFed)
+          .put("NYSE", GlobalHolidayCalendars::generateNewYorkStockExchange)
+          .put("JPTO", GlobalHolidayCalendars::generateTokyo)
+          .put("AUSY", GlobalHolidayCalendars::generateSydney)
+          .put("BRBD", GlobalHolidayCalendars::generateBrazil)
+          .put("CATO", GlobalHolidayCalendars::generateToronto)
+          .put("CZPR", GlobalHolidayCalendars::generatePrague)
+          .put("DKCO", GlobalHolidayCalendars::generateCopenhagen)
+          .put("HUBU", GlobalHolidayCalendars::generateBudapest)
+          .put("MXMC", GlobalHolidayCalendars::generateMexicoCity)
+          .put("NOOS", GlobalHolidayCalendars::generateOslo)
+          .put("PLWA", GlobalHolidayCalendars::generateWarsaw)
+          .put("SEST", GlobalHolidayCalendars::generateStockholm)
+          .put("ZAJO", GlobalHolidayCalendars::generateJohannesburg)
+          .build();
   /**
-   * The holiday calendar for Oslo, Norway, with code 'NOOS'.
-   * <p>
-   * This constant provides the calendar for Oslo holidays.
-   * <p>
-   * The default implementation is based on original research and covers 1950 to 2099.
-   * Future and past dates are an extrapolations of the latest known rules.
+   * The calendars generated so far, keyed by name.
    */
-  public static final HolidayCalendar NOOS = generateOslo();
-  /**
-   * The holiday calendar for Warsaw, Poland, with code 'PLWA'.
-   * <p>
-   * This constant provides the calendar for Warsaw holidays.
-   * <p>
-   * The default implementation is based on original research and covers 1950 to 2099.
-   * Future and past dates are an extrapolations of the latest known rules.
-   */
-  public static final HolidayCalendar PLWA = generateWarsaw();
-  /**
-   * The holiday calendar for Stockholm, Sweden, with code 'SEST'.
-   * <p>
-   * This constant provides the calendar for Stockholm holidays.
-   * <p>
-   * The default implementation is based on original research and covers 1950 to 2099.
-   * Future and past dates are an extrapolations of the latest known rules.
-   */
-  public static final HolidayCalendar SEST = generateStockholm();
-  /**
-   * The holiday calendar for Johannesburg, South Africa, with code 'ZAJO'.
-   * <p>
-   * This constant provides the calendar for Johannesburg holidays.
-   * <p>
-   * The default implementation is based on original research and covers 1950 to 2099.
-   * Future and past dates are an extrapolations of the latest known rules.
-   */
-  public static final HolidayCalendar ZAJO = generateJohannesburg();
+  private static final ConcurrentMap<String, HolidayCalendar> GENERATED = new ConcurrentHashMap<>();
 
   //-------------------------------------------------------------------------
   /**
@@ -234,6 +91,22 @@ final class GlobalHolidayCalendars {
   private GlobalHolidayCalendars() {
   }
 
+  //-------------------------------------------------------------------------
+  @Override
+  public HolidayCalendar lookup(String name) {
+    Supplier<HolidayCalendar> generator = GENERATORS.get(name);
+    if (generator == null) {
+      return null;
+    }
+    return GENERATED.computeIfAbsent(name, key -> generator.get());
+  }
+
+  @Override
+  public Map<String, HolidayCalendar> lookupAll() {
+    return GENERATORS.keySet().stream()
+        .collect(toImmutableMap(name -> name, name -> lookup(name)));
+  }
+
   //-------------------------------------------------------------------------
   // generate GBLO
   // common law (including before 1871) good friday and christmas day (unadjusted for weekends)
@@ -250,6 +123,16 @@ final class GlobalHolidayCalendars {
   // 1968, 3rd Jun, 2nd Sep - http://hansard.millbanksystems.com/written_answers/1965/jun/03/bank-holidays-1967-and-1968
   // 1969, 26th May, 1st Sep - http://hansard.millbanksystems.com/written_answers/1967/mar/21/bank-holidays-1969-dates
   // 1970, 25th May, 31st Aug - http://hansard.millbanksystems.com/written_answers/1967/jul/28/bank-holidays
+  /**
+   * The holiday calendar for London, United Kingdom, with code 'GBLO'.
+   * <p>
+   * This generates the calendar for London bank holidays.
+   * <p>
+   * The default implementation is based on original research and covers 1950 to 2099.
+   * Future dates are an extrapolations of the latest known rules.
+   *
+   * @return the calendar
+   */
   static ImmutableHolidayCalendar generateLondon() {
     List<LocalDate> holidays = new ArrayList<>(2000);
     for (int year = 1950; year <= 2099; year++) {
@@ -312,6 +195,16 @@ final class GlobalHolidayCalendars {
   // https://www.euronext.com/en/holidays-and-hours
   // https://www.euronext.com/en/trading/nyse-euronext-trading-calendar/archives
   // evidence suggests that Monday is holiday when Tuesday is, and Friday is holiday when Thursday is
+  /**
+   * The holiday calendar for Paris, France, with code 'FRPA'.
+   * <p>
+   * This generates the calendar for Paris public holidays.
+   * <p>
+   * The default implementation is based on original research and covers 1950 to 2099.
+   * Future and past dates are an extrapolations of the latest known rules.
+   *
+   * @return the calendar
+   */
   static ImmutableHolidayCalendar generateParis() {
     List<LocalDate> holidays = new ArrayList<>(2000);
     for (int year = 1950; year <= 2099; year++) {
@@ -344,6 +237,16 @@ final class GlobalHolidayCalendars {
   // https://github.com/lballabio/quantlib/blob/master/QuantLib/ql/time/calendars/switzerland.cpp
   // http://www.six-swiss-exchange.com/funds/trading/trading_and_settlement_calendar_en.html
   // http://www.six-swiss-exchange.com/swx_messages/online/swx7299e.pdf
+  /**
+   * The holiday calendar for Zurich, Switzerland, with code 'CHZU'.
+   * <p>
+   * This generates the calendar for Zurich public holidays.
+   * <p>
+   * The default implementation is based on original research and covers 1950 to 2099.
+   * Future and past dates are an extrapolations of the latest known rules.
+   *
+   * @return the calendar
+   */
   static ImmutableHolidayCalendar generateZurich() {
     List<LocalDate> holidays = new ArrayList<>(2000);
     for (int year = 1950; year <= 2099; year++) {
@@ -377,6 +280,18 @@ final class GlobalHolidayCalendars {
   // http://www.ecb.europa.eu/press/pr/date/2000/html/pr000525_2.en.html
   // from 2002, Jan 1, good friday, easter monday, May 1, christmas day, Dec 26
   // http://www.ecb.europa.eu/press/pr/date/2000/html/pr001214_4.en.html
+  /**
+   * The holiday calendar for the European Union TARGET system, with code 'EUTA'.
+   * <p>
+   * This generates the calendar for the TARGET interbank payment system holidays.
+   * <p>
+   * The default implementation is based on original research and covers 1997 to 2099.
+   * Future dates are an extrapolations of the latest known rules.
+   * <p>
+   * Referenced by the 2006 ISDA definitions 1.8.
+   *
+   * @return the calendar
+   */
   static ImmutableHolidayCalendar generateEuropeanTarget() {
     List<LocalDate> holidays = new ArrayList<>(2000);
     for (int year = 1997; year <= 2099; year++) {
@@ -453,6 +368,18 @@ final class GlobalHolidayCalendars {
 
   // generate USGS
   // http://www.sifma.org/services/holiday-schedule/
+  /**
+   * The holiday calendar for United States Government Securities, with code 'USGS'.
+   * <p>
+   * This generates the calendar for United States Government Securities as per SIFMA.
+   * <p>
+   * The default implementation is based on original research and covers 1950 to 2099.
+   * Future and past dates are an extrapolations of the latest known rules.
+   * <p>
+   * Referenced by the 2006 ISDA definitions 1.11.
+   *
+   * @return the calendar
+   */
   static ImmutableHolidayCalendar generateUsGovtSecurities() {
     List<LocalDate> holidays = new ArrayList<>(2000);
     for (int year = 1950; year <= 2099; year++) {
@@ -474,6 +401,16 @@ final class GlobalHolidayCalendars {
   // http://www.cs.ny.gov/attendance_leave/2013_legal_holidays.cfm
   // etc
   // ignore election day and lincoln day
+  /**
+   * The holiday calendar for New York, United States, with code 'USNY'.
+   * <p>
+   * This generates the calendar for New York holidays.
+   * <p>
+   * The default implementation is based on original research and covers 1950 to 2099.
+   * Future and past dates are an extrapolations of the latest known rules.
+   *
+   * @return the calendar
+   */
   static ImmutableHolidayCalendar generateUsNewYork() {
     List<LocalDate> holidays = new ArrayList<>(2000);
     for (int year = 1950; year <= 2099; year++) {
@@ -486,6 +423,18 @@ final class GlobalHolidayCalendars {
   //-------------------------------------------------------------------------
   // generate NYFD
   // http://www.ny.frb.org/aboutthefed/holiday_schedule.html
+  /**
+   * The holiday calendar for the Federal Reserve Bank of New York, with code 'NYFD'.
+   * <p>
+   * This generates the calendar for the Federal Reserve Bank of New York holidays.
+   * <p>
+   * The default implementation is based on original research and covers 1950 to 2099.
+   * Future and past dates are an extrapolations of the latest known rules.
+   * <p>
+   * Referenced by the 2006 ISDA definitions 1.9.
+   *
+   * @return the calendar
+   */
   static ImmutableHolidayCalendar generateNewYorkFed() {
     List<LocalDate> holidays = new ArrayList<>(2000);
     for (int year = 1950; year <= 2099; year++) {
@@ -499,6 +448,18 @@ final class GlobalHolidayCalendars {
   // generate NYSE
   // https://www.nyse.com/markets/hours-calendars
   // http://www1.nyse.com/pdfs/closings.pdf
+  /**
+   * The holiday calendar for the New York Stock Exchange, with code 'NYSE'.
+   * <p>
+   * This generates the calendar for the New York Stock Exchange.
+   * <p>
+   * The default implementation is based on original research and covers 1950 to 2099.
+   * Future and past dates are an extrapolations of the latest known rules.
+   * <p>
+   * Referenced by the 2006 ISDA definitions 1.10.
+   *
+   * @return the calendar
+   */
   static ImmutableHolidayCalendar generateNewYorkStockExchange() {
     List<LocalDate> holidays = new ArrayList<>(2000);
     for (int year = 1950; year <= 2099; year++) {
@@ -589,6 +550,16 @@ final class GlobalHolidayCalendars {
   // http://www8.cao.go.jp/chosei/shukujitsu/gaiyou.html (law)
   // http://www.nao.ac.jp/faq/a0301.html (equinox)
   // http://eco.mtk.nao.ac.jp/koyomi/faq/holiday.html.en
+  /**
+   * The holiday calendar for Tokyo, Japan, with code 'JPTO'.
+   * <p>
+   * This generates the calendar for Tokyo bank holidays.
+   * <p>
+   * The default implementation is based on original research and covers 1950 to 2099.
+   * Future and past dates are an extrapolations of the latest known rules.
+   *
+   * @return the calendar
+   */
   static ImmutableHolidayCalendar generateTokyo() {
     List<LocalDate> holidays = new ArrayList<>(2000);
     for (int year = 1950; year <= 2099; year++) {
@@ -698,6 +669,16 @@ final class GlobalHolidayCalendars {
   // http://www.tmxmoney.com/en/investor_tools/market_hours.html
   // http://www.statutoryholidayscanada.com/
   // http://www.osc.gov.on.ca/en/SecuritiesLaw_csa_20151209_13-315_sra-closed-dates.htm
+  /**
+   * The holiday calendar for Toronto, Canada, with code 'CATO'.
+   * <p>
+   * This generates the calendar for Toronto holidays.
+   * <p>
+   * The default implementation is based on original research and covers 1950 to 2099.
+   * Future and past dates are an extrapolations of the latest known rules.
+   *
+   * @return the calendar
+   */
   static ImmutableHolidayCalendar generateToronto() {
     List<LocalDate> holidays = new ArrayList<>(2000);
     for (int year = 1950; year <= 2099; year++) {
@@ -735,6 +716,16 @@ final class GlobalHolidayCalendars {
   // data sources
   // http://www.finansraadet.dk/Bankkunde/Pages/bankhelligdage.aspx
   // web archive history of those pages
+  /**
+   * The holiday calendar for Copenhagen, Denmark, with code 'DKCO'.
+   * <p>
+   * This generates the calendar for Copenhagen holidays.
+   * <p>
+   * The default implementation is based on original research and covers 1950 to 2099.
+   * Future and past dates are an extrapolations of the latest known rules.
+   *
+   * @return the calendar
+   */
   static ImmutableHolidayCalendar generateCopenhagen() {
     List<LocalDate> holidays = new ArrayList<>(2000);
     for (int year = 1950; year <= 2099; year++) {
@@ -775,6 +766,16 @@ final class GlobalHolidayCalendars {
   // http://www.oslobors.no/ob_eng/Oslo-Boers/About-Oslo-Boers/Opening-hours
   // http://www.oslobors.no/Oslo-Boers/Om-Oslo-Boers/AApningstider
   // web archive history of those pages
+  /**
+   * The holiday calendar for Oslo, Norway, with code 'NOOS'.
+   * <p>
+   * This generates the calendar for Oslo holidays.
+   * <p>
+   * The default implementation is based on original research and covers 1950 to 2099.
+   * Future and past dates are an extrapolations of the latest known rules.
+   *
+   * @return the calendar
+   */
   static ImmutableHolidayCalendar generateOslo() {
     List<LocalDate> holidays = new ArrayList<>(2000);
     for (int year = 1950; year <= 2099; year++) {
@@ -813,6 +814,16 @@ final class GlobalHolidayCalendars {
   // http://isap.sejm.gov.pl/DetailsServlet?id=WDU19510040028 and linked pages
   // https://www.gpw.pl/dni_bez_sesji_en
   // http://jollyday.sourceforge.net/data/pl.html
+  /**
+   * The holiday calendar for Warsaw, Poland, with code 'PLWA'.
+   * <p>
+   * This generates the calendar for Warsaw holidays.
+   * <p>
+   * The default implementation is based on original research and covers 1950 to 2099.
+   * Future and past dates are an extrapolations of the latest known rules.
+   *
+   * @return the calendar
+   */
   static ImmutableHolidayCalendar generateWarsaw() {
     // holiday law dates from 1951, but don't know situation before then, so ignore 1951 date
     List<LocalDate> holidays = new ArrayList<>(2000);
@@ -869,6 +880,16 @@ final class GlobalHolidayCalendars {
   // generate SEST
   // data sources - history of dates that STIBOR fixing occurred
   // http://www.riksbank.se/en/Interest-and-exchange-rates/search-interest-rates-exchange-rates/?g5-SEDP1MSTIBOR=on&from=2016-01-01&to=2016-10-05&f=Day&cAverage=Average&s=Comma#search
+  /**
+   * The holiday calendar for Stockholm, Sweden, with code 'SEST'.
+   * <p>
+   * This generates the calendar for Stockholm holidays.
+   * <p>
+   * The default implementation is based on original research and covers 1950 to 2099.
+   * Future and past dates are an extrapolations of the latest known rules.
+   *
+   * @return the calendar
+   */
   static ImmutableHolidayCalendar generateStockholm() {
     List<LocalDate> holidays = new ArrayList<>(2000);
     for (int year = 1950; year <= 2099; year++) {
@@ -907,6 +928,16 @@ final class GlobalHolidayCalendars {
   // http://www.rba.gov.au/schedules-events/bank-holidays/bank-holidays-2016.html
   // http://www.rba.gov.au/schedules-events/bank-holidays/bank-holidays-2017.html
   // web archive history of those pages
+  /**
+   * The holiday calendar for Sydney, Australia, with code 'AUSY'.
+   * <p>
+   * This generates the calendar for Sydney holidays.
+   * <p>
+   * The default implementation is based on original research and covers 1950 to 2099.
+   * Future and past dates are an extrapolations of the latest known rules.
+   *
+   * @return the calendar
+   */
   static ImmutableHolidayCalendar generateSydney() {
     List<LocalDate> holidays = new ArrayList<>(2000);
     for (int year = 1950; year <= 2099; year++) {
@@ -940,6 +971,16 @@ final class GlobalHolidayCalendars {
   // http://www.gov.za/sites/www.gov.za/files/Act36of1994.pdf
   // http://www.gov.za/sites/www.gov.za/files/Act48of1995.pdf
   // 27th Dec when Tue http://www.gov.za/sites/www.gov.za/files/34881_proc72.pdf
+  /**
+   * The holiday calendar for Johannesburg, South Africa, with code 'ZAJO'.
+   * <p>
+   * This generates the calendar for Johannesburg holidays.
+   * <p>
+   * The default implementation is based on original research and covers 1950 to 2099.
+   * Future and past dates are an extrapolations of the latest known rules.
+   *
+   * @return the calendar
+   */
   static ImmutableHolidayCalendar generateJohannesburg() {
     List<LocalDate> holidays = new ArrayList<>(2000);
     for (int year = 1950; year <= 2099; year++) {
@@ -1000,6 +1041,16 @@ final class GlobalHolidayCalendars {
   // https://englishhungary.wordpress.com/2012/01/15/bridge-days/
   // http://www.ucmsgroup.hu/newsletter/public-holiday-and-related-work-schedule-changes-in-2015/
   // http://www.ucmsgroup.hu/newsletter/public-holiday-and-related-work-schedule-changes-in-2014/
+  /**
+   * The holiday calendar for Budapest, Hungary, with code 'HUBU'.
+   * <p>
+   * This generates the calendar for Budapest holidays.
+   * <p>
+   * The default implementation is based on original research and covers 1950 to 2099.
+   * Future and past dates are an extrapolations of the latest known rules.
+   *
+   * @return the calendar
+   */
   static ImmutableHolidayCalendar generateBudapest() {
     List<LocalDate> holidays = new ArrayList<>(2000);
     Set<LocalDate> workDays = new HashSet<>(500);
@@ -1097,6 +1148,16 @@ final class GlobalHolidayCalendars {
   // dates of published fixings - https://twitter.com/Banxico
   // http://www.banxico.org.mx/SieInternet/consultarDirectorioInternetAction.do?accion=consultarCuadro&idCuadro=CF111&locale=en
   // http://www.gob.mx/cms/uploads/attachment/file/161094/calendario_vacaciones2016.pdf
+  /**
+   * The holiday calendar for Mexico City, Mexico, with code 'MXMC'.
+   * <p>
+   * This generates the calendar for Mexico City holidays.
+   * <p>
+   * The default implementation is based on original research and covers 1950 to 2099.
+   * Future and past dates are an extrapolations of the latest known rules.
+   *
+   * @return the calendar
+   */
   static ImmutableHolidayCalendar generateMexicoCity() {
     List<LocalDate> holidays = new ArrayList<>(2000);
     for (int year = 1950; year <= 2099; year++) {
@@ -1131,6 +1192,17 @@ final class GlobalHolidayCalendars {
   // http://www.planalto.gov.br/ccivil_03/leis/l0662.htm
   // http://www.planalto.gov.br/ccivil_03/Leis/L6802.htm
   // http://www.planalto.gov.br/ccivil_03/leis/2002/L10607.htm
+  /**
+   * The holiday calendar for Brazil with code 'BRBD'.
+   * <p>
+   * This generates the combined calendar for Brazil bank holidays.
+   * This unites city-level calendars.
+   * <p>
+   * The default implementation is based on original research and covers 1950 to 2099.
+   * Future and past dates are an extrapolations of the latest known rules.
+   *
+   * @return the calendar
+   */
   static ImmutableHolidayCalendar generateBrazil() {
     // base law is from 1949, reworded in 2002
     List<LocalDate> holidays = new ArrayList<>(2000);
@@ -1167,6 +1239,16 @@ final class GlobalHolidayCalendars {
 
   // generate CZPR
   // https://www.cnb.cz/en/public/media_service/schedules/media_svatky.html
+  /**
+   * The holiday calendar of Prague, Czech Republic, with code 'CZPR'.
+   * <p>
+   * This generates the calendar for Prague bank holidays.
+   * <p>
+   * The default implementation is based on original research and covers 1950 to 2099.
+   * Future and past dates are an extrapolations of the latest known rules.
+   *
+   * @return the calendar
+   */
   static ImmutableHolidayCalendar generatePrague() {
     // dates are fixed - no moving Sunday to Monday or similar
     List<LocalDate> holidays = new ArrayList<>(2000);
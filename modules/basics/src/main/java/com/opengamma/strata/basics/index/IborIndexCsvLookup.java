@@ -13,9 +13,14 @@ import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -79,9 +84,13 @@ final class IborIndexCsvLookup
    */
   private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH[:mm]", Locale.ENGLISH);
   /**
-   * The cache by name.
+   * The CSV rows by name.
    */
-  private static final ImmutableMap<String, IborIndex> BY_NAME = loadFromCsv();
+  private static final ImmutableMap<String, CsvRow> ROWS_BY_NAME = loadFromCsv();
+  /**
+   * The indices parsed so far, keyed by the name in the CSV file, empty if the row is invalid.
+   */
+  private static final ConcurrentMap<String, Optional<IborIndex>> PARSED = new ConcurrentHashMap<>();
 
   /**
    * Restricted constructor.
@@ -90,21 +99,33 @@ final class IborIndexCsvLookup
   }
 
   //-------------------------------------------------------------------------
+  @Override
+  public IborIndex lookup(String name) {
+    CsvRow row = ROWS_BY_NAME.get(name);
+    return row != null ? parse(row).orElse(null) : null;
+  }
+
   @Override
   public Map<String, IborIndex> lookupAll() {
-    return BY_NAME;
+    Map<String, IborIndex> map = new LinkedHashMap<>();
+    for (Entry<String, CsvRow> entry : ROWS_BY_NAME.entrySet()) {
+      parse(entry.getValue()).ifPresent(index -> map.put(entry.getKey(), index));
+    }
+    return ImmutableMap.copyOf(map);
   }
 
-  private static ImmutableMap<String, IborIndex> loadFromCsv() {
+  // the CSV file is read eagerly, but each index is only parsed when first looked up
+  // this avoids creating the many indices that are not used
+  private static ImmutableMap<String, CsvRow> loadFromCsv() {
     List<ResourceLocator> resources = ResourceConfig.orderedResources("IborIndexData.csv");
-    Map<String, IborIndex> map = new HashMap<>();
+    Map<String, CsvRow> map = new HashMap<>();
     for (ResourceLocator resource : resources) {
       try {
         CsvFile csv = CsvFile.of(resource.getCharSource(), true);
         for (CsvRow row : csv.rows()) {
-          IborIndex parsed = parseIborIndex(row);
-          map.put(parsed.getName(), parsed);
-          map.putIfAbsent(parsed.getName().toUpperCase(Locale.ENGLISH), parsed);
+          String name = row.getField(NAME_FIELD);
+          map.put(name, row);
+          map.putIfAbsent(name.toUpperCase(Locale.ENGLISH), row);
         }
       } catch (RuntimeException ex) {
         log.log(Level.SEVERE, "Error processing resource as Ibor Index CSV file: " + resource, ex);
@@ -114,6 +135,19 @@ final class IborIndexCsvLookup
     return ImmutableMap.copyOf(map);
   }
 
+  // parses the row, returning the same instance for the same name
+  // an invalid row is logged once and then treated as absent, as when the whole file was parsed eagerly
+  static Optional<IborIndex> parse(CsvRow row) {
+    return PARSED.computeIfAbsent(row.getField(NAME_FIELD), name -> {
+      try {
+        return Optional.of(parseIborIndex(row));
+      } catch (RuntimeException ex) {
+        log.log(Level.SEVERE, "Error processing row as Ibor Index: " + name, ex);
+        return Optional.empty();
+      }
+    });
+  }
+
   private static IborIndex parseIborIndex(CsvRow row) {
     String name = row.getField(NAME_FIELD);
     Currency currency = Currency.parse(row.getField(CURRENCY_FIELD));
@@ -31,6 +31,7 @@ import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.CachingReferenceData;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.date.AdjustableDate;
 import com.opengamma.strata.basics.date.BusinessDayAdjustment;
@@ -57,7 +58,7 @@ import com.opengamma.strata.collect.ArgChecker;
  * <pre>
  *  // example swap using builder
  *  BusinessDayAdjustment businessDayAdj =
- *    BusinessDayAdjustment.of(BusinessDayConventions.MODIFIED_FOLLOWING, GlobalHolidayCalendars.EUTA);
+ *    BusinessDayAdjustment.of(BusinessDayConventions.MODIFIED_FOLLOWING, HolidayCalendarIds.EUTA);
  *  PeriodicSchedule definition = PeriodicSchedule.builder()
  *      .startDate(LocalDate.of(2014, 2, 12))
  *      .endDate(LocalDate.of(2015, 3, 31))
@@ -403,12 +404,21 @@ public final class PeriodicSchedule
    * <li>applying {@code businessDayAdjustment} to the day-of-month implied by the roll convention
    *  yields the first/last regular date that was specified
    * </ul>
+   * <p>
+   * If the reference data contains a {@link ScheduleCache}, such as {@link CachingReferenceData} created
+   * with a schedule cache, the schedule is obtained from the cache, sharing the schedule of an equal definition.
    * 
    * @return the schedule
    * @param refData  the reference data, used to find the holiday calendars
    * @throws ScheduleException if the definition is invalid
    */
   public Schedule createSchedule(ReferenceData refData) {
+    ScheduleCache scheduleCache = refData.queryValueOrNull(ScheduleCache.REFERENCE_DATA_ID);
+    return scheduleCache != null ? scheduleCache.createSchedule(this, refData) : generateSchedule(refData);
+  }
+
+  // creates the schedule without caching, called by ScheduleCache
+  Schedule generateSchedule(ReferenceData refData) {
     LocalDate unadjStart = calculatedUnadjustedStartDate(refData);
     LocalDate regularStart = calculatedFirstRegularStartDate(unadjStart, refData);
     LocalDate regularEnd = calculatedLastRegularEndDate(refData);
@@ -0,0 +1,218 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.schedule;
+
+import java.util.Optional;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.opengamma.strata.basics.CachingReferenceData;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.ReferenceDataId;
+import com.opengamma.strata.basics.ReferenceDataNotFoundException;
+import com.opengamma.strata.basics.date.BusinessDayAdjustment;
+import com.opengamma.strata.basics.date.HolidayCalendar;
+import com.opengamma.strata.basics.date.HolidayCalendarId;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * A bounded cache of the schedules created from periodic schedule definitions.
+ * <p>
+ * Many trades in a large portfolio share the same schedule definition, such as swaps created
+ * from the same convention with the same start date and tenor. As {@link Schedule} is immutable,
+ * the schedule of equal definitions can be created once and shared.
+ * <p>
+ * The cache is used when resolving trades by attaching it to the reference data using
+ * {@link CachingReferenceData#of(ReferenceData, ScheduleCache)}, or by adding it to any reference data
+ * under {@link #REFERENCE_DATA_ID}. {@link PeriodicSchedule#createSchedule(ReferenceData)} finds the
+ * cache in the reference data and calls {@link #createSchedule(PeriodicSchedule, ReferenceData)}.
+ * <p>
+ * A schedule is keyed by the definition and the holiday calendars used to create it.
+ * The calendars are resolved from the reference data on each lookup, which is fast with {@link CachingReferenceData}.
+ * As holiday calendars are equal when their identifiers are equal, the calendars are compared by identity,
+ * thus a calendar with the same identifier from different reference data does not share schedules.
+ * The cache holds at most the specified number of schedules, discarding the least recently used.
+ * Failures are not cached.
+ * <p>
+ * This class is mutable and thread-safe.
+ */
+public final class ScheduleCache {
+
+  /**
+   * The identifier used to find the schedule cache in reference data.
+   */
+  public static final ReferenceDataId<ScheduleCache> REFERENCE_DATA_ID = ScheduleCacheId.INSTANCE;
+
+  /**
+   * The schedules, keyed by definition and holiday calendars.
+   */
+  private final Cache<Key, Schedule> schedules;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an empty cache that holds at most the specified number of schedules.
+   *
+   * @param maximumSize  the maximum number of schedules
+   * @return the cache
+   */
+  public static ScheduleCache of(long maximumSize) {
+    ArgChecker.notNegative(maximumSize, "maximumSize");
+    return new ScheduleCache(maximumSize);
+  }
+
+  // restricted constructor
+  private ScheduleCache(long maximumSize) {
+    this.schedules = CacheBuilder.newBuilder()
+        .maximumSize(maximumSize)
+        .recordStats()
+        .build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates the schedule from the definition, sharing the schedule of an equal definition if cached.
+   * <p>
+   * The result is equal to that of {@link PeriodicSchedule#createSchedule(ReferenceData)}.
+   *
+   * @param definition  the periodic schedule definition
+   * @param refData  the reference data, used to find the holiday calendars
+   * @return the schedule
+   * @throws ScheduleException if the definition is invalid
+   * @throws ReferenceDataNotFoundException if a holiday calendar is not found
+   */
+  public Schedule createSchedule(PeriodicSchedule definition, ReferenceData refData) {
+    ArgChecker.notNull(definition, "definition");
+    ArgChecker.notNull(refData, "refData");
+    Key key = Key.of(definition, refData);
+    Schedule schedule = schedules.getIfPresent(key);
+    if (schedule == null) {
+      schedule = definition.generateSchedule(refData);
+      schedules.put(key, schedule);
+    }
+    return schedule;
+  }
+
+  /**
+   * Gets the statistics of the cache, including the number of hits and misses.
+   *
+   * @return the statistics
+   */
+  public CacheStats getStats() {
+    return schedules.stats();
+  }
+
+  /**
+   * Returns the approximate number of schedules in the cache.
+   *
+   * @return the number of schedules
+   */
+  public long size() {
+    return schedules.size();
+  }
+
+  /**
+   * Removes all the schedules from the cache.
+   */
+  public void clear() {
+    schedules.invalidateAll();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "ScheduleCache[size=" + schedules.size() + "]";
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The key of a schedule, comparing the holiday calendars by identity.
+   */
+  private static final class Key {
+    private final PeriodicSchedule definition;
+    // the calendars of the start date, the regular dates and the end date
+    private final HolidayCalendar startCalendar;
+    private final HolidayCalendar calendar;
+    private final HolidayCalendar endCalendar;
+    private final int hashCode;
+
+    private static Key of(PeriodicSchedule definition, ReferenceData refData) {
+      HolidayCalendarId calendarId = definition.getBusinessDayAdjustment().getCalendar();
+      HolidayCalendar calendar = calendarId.resolve(refData);
+      HolidayCalendar startCalendar = resolve(definition.getStartDateBusinessDayAdjustment(), calendar, refData);
+      HolidayCalendar endCalendar = resolve(definition.getEndDateBusinessDayAdjustment(), calendar, refData);
+      return new Key(definition, startCalendar, calendar, endCalendar);
+    }
+
+    // resolves the calendar of the adjustment, using the calendar of the regular dates if it has the same identifier
+    private static HolidayCalendar resolve(
+        Optional<BusinessDayAdjustment> adjustment,
+        HolidayCalendar calendar,
+        ReferenceData refData) {
+
+      if (!adjustment.isPresent() || adjustment.get().getCalendar().equals(calendar.getId())) {
+        return calendar;
+      }
+      return adjustment.get().getCalendar().resolve(refData);
+    }
+
+    private Key(
+        PeriodicSchedule definition,
+        HolidayCalendar startCalendar,
+        HolidayCalendar calendar,
+        HolidayCalendar endCalendar) {
+
+      this.definition = definition;
+      this.startCalendar = startCalendar;
+      this.calendar = calendar;
+      this.endCalendar = endCalendar;
+      int hash = definition.hashCode();
+      hash = hash * 31 + System.identityHashCode(startCalendar);
+      hash = hash * 31 + System.identityHashCode(calendar);
+      hash = hash * 31 + System.identityHashCode(endCalendar);
+      this.hashCode = hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (obj instanceof Key) {
+        Key other = (Key) obj;
+        return calendar == other.calendar &&
+            startCalendar == other.startCalendar &&
+            endCalendar == other.endCalendar &&
+            definition.equals(other.definition);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The identifier of the schedule cache in reference data.
+   */
+  private enum ScheduleCacheId implements ReferenceDataId<ScheduleCache> {
+    INSTANCE;
+
+    @Override
+    public Class<ScheduleCache> getReferenceDataType() {
+      return ScheduleCache.class;
+    }
+
+    @Override
+    public String toString() {
+      return "ScheduleCache";
+    }
+  }
+
+}
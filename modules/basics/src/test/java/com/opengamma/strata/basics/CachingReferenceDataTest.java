@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+import java.util.Optional;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.date.HolidayCalendar;
+import com.opengamma.strata.basics.date.HolidayCalendarId;
+import com.opengamma.strata.basics.date.HolidayCalendarIds;
+import com.opengamma.strata.basics.schedule.ScheduleCache;
+
+/**
+ * Test {@link CachingReferenceData}.
+ */
+@Test
+public class CachingReferenceDataTest {
+
+  private static final TestingReferenceDataId ID1 = new TestingReferenceDataId("1");
+  private static final TestingReferenceDataId ID2 = new TestingReferenceDataId("2");
+  private static final TestingReferenceDataId ID3 = new TestingReferenceDataId("3");
+  private static final Double VAL1 = 123d;
+  private static final Double VAL2 = 234d;
+  private static final ImmutableReferenceData BASE_DATA =
+      ImmutableReferenceData.of(ImmutableMap.of(ID1, VAL1, ID2, VAL2));
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    CachingReferenceData test = CachingReferenceData.of(BASE_DATA);
+    assertSame(test.getUnderlying(), BASE_DATA);
+    assertEquals(test.cacheSize(), 0);
+    assertSame(CachingReferenceData.of(test), test);
+    assertEquals(test.getScheduleCache(), Optional.empty());
+    assertThrowsIllegalArg(() -> CachingReferenceData.of(null));
+  }
+
+  public void test_of_scheduleCache() {
+    ScheduleCache scheduleCache = ScheduleCache.of(10);
+    CachingReferenceData test = CachingReferenceData.of(BASE_DATA, scheduleCache);
+    assertSame(test.getUnderlying(), BASE_DATA);
+    assertEquals(test.getScheduleCache(), Optional.of(scheduleCache));
+    assertSame(CachingReferenceData.of(test), test);
+    CachingReferenceData test2 = CachingReferenceData.of(CachingReferenceData.of(BASE_DATA), scheduleCache);
+    assertSame(test2.getUnderlying(), BASE_DATA);
+    assertThrowsIllegalArg(() -> CachingReferenceData.of(BASE_DATA, null));
+    assertThrowsIllegalArg(() -> CachingReferenceData.of(null, scheduleCache));
+  }
+
+  public void test_lookup() {
+    CachingReferenceData test = CachingReferenceData.of(BASE_DATA);
+    assertEquals(test.containsValue(ID1), true);
+    assertEquals(test.containsValue(ID2), true);
+    assertEquals(test.containsValue(ID3), false);
+    assertEquals(test.getValue(ID1), VAL1);
+    assertEquals(test.getValue(ID2), VAL2);
+    assertThrows(() -> test.getValue(ID3), ReferenceDataNotFoundException.class);
+    assertEquals(test.findValue(ID1), Optional.of(VAL1));
+    assertEquals(test.findValue(ID3), Optional.empty());
+    assertEquals(test.queryValueOrNull(ID2), VAL2);
+    assertEquals(test.queryValueOrNull(ID3), null);
+    // identifiers not found are not cached
+    assertEquals(test.cacheSize(), 2);
+  }
+
+  public void test_lookup_combinedCalendar() {
+    CachingReferenceData test = CachingReferenceData.of(ReferenceData.standard());
+    HolidayCalendarId id = HolidayCalendarIds.GBLO.combinedWith(HolidayCalendarIds.USNY);
+    HolidayCalendar cal = test.getValue(id);
+    assertEquals(cal, id.resolve(ReferenceData.standard()));
+    // the combined calendar is created once
+    assertSame(test.getValue(id), cal);
+    assertSame(id.resolve(test), cal);
+    assertSame(HolidayCalendarId.of("USNY+GBLO").resolve(test), cal);
+  }
+
+  public void test_combinedWith() {
+    CachingReferenceData test = CachingReferenceData.of(BASE_DATA);
+    ReferenceData other = ImmutableReferenceData.of(ID3, 999d);
+    ReferenceData combined = test.combinedWith(other);
+    assertEquals(combined.getValue(ID1), VAL1);
+    assertEquals(combined.getValue(ID3), 999d);
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    CachingReferenceData test = CachingReferenceData.of(BASE_DATA);
+    test.getValue(ID1);
+    assertEquals(test.toString().contains("cacheSize=1"), true);
+  }
+
+}
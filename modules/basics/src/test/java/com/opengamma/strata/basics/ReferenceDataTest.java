@@ -19,7 +19,9 @@ import java.util.Optional;
 import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.date.HolidayCalendarId;
 import com.opengamma.strata.basics.date.HolidayCalendarIds;
+import com.opengamma.strata.basics.date.HolidayCalendars;
 
 /**
  * Test {@link ReferenceData} and {@link ImmutableReferenceData}.
@@ -70,6 +72,14 @@ public class ReferenceDataTest {
     assertEquals(test.containsValue(HolidayCalendarIds.FRI_SAT), true);
     assertEquals(test.containsValue(HolidayCalendarIds.THU_FRI), true);
     assertEquals(test.containsValue(HolidayCalendarIds.GBLO), true);
+    assertEquals(test.getValue(HolidayCalendarIds.GBLO), HolidayCalendars.of("GBLO"));
+    assertEquals(test.findValue(HolidayCalendarId.of("Rubbish")), Optional.empty());
+    assertEquals(test.findValue(new TestingReferenceDataId("1")), Optional.empty());
+    assertEquals(
+        HolidayCalendarId.of("GBLO+USNY").resolve(test),
+        HolidayCalendars.of("GBLO").combinedWith(HolidayCalendars.of("USNY")));
+    assertEquals(test.toString(), "StandardReferenceData");
+    assertSerialization(test);
   }
 
   public void test_minimal() {
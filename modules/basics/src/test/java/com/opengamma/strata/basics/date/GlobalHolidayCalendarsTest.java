@@ -10,6 +10,8 @@ import static com.opengamma.strata.collect.TestHelper.date;
 import static java.time.DayOfWeek.SATURDAY;
 import static java.time.DayOfWeek.SUNDAY;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
 
 import java.time.LocalDate;
 import java.time.MonthDay;
@@ -1013,6 +1015,20 @@ public class GlobalHolidayCalendarsTest {
     return MonthDay.of(month, day);
   }
 
+  //-------------------------------------------------------------------------
+  public void test_lookup() {
+    HolidayCalendar test = GlobalHolidayCalendars.INSTANCE.lookup("GBLO");
+    assertEquals(test, GlobalHolidayCalendars.generateLondon());
+    assertSame(GlobalHolidayCalendars.INSTANCE.lookup("GBLO"), test);
+    assertSame(HolidayCalendars.of("GBLO"), test);
+    assertNull(GlobalHolidayCalendars.INSTANCE.lookup("Rubbish"));
+  }
+
+  public void test_lookupAll() {
+    assertEquals(GlobalHolidayCalendars.INSTANCE.lookupAll().size(), 20);
+    assertSame(GlobalHolidayCalendars.INSTANCE.lookupAll().get("EUTA"), GlobalHolidayCalendars.INSTANCE.lookup("EUTA"));
+  }
+
   //-------------------------------------------------------------------------
   public static void coverage() {
     coverPrivateConstructor(GlobalHolidayCalendars.class);
@@ -49,20 +49,25 @@ import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 
 import java.time.LocalTime;
 import java.time.ZoneId;
+import java.util.Optional;
 
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.io.CharSource;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.date.BusinessDayAdjustment;
 import com.opengamma.strata.basics.date.DaysAdjustment;
 import com.opengamma.strata.basics.date.PeriodAdditionConventions;
 import com.opengamma.strata.basics.date.TenorAdjustment;
+import com.opengamma.strata.collect.io.CsvFile;
+import com.opengamma.strata.collect.io.CsvRow;
 
 /**
  * Test Ibor Index.
@@ -120,6 +125,13 @@ public class IborIndexTest {
     }
   }
 
+  public void test_csvLookup_invalidRow() {
+    CsvRow row = CsvFile.of(CharSource.wrap("Name,Currency\nXXX-INVALID-3M,Rubbish"), true).row(0);
+    Optional<IborIndex> parsed = IborIndexCsvLookup.parse(row);
+    assertFalse(parsed.isPresent());
+    assertEquals(IborIndexCsvLookup.parse(row), parsed);
+  }
+
   //-------------------------------------------------------------------------
   public void test_usdLibor3m() {
     IborIndex test = IborIndex.of("USD-LIBOR-3M");
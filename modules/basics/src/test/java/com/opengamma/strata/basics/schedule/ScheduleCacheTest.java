@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.schedule;
+
+import static com.opengamma.strata.basics.date.BusinessDayConventions.MODIFIED_FOLLOWING;
+import static com.opengamma.strata.basics.date.HolidayCalendarIds.GBLO;
+import static com.opengamma.strata.basics.date.HolidayCalendarIds.USNY;
+import static com.opengamma.strata.basics.schedule.Frequency.P1M;
+import static com.opengamma.strata.basics.schedule.Frequency.P3M;
+import static com.opengamma.strata.basics.schedule.StubConvention.SHORT_INITIAL;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static java.time.DayOfWeek.SATURDAY;
+import static java.time.DayOfWeek.SUNDAY;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CachingReferenceData;
+import com.opengamma.strata.basics.ImmutableReferenceData;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.date.BusinessDayAdjustment;
+import com.opengamma.strata.basics.date.HolidayCalendar;
+import com.opengamma.strata.basics.date.ImmutableHolidayCalendar;
+
+/**
+ * Test {@link ScheduleCache}.
+ */
+@Test
+public class ScheduleCacheTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final BusinessDayAdjustment BDA = BusinessDayAdjustment.of(MODIFIED_FOLLOWING, GBLO);
+  private static final BusinessDayAdjustment BDA_COMBINED =
+      BusinessDayAdjustment.of(MODIFIED_FOLLOWING, GBLO.combinedWith(USNY));
+  private static final LocalDate START = date(2017, 6, 4);
+  private static final LocalDate END = date(2022, 6, 4);
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    ScheduleCache test = ScheduleCache.of(100);
+    assertEquals(test.size(), 0);
+    assertEquals(test.getStats().hitCount(), 0);
+    assertEquals(test.getStats().missCount(), 0);
+    assertThrowsIllegalArg(() -> ScheduleCache.of(-1));
+  }
+
+  public void test_createSchedule() {
+    ScheduleCache test = ScheduleCache.of(100);
+    PeriodicSchedule definition = PeriodicSchedule.of(START, END, P3M, BDA, SHORT_INITIAL, false);
+    Schedule schedule = test.createSchedule(definition, REF_DATA);
+    assertEquals(schedule, definition.createSchedule(REF_DATA));
+    assertEquals(test.getStats().missCount(), 1);
+    // an equal definition shares the schedule
+    PeriodicSchedule definition2 = PeriodicSchedule.of(START, END, P3M, BDA, SHORT_INITIAL, false);
+    assertSame(test.createSchedule(definition2, REF_DATA), schedule);
+    assertEquals(test.getStats().hitCount(), 1);
+    // a different definition creates a new schedule
+    PeriodicSchedule definition3 = PeriodicSchedule.of(START, END, P1M, BDA, SHORT_INITIAL, false);
+    assertEquals(test.createSchedule(definition3, REF_DATA), definition3.createSchedule(REF_DATA));
+    assertEquals(test.getStats().missCount(), 2);
+    assertEquals(test.size(), 2);
+    test.clear();
+    assertEquals(test.size(), 0);
+  }
+
+  public void test_createSchedule_combinedCalendar() {
+    ScheduleCache test = ScheduleCache.of(100);
+    PeriodicSchedule definition = PeriodicSchedule.of(START, END, P3M, BDA_COMBINED, SHORT_INITIAL, false);
+    // the combined calendar is created once by the caching reference data
+    ReferenceData refData = CachingReferenceData.of(REF_DATA);
+    Schedule schedule = test.createSchedule(definition, refData);
+    assertEquals(schedule, definition.createSchedule(REF_DATA));
+    assertSame(test.createSchedule(definition, refData), schedule);
+    assertEquals(test.getStats().hitCount(), 1);
+    // the combined calendar is created on each lookup by the standard reference data
+    assertEquals(test.createSchedule(definition, REF_DATA), schedule);
+    assertEquals(test.getStats().missCount(), 2);
+  }
+
+  public void test_createSchedule_differentReferenceData() {
+    ScheduleCache test = ScheduleCache.of(100);
+    PeriodicSchedule definition = PeriodicSchedule.of(START, END, P3M, BDA, SHORT_INITIAL, false);
+    Schedule schedule = test.createSchedule(definition, REF_DATA);
+    // reference data resolving the same calendar shares the schedule
+    ReferenceData sameCalendarRefData = ReferenceData.standard().combinedWith(ReferenceData.minimal());
+    assertSame(test.createSchedule(definition, sameCalendarRefData), schedule);
+    assertEquals(test.getStats().hitCount(), 1);
+    // a different calendar with the same identifier does not share the schedule
+    HolidayCalendar noHolidays = ImmutableHolidayCalendar.of(GBLO, ImmutableList.of(), SATURDAY, SUNDAY);
+    ReferenceData otherRefData = ImmutableReferenceData.of(GBLO, noHolidays);
+    Schedule otherSchedule = test.createSchedule(definition, otherRefData);
+    assertEquals(otherSchedule, definition.createSchedule(otherRefData));
+    assertEquals(test.getStats().missCount(), 2);
+    assertEquals(test.size(), 2);
+  }
+
+  public void test_createSchedule_differentEndCalendar() {
+    ScheduleCache test = ScheduleCache.of(100);
+    PeriodicSchedule definition = PeriodicSchedule.builder()
+        .startDate(START)
+        .endDate(END)
+        .frequency(P3M)
+        .businessDayAdjustment(BDA)
+        .endDateBusinessDayAdjustment(BDA_COMBINED)
+        .stubConvention(SHORT_INITIAL)
+        .build();
+    ReferenceData refData = CachingReferenceData.of(REF_DATA);
+    Schedule schedule = test.createSchedule(definition, refData);
+    assertEquals(schedule, definition.createSchedule(REF_DATA));
+    assertSame(test.createSchedule(definition, refData), schedule);
+    assertEquals(test.getStats().hitCount(), 1);
+  }
+
+  public void test_createSchedule_cachingReferenceData() {
+    ScheduleCache cache = ScheduleCache.of(100);
+    CachingReferenceData refData = CachingReferenceData.of(REF_DATA, cache);
+    PeriodicSchedule definition = PeriodicSchedule.of(START, END, P3M, BDA_COMBINED, SHORT_INITIAL, false);
+    Schedule schedule = definition.createSchedule(refData);
+    assertEquals(schedule, definition.createSchedule(REF_DATA));
+    PeriodicSchedule definition2 = PeriodicSchedule.of(START, END, P3M, BDA_COMBINED, SHORT_INITIAL, false);
+    assertSame(definition2.createSchedule(refData), schedule);
+    assertEquals(cache.getStats().hitCount(), 1);
+    assertEquals(cache.getStats().missCount(), 1);
+    // without a schedule cache, schedules are not shared
+    CachingReferenceData refDataNoCache = CachingReferenceData.of(REF_DATA);
+    assertEquals(definition.createSchedule(refDataNoCache), schedule);
+    assertEquals(cache.size(), 1);
+    // the cache is found when the reference data is combined
+    assertSame(definition.createSchedule(refData.combinedWith(ReferenceData.minimal())), schedule);
+    assertEquals(cache.getStats().hitCount(), 2);
+  }
+
+  public void test_createSchedule_referenceDataValue() {
+    ScheduleCache cache = ScheduleCache.of(100);
+    ReferenceData refData = ImmutableReferenceData.of(ScheduleCache.REFERENCE_DATA_ID, cache).combinedWith(REF_DATA);
+    PeriodicSchedule definition = PeriodicSchedule.of(START, END, P3M, BDA, SHORT_INITIAL, false);
+    Schedule schedule = definition.createSchedule(refData);
+    assertEquals(schedule, definition.createSchedule(REF_DATA));
+    assertSame(definition.createSchedule(refData), schedule);
+    assertEquals(cache.getStats().hitCount(), 1);
+    assertEquals(ScheduleCache.REFERENCE_DATA_ID.getReferenceDataType(), ScheduleCache.class);
+    assertEquals(ScheduleCache.REFERENCE_DATA_ID.toString(), "ScheduleCache");
+  }
+
+  public void test_createSchedule_invalid() {
+    ScheduleCache test = ScheduleCache.of(100);
+    PeriodicSchedule definition = PeriodicSchedule.of(START, date(2017, 9, 17), P1M, BDA, StubConvention.NONE, false);
+    assertThrows(() -> test.createSchedule(definition, REF_DATA), ScheduleException.class);
+    assertEquals(test.size(), 0);
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    ScheduleCache test = ScheduleCache.of(100);
+    assertEquals(test.toString(), "ScheduleCache[size=0]");
+  }
+
+}
@@ -5,6 +5,9 @@
  */
 package com.opengamma.strata.calc;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -25,7 +28,10 @@ import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.calc.runner.DeferredResult;
 import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.result.FailureItem;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.scenario.ScenarioArray;
 
@@ -60,7 +66,7 @@ public final class Results implements ImmutableBean {
    *   [t1c1, t1c2, t1c3, t2c1, t2c2, t2c3]
    * </pre>
    */
-  @PropertyDefinition(validate = "notNull", builderType = "List<? extends Result<?>>")
+  @PropertyDefinition(validate = "notNull", builderType = "List<? extends Result<?>>", get = "manual")
   private final ImmutableList<Result<?>> cells;
   /**
    * The number of rows.
@@ -130,6 +136,42 @@ public final class Results implements ImmutableBean {
     return columnCount;
   }
 
+  /**
+   * Gets the grid of results, stored as a flat list.
+   * <p>
+   * This list contains the calculated result for each cell in the grid.
+   * The cells are grouped by target, then column.
+   * Thus, the index of a given cell is {@code (targetRowIndex * columnCount) + columnIndex}.
+   * <p>
+   * For example, given a set of results with two targets, t1 and t2,
+   * and three columns c1, c2, and c3, the results will be:
+   * <pre>
+   * [t1c1, t1c2, t1c3, t2c1, t2c2, t2c3]
+   * </pre>
+   * If the calculation of a result was deferred, see {@link DeferredResult}, the calculation is performed
+   * and the calculated result is returned in the list.
+   *
+   * @return the results, not null
+   */
+  public ImmutableList<Result<?>> getCells() {
+    if (cells.stream().noneMatch(Results::isDeferred)) {
+      return cells;
+    }
+    return cells.stream()
+        .map(Results::calculated)
+        .collect(toImmutableList());
+  }
+
+  // checks if the result is deferred
+  private static boolean isDeferred(Result<?> result) {
+    return result.isSuccess() && result.getValue() instanceof DeferredResult;
+  }
+
+  // performs a deferred calculation, which is cached by the deferred result
+  private static Result<?> calculated(Result<?> result) {
+    return isDeferred(result) ? ((DeferredResult) result.getValue()).getResult() : result;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Returns the results for a target and column index.
@@ -140,6 +182,9 @@ public final class Results implements ImmutableBean {
    * If the calculation did not complete successfully, a failure result will be returned
    * explaining the problem. Callers must check whether the result is a success or failure
    * before examining the result value.
+   * <p>
+   * If the calculation of the result was deferred, see {@link DeferredResult}, the calculation
+   * is performed the first time this method is called for the cell.
    *
    * @param rowIndex   the index of the row containing the results for a target
    * @param columnIndex  the index of the column
@@ -154,7 +199,7 @@ public final class Results implements ImmutableBean {
       throw new IllegalArgumentException(invalidColumnIndexMessage(columnIndex));
     }
     int index = (rowIndex * columnCount) + columnIndex;
-    return cells.get(index);
+    return calculated(cells.get(index));
   }
 
   private String invalidRowIndexMessage(int rowIndex) {
@@ -251,6 +296,30 @@ public final class Results implements ImmutableBean {
         "Result queried with type '{}' but was '{}'", type.getName(), result.getValue().getClass().getName()));
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Summarizes the failures in the results by cause.
+   * <p>
+   * This returns the number of failed cells for each failure item, in the order the failures first occur.
+   * When the calculations are run with {@link com.opengamma.strata.calc.runner.SharedFailures SharedFailures},
+   * identical failures share a single failure item, thus there is one entry for each distinct cause.
+   * <p>
+   * Deferred results are not calculated by this method, thus their failures are not included.
+   *
+   * @return the number of failed cells for each failure item
+   */
+  public ImmutableMap<FailureItem, Integer> failureCounts() {
+    Map<FailureItem, Integer> counts = new LinkedHashMap<>();
+    for (Result<?> cell : cells) {
+      if (cell.isFailure()) {
+        for (FailureItem item : cell.getFailure().getItems()) {
+          counts.merge(item, 1, Integer::sum);
+        }
+      }
+    }
+    return ImmutableMap.copyOf(counts);
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   ///CLOVER:OFF
   /**
@@ -292,25 +361,6 @@ public final class Results implements ImmutableBean {
     return columns;
   }
 
-  //-----------------------------------------------------------------------
-  /**
-   * Gets the grid of results, stored as a flat list.
-   * <p>
-   * This list contains the calculated result for each cell in the grid.
-   * The cells are grouped by target, then column.
-   * Thus, the index of a given cell is {@code (targetRowIndex * columnCount) + columnIndex}.
-   * <p>
-   * For example, given a set of results with two targets, t1 and t2,
-   * and three columns c1, c2, and c3, the results will be:
-   * <pre>
-   * [t1c1, t1c2, t1c3, t2c1, t2c2, t2c3]
-   * </pre>
-   * @return the value of the property, not null
-   */
-  public ImmutableList<Result<?>> getCells() {
-    return cells;
-  }
-
   //-----------------------------------------------------------------------
   @Override
   public boolean equals(Object obj) {
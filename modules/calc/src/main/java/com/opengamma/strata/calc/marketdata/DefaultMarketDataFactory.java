@@ -9,6 +9,7 @@ import static com.opengamma.strata.collect.Guavate.not;
 import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -16,6 +17,7 @@ import java.util.Optional;
 import java.util.Set;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterables;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.collect.MapStream;
 import com.opengamma.strata.collect.result.Result;
@@ -30,6 +32,7 @@ import com.opengamma.strata.data.scenario.ScenarioMarketData;
  * The default market data factory.
  * <p>
  * This uses two providers, one for observable data and one for time-series.
+ * If a cache is specified, non-observable market data built from unchanged inputs is reused.
  */
 final class DefaultMarketDataFactory implements MarketDataFactory {
 
@@ -42,6 +45,9 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
   /** Market data functions, keyed by the type of the market data ID they can handle. */
   private final Map<Class<? extends MarketDataId<?>>, MarketDataFunction<?, ?>> functions;
 
+  /** The cache of non-observable market data, null if not caching. */
+  private final MarketDataCache cache;
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance of the factory based on providers of market data and time-series.
@@ -52,14 +58,35 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
    * @param timeSeriesProvider  the provider time-series
    * @param functions  the functions that create the market data
    */
+  DefaultMarketDataFactory(
+      ObservableDataProvider observableDataProvider,
+      TimeSeriesProvider timeSeriesProvider,
+      List<MarketDataFunction<?, ?>> functions) {
+
+    this(observableDataProvider, timeSeriesProvider, null, functions);
+  }
+
+  /**
+   * Creates an instance of the factory based on providers of market data and time-series, using a cache.
+   * <p>
+   * The market data functions are used to build the market data.
+   * The non-observable market data is stored in the cache, and reused if built again from the same inputs.
+   *
+   * @param observableDataProvider  the provider observable market data
+   * @param timeSeriesProvider  the provider time-series
+   * @param cache  the cache of market data, null if not caching
+   * @param functions  the functions that create the market data
+   */
   @SuppressWarnings("unchecked")
   DefaultMarketDataFactory(
       ObservableDataProvider observableDataProvider,
       TimeSeriesProvider timeSeriesProvider,
+      MarketDataCache cache,
       List<MarketDataFunction<?, ?>> functions) {
 
     this.observableDataProvider = observableDataProvider;
     this.timeSeriesProvider = timeSeriesProvider;
+    this.cache = cache;
 
     // Use a HashMap instead of an ImmutableMap.Builder so values can be overwritten.
     // If the functions argument includes a missing mapping builder it can overwrite the one inserted below
@@ -231,7 +258,68 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
     if (marketDataFunction == null) {
       throw new IllegalStateException("No market data function available for market data ID of type " + idClass.getName());
     }
-    return Result.of(() -> marketDataFunction.build(id, marketDataConfig, suppliedData, refData));
+    if (cache == null) {
+      return Result.of(() -> marketDataFunction.build(id, marketDataConfig, suppliedData, refData));
+    }
+    List<Object> inputs = cacheInputs(id, marketDataFunction, marketDataConfig, suppliedData, refData);
+    if (inputs == null) {
+      return Result.of(() -> marketDataFunction.build(id, marketDataConfig, suppliedData, refData));
+    }
+    Optional<MarketDataBox<?>> cached = cache.find(inputs);
+    if (cached.isPresent()) {
+      return Result.success(cached.get());
+    }
+    Result<MarketDataBox<?>> result =
+        Result.of(() -> marketDataFunction.build(id, marketDataConfig, suppliedData, refData));
+    if (result.isSuccess()) {
+      cache.put(inputs, result.getValue());
+    }
+    return result;
+  }
+
+  /**
+   * Returns the inputs used to build an item of non-observable market data, used as the key of the cache.
+   * <p>
+   * The inputs are the ID, the function, the configuration, the reference data, the valuation date
+   * and the market data declared in the requirements of the function.
+   * If any of the required values is not available, the function will fail, so null is returned.
+   *
+   * @param id  ID of the market data that should be built
+   * @param marketDataFunction  the function that builds the market data
+   * @param marketDataConfig  configuration specifying how the market data should be built
+   * @param suppliedData  existing set of market data that contains any data required to build the values
+   * @param refData  the reference data, used to resolve trades
+   * @return the inputs, null if a required value is not available
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private List<Object> cacheInputs(
+      MarketDataId id,
+      MarketDataFunction marketDataFunction,
+      MarketDataConfig marketDataConfig,
+      BuiltScenarioMarketData suppliedData,
+      ReferenceData refData) {
+
+    MarketDataRequirements requirements = marketDataFunction.requirements(id, marketDataConfig);
+    List<Object> inputs = new ArrayList<>();
+    inputs.add(id);
+    inputs.add(marketDataFunction);
+    inputs.add(marketDataConfig);
+    inputs.add(refData);
+    inputs.add(suppliedData.getValuationDate());
+    Iterable<MarketDataId<?>> requiredIds =
+        Iterables.concat(requirements.getObservables(), requirements.getNonObservables());
+    for (MarketDataId<?> requiredId : requiredIds) {
+      if (!suppliedData.containsValue(requiredId)) {
+        return null;
+      }
+      inputs.add(requiredId);
+      inputs.add(suppliedData.getValue(requiredId));
+    }
+    for (ObservableId requiredId : requirements.getTimeSeries()) {
+      inputs.add(requiredId);
+      inputs.add(suppliedData.getTimeSeries(requiredId));
+    }
+    return inputs;
   }
 
   @SuppressWarnings("unchecked")
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+
+/**
+ * A cache of market data built by a market data factory, allowing it to be reused across calculation runs.
+ * <p>
+ * Building market data, such as calibrating curves, is typically the most expensive part of a calculation run.
+ * When the same configuration and inputs are used for consecutive runs, the market data is rebuilt each time.
+ * A cache can be passed to {@link MarketDataFactory#of(ObservableDataProvider, TimeSeriesProvider,
+ * MarketDataCache, List)} to avoid this.
+ * <p>
+ * Each item of non-observable market data is cached keyed by the content of its inputs.
+ * These are the ID, the market data function, the market data configuration, the reference data,
+ * the valuation date and the value of each item of market data declared in the requirements of the function.
+ * If any of these differ from a previous run, the market data is built again.
+ * As such, curves whose inputs are unchanged are reused, while curves depending on a changed quote are rebuilt.
+ * Failures are not cached.
+ * <p>
+ * The number of entries is bounded by the maximum size. The cached values are also held by soft reference,
+ * allowing them to be evicted by the garbage collector when memory is low.
+ * <p>
+ * This class is mutable and thread-safe.
+ */
+public final class MarketDataCache {
+
+  /**
+   * The underlying cache.
+   */
+  private final Cache<List<Object>, MarketDataBox<?>> cache;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an empty cache with the specified maximum number of entries.
+   *
+   * @param maximumSize  the maximum number of items of market data in the cache
+   * @return the cache
+   */
+  public static MarketDataCache of(long maximumSize) {
+    ArgChecker.notNegative(maximumSize, "maximumSize");
+    return new MarketDataCache(maximumSize);
+  }
+
+  // restricted constructor
+  private MarketDataCache(long maximumSize) {
+    this.cache = CacheBuilder.newBuilder()
+        .maximumSize(maximumSize)
+        .softValues()
+        .recordStats()
+        .build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the number of times that market data was found in the cache.
+   *
+   * @return the hit count
+   */
+  public long getHitCount() {
+    return cache.stats().hitCount();
+  }
+
+  /**
+   * Returns the number of times that market data was not found in the cache and had to be built.
+   *
+   * @return the miss count
+   */
+  public long getMissCount() {
+    return cache.stats().missCount();
+  }
+
+  /**
+   * Returns the approximate number of items of market data in the cache.
+   *
+   * @return the size of the cache
+   */
+  public long size() {
+    return cache.size();
+  }
+
+  /**
+   * Removes all the market data from the cache.
+   * <p>
+   * The hit and miss counts are not reset.
+   */
+  public void clear() {
+    cache.invalidateAll();
+  }
+
+  //-------------------------------------------------------------------------
+  // finds the market data built from the inputs, recording a hit or a miss
+  Optional<MarketDataBox<?>> find(List<Object> inputs) {
+    return Optional.ofNullable(cache.getIfPresent(inputs));
+  }
+
+  // adds the market data built from the inputs
+  void put(List<Object> inputs, MarketDataBox<?> value) {
+    cache.put(inputs, value);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "MarketDataCache[size=" + cache.size() + ", hits=" + getHitCount() + ", misses=" + getMissCount() + "]";
+  }
+
+}
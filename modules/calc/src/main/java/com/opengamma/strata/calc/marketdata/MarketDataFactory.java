@@ -10,6 +10,7 @@ import java.util.List;
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.runner.CalculationTasks;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
@@ -74,6 +75,30 @@ public interface MarketDataFactory {
     return new DefaultMarketDataFactory(observableDataProvider, timeSeriesProvider, functions);
   }
 
+  /**
+   * Obtains an instance of the factory based on providers of market data and time-series, using a cache.
+   * <p>
+   * The market data functions are used to build the market data.
+   * Non-observable market data, such as curves, is stored in the cache and reused
+   * when it is built again from the same inputs, see {@link MarketDataCache}.
+   * The cache may be shared between factories using the same functions.
+   *
+   * @param observableDataProvider  the provider of observable market data
+   * @param timeSeriesProvider  the provider of time-series
+   * @param cache  the cache of market data
+   * @param functions  the functions that create the market data
+   * @return the market data factory
+   */
+  public static MarketDataFactory of(
+      ObservableDataProvider observableDataProvider,
+      TimeSeriesProvider timeSeriesProvider,
+      MarketDataCache cache,
+      List<MarketDataFunction<?, ?>> functions) {
+
+    ArgChecker.notNull(cache, "cache");
+    return new DefaultMarketDataFactory(observableDataProvider, timeSeriesProvider, cache, functions);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Builds a set of market data.
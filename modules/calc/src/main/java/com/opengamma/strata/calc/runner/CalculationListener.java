@@ -8,6 +8,7 @@ package com.opengamma.strata.calc.runner;
 import java.util.List;
 
 import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.CalculationTargetReference;
 import com.opengamma.strata.calc.CalculationRunner;
 import com.opengamma.strata.calc.Column;
 
@@ -44,6 +45,9 @@ public interface CalculationListener {
    * <p>
    * It is possible that this method will never be called. This can happen if an empty list of targets
    * is passed to the calculation runner.
+   * <p>
+   * If the target passed to the runner is a {@link CalculationTargetReference},
+   * the target received here is the one created from the reference.
    *
    * @param target  the calculation target, such as a trade
    * @param result  the result of the calculation
@@ -25,8 +25,10 @@ import org.joda.beans.impl.light.LightMetaBean;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
 import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.CalculationTargetReference;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.ReferenceDataNotFoundException;
 import com.opengamma.strata.basics.currency.Currency;
@@ -35,13 +37,18 @@ import com.opengamma.strata.basics.currency.FxRate;
 import com.opengamma.strata.calc.Measure;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirementsBuilder;
+import com.opengamma.strata.collect.result.Failure;
+import com.opengamma.strata.collect.result.FailureItem;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.data.FxRateId;
 import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.MarketDataNotFoundException;
 import com.opengamma.strata.data.ObservableId;
 import com.opengamma.strata.data.ObservableSource;
+import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
+import com.opengamma.strata.data.scenario.MarketDataBox;
 import com.opengamma.strata.data.scenario.ScenarioFxRateProvider;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
@@ -59,6 +66,10 @@ public final class CalculationTask implements ImmutableBean {
   /**
    * The target for which the value will be calculated.
    * This is typically a trade.
+   * <p>
+   * If this is a {@link CalculationTargetReference}, the target is created from the reference
+   * once each time the requirements are determined or the calculation is executed.
+   * The function is the function applicable to the created target.
    */
   @PropertyDefinition(validate = "notNull")
   private final CalculationTarget target;
@@ -149,6 +160,7 @@ public final class CalculationTask implements ImmutableBean {
   @SuppressWarnings("unchecked")
   public MarketDataRequirements requirements(ReferenceData refData) {
     // determine market data requirements of the function
+    CalculationTarget target = createTarget();
     FunctionRequirements functionRequirements = function.requirements(target, getMeasures(), parameters, refData);
     ObservableSource obsSource = functionRequirements.getObservableSource();
 
@@ -168,7 +180,7 @@ public final class CalculationTask implements ImmutableBean {
     // add requirements for the FX rates needed to convert the output values into the reporting currency
     for (CalculationTaskCell cell : cells) {
       if (cell.getMeasure().isCurrencyConvertible() && !cell.getReportingCurrency().isNone()) {
-        Currency reportingCurrency = cell.reportingCurrency(this, refData);
+        Currency reportingCurrency = cell.reportingCurrency(this, target, refData);
         List<MarketDataId<FxRate>> fxRateIds = functionRequirements.getOutputCurrencies().stream()
             .filter(outputCurrency -> !outputCurrency.equals(reportingCurrency))
             .map(outputCurrency -> CurrencyPair.of(outputCurrency, reportingCurrency))
@@ -189,7 +201,15 @@ public final class CalculationTask implements ImmutableBean {
    * @return the natural currency
    */
   public Currency naturalCurrency(ReferenceData refData) {
-    return function.naturalCurrency(target, refData);
+    return function.naturalCurrency(createTarget(), refData);
+  }
+
+  // creates the target if this task holds a reference to it
+  private CalculationTarget createTarget() {
+    if (target instanceof CalculationTargetReference) {
+      return ((CalculationTargetReference) target).createTarget();
+    }
+    return target;
   }
 
   //-------------------------------------------------------------------------
@@ -197,6 +217,16 @@ public final class CalculationTask implements ImmutableBean {
    * Executes the task, performing calculations for the target using multiple sets of market data.
    * <p>
    * This invokes the function with the correct set of market data.
+   * <p>
+   * If the parameters contain {@link DeferredMeasures}, the function is not invoked.
+   * Instead, each result contains a {@link DeferredResult} that invokes the function when first accessed.
+   * The deferred results only retain the market data required by this task, not the whole set of market data.
+   * <p>
+   * If the parameters contain {@link SharedFailures}, identical failures created by this task
+   * are shared with other tasks.
+   * <p>
+   * If the target is a {@link CalculationTargetReference}, the returned results contain
+   * the target created from the reference.
    *
    * @param marketData  the market data used in the calculation
    * @param refData  the reference data
@@ -204,8 +234,14 @@ public final class CalculationTask implements ImmutableBean {
    */
   @SuppressWarnings("unchecked")
   public CalculationResults execute(ScenarioMarketData marketData, ReferenceData refData) {
+    // defer the calculation if requested
+    if (parameters.findParameter(DeferredMeasures.class).isPresent()) {
+      return executeDeferred(marketData, refData);
+    }
+
     // calculate the results
-    Map<Measure, Result<?>> results = calculate(marketData, refData);
+    CalculationTarget target = createTarget();
+    Map<Measure, Result<?>> results = calculate(target, marketData, refData);
 
     // convert the results, using a normal loop for better stack traces
     ScenarioFxRateProvider fxProvider = ScenarioFxRateProvider.of(marketData);
@@ -218,8 +254,53 @@ public final class CalculationTask implements ImmutableBean {
     return CalculationResults.of(target, resultBuilder.build());
   }
 
+  // creates results that perform the calculation when the first of them is accessed
+  private CalculationResults executeDeferred(ScenarioMarketData marketData, ReferenceData refData) {
+    CalculationTask task = new CalculationTask(target, function, parameters.without(DeferredMeasures.class), cells);
+    ScenarioMarketData requiredData = requiredMarketData(marketData, refData);
+    DeferredResult calculated = DeferredResult.of(() -> Result.success(task.execute(requiredData, refData)));
+    ImmutableList.Builder<CalculationResult> resultBuilder = ImmutableList.builder();
+    for (int i = 0; i < cells.size(); i++) {
+      // the cells in the calculated results are in the same order as the cells in this task
+      int cellIndex = i;
+      CalculationTaskCell cell = cells.get(i);
+      DeferredResult deferred = calculated.map(
+          results -> ((CalculationResults) results.getValue()).getCells().get(cellIndex).getResult());
+      resultBuilder.add(CalculationResult.of(cell.getRowIndex(), cell.getColumnIndex(), Result.success(deferred)));
+    }
+    return CalculationResults.of(createTarget(), resultBuilder.build());
+  }
+
+  // extracts the market data required by this task, such that a deferred calculation does not retain the rest
+  private ScenarioMarketData requiredMarketData(ScenarioMarketData marketData, ReferenceData refData) {
+    MarketDataRequirements requirements;
+    try {
+      requirements = requirements(refData);
+    } catch (RuntimeException ex) {
+      // the deferred calculation will report the failure
+      return marketData;
+    }
+    Map<MarketDataId<?>, MarketDataBox<?>> values = new HashMap<>();
+    for (MarketDataId<?> id : Iterables.concat(requirements.getObservables(), requirements.getNonObservables())) {
+      marketData.findValue(id).ifPresent(box -> values.put(id, box));
+    }
+    Map<ObservableId, LocalDateDoubleTimeSeries> timeSeries = new HashMap<>();
+    for (ObservableId id : requirements.getTimeSeries()) {
+      LocalDateDoubleTimeSeries series = marketData.getTimeSeries(id);
+      if (!series.isEmpty()) {
+        timeSeries.put(id, series);
+      }
+    }
+    return ImmutableScenarioMarketData.of(
+        marketData.getScenarioCount(), marketData.getValuationDate(), values, timeSeries);
+  }
+
   // calculates the result
-  private Map<Measure, Result<?>> calculate(ScenarioMarketData marketData, ReferenceData refData) {
+  private Map<Measure, Result<?>> calculate(
+      CalculationTarget target,
+      ScenarioMarketData marketData,
+      ReferenceData refData) {
+
     try {
       Set<Measure> requestedMeasures = getMeasures();
       Set<Measure> supportedMeasures = function.supportedMeasures();
@@ -230,17 +311,18 @@ public final class CalculationTask implements ImmutableBean {
       }
       // check if result does not contain all requested measures
       if (!map.keySet().containsAll(requestedMeasures)) {
-        return handleMissing(requestedMeasures, supportedMeasures, map);
+        return handleMissing(target, requestedMeasures, supportedMeasures, map);
       }
       return map;
 
     } catch (RuntimeException ex) {
-      return handleFailure(ex);
+      return handleFailure(target, ex);
     }
   }
 
   // populate the result with failures
   private Map<Measure, Result<?>> handleMissing(
+      CalculationTarget target,
       Set<Measure> requestedMeasures,
       Set<Measure> supportedMeasures,
       Map<Measure, Result<?>> calculatedResults) {
@@ -248,9 +330,24 @@ public final class CalculationTask implements ImmutableBean {
     // need to add missing measures
     Map<Measure, Result<?>> updated = new HashMap<>(calculatedResults);
     String fnName = function.getClass().getSimpleName();
+    boolean shared = parameters.findParameter(SharedFailures.class).isPresent();
     for (Measure requestedMeasure : requestedMeasures) {
       if (!calculatedResults.containsKey(requestedMeasure)) {
-        if (supportedMeasures.contains(requestedMeasure)) {
+        if (shared) {
+          FailureItem item = supportedMeasures.contains(requestedMeasure) ?
+              FailureItem.ofShared(
+                  FailureReason.CALCULATION_FAILED,
+                  "Function '{}' did not return requested measure '{}'",
+                  fnName,
+                  requestedMeasure) :
+              FailureItem.ofShared(
+                  FailureReason.UNSUPPORTED,
+                  "Measure '{}' is not supported by function '{}'",
+                  requestedMeasure,
+                  fnName);
+          updated.put(requestedMeasure, Result.failure(Failure.of(item)));
+
+        } else if (supportedMeasures.contains(requestedMeasure)) {
           String msg = function.identifier(target)
               .map(v -> "for ID '" + v + "'")
               .orElse("for target '" + target.toString() + "'");
@@ -273,43 +370,45 @@ public final class CalculationTask implements ImmutableBean {
   }
 
   // handle the failure, extracted to aid inlining
-  private Map<Measure, Result<?>> handleFailure(RuntimeException ex) {
-    Result<?> failure;
-    String fnName = function.getClass().getSimpleName();
-    String exMsg = ex.getMessage();
-    Optional<String> id = function.identifier(target);
-    String msg = id.map(v -> " for ID '" + v + "': " + exMsg).orElse(": " + exMsg + ": for target '" + target.toString() + "'");
+  private Map<Measure, Result<?>> handleFailure(CalculationTarget target, RuntimeException ex) {
+    FailureReason reason;
+    String description;
     if (ex instanceof MarketDataNotFoundException) {
-      failure = Result.failure(
-          FailureReason.MISSING_DATA,
-          ex,
-          "Missing market data when invoking function '{}'{}",
-          fnName,
-          msg);
+      reason = FailureReason.MISSING_DATA;
+      description = "Missing market data";
 
     } else if (ex instanceof ReferenceDataNotFoundException) {
-      failure = Result.failure(
-          FailureReason.MISSING_DATA,
-          ex,
-          "Missing reference data when invoking function '{}'{}",
-          fnName,
-          msg);
+      reason = FailureReason.MISSING_DATA;
+      description = "Missing reference data";
 
     } else if (ex instanceof UnsupportedOperationException) {
-      failure = Result.failure(
-          FailureReason.UNSUPPORTED,
-          ex,
-          "Unsupported operation when invoking function '{}'{}",
-          fnName,
-          msg);
+      reason = FailureReason.UNSUPPORTED;
+      description = "Unsupported operation";
 
     } else {
-      failure = Result.failure(
-          FailureReason.CALCULATION_FAILED,
+      reason = FailureReason.CALCULATION_FAILED;
+      description = "Error";
+    }
+    Result<?> failure;
+    String fnName = function.getClass().getSimpleName();
+    String exMsg = ex.getMessage();
+    Optional<SharedFailures> shared = parameters.findParameter(SharedFailures.class);
+    if (shared.isPresent()) {
+      // the target is not part of the message, allowing the failure to be shared
+      FailureItem item = FailureItem.ofShared(
+          reason,
           ex,
-          "Error when invoking function '{}'{}",
+          shared.get().isCaptureStackTrace(),
+          "{} when invoking function '{}': {}",
+          description,
           fnName,
-          msg);
+          exMsg);
+      failure = Result.failure(Failure.of(item));
+
+    } else {
+      Optional<String> id = function.identifier(target);
+      String msg = id.map(v -> " for ID '" + v + "': " + exMsg).orElse(": " + exMsg + ": for target '" + target.toString() + "'");
+      failure = Result.failure(reason, ex, "{} when invoking function '{}'{}", description, fnName, msg);
     }
     return getMeasures().stream().collect(toImmutableMap(m -> m, m -> failure));
   }
@@ -88,15 +88,16 @@ public final class CalculationTaskCell implements ImmutableBean {
    * is used to determine the natural currency.
    * 
    * @param task  the calculation task
+   * @param target  the target of the calculation
    * @param refData  the reference data
    * @return the reporting currency
    */
-  Currency reportingCurrency(CalculationTask task, ReferenceData refData) {
+  Currency reportingCurrency(CalculationTask task, CalculationTarget target, ReferenceData refData) {
     if (reportingCurrency.isSpecific()) {
       return reportingCurrency.getCurrency();
     }
     // this should never throw an exception, because it is only called if the measure is currency-convertible
-    return task.naturalCurrency(refData);
+    return task.getFunction().naturalCurrency(target, refData);
   }
 
   /**
@@ -126,13 +127,14 @@ public final class CalculationTaskCell implements ImmutableBean {
           "Measure '{}' was not calculated by the function for target type '{}'",
           measure, target.getClass().getName());
     }
-    Result<?> result = convertCurrencyIfNecessary(task, calculated, fxProvider, refData);
+    Result<?> result = convertCurrencyIfNecessary(task, target, calculated, fxProvider, refData);
     return CalculationResult.of(rowIndex, columnIndex, result);
   }
 
   // converts the value, if appropriate
   private Result<?> convertCurrencyIfNecessary(
       CalculationTask task,
+      CalculationTarget target,
       Result<?> result,
       ScenarioFxRateProvider fxProvider,
       ReferenceData refData) {
@@ -144,7 +146,7 @@ public final class CalculationTaskCell implements ImmutableBean {
         result.getValue() instanceof ScenarioFxConvertible) {
 
       ScenarioFxConvertible<?> convertible = (ScenarioFxConvertible<?>) result.getValue();
-      return convertCurrency(task, convertible, fxProvider, refData);
+      return convertCurrency(task, target, convertible, fxProvider, refData);
     }
     return result;
   }
@@ -152,11 +154,12 @@ public final class CalculationTaskCell implements ImmutableBean {
   // converts the value
   private Result<?> convertCurrency(
       CalculationTask task,
+      CalculationTarget target,
       ScenarioFxConvertible<?> value,
       ScenarioFxRateProvider fxProvider,
       ReferenceData refData) {
 
-    Currency resolvedReportingCurrency = reportingCurrency(task, refData);
+    Currency resolvedReportingCurrency = reportingCurrency(task, target, refData);
     try {
       return Result.success(value.convertedTo(resolvedReportingCurrency, fxProvider));
     } catch (RuntimeException ex) {
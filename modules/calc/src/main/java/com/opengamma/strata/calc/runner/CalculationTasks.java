@@ -22,6 +22,7 @@ import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ListMultimap;
 import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.CalculationTargetReference;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.CalculationRules;
 import com.opengamma.strata.calc.CalculationRunner;
@@ -71,6 +72,10 @@ public final class CalculationTasks implements ImmutableBean {
    * <p>
    * The targets will typically be trades.
    * The columns represent the measures to calculate.
+   * <p>
+   * A target may be a {@link CalculationTargetReference}. The target is created from the reference
+   * to find the applicable function and parameters, but the tasks hold the reference.
+   * Each task creates the target again when determining requirements and when executing.
    * 
    * @param rules  the rules defining how the calculation is performed
    * @param targets  the targets for which values of the measures will be calculated
@@ -93,19 +98,38 @@ public final class CalculationTasks implements ImmutableBean {
     ImmutableList.Builder<CalculationTask> taskBuilder = ImmutableList.builder();
     for (int rowIndex = 0; rowIndex < targets.size(); rowIndex++) {
       CalculationTarget target = targets.get(rowIndex);
-
-      // find the applicable function
-      CalculationFunction<?> fn = rules.getFunctions().getFunction(target);
-
-      // create the tasks
-      List<CalculationTask> targetTasks = createTargetTasks(target, rowIndex, fn, effectiveColumns);
-      taskBuilder.addAll(targetTasks);
+      if (target instanceof CalculationTargetReference) {
+        CalculationTargetReference reference = (CalculationTargetReference) target;
+        taskBuilder.addAll(createReferenceTasks(reference, rowIndex, rules, effectiveColumns));
+      } else {
+        // find the applicable function
+        CalculationFunction<?> fn = rules.getFunctions().getFunction(target);
+
+        // create the tasks
+        List<CalculationTask> targetTasks = createTargetTasks(target, rowIndex, fn, effectiveColumns);
+        taskBuilder.addAll(targetTasks);
+      }
     }
 
     // calculation tasks holds the original user-specified columns, not the derived ones
     return new CalculationTasks(taskBuilder.build(), columns);
   }
 
+  // creates the tasks for a single target reference
+  // the function and parameters are those of the target, which is discarded once the tasks are created
+  private static List<CalculationTask> createReferenceTasks(
+      CalculationTargetReference reference,
+      int rowIndex,
+      CalculationRules rules,
+      List<Column> columns) {
+
+    CalculationTarget target = reference.createTarget();
+    CalculationFunction<?> fn = rules.getFunctions().getFunction(target);
+    return createTargetTasks(target, rowIndex, fn, columns).stream()
+        .map(task -> CalculationTask.of(reference, fn, task.getParameters(), task.getCells()))
+        .collect(toImmutableList());
+  }
+
   // creates the tasks for a single target
   private static List<CalculationTask> createTargetTasks(
       CalculationTarget target,
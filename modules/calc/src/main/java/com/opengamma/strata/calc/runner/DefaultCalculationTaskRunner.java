@@ -120,6 +120,7 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * need to be unwrapped.
    * <p>
    * If {@code result} is a failure or doesn't contain a {@code ScenarioArray} it is returned.
+   * If {@code result} contains a {@link DeferredResult}, the result is unwrapped when it is calculated.
    * <p>
    * If this method is called with a {@code ScenarioArray} containing more than one value it throws an exception.
    */
@@ -128,6 +129,9 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
       return result;
     }
     Object value = result.getValue();
+    if (value instanceof DeferredResult) {
+      return Result.success(((DeferredResult) value).map(DefaultCalculationTaskRunner::unwrapScenarioResult));
+    }
     if (!(value instanceof ScenarioArray)) {
       return result;
     }
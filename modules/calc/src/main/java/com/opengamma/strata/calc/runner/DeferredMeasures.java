@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.io.Serializable;
+import java.util.Optional;
+import java.util.Set;
+
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.calc.Measure;
+
+/**
+ * A calculation parameter that defers the calculation of a set of measures until the result is accessed.
+ * <p>
+ * Some measures, such as an explanation of the present value or a bucketed PV01, are expensive
+ * to calculate and are often only examined for a small number of targets.
+ * When this parameter is specified, the measures in the set are not calculated when the calculations are run.
+ * Instead, the result contains a {@link DeferredResult} that performs the calculation the first time it is accessed,
+ * using the market data and reference data captured when the calculations were run.
+ * The calculated result is cached, so the calculation is performed at most once.
+ * <p>
+ * {@link com.opengamma.strata.calc.Results#get(int, int) Results.get()} returns the calculated result
+ * rather than the deferred result, so deferral is transparent to most callers.
+ * Note that a deferred result holds a reference to the market data until it is calculated.
+ */
+@BeanDefinition(style = "light")
+public final class DeferredMeasures
+    implements CalculationParameter, ImmutableBean, Serializable {
+
+  /**
+   * The measures whose calculation is deferred.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableSet<Measure> measures;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance that defers the calculation of the specified measures.
+   * 
+   * @param measures  the measures whose calculation is deferred
+   * @return the parameter
+   */
+  public static DeferredMeasures of(Measure... measures) {
+    return new DeferredMeasures(ImmutableSet.copyOf(measures));
+  }
+
+  /**
+   * Obtains an instance that defers the calculation of the specified measures.
+   * 
+   * @param measures  the measures whose calculation is deferred
+   * @return the parameter
+   */
+  public static DeferredMeasures of(Set<? extends Measure> measures) {
+    return new DeferredMeasures(ImmutableSet.copyOf(measures));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks whether the calculation of the specified measure is deferred.
+   * 
+   * @param measure  the measure
+   * @return true if the calculation of the measure is deferred
+   */
+  public boolean isDeferred(Measure measure) {
+    return measures.contains(measure);
+  }
+
+  // the parameter only applies to the deferred measures, which results in them being calculated in separate tasks
+  @Override
+  public Optional<CalculationParameter> filter(CalculationTarget target, Measure measure) {
+    return isDeferred(measure) ? Optional.of(this) : Optional.empty();
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code DeferredMeasures}.
+   */
+  private static final MetaBean META_BEAN = LightMetaBean.of(DeferredMeasures.class);
+
+  /**
+   * The meta-bean for {@code DeferredMeasures}.
+   * @return the meta-bean, not null
+   */
+  public static MetaBean meta() {
+    return META_BEAN;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private DeferredMeasures(
+      Set<Measure> measures) {
+    JodaBeanUtils.notNull(measures, "measures");
+    this.measures = ImmutableSet.copyOf(measures);
+  }
+
+  @Override
+  public MetaBean metaBean() {
+    return META_BEAN;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the measures whose calculation is deferred.
+   * @return the value of the property, not null
+   */
+  public ImmutableSet<Measure> getMeasures() {
+    return measures;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      DeferredMeasures other = (DeferredMeasures) obj;
+      return JodaBeanUtils.equal(measures, other.measures);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(measures);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(64);
+    buf.append("DeferredMeasures{");
+    buf.append("measures").append('=').append(JodaBeanUtils.toString(measures));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.io.Serializable;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * A calculation result that is calculated when it is first accessed.
+ * <p>
+ * Instances are created by the calculation engine for measures specified in {@link DeferredMeasures}.
+ * The calculation is performed at most once, the first time {@link #getResult()} is called.
+ * The result is then cached and returned on subsequent calls.
+ * <p>
+ * This is a value type, equal to another deferred result with an equal result.
+ * As such, {@link #equals(Object)}, {@link #hashCode()} and serialization force the calculation to be
+ * performed if it has not yet been, whereas {@link #isCalculated()} and {@link #toString()} do not.
+ * Once deserialized, the instance holds the calculated result.
+ * <p>
+ * The supplier, and the inputs it captures, are retained until the calculation has been performed.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class DeferredResult implements Serializable {
+
+  /** Serialization version. */
+  private static final long serialVersionUID = 1L;
+
+  /** The supplier that performs the calculation, null once the calculation has been performed. */
+  private transient Supplier<Result<?>> supplier;
+  /** The calculated result, null until the calculation has been performed. */
+  private volatile Result<?> result;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance that calculates the result using the specified supplier.
+   * <p>
+   * The supplier will be invoked at most once.
+   * 
+   * @param supplier  the supplier that performs the calculation
+   * @return the deferred result
+   */
+  public static DeferredResult of(Supplier<Result<?>> supplier) {
+    return new DeferredResult(ArgChecker.notNull(supplier, "supplier"));
+  }
+
+  // restricted constructor
+  private DeferredResult(Supplier<Result<?>> supplier) {
+    this.supplier = supplier;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks whether the result has been calculated.
+   * 
+   * @return true if the result has been calculated
+   */
+  public boolean isCalculated() {
+    return result != null;
+  }
+
+  /**
+   * Gets the result, performing the calculation if it has not yet been performed.
+   * 
+   * @return the result
+   */
+  public Result<?> getResult() {
+    Result<?> calculated = result;
+    if (calculated == null) {
+      synchronized (this) {
+        calculated = result;
+        if (calculated == null) {
+          calculated = ArgChecker.notNull(supplier.get(), "result");
+          result = calculated;
+          supplier = null;
+        }
+      }
+    }
+    return calculated;
+  }
+
+  /**
+   * Returns a deferred result that applies a function to the result of this instance.
+   * <p>
+   * The calculation of this instance is not triggered by this method.
+   * 
+   * @param function  the function to apply to the result
+   * @return the deferred result
+   */
+  public DeferredResult map(Function<Result<?>, Result<?>> function) {
+    return of(() -> function.apply(getResult()));
+  }
+
+  // performs the calculation, such that the result is serialized rather than the supplier
+  // serializing an instance that has not been calculated thus has the cost of the calculation
+  private Object writeReplace() {
+    getResult();
+    return this;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if this deferred result is equal to another, comparing the results.
+   * <p>
+   * This performs the calculation of both instances if it has not yet been performed.
+   * 
+   * @param obj  the other object
+   * @return true if the results are equal
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj instanceof DeferredResult) {
+      return getResult().equals(((DeferredResult) obj).getResult());
+    }
+    return false;
+  }
+
+  /**
+   * Returns a suitable hash code, derived from the result.
+   * <p>
+   * This performs the calculation if it has not yet been performed.
+   * 
+   * @return the hash code
+   */
+  @Override
+  public int hashCode() {
+    return getResult().hashCode();
+  }
+
+  /**
+   * Returns a string describing the result, without performing the calculation.
+   * 
+   * @return the descriptive string
+   */
+  @Override
+  public String toString() {
+    return isCalculated() ? "DeferredResult[" + result + "]" : "DeferredResult[not calculated]";
+  }
+
+}
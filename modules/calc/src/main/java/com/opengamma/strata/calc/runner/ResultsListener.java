@@ -10,16 +10,26 @@ import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.function.Function;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.calc.Column;
 import com.opengamma.strata.calc.ColumnHeader;
 import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioArray;
 
 /**
  * Calculation listener that receives the results of individual calculations and builds a set of {@link Results}.
+ * <p>
+ * When calculating a large number of scenarios, the results can optionally be stored in a compact form
+ * as they are received, see {@link #compacting()}. This converts scenario arrays holding one object
+ * per scenario into arrays backed by primitive values, reducing the memory needed to hold the results.
  */
 public final class ResultsListener extends AggregatingCalculationListener<Results> {
 
@@ -31,6 +41,9 @@ public final class ResultsListener extends AggregatingCalculationListener<Result
   /** List that is populated with the results as they arrive. */
   private final List<CalculationResult> results = new ArrayList<>();
 
+  /** The function used to compact scenario arrays, null if results are not compacted. */
+  private final Function<ScenarioArray<?>, ScenarioArray<?>> compactor;
+
   /** The columns that define what values are calculated. */
   private List<Column> columns;
 
@@ -38,6 +51,40 @@ public final class ResultsListener extends AggregatingCalculationListener<Result
    * Creates a new instance.
    */
   public ResultsListener() {
+    this.compactor = null;
+  }
+
+  /**
+   * Creates a new instance that stores scenario results in a compact form.
+   * <p>
+   * Scenario arrays of {@code Double} are stored as {@link DoubleScenarioArray} and scenario arrays
+   * of {@link CurrencyAmount} in a single currency are stored as {@link CurrencyScenarioArray}.
+   * Other values are stored as received.
+   *
+   * @return the listener
+   */
+  public static ResultsListener compacting() {
+    return new ResultsListener(Function.identity());
+  }
+
+  /**
+   * Creates a new instance that stores scenario results in a compact form, using an additional compaction function.
+   * <p>
+   * This behaves as {@link #compacting()}, but first applies the specified function to each scenario array.
+   * This allows compact forms to be used that are not known to this module, such as
+   * {@code CurrencyParameterSensitivitiesScenarioArray::compact}.
+   * The function must return the input if it is unable to compact it.
+   *
+   * @param compactor  the function used to compact scenario arrays
+   * @return the listener
+   */
+  public static ResultsListener compacting(Function<ScenarioArray<?>, ScenarioArray<?>> compactor) {
+    return new ResultsListener(compactor);
+  }
+
+  // creates an instance that compacts the results
+  private ResultsListener(Function<ScenarioArray<?>, ScenarioArray<?>> compactor) {
+    this.compactor = compactor.andThen(ResultsListener::compactStandard);
   }
 
   @Override
@@ -47,7 +94,12 @@ public final class ResultsListener extends AggregatingCalculationListener<Result
 
   @Override
   public void resultReceived(CalculationTarget target, CalculationResult result) {
-    results.add(result);
+    if (compactor != null && result.getResult().isSuccess() && result.getResult().getValue() instanceof ScenarioArray) {
+      Result<?> compacted = result.getResult().map(value -> compactor.apply((ScenarioArray<?>) value));
+      results.add(result.withResult(compacted));
+    } else {
+      results.add(result);
+    }
   }
 
   @Override
@@ -74,4 +126,31 @@ public final class ResultsListener extends AggregatingCalculationListener<Result
 
     return Results.of(headers, results);
   }
+
+  // compacts scenario arrays of doubles and currency amounts
+  private static ScenarioArray<?> compactStandard(ScenarioArray<?> array) {
+    if (array instanceof DoubleScenarioArray ||
+        array instanceof CurrencyScenarioArray ||
+        array.getScenarioCount() == 0) {
+      return array;
+    }
+    Object first = array.get(0);
+    if (first instanceof Double) {
+      if (array.stream().allMatch(Double.class::isInstance)) {
+        return DoubleScenarioArray.of(DoubleArray.of(array.getScenarioCount(), i -> (Double) array.get(i)));
+      }
+    } else if (first instanceof CurrencyAmount) {
+      CurrencyAmount firstAmount = (CurrencyAmount) first;
+      boolean compatible = array.stream()
+          .allMatch(value -> value instanceof CurrencyAmount &&
+              ((CurrencyAmount) value).getCurrency().equals(firstAmount.getCurrency()));
+      if (compatible) {
+        return CurrencyScenarioArray.of(
+            firstAmount.getCurrency(),
+            DoubleArray.of(array.getScenarioCount(), i -> ((CurrencyAmount) array.get(i)).getAmount()));
+      }
+    }
+    return array;
+  }
+
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.CalculationTargetReference;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * Calculation listener that assembles the results of individual calculations into rows.
+ * <p>
+ * Each row contains the results for a single target, one result for each column.
+ * A row is passed to {@link #rowReceived(int, CalculationTarget, List)} as soon as it is complete
+ * and all earlier rows have been passed, so rows are always received in the order of the targets.
+ * Once a row has been passed it is no longer referenced by this listener.
+ * No rows are received if there are no columns.
+ * <p>
+ * This allows results to be processed as the calculations progress, for example by writing them to a file,
+ * without holding the results for every target in memory.
+ */
+public abstract class RowCalculationListener implements CalculationListener {
+
+  /** The number of columns in each row. */
+  private int columnCount;
+  /** The rows that have received some, but not all, of their results, keyed by row index. */
+  private final Map<Integer, PendingRow> pendingRows = new HashMap<>();
+  /** The complete rows that are waiting for an earlier row to complete, keyed by row index. */
+  private final TreeMap<Integer, PendingRow> completeRows = new TreeMap<>();
+  /** The index of the next row to be passed to the subclass. */
+  private int nextRowIndex;
+
+  /**
+   * Creates an instance.
+   */
+  protected RowCalculationListener() {
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public final void calculationsStarted(List<CalculationTarget> targets, List<Column> columns) {
+    this.columnCount = columns.size();
+    rowsStarted(ImmutableList.copyOf(targets), ImmutableList.copyOf(columns));
+  }
+
+  @Override
+  public final void resultReceived(CalculationTarget target, CalculationResult result) {
+    int rowIndex = result.getRowIndex();
+    PendingRow row = pendingRows.computeIfAbsent(rowIndex, i -> new PendingRow(columnCount));
+    if (row.add(target, result.getColumnIndex(), result.getResult())) {
+      pendingRows.remove(rowIndex);
+      completeRows.put(rowIndex, row);
+      while (!completeRows.isEmpty() && completeRows.firstKey() == nextRowIndex) {
+        PendingRow completeRow = completeRows.pollFirstEntry().getValue();
+        rowReceived(nextRowIndex, completeRow.target, completeRow.toList());
+        nextRowIndex++;
+      }
+    }
+  }
+
+  @Override
+  public final void calculationsComplete() {
+    // pass any complete rows that are still waiting for an earlier row that never completed
+    for (Map.Entry<Integer, PendingRow> entry : completeRows.entrySet()) {
+      rowReceived(entry.getKey(), entry.getValue().target, entry.getValue().toList());
+    }
+    completeRows.clear();
+    rowsComplete();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Invoked when the calculations start, before any rows are received.
+   * <p>
+   * The default implementation does nothing.
+   *
+   * @param targets  the targets for which values are being calculated, one for each row
+   * @param columns  the columns for which values are being calculated
+   */
+  protected void rowsStarted(List<CalculationTarget> targets, List<Column> columns) {
+  }
+
+  /**
+   * Invoked when all the results for a row have been received.
+   *
+   * @param rowIndex  the index of the row
+   * @param target  the calculation target of the row, such as a trade,
+   *  created from the reference if the target is a {@link CalculationTargetReference}
+   * @param results  the results in the row, one for each column
+   */
+  protected abstract void rowReceived(int rowIndex, CalculationTarget target, List<Result<?>> results);
+
+  /**
+   * Invoked when all calculations have completed and all rows have been received.
+   */
+  protected abstract void rowsComplete();
+
+  //-------------------------------------------------------------------------
+  /**
+   * A row that has not yet received all of its results.
+   */
+  private static final class PendingRow {
+
+    /** The target of the results, as received with the results. */
+    private CalculationTarget target;
+    /** The results received so far, indexed by column. */
+    private final Result<?>[] results;
+    /** The number of results received so far. */
+    private int count;
+
+    private PendingRow(int columnCount) {
+      this.results = new Result<?>[columnCount];
+    }
+
+    // adds a result, returning true if the row is complete
+    private boolean add(CalculationTarget target, int columnIndex, Result<?> result) {
+      this.target = target;
+      if (results[columnIndex] == null) {
+        count++;
+      }
+      results[columnIndex] = result;
+      return count == results.length;
+    }
+
+    private List<Result<?>> toList() {
+      return ImmutableList.copyOf(Arrays.asList(results));
+    }
+  }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.io.Serializable;
+import java.util.Set;
+
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.opengamma.strata.collect.result.FailureItem;
+
+/**
+ * A calculation parameter that shares identical failures between targets.
+ * <p>
+ * When a piece of market data is missing, the calculations for all the targets that use it fail.
+ * By default, each failure has a message identifying the target and a stack trace,
+ * which is expensive when the calculations fail for a large number of targets.
+ * <p>
+ * When this parameter is specified, the failures created by the calculation engine do not identify
+ * the target, which is implied by the row of the results. Failures with the same reason, message
+ * and cause type share a single {@link FailureItem}, see {@link FailureItem#ofShared}.
+ * The stack trace is only captured if requested, and then only for the first failure.
+ * <p>
+ * Failures returned by the calculation functions are unaffected.
+ */
+@BeanDefinition(style = "light")
+public final class SharedFailures
+    implements CalculationParameter, ImmutableBean, Serializable {
+
+  /**
+   * Whether to capture the stack trace of the first failure.
+   * If false, the stack trace of the failure only contains the description of the exception.
+   */
+  @PropertyDefinition
+  private final boolean captureStackTrace;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance that shares identical failures, without capturing stack traces.
+   *
+   * @return the parameter
+   */
+  public static SharedFailures of() {
+    return new SharedFailures(false);
+  }
+
+  /**
+   * Obtains an instance that shares identical failures.
+   *
+   * @param captureStackTrace  whether to capture the stack trace of the first failure
+   * @return the parameter
+   */
+  public static SharedFailures of(boolean captureStackTrace) {
+    return new SharedFailures(captureStackTrace);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code SharedFailures}.
+   */
+  private static final MetaBean META_BEAN = LightMetaBean.of(SharedFailures.class);
+
+  /**
+   * The meta-bean for {@code SharedFailures}.
+   * @return the meta-bean, not null
+   */
+  public static MetaBean meta() {
+    return META_BEAN;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private SharedFailures(
+      boolean captureStackTrace) {
+    this.captureStackTrace = captureStackTrace;
+  }
+
+  @Override
+  public MetaBean metaBean() {
+    return META_BEAN;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets whether to capture the stack trace of the first failure.
+   * If false, the stack trace of the failure only contains the description of the exception.
+   * @return the value of the property
+   */
+  public boolean isCaptureStackTrace() {
+    return captureStackTrace;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      SharedFailures other = (SharedFailures) obj;
+      return (captureStackTrace == other.captureStackTrace);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(captureStackTrace);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(64);
+    buf.append("SharedFailures{");
+    buf.append("captureStackTrace").append('=').append(JodaBeanUtils.toString(captureStackTrace));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
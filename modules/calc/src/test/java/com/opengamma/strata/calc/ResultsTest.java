@@ -6,6 +6,7 @@
 package com.opengamma.strata.calc;
 
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
 import static com.opengamma.strata.collect.TestHelper.assertThrows;
 import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
@@ -18,6 +19,11 @@ import java.util.List;
 import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.calc.runner.DeferredResult;
+import com.opengamma.strata.collect.result.Failure;
+import com.opengamma.strata.collect.result.FailureItem;
+import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 
 /**
@@ -66,6 +72,64 @@ public class ResultsTest {
         "Result queried with type 'java.lang.Integer' but was 'java.lang.String'");
   }
 
+  public void deferred() {
+    DeferredResult deferred = DeferredResult.of(() -> Result.success("2"));
+    Results test = Results.of(ImmutableList.of(HEADER1, HEADER2), ImmutableList.of(
+        Result.success("1"), Result.success(deferred)));
+    assertEquals(deferred.isCalculated(), false);
+    assertEquals(test.get(0, 1).getValue(), "2");
+    assertEquals(test.get(0, NAME_B, String.class).getValue(), "2");
+    assertEquals(deferred.isCalculated(), true);
+    assertEquals(test.getCells(), ImmutableList.of(Result.success("1"), Result.success("2")));
+  }
+
+  public void deferred_getCells() {
+    DeferredResult deferred = DeferredResult.of(() -> Result.success("2"));
+    Results test = Results.of(ImmutableList.of(HEADER1, HEADER2), ImmutableList.of(
+        Result.success("1"), Result.success(deferred)));
+    assertEquals(test.getCells(), ImmutableList.of(Result.success("1"), Result.success("2")));
+    assertEquals(deferred.isCalculated(), true);
+  }
+
+  public void deferred_equalsHashCode() {
+    DeferredResult deferred = DeferredResult.of(() -> Result.success("2"));
+    DeferredResult deferred2 = DeferredResult.of(() -> Result.success("2"));
+    DeferredResult deferred3 = DeferredResult.of(() -> Result.success("3"));
+    assertEquals(deferred.equals(deferred), true);
+    assertEquals(deferred.isCalculated(), false);
+    assertEquals(deferred.equals(deferred2), true);
+    assertEquals(deferred.isCalculated(), true);
+    assertEquals(deferred.hashCode(), deferred2.hashCode());
+    assertEquals(deferred.equals(deferred3), false);
+    assertEquals(deferred.equals(""), false);
+    Results test = Results.of(ImmutableList.of(HEADER1), ImmutableList.of(Result.success(deferred)));
+    Results test2 = Results.of(ImmutableList.of(HEADER1), ImmutableList.of(Result.success(deferred2)));
+    assertEquals(test, test2);
+  }
+
+  public void deferred_serialization() {
+    DeferredResult deferred = DeferredResult.of(() -> Result.success("2"));
+    assertSerialization(Result.success(deferred));
+    assertEquals(deferred.isCalculated(), true);
+    assertSerialization(deferred.map(result -> result.map(value -> value + "3")));
+  }
+
+  public void failureCounts() {
+    FailureItem item1 = FailureItem.ofShared(FailureReason.MISSING_DATA, "Missing curve");
+    FailureItem item2 = FailureItem.ofShared(FailureReason.INVALID, "Invalid trade");
+    DeferredResult deferred = DeferredResult.of(() -> Result.failure(FailureReason.ERROR, "Not counted"));
+    Results test = Results.of(ImmutableList.of(HEADER1, HEADER2), ImmutableList.of(
+        Result.failure(Failure.of(item1)),
+        Result.success("1"),
+        Result.failure(Failure.of(item2)),
+        Result.success(deferred),
+        Result.failure(Failure.of(item1)),
+        Result.failure(Failure.of(item1))));
+    assertEquals(test.failureCounts(), ImmutableMap.of(item1, 3, item2, 1));
+    assertEquals(test.failureCounts().keySet().asList(), ImmutableList.of(item1, item2));
+    assertEquals(deferred.isCalculated(), false);
+  }
+
   /**
    * Tests that it's not possible to create results with invalid combinations of row and column
    * count and number of items
@@ -272,6 +272,68 @@ public class DefaultMarketDataFactoryTest {
     assertThat(marketDataB2).isEqualTo(expectedB2);
   }
 
+  /**
+   * Tests that market data built from unchanged inputs is reused from the cache in subsequent runs.
+   */
+  public void buildWithCache() {
+    TestMarketDataFunctionB builderB = new TestMarketDataFunctionB();
+    TestMarketDataFunctionC builderC = new TestMarketDataFunctionC();
+
+    MarketDataRequirements requirements = MarketDataRequirements.builder()
+        .addValues(new TestIdB("1"), new TestIdB("2"))
+        .build();
+
+    LocalDateDoubleTimeSeries timeSeries1 = LocalDateDoubleTimeSeries.of(date(2011, 3, 8), 1);
+    LocalDateDoubleTimeSeries timeSeries2 = LocalDateDoubleTimeSeries.of(date(2011, 3, 8), 10);
+    TestIdA idA1 = new TestIdA("1");
+    TestIdA idA2 = new TestIdA("2");
+
+    MarketDataCache cache = MarketDataCache.of(100);
+    MarketDataFactory factory = MarketDataFactory.of(
+        ObservableDataProvider.none(),
+        TimeSeriesProvider.none(),
+        cache,
+        ImmutableList.<MarketDataFunction<?, ?>>of(builderB, builderC));
+
+    MarketData suppliedData = ImmutableMarketData.builder(date(2011, 3, 8))
+        .addTimeSeries(idA1, timeSeries1)
+        .addTimeSeries(idA2, timeSeries2)
+        .addValue(idA1, 1d)
+        .addValue(idA2, 2d)
+        .build();
+
+    // first run builds everything
+    BuiltMarketData marketData1 = factory.create(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA);
+    assertThat(marketData1.getValueFailures()).isEmpty();
+    assertThat(cache.getHitCount()).isEqualTo(0);
+    assertThat(cache.getMissCount()).isEqualTo(4);
+    assertThat(cache.size()).isEqualTo(4);
+
+    // second run with the same inputs reuses everything
+    BuiltMarketData marketData2 = factory.create(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA);
+    assertThat(cache.getHitCount()).isEqualTo(4);
+    assertThat(cache.getMissCount()).isEqualTo(4);
+    assertThat(marketData2.getValue(new TestIdB("1"))).isSameAs(marketData1.getValue(new TestIdB("1")));
+    assertThat(marketData2.getValue(new TestIdB("2"))).isSameAs(marketData1.getValue(new TestIdB("2")));
+
+    // third run with a changed quote only rebuilds the data depending on the quote
+    MarketData changedData = ImmutableMarketData.builder(date(2011, 3, 8))
+        .addTimeSeries(idA1, timeSeries1)
+        .addTimeSeries(idA2, timeSeries2)
+        .addValue(idA1, 5d)
+        .addValue(idA2, 2d)
+        .build();
+    BuiltMarketData marketData3 = factory.create(requirements, MARKET_DATA_CONFIG, changedData, REF_DATA);
+    assertThat(cache.getHitCount()).isEqualTo(7);
+    assertThat(cache.getMissCount()).isEqualTo(5);
+    TestMarketDataB expectedB1 = new TestMarketDataB(5, new TestMarketDataC(timeSeries1));
+    assertThat(marketData3.getValue(new TestIdB("1"))).isEqualTo(expectedB1);
+    assertThat(marketData3.getValue(new TestIdB("2"))).isSameAs(marketData1.getValue(new TestIdB("2")));
+
+    cache.clear();
+    assertThat(cache.size()).isEqualTo(0);
+  }
+
   /**
    * Tests an exception is thrown when there is no builder for an ID type.
    */
@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import org.testng.annotations.Test;
@@ -43,6 +44,7 @@ import com.opengamma.strata.calc.marketdata.TestObservableId;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.data.FxRateId;
 import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.MarketDataNotFoundException;
@@ -255,6 +257,80 @@ public class CalculationTaskTest {
     assertThat(result).hasValue(ScenarioArray.of("foo"));
   }
 
+  /**
+   * Tests that executing a task with deferred measures only invokes the function when the result is accessed.
+   */
+  public void executeDeferred() {
+    AtomicInteger count = new AtomicInteger();
+    SupplierFunction<String> fn = SupplierFunction.of(() -> "foo" + count.incrementAndGet());
+    CalculationTaskCell cell = CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, REPORTING_CURRENCY_USD);
+    CalculationParameters params = CalculationParameters.of(DeferredMeasures.of(TestingMeasures.PRESENT_VALUE));
+    CalculationTask task = CalculationTask.of(TARGET, fn, params, ImmutableList.of(cell));
+    ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(date(2011, 3, 8)).build();
+
+    CalculationResults calculationResults = task.execute(marketData, REF_DATA);
+    assertThat(count.get()).isEqualTo(0);
+    Result<?> result = calculationResults.getCells().get(0).getResult();
+    assertThat(result.getValue()).isInstanceOf(DeferredResult.class);
+    DeferredResult deferred = (DeferredResult) result.getValue();
+    assertThat(deferred.isCalculated()).isFalse();
+    assertThat(deferred.getResult()).hasValue(ScenarioArray.of("foo1"));
+    assertThat(deferred.getResult()).hasValue(ScenarioArray.of("foo1"));
+    assertThat(deferred.isCalculated()).isTrue();
+    assertThat(count.get()).isEqualTo(1);
+  }
+
+  /**
+   * Tests that a deferred calculation only retains the market data required by the task.
+   */
+  public void executeDeferred_requiredMarketData() {
+    MarketDataCaptureFunction fn = new MarketDataCaptureFunction();
+    CalculationTaskCell cell = CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+    CalculationParameters params = CalculationParameters.of(DeferredMeasures.of(TestingMeasures.PRESENT_VALUE));
+    CalculationTask task = CalculationTask.of(TARGET, fn, params, ImmutableList.of(cell));
+    LocalDateDoubleTimeSeries timeSeries = LocalDateDoubleTimeSeries.of(date(2011, 3, 7), 1.5d);
+    ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(date(2011, 3, 8))
+        .addValue(TestId.of("1"), "one")
+        .addValue(TestObservableId.of("2", OBS_SOURCE), 2d)
+        .addValue(TestId.of("4"), "not required")
+        .addTimeSeries(TestObservableId.of("3", OBS_SOURCE), timeSeries)
+        .addTimeSeries(TestObservableId.of("5", OBS_SOURCE), timeSeries)
+        .build();
+
+    CalculationResults calculationResults = task.execute(marketData, REF_DATA);
+    DeferredResult deferred = (DeferredResult) calculationResults.getCells().get(0).getResult().getValue();
+    assertThat(fn.marketData).isNull();
+    assertThat(deferred.getResult()).hasValue(ScenarioArray.of("bar"));
+    ScenarioMarketData captured = fn.marketData;
+    assertThat(captured.getValuationDate()).isEqualTo(marketData.getValuationDate());
+    assertThat(captured.getScenarioCount()).isEqualTo(marketData.getScenarioCount());
+    assertThat(captured.getIds()).containsOnly(TestId.of("1"), TestObservableId.of("2", OBS_SOURCE));
+    assertThat(captured.getTimeSeriesIds()).containsOnly(TestObservableId.of("3", OBS_SOURCE));
+    assertThat(captured.getTimeSeries(TestObservableId.of("3", OBS_SOURCE))).isEqualTo(timeSeries);
+  }
+
+  /**
+   * Test executing a bad function that fails to return expected measure, sharing the failure.
+   */
+  public void executeMissingMeasure_shared() {
+    MeasureCheckFunction fn = new MeasureCheckFunction(ImmutableSet.of(TestingMeasures.PRESENT_VALUE), Optional.of("123"));
+    CalculationTaskCell cell0 = CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, REPORTING_CURRENCY_USD);
+    CalculationTaskCell cell1 = CalculationTaskCell.of(0, 1, TestingMeasures.PRESENT_VALUE_MULTI_CCY, REPORTING_CURRENCY_USD);
+    CalculationParameters params = CalculationParameters.of(SharedFailures.of(true));
+    CalculationTask task = CalculationTask.of(TARGET, fn, params, ImmutableList.of(cell0, cell1));
+    ScenarioMarketData marketData = ScenarioMarketData.empty();
+
+    CalculationResults calculationResults = task.execute(marketData, REF_DATA);
+    Result<?> result1 = calculationResults.getCells().get(1).getResult();
+    assertThat(result1)
+        .isFailure(FailureReason.CALCULATION_FAILED)
+        .hasFailureMessageMatching(
+            "Function 'MeasureCheckFunction' did not return requested measure 'PresentValueMultiCurrency'");
+    Result<?> result2 = task.execute(marketData, REF_DATA).getCells().get(1).getResult();
+    assertThat(result2.getFailure().getItems().iterator().next())
+        .isSameAs(result1.getFailure().getItems().iterator().next());
+  }
+
   /**
    * Test executing a bad function that fails to return expected measure.
    */
@@ -355,6 +431,30 @@ public class CalculationTaskTest {
         .hasFailureMessageMatching("Missing market data when invoking function 'SupplierFunction': foo: for target '.*'");
   }
 
+  /**
+   * Tests that executing tasks that throw the same exception shares the failure between targets.
+   */
+  public void executeException_marketData_shared() {
+    SupplierFunction<String> fn = SupplierFunction.of(() -> {
+      throw new MarketDataNotFoundException("shared foo");
+    });
+    CalculationTaskCell cell = CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, REPORTING_CURRENCY_USD);
+    CalculationParameters params = CalculationParameters.of(SharedFailures.of());
+    CalculationTask task1 = CalculationTask.of(new TestTarget(), fn, params, ImmutableList.of(cell));
+    CalculationTask task2 = CalculationTask.of(new TestTarget(), fn, params, ImmutableList.of(cell));
+    ScenarioMarketData marketData = ScenarioMarketData.empty();
+
+    Result<?> result1 = task1.execute(marketData, REF_DATA).getCells().get(0).getResult();
+    Result<?> result2 = task2.execute(marketData, REF_DATA).getCells().get(0).getResult();
+    assertThat(result1)
+        .isFailure(FailureReason.MISSING_DATA)
+        .hasFailureMessageMatching("Missing market data when invoking function 'SupplierFunction': shared foo");
+    assertThat(result2.getFailure().getItems().iterator().next())
+        .isSameAs(result1.getFailure().getItems().iterator().next());
+    assertThat(result1.getFailure().getItems().iterator().next().getStackTrace())
+        .isEqualTo("com.opengamma.strata.data.MarketDataNotFoundException: shared foo");
+  }
+
   /**
    * Tests that executing a function that throws a reference data exception wraps the exception in a failure result.
    */
@@ -586,6 +686,52 @@ public class CalculationTaskTest {
     }
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Function with the requirements of {@link TestFunction} that captures the market data it is invoked with.
+   */
+  private static final class MarketDataCaptureFunction implements CalculationFunction<TestTarget> {
+
+    private volatile ScenarioMarketData marketData;
+
+    @Override
+    public Class<TestTarget> targetType() {
+      return TestTarget.class;
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return MEASURES;
+    }
+
+    @Override
+    public Currency naturalCurrency(TestTarget trade, ReferenceData refData) {
+      return USD;
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      return new TestFunction().requirements(target, measures, parameters, refData);
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      this.marketData = marketData;
+      return ImmutableMap.of(TestingMeasures.PRESENT_VALUE, Result.success(ScenarioArray.of("bar")));
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Function that returns a value from a Supplier.
@@ -18,6 +18,8 @@ import org.testng.annotations.Test;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.CalculationTargetReference;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.CalculationRules;
 import com.opengamma.strata.calc.Column;
@@ -29,6 +31,7 @@ import com.opengamma.strata.calc.runner.CalculationTaskTest.TestFunction;
 import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
 import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
 /**
  * Test {@link CalculationTasks}.
@@ -76,6 +79,56 @@ public class CalculationTasksTest {
     assertNotNull(CalculationTasks.meta());
   }
 
+  public void test_of_reference() {
+    CalculationFunctions functions = CalculationFunctions.of(ImmutableMap.of(TestTarget.class, new TestFunction()));
+    TestTargetReference reference1 = new TestTargetReference();
+    TestTargetReference reference2 = new TestTargetReference();
+    List<CalculationTarget> targets = ImmutableList.of(reference1, TARGET2, reference2);
+    List<Column> columns = ImmutableList.of(
+        Column.of(TestingMeasures.PRESENT_VALUE), Column.of(TestingMeasures.PAR_RATE));
+    CalculationRules calculationRules = CalculationRules.of(functions, USD);
+
+    CalculationTasks test = CalculationTasks.of(calculationRules, targets, columns);
+    assertThat(test.getTargets()).containsExactly(reference1, TARGET2, reference2);
+    assertThat(test.getTasks()).hasSize(3);
+    // the tasks hold the reference, and the target is created when needed
+    CalculationTask task = test.getTasks().get(0);
+    assertThat(task.getTarget()).isSameAs(reference1);
+    assertThat(task.getCells()).hasSize(2);
+    assertThat(task.getFunction()).isInstanceOf(TestFunction.class);
+    assertThat(reference1.created).isEqualTo(1);
+    assertThat(task.naturalCurrency(REF_DATA)).isEqualTo(USD);
+    assertThat(reference1.created).isEqualTo(2);
+    assertThat(test.getTasks().get(1).getTarget()).isSameAs(TARGET2);
+    assertThat(test.getTasks().get(1).getFunction()).isInstanceOf(TestFunction.class);
+
+    MarketDataRequirements expected = CalculationTasks.of(calculationRules, ImmutableList.of(TARGET1), columns)
+        .requirements(REF_DATA);
+    assertThat(test.requirements(REF_DATA)).isEqualTo(expected);
+    assertThat(reference1.created).isEqualTo(3);
+  }
+
+  public void test_of_reference_execute() {
+    CalculationFunctions functions = CalculationFunctions.of(ImmutableMap.of(TestTarget.class, new TestFunction()));
+    TestTargetReference reference = new TestTargetReference();
+    List<Column> columns = ImmutableList.of(
+        Column.of(TestingMeasures.PRESENT_VALUE), Column.of(TestingMeasures.PAR_RATE));
+    CalculationRules calculationRules = CalculationRules.of(functions, USD);
+    CalculationTasks tasks = CalculationTasks.of(calculationRules, ImmutableList.of(reference), columns);
+    CalculationTask task = tasks.getTasks().get(0);
+    assertThat(reference.created).isEqualTo(1);
+
+    // the target is created once for the requirements, including the natural currency
+    task.requirements(REF_DATA);
+    assertThat(reference.created).isEqualTo(2);
+
+    // the target is created once for the execution, and the results hold the created target
+    CalculationResults results = task.execute(ScenarioMarketData.empty(), REF_DATA);
+    assertThat(reference.created).isEqualTo(3);
+    assertThat(results.getTarget()).isSameAs(reference.last);
+    assertThat(results.getCells()).hasSize(2);
+  }
+
   //-------------------------------------------------------------------------
   public void test_requirements() {
     CalculationFunctions functions = CalculationFunctions.of(ImmutableMap.of(TestTarget.class, new TestFunction()));
@@ -114,4 +167,18 @@ public class CalculationTasksTest {
     assertThat(task.toString()).isEqualTo("CalculationTasks[grid=2x3]");
   }
 
+  //-------------------------------------------------------------------------
+  // reference that creates a new target each time
+  private static final class TestTargetReference implements CalculationTargetReference {
+    private int created;
+    private CalculationTarget last;
+
+    @Override
+    public CalculationTarget createTarget() {
+      created++;
+      last = new TestTarget();
+      return last;
+    }
+  }
+
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+
+/**
+ * Test {@link ResultsListener}.
+ */
+@Test
+public class ResultsListenerTest {
+
+  private static final CalculationTarget TARGET = new TestTarget();
+  private static final ImmutableList<Column> COLUMNS = ImmutableList.of(
+      Column.of(TestingMeasures.PRESENT_VALUE),
+      Column.of(TestingMeasures.PAR_RATE),
+      Column.of(TestingMeasures.PRESENT_VALUE_MULTI_CCY),
+      Column.of(TestingMeasures.CASH_FLOWS));
+
+  private static final ScenarioArray<CurrencyAmount> AMOUNTS =
+      ScenarioArray.of(CurrencyAmount.of(USD, 1), CurrencyAmount.of(USD, 2));
+  private static final ScenarioArray<CurrencyAmount> MIXED_AMOUNTS =
+      ScenarioArray.of(CurrencyAmount.of(USD, 1), CurrencyAmount.of(GBP, 2));
+  private static final ScenarioArray<Double> DOUBLES = ScenarioArray.of(1d, 2d);
+  private static final ScenarioArray<String> STRINGS = ScenarioArray.of("foo", "bar");
+
+  //-------------------------------------------------------------------------
+  public void notCompacting() {
+    Results results = calculate(new ResultsListener());
+    assertThat(results.get(0, 0).getValue()).isSameAs(AMOUNTS);
+    assertThat(results.get(0, 1).getValue()).isSameAs(DOUBLES);
+    assertThat(results.get(0, 2).getValue()).isSameAs(MIXED_AMOUNTS);
+    assertThat(results.get(0, 3).getValue()).isSameAs(STRINGS);
+  }
+
+  public void compacting() {
+    Results results = calculate(ResultsListener.compacting());
+    assertThat(results.get(0, 0).getValue()).isEqualTo(CurrencyScenarioArray.of(USD, DoubleArray.of(1, 2)));
+    assertThat(results.get(0, 1).getValue()).isEqualTo(DoubleScenarioArray.of(DoubleArray.of(1, 2)));
+    assertThat(results.get(0, 2).getValue()).isSameAs(MIXED_AMOUNTS);
+    assertThat(results.get(0, 3).getValue()).isSameAs(STRINGS);
+  }
+
+  public void compacting_function() {
+    ScenarioArray<String> compactStrings = ScenarioArray.of("FOO", "BAR");
+    Results results = calculate(ResultsListener.compacting(array -> array == STRINGS ? compactStrings : array));
+    assertThat(results.get(0, 0).getValue()).isEqualTo(CurrencyScenarioArray.of(USD, DoubleArray.of(1, 2)));
+    assertThat(results.get(0, 3).getValue()).isSameAs(compactStrings);
+  }
+
+  private static Results calculate(ResultsListener listener) {
+    listener.calculationsStarted(ImmutableList.of(TARGET), COLUMNS);
+    listener.resultReceived(TARGET, CalculationResult.of(0, 3, Result.success(STRINGS)));
+    listener.resultReceived(TARGET, CalculationResult.of(0, 0, Result.success(AMOUNTS)));
+    listener.resultReceived(TARGET, CalculationResult.of(0, 2, Result.success(MIXED_AMOUNTS)));
+    listener.resultReceived(TARGET, CalculationResult.of(0, 1, Result.success(DOUBLES)));
+    listener.calculationsComplete();
+    return listener.result();
+  }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * Test {@link RowCalculationListener}.
+ */
+@Test
+public class RowCalculationListenerTest {
+
+  private static final CalculationTarget TARGET1 = new TestTarget();
+  private static final CalculationTarget TARGET2 = new TestTarget();
+  private static final CalculationTarget TARGET3 = new TestTarget();
+  private static final List<CalculationTarget> TARGETS = ImmutableList.of(TARGET1, TARGET2, TARGET3);
+  private static final List<Column> COLUMNS = ImmutableList.of(
+      Column.of(TestingMeasures.PRESENT_VALUE),
+      Column.of(TestingMeasures.PAR_RATE));
+
+  public void rowsInTargetOrder() {
+    RecordingListener test = new RecordingListener();
+    test.calculationsStarted(TARGETS, COLUMNS);
+    test.resultReceived(TARGET2, CalculationResult.of(1, 1, Result.success("2b")));
+    test.resultReceived(TARGET2, CalculationResult.of(1, 0, Result.success("2a")));
+    assertThat(test.rows).isEmpty();
+    test.resultReceived(TARGET1, CalculationResult.of(0, 0, Result.success("1a")));
+    assertThat(test.rows).isEmpty();
+    test.resultReceived(TARGET1, CalculationResult.of(0, 1, Result.success("1b")));
+    assertThat(test.rows).containsExactly(
+        "0:1a,1b",
+        "1:2a,2b");
+    test.resultReceived(TARGET3, CalculationResult.of(2, 0, Result.success("3a")));
+    test.resultReceived(TARGET3, CalculationResult.of(2, 1, Result.success("3b")));
+    assertThat(test.complete).isFalse();
+    test.calculationsComplete();
+    assertThat(test.rows).containsExactly(
+        "0:1a,1b",
+        "1:2a,2b",
+        "2:3a,3b");
+    assertThat(test.targets).containsExactly(TARGET1, TARGET2, TARGET3);
+    assertThat(test.complete).isTrue();
+  }
+
+  public void rowsWithTargetOfResults() {
+    // the targets of the results, such as those created from a reference, are passed with the rows
+    CalculationTarget created1 = new TestTarget();
+    CalculationTarget created2 = new TestTarget();
+    RecordingListener test = new RecordingListener();
+    test.calculationsStarted(ImmutableList.of(TARGET1, TARGET2), COLUMNS);
+    test.resultReceived(created2, CalculationResult.of(1, 0, Result.success("2a")));
+    test.resultReceived(created2, CalculationResult.of(1, 1, Result.success("2b")));
+    test.resultReceived(created1, CalculationResult.of(0, 0, Result.success("1a")));
+    test.resultReceived(created1, CalculationResult.of(0, 1, Result.success("1b")));
+    test.calculationsComplete();
+    assertThat(test.rows).containsExactly(
+        "0:1a,1b",
+        "1:2a,2b");
+    assertThat(test.targets).containsExactly(created1, created2);
+  }
+
+  //-------------------------------------------------------------------------
+  private static final class RecordingListener extends RowCalculationListener {
+
+    private final List<String> rows = new ArrayList<>();
+    private final List<CalculationTarget> targets = new ArrayList<>();
+    private boolean complete;
+
+    @Override
+    protected void rowReceived(int rowIndex, CalculationTarget target, List<Result<?>> results) {
+      StringBuilder buf = new StringBuilder().append(rowIndex).append(':');
+      for (int i = 0; i < results.size(); i++) {
+        buf.append(i == 0 ? "" : ",").append(results.get(i).getValue());
+      }
+      rows.add(buf.toString());
+      targets.add(target);
+    }
+
+    @Override
+    protected void rowsComplete() {
+      complete = true;
+    }
+  }
+
+}
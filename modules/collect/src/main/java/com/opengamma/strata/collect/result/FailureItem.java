@@ -6,10 +6,13 @@
 package com.opengamma.strata.collect.result;
 
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 
 import org.joda.beans.Bean;
 import org.joda.beans.BeanBuilder;
@@ -27,6 +30,7 @@ import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
 
 import com.google.common.base.Strings;
 import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Interner;
 import com.google.common.collect.Interners;
 import com.opengamma.strata.collect.ArgChecker;
@@ -51,6 +55,12 @@ public final class FailureItem
    * They are often duplicated many times so interning them can save a significant amount of memory.
    */
   private static final Interner<String> INTERNER = Interners.newWeakInterner();
+  /**
+   * The shared failures, keyed by reason, message, cause type and whether the stack trace is captured.
+   * The failures are weakly referenced, so they are discarded when no longer in use.
+   */
+  private static final ConcurrentMap<List<Object>, FailureItem> SHARED =
+      CacheBuilder.newBuilder().weakValues().<List<Object>, FailureItem>build().asMap();
 
   /**
    * The reason associated with the failure.
@@ -167,6 +177,82 @@ public final class FailureItem
     return new FailureItem(reason, msg, stackTrace, cause.getClass());
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a shared failure from a reason and message.
+   * <p>
+   * The message is produced using a template that contains zero to many "{}" placeholders.
+   * See {@link Messages#format(String, Object...)} for more details.
+   * <p>
+   * Failures with the same reason and message share a single instance.
+   * This avoids creating and holding a large number of identical failures when the same
+   * problem affects many items, such as a missing curve used by many trades.
+   * No stack trace is captured, thus the stack trace only contains the message.
+   * The cause type will not be present in the resulting failure.
+   * 
+   * @param reason  the reason
+   * @param message  a message explaining the failure, not empty, uses "{}" for inserting {@code messageArgs}
+   * @param messageArgs  the arguments for the message
+   * @return the shared failure
+   */
+  public static FailureItem ofShared(FailureReason reason, String message, Object... messageArgs) {
+    ArgChecker.notNull(reason, "reason");
+    String msg = Messages.format(message, messageArgs);
+    ArgChecker.notEmpty(msg, "message");
+    List<Object> key = Arrays.asList(reason, msg, null, false);
+    FailureItem shared = SHARED.get(key);
+    if (shared != null) {
+      return shared;
+    }
+    return share(key, new FailureItem(reason, msg, FAILURE_EXCEPTION + msg + System.lineSeparator(), null));
+  }
+
+  /**
+   * Obtains a shared failure from a reason, exception and message.
+   * <p>
+   * The message is produced using a template that contains zero to many "{}" placeholders.
+   * See {@link Messages#format(String, Object...)} for more details.
+   * <p>
+   * Failures with the same reason, message, cause type and stack trace capture flag share a single instance.
+   * This avoids creating and holding a large number of identical failures when the same
+   * problem affects many items, such as a missing curve used by many trades.
+   * The shared instance is looked up before the exception is examined, and the stack trace is only
+   * rendered when no shared instance exists, thus it is the stack trace of the first exception.
+   * If stack traces are not captured, the stack trace only contains the description of the exception.
+   * 
+   * @param reason  the reason
+   * @param cause  the cause
+   * @param captureStackTrace  whether to capture the stack trace of the exception
+   * @param message  a message explaining the failure, not empty, uses "{}" for inserting {@code messageArgs}
+   * @param messageArgs  the arguments for the message
+   * @return the shared failure
+   */
+  public static FailureItem ofShared(
+      FailureReason reason,
+      Exception cause,
+      boolean captureStackTrace,
+      String message,
+      Object... messageArgs) {
+
+    ArgChecker.notNull(reason, "reason");
+    ArgChecker.notNull(cause, "cause");
+    String msg = Messages.format(message, messageArgs);
+    ArgChecker.notEmpty(msg, "message");
+    List<Object> key = Arrays.asList(reason, msg, cause.getClass(), captureStackTrace);
+    FailureItem shared = SHARED.get(key);
+    if (shared != null) {
+      return shared;
+    }
+    String stackTrace = captureStackTrace ? Throwables.getStackTraceAsString(cause) : cause.toString();
+    return share(key, new FailureItem(reason, msg, stackTrace, cause.getClass()));
+  }
+
+  // shares the failure, returning the instance shared by another thread if there is one
+  private static FailureItem share(List<Object> key, FailureItem failure) {
+    FailureItem existing = SHARED.putIfAbsent(key, failure);
+    return existing != null ? existing : failure;
+  }
+
   //-------------------------------------------------------------------------
   @ImmutableConstructor
   private FailureItem(
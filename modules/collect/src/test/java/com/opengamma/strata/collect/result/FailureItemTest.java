@@ -6,6 +6,8 @@
 package com.opengamma.strata.collect.result;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
 
 import org.testng.annotations.Test;
 
@@ -75,4 +77,50 @@ public class FailureItemTest {
     assertEquals(test.toString(), "INVALID: my big bad failure: java.lang.IllegalArgumentException: message");
   }
 
+  //-------------------------------------------------------------------------
+  public void test_ofShared_reasonMessage() {
+    FailureItem test = FailureItem.ofShared(FailureReason.INVALID, "my {} {} shared failure", "big", "bad");
+    assertEquals(test.getReason(), FailureReason.INVALID);
+    assertEquals(test.getMessage(), "my big bad shared failure");
+    assertEquals(test.getCauseType().isPresent(), false);
+    assertEquals(
+        test.getStackTrace().trim(), "com.opengamma.strata.collect.result.FailureItem: my big bad shared failure");
+    assertEquals(test.toString(), "INVALID: my big bad shared failure");
+    assertSame(FailureItem.ofShared(FailureReason.INVALID, "my big bad shared failure"), test);
+    assertNotSame(FailureItem.ofShared(FailureReason.MISSING_DATA, "my big bad shared failure"), test);
+  }
+
+  public void test_ofShared_reasonExceptionMessage() {
+    IllegalArgumentException ex = new IllegalArgumentException("message");
+    FailureItem test = FailureItem.ofShared(FailureReason.INVALID, ex, true, "my {} shared failure", "traced");
+    assertEquals(test.getReason(), FailureReason.INVALID);
+    assertEquals(test.getMessage(), "my traced shared failure");
+    assertEquals(test.getCauseType().get(), IllegalArgumentException.class);
+    assertEquals(test.getStackTrace().contains(".test_ofShared_reasonExceptionMessage("), true);
+    assertEquals(test.toString(), "INVALID: my traced shared failure: java.lang.IllegalArgumentException: message");
+    // the stack trace of the first failure is retained
+    FailureItem test2 =
+        FailureItem.ofShared(FailureReason.INVALID, new IllegalArgumentException(), true, "my traced shared failure");
+    assertSame(test2, test);
+    // failures without a stack trace are shared separately
+    FailureItem untraced =
+        FailureItem.ofShared(FailureReason.INVALID, new IllegalArgumentException(), false, "my traced shared failure");
+    assertNotSame(untraced, test);
+    assertEquals(untraced.getStackTrace(), "java.lang.IllegalArgumentException");
+    assertSame(
+        FailureItem.ofShared(FailureReason.INVALID, new IllegalArgumentException(), false, "my traced shared failure"),
+        untraced);
+    FailureItem test3 =
+        FailureItem.ofShared(FailureReason.INVALID, new IllegalStateException(), true, "my traced shared failure");
+    assertNotSame(test3, test);
+  }
+
+  public void test_ofShared_reasonExceptionMessage_noStackTrace() {
+    IllegalArgumentException ex = new IllegalArgumentException("message");
+    FailureItem test = FailureItem.ofShared(FailureReason.INVALID, ex, false, "my untraced shared failure");
+    assertEquals(test.getCauseType().get(), IllegalArgumentException.class);
+    assertEquals(test.getStackTrace(), "java.lang.IllegalArgumentException: message");
+    assertEquals(test.toString(), "INVALID: my untraced shared failure: java.lang.IllegalArgumentException: message");
+  }
+
 }
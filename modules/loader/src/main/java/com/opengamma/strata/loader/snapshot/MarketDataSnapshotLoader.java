@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.loader.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import org.joda.beans.Bean;
+import org.joda.beans.ser.JodaBeanSer;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Unchecked;
+import com.opengamma.strata.collect.io.ResourceLocator;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
+
+/**
+ * Loads and writes snapshots of market data.
+ * <p>
+ * A snapshot holds a complete set of market data, typically the calibrated curves, surfaces,
+ * FX rates and time-series of a day. Writing a snapshot once the market data is built allows
+ * it to be loaded without parsing text or calibrating again.
+ * <p>
+ * The format consists of a header, containing a magic number, the format version and the kind
+ * of market data, followed by the market data in the Joda-Beans binary format, see {@link JodaBeanSer#binWriter()}.
+ * The binary format is a compact MessagePack encoding of the properties of each bean, with no Java serialization.
+ * When loading, only beans and types with a Joda-Convert string form are created.
+ * Arrays, such as the parameters of curves, are decoded from the stream into new arrays,
+ * thus loading avoids parsing text and calibrating but is not zero-copy.
+ * <p>
+ * The format version identifies the layout of the header and the encoding of the market data.
+ * A snapshot with a different version is rejected when loading.
+ */
+public final class MarketDataSnapshotLoader {
+
+  /**
+   * The magic number at the start of a snapshot, 'SMDS'.
+   */
+  private static final int MAGIC = 0x534D4453;
+  /**
+   * The version of the format.
+   */
+  private static final int VERSION = 1;
+  /**
+   * The kind of a snapshot of a single set of market data.
+   */
+  private static final byte KIND_MARKET_DATA = 'M';
+  /**
+   * The kind of a snapshot of scenario market data.
+   */
+  private static final byte KIND_SCENARIO_MARKET_DATA = 'S';
+
+  //-------------------------------------------------------------------------
+  /**
+   * Loads a snapshot of a single set of market data.
+   *
+   * @param resource  the snapshot resource
+   * @return the market data
+   * @throws IllegalArgumentException if the resource is not a snapshot of a single set of market data
+   * @throws UncheckedIOException if an IO exception occurs
+   */
+  public static ImmutableMarketData load(ResourceLocator resource) {
+    return read(resource, KIND_MARKET_DATA, ImmutableMarketData.class);
+  }
+
+  /**
+   * Loads a snapshot of scenario market data.
+   *
+   * @param resource  the snapshot resource
+   * @return the market data
+   * @throws IllegalArgumentException if the resource is not a snapshot of scenario market data
+   * @throws UncheckedIOException if an IO exception occurs
+   */
+  public static ImmutableScenarioMarketData loadScenario(ResourceLocator resource) {
+    return read(resource, KIND_SCENARIO_MARKET_DATA, ImmutableScenarioMarketData.class);
+  }
+
+  // reads the header and the market data
+  private static <T extends Bean> T read(ResourceLocator resource, byte kind, Class<T> type) {
+    ArgChecker.notNull(resource, "resource");
+    return Unchecked.wrap(() -> {
+      try (InputStream in = resource.getByteSource().openBufferedStream()) {
+        DataInputStream dataIn = new DataInputStream(in);
+        int magic = dataIn.readInt();
+        if (magic != MAGIC) {
+          throw new IllegalArgumentException("Resource is not a market data snapshot: " + resource);
+        }
+        int version = dataIn.readInt();
+        if (version != VERSION) {
+          throw new IllegalArgumentException(
+              "Market data snapshot has unsupported version " + version + ", expected " + VERSION + ": " + resource);
+        }
+        byte actualKind = dataIn.readByte();
+        if (actualKind != kind) {
+          throw new IllegalArgumentException(
+              "Market data snapshot does not contain " + type.getSimpleName() + ": " + resource);
+        }
+        return JodaBeanSer.COMPACT.binReader().read(in, type);
+      }
+    });
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes a snapshot of a single set of market data to a file.
+   *
+   * @param file  the file
+   * @param marketData  the market data
+   * @throws UncheckedIOException if an IO exception occurs
+   */
+  public static void write(File file, ImmutableMarketData marketData) {
+    try (OutputStream out = new FileOutputStream(file)) {
+      write(out, marketData);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Writes a snapshot of a single set of market data to an output stream.
+   * <p>
+   * The output stream is not closed.
+   *
+   * @param out  the output stream
+   * @param marketData  the market data
+   * @throws UncheckedIOException if an IO exception occurs
+   */
+  public static void write(OutputStream out, ImmutableMarketData marketData) {
+    ArgChecker.notNull(marketData, "marketData");
+    write(out, KIND_MARKET_DATA, marketData);
+  }
+
+  /**
+   * Writes a snapshot of scenario market data to a file.
+   *
+   * @param file  the file
+   * @param marketData  the market data
+   * @throws UncheckedIOException if an IO exception occurs
+   */
+  public static void writeScenario(File file, ImmutableScenarioMarketData marketData) {
+    try (OutputStream out = new FileOutputStream(file)) {
+      writeScenario(out, marketData);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Writes a snapshot of scenario market data to an output stream.
+   * <p>
+   * The output stream is not closed.
+   *
+   * @param out  the output stream
+   * @param marketData  the market data
+   * @throws UncheckedIOException if an IO exception occurs
+   */
+  public static void writeScenario(OutputStream out, ImmutableScenarioMarketData marketData) {
+    ArgChecker.notNull(marketData, "marketData");
+    write(out, KIND_SCENARIO_MARKET_DATA, marketData);
+  }
+
+  // writes the header and the market data
+  private static void write(OutputStream out, byte kind, Bean marketData) {
+    ArgChecker.notNull(out, "out");
+    Unchecked.wrap(() -> {
+      BufferedOutputStream buffered = new BufferedOutputStream(out);
+      DataOutputStream dataOut = new DataOutputStream(buffered);
+      dataOut.writeInt(MAGIC);
+      dataOut.writeInt(VERSION);
+      dataOut.writeByte(kind);
+      dataOut.flush();
+      JodaBeanSer.COMPACT.binWriter().write(marketData, buffered);
+      buffered.flush();
+    });
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Restricted constructor.
+   */
+  private MarketDataSnapshotLoader() {
+  }
+
+}
@@ -0,0 +1,12 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+
+/**
+ * Loader that reads and writes snapshots of market data in the Joda-Beans binary format.
+ * <p>
+ * The main class is {@link com.opengamma.strata.loader.snapshot.MarketDataSnapshotLoader}.
+ */
+package com.opengamma.strata.loader.snapshot;
@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.loader.snapshot;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+import org.joda.beans.ser.JodaBeanSer;
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.FxMatrix;
+import com.opengamma.strata.basics.date.DayCounts;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.io.ResourceLocator;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.FxMatrixId;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveId;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.observable.QuoteId;
+
+/**
+ * Test {@link MarketDataSnapshotLoader}.
+ */
+@Test
+public class MarketDataSnapshotLoaderTest {
+
+  private static final LocalDate VAL_DATE = date(2017, 6, 30);
+  private static final QuoteId QUOTE_ID = QuoteId.of(StandardId.of("OG", "Quote"));
+  private static final CurveId DSC_ID = CurveId.of("Default", "USD-Disc");
+  private static final CurveId FWD_ID = CurveId.of("Default", "USD-3ML");
+  private static final Curve CURVE = InterpolatedNodalCurve.of(
+      Curves.zeroRates("USD-Disc", DayCounts.ACT_365F),
+      DoubleArray.of(0.5, 1d, 5d, 10d),
+      DoubleArray.of(0.011, 0.012, 0.018, 0.022),
+      CurveInterpolators.LINEAR);
+  private static final FxMatrix FX_MATRIX = FxMatrix.builder()
+      .addRate(GBP, USD, 1.3)
+      .addRate(EUR, USD, 1.15)
+      .build();
+  private static final LocalDateDoubleTimeSeries TIME_SERIES = LocalDateDoubleTimeSeries.builder()
+      .put(date(2017, 6, 28), 0.011)
+      .put(date(2017, 6, 29), 0.012)
+      .build();
+
+  //-------------------------------------------------------------------------
+  public void test_roundTrip() throws Exception {
+    ImmutableMarketData marketData = ImmutableMarketData.builder(VAL_DATE)
+        .addValue(QUOTE_ID, 0.0125)
+        .addValue(DSC_ID, CURVE)
+        .addValue(FWD_ID, CURVE)
+        .addValue(FxMatrixId.standard(), FX_MATRIX)
+        .addTimeSeries(QUOTE_ID, TIME_SERIES)
+        .build();
+    File file = File.createTempFile("TestMarketDataSnapshot", "bin");
+    file.deleteOnExit();
+    MarketDataSnapshotLoader.write(file, marketData);
+    ImmutableMarketData loaded = MarketDataSnapshotLoader.load(ResourceLocator.ofFile(file));
+    assertEquals(loaded, marketData);
+    assertEquals(loaded.getValue(DSC_ID), loaded.getValue(FWD_ID));
+  }
+
+  public void test_roundTrip_scenario() throws Exception {
+    ImmutableScenarioMarketData marketData = ImmutableScenarioMarketData.builder(VAL_DATE)
+        .addBox(QUOTE_ID, MarketDataBox.ofScenarioValues(0.0125, 0.0130, 0.0135))
+        .addValue(DSC_ID, CURVE)
+        .addValue(FxMatrixId.standard(), FX_MATRIX)
+        .addTimeSeries(QUOTE_ID, TIME_SERIES)
+        .build();
+    File file = File.createTempFile("TestScenarioMarketDataSnapshot", "bin");
+    file.deleteOnExit();
+    MarketDataSnapshotLoader.writeScenario(file, marketData);
+    assertEquals(MarketDataSnapshotLoader.loadScenario(ResourceLocator.ofFile(file)), marketData);
+  }
+
+  public void test_load_wrongKind() throws Exception {
+    File file = File.createTempFile("TestMarketDataSnapshot", "bin");
+    file.deleteOnExit();
+    MarketDataSnapshotLoader.write(file, ImmutableMarketData.builder(VAL_DATE).addValue(QUOTE_ID, 0.0125).build());
+    assertThrowsIllegalArg(() -> MarketDataSnapshotLoader.loadScenario(ResourceLocator.ofFile(file)));
+  }
+
+  public void test_load_notSnapshot() throws Exception {
+    File file = File.createTempFile("TestMarketDataSnapshot", "bin");
+    file.deleteOnExit();
+    try (OutputStream out = new FileOutputStream(file)) {
+      out.write("Not a snapshot".getBytes("UTF-8"));
+    }
+    assertThrowsIllegalArg(() -> MarketDataSnapshotLoader.load(ResourceLocator.ofFile(file)));
+  }
+
+  public void test_load_unknownVersion() throws Exception {
+    File file = File.createTempFile("TestMarketDataSnapshot", "bin");
+    file.deleteOnExit();
+    try (OutputStream out = new FileOutputStream(file)) {
+      DataOutputStream dataOut = new DataOutputStream(out);
+      dataOut.writeInt(0x534D4453);
+      dataOut.writeInt(2);
+      dataOut.writeByte('M');
+      dataOut.flush();
+      ImmutableMarketData marketData = ImmutableMarketData.builder(VAL_DATE).addValue(QUOTE_ID, 0.0125).build();
+      JodaBeanSer.COMPACT.binWriter().write(marketData, out);
+    }
+    assertThrowsIllegalArg(() -> MarketDataSnapshotLoader.load(ResourceLocator.ofFile(file)));
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    coverPrivateConstructor(MarketDataSnapshotLoader.class);
+  }
+
+}
@@ -115,6 +115,18 @@ public final class CurvePointShifts
   @Override
   public MarketDataBox<Curve> applyTo(MarketDataBox<Curve> marketData, ReferenceData refData) {
     log.debug("Applying {} point shift to curve '{}'", shiftType, marketData.getValue(0).getName());
+    if (marketData.isSingleValue() && marketData.getSingleValue() instanceof InterpolatedNodalCurve) {
+      InterpolatedNodalCurve curve = (InterpolatedNodalCurve) marketData.getSingleValue();
+      DoubleMatrix yValues = DoubleMatrix.ofUnsafe(new double[][] {curve.getYValues().toArrayUnsafe()});
+      return MarketDataBox.ofScenarioValue(applyShifts(InterpolatedNodalCurveScenarioArray.of(curve, yValues)));
+    }
+    if (marketData.isScenarioValue() &&
+        marketData.getScenarioValue() instanceof InterpolatedNodalCurveScenarioArray &&
+        marketData.getScenarioCount() == shifts.rowCount()) {
+      // the curves of the scenarios are not created, the shifts are applied to the matrix of y-values
+      InterpolatedNodalCurveScenarioArray curves = (InterpolatedNodalCurveScenarioArray) marketData.getScenarioValue();
+      return MarketDataBox.ofScenarioValue(applyShifts(curves));
+    }
     return marketData.mapWithIndex(shifts.rowCount(), (curve, scenarioIndex) -> applyShifts(scenarioIndex, curve));
   }
 
@@ -125,23 +137,47 @@ public final class CurvePointShifts
     });
   }
 
+  // shifts the y-values for all scenarios in one pass, sharing the rest of the curve between scenarios
+  // the y-values are shifted in the matrix, which has a single row used by all scenarios or one row for each scenario
+  private InterpolatedNodalCurveScenarioArray applyShifts(InterpolatedNodalCurveScenarioArray curves) {
+    DoubleMatrix yValues = curves.getYValues();
+    boolean singleRow = yValues.rowCount() == 1;
+    int[] shiftIndices = new int[yValues.columnCount()];
+    for (int i = 0; i < shiftIndices.length; i++) {
+      shiftIndices[i] = shiftIndexForNode(curves.getParameterMetadata(i));
+    }
+    DoubleMatrix shiftedValues = DoubleMatrix.of(
+        shifts.rowCount(),
+        yValues.columnCount(),
+        (scenarioIndex, i) -> shiftType.applyShift(
+            yValues.get(singleRow ? 0 : scenarioIndex, i),
+            shiftIndices[i] < 0 ? 0 : shifts.get(scenarioIndex, shiftIndices[i])));
+    return curves.withYValues(shiftedValues);
+  }
+
   @Override
   public int getScenarioCount() {
     return shifts.rowCount();
   }
 
   private double shiftForNode(int scenarioIndex, ParameterMetadata meta) {
+    int nodeIndex = shiftIndexForNode(meta);
+    return nodeIndex < 0 ? 0 : shifts.get(scenarioIndex, nodeIndex);
+  }
+
+  // finds the column in the matrix of shifts that applies to the node, -1 if there is no shift
+  private int shiftIndexForNode(ParameterMetadata meta) {
     Integer nodeIndex = nodeIndices.get(meta.getIdentifier());
 
     if (nodeIndex != null) {
-      return shifts.get(scenarioIndex, nodeIndex);
+      return nodeIndex;
     }
     nodeIndex = nodeIndices.get(meta.getLabel());
 
     if (nodeIndex != null) {
-      return shifts.get(scenarioIndex, nodeIndex);
+      return nodeIndex;
     }
-    return 0;
+    return -1;
   }
 
   //------------------------- AUTOGENERATED START -------------------------
@@ -31,6 +31,7 @@ import org.joda.beans.impl.direct.DirectMetaProperty;
 import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 
 import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.curve.interpolator.BoundCurveInterpolator;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolator;
@@ -249,6 +250,23 @@ public final class InterpolatedNodalCurve
     return createParameterSensitivity(boundInterpolator.parameterSensitivity(x));
   }
 
+  /**
+   * Adds the parameter sensitivity of the y-value at the x-value, multiplied by an amount, to an array.
+   * <p>
+   * This adds {@code amount} times the sensitivity of {@link #yValueParameterSensitivity(double)} to the array,
+   * without creating the sensitivity objects when the interpolator supports it.
+   * This allows the sensitivities to many y-values to be summed efficiently.
+   *
+   * @param x  the x-value to find the sensitivity for
+   * @param amount  the amount to multiply the sensitivity by
+   * @param sensitivity  the array to add to, with one element for each parameter of the curve
+   * @throws RuntimeException if the sensitivity cannot be calculated
+   */
+  public void addYValueParameterSensitivity(double x, double amount, double[] sensitivity) {
+    ArgChecker.isTrue(sensitivity.length == getParameterCount(), "Sensitivity array must match parameter count");
+    boundInterpolator.addParameterSensitivity(x, amount, sensitivity);
+  }
+
   @Override
   public double firstDerivative(double x) {
     return boundInterpolator.firstDerivative(x);
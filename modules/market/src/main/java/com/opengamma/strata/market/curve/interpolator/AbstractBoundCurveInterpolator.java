@@ -135,6 +135,31 @@ public abstract class AbstractBoundCurveInterpolator
    */
   protected abstract DoubleArray doParameterSensitivity(double xValue);
 
+  @Override
+  public final void addParameterSensitivity(double xValue, double amount, double[] sensitivity) {
+    if (xValue < firstXValue || xValue > lastXValue) {
+      BoundCurveInterpolator.super.addParameterSensitivity(xValue, amount, sensitivity);
+    } else {
+      doAddParameterSensitivity(xValue, amount, sensitivity);
+    }
+  }
+
+  /**
+   * Method for subclasses to add the parameter sensitivity, multiplied by an amount, to an array.
+   * <p>
+   * The default implementation uses {@link #doParameterSensitivity(double)}.
+   * 
+   * @param xValue  the x-value
+   * @param amount  the amount to multiply the sensitivity by
+   * @param sensitivity  the array to add to
+   */
+  protected void doAddParameterSensitivity(double xValue, double amount, double[] sensitivity) {
+    DoubleArray unitSensitivity = doParameterSensitivity(xValue);
+    for (int i = 0; i < sensitivity.length; i++) {
+      sensitivity[i] += unitSensitivity.get(i) * amount;
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Returns the index of the last value in the input array which is lower than the specified value.
@@ -52,6 +52,25 @@ public interface BoundCurveInterpolator {
    */
   public abstract DoubleArray parameterSensitivity(double x);
 
+  /**
+   * Adds the sensitivity of the y-value with respect to the curve parameters, multiplied by an amount, to an array.
+   * <p>
+   * This adds {@code amount} times the result of {@link #parameterSensitivity(double)} to the array.
+   * Implementations may avoid creating the sensitivity array, which is useful when many sensitivities
+   * are summed, as the sensitivity of an interpolated value only depends on a few parameters.
+   * 
+   * @param x  the x-value at which the parameter sensitivity is computed
+   * @param amount  the amount to multiply the sensitivity by
+   * @param sensitivity  the array to add to, with one element for each parameter of the curve
+   * @throws RuntimeException if the sensitivity cannot be calculated
+   */
+  public default void addParameterSensitivity(double x, double amount, double[] sensitivity) {
+    DoubleArray unitSensitivity = parameterSensitivity(x);
+    for (int i = 0; i < sensitivity.length; i++) {
+      sensitivity[i] += unitSensitivity.get(i) * amount;
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Binds this interpolator to the specified extrapolators.
@@ -135,6 +135,20 @@ final class LinearCurveInterpolator
       return DoubleArray.ofUnsafe(result);
     }
 
+    @Override
+    protected void doAddParameterSensitivity(double xValue, double amount, double[] sensitivity) {
+      int lowerIndex = lowerBoundIndex(xValue, xValues);
+      if (lowerIndex == intervalCount) {
+        sensitivity[intervalCount] += amount;
+      } else {
+        double x1 = xValues[lowerIndex];
+        double x2 = xValues[lowerIndex + 1];
+        double a = (x2 - xValue) / (x2 - x1);
+        sensitivity[lowerIndex] += a * amount;
+        sensitivity[lowerIndex + 1] += (1 - a) * amount;
+      }
+    }
+
     @Override
     public BoundCurveInterpolator bind(
         BoundCurveExtrapolator extrapolatorLeft,
@@ -142,6 +142,23 @@ final class LogLinearCurveInterpolator
       return DoubleArray.ofUnsafe(result);
     }
 
+    @Override
+    protected void doAddParameterSensitivity(double xValue, double amount, double[] sensitivity) {
+      int lowerIndex = lowerBoundIndex(xValue, xValues);
+      if (lowerIndex == intervalCount) {
+        sensitivity[intervalCount] += amount;
+      } else {
+        double x1 = xValues[lowerIndex];
+        double x2 = xValues[lowerIndex + 1];
+        double diffInv = 1.0 / (x2 - x1);
+        double x1diffInv = (xValue - x1) * diffInv;
+        double x2diffInv = (x2 - xValue) * diffInv;
+        double yDiv = yValues[lowerIndex] / yValues[lowerIndex + 1];
+        sensitivity[lowerIndex] += Math.pow(yDiv, -x1diffInv) * x2diffInv * amount;
+        sensitivity[lowerIndex + 1] += Math.pow(yDiv, x2diffInv) * x1diffInv * amount;
+      }
+    }
+
     @Override
     public BoundCurveInterpolator bind(
         BoundCurveExtrapolator extrapolatorLeft,
@@ -0,0 +1,506 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.param;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.ImmutableConstructor;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioFxConvertible;
+import com.opengamma.strata.data.scenario.ScenarioFxRateProvider;
+
+/**
+ * A scenario array of currency parameter sensitivities, holding one set of sensitivities for each scenario.
+ * <p>
+ * This is an efficient way of storing scenario sensitivities, such as a bucketed PV01,
+ * where every scenario has sensitivity to the same curves with the same parameters.
+ * The structure of the sensitivities, the market data names, currencies and parameter metadata,
+ * is stored once and shared by all scenarios. The sensitivity values are held in a matrix
+ * with one row for each scenario and one column for each parameter.
+ * <p>
+ * The sensitivities for a scenario are only created when {@link #get(int)} is called.
+ * Each call creates a new instance that refers to the shared structure.
+ */
+@BeanDefinition(builderScope = "private")
+public final class CurrencyParameterSensitivitiesScenarioArray
+    implements ScenarioArray<CurrencyParameterSensitivities>,
+    ScenarioFxConvertible<CurrencyParameterSensitivitiesScenarioArray>, ImmutableBean, Serializable {
+
+  /**
+   * The structure of the sensitivities, shared by all scenarios.
+   * <p>
+   * This defines the market data names, currencies and parameter metadata of the sensitivities.
+   * The sensitivity values of this instance are not used.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final CurrencyParameterSensitivities structure;
+  /**
+   * The matrix of sensitivity values.
+   * <p>
+   * There is one row in the matrix for each scenario and one column for each parameter.
+   * The columns are in the order of the sensitivities in the structure.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final DoubleMatrix values;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the shared structure and the matrix of sensitivity values.
+   *
+   * @param structure  the structure of the sensitivities, shared by all scenarios
+   * @param values  the sensitivity values, one row for each scenario and one column for each parameter
+   * @return an instance with the specified structure and values
+   * @throws IllegalArgumentException if the number of columns does not match the number of parameters
+   */
+  public static CurrencyParameterSensitivitiesScenarioArray of(
+      CurrencyParameterSensitivities structure,
+      DoubleMatrix values) {
+
+    return new CurrencyParameterSensitivitiesScenarioArray(structure, values);
+  }
+
+  /**
+   * Obtains an instance from the specified list of sensitivities.
+   * <p>
+   * All sensitivities must have the same structure, see {@link #isCompatible(List)}.
+   *
+   * @param sensitivities  the sensitivities, one for each scenario
+   * @return an instance with the specified sensitivities
+   * @throws IllegalArgumentException if the sensitivities do not have the same structure
+   */
+  public static CurrencyParameterSensitivitiesScenarioArray of(List<CurrencyParameterSensitivities> sensitivities) {
+    ArgChecker.notEmpty(sensitivities, "sensitivities");
+    if (!isCompatible(sensitivities)) {
+      throw new IllegalArgumentException("Sensitivities must have the same structure in every scenario");
+    }
+    CurrencyParameterSensitivities structure = sensitivities.get(0);
+    int parameterCount = parameterCount(structure);
+    DoubleMatrix values = DoubleMatrix.ofArrays(
+        sensitivities.size(),
+        parameterCount,
+        i -> flatten(sensitivities.get(i), parameterCount));
+    return new CurrencyParameterSensitivitiesScenarioArray(structure, values);
+  }
+
+  /**
+   * Checks if the specified list of sensitivities can be stored in this compact form.
+   * <p>
+   * This returns true if the list is not empty and the sensitivities in each scenario
+   * refer to the same market data names and currencies, in the same order, with the same parameter metadata.
+   *
+   * @param sensitivities  the sensitivities, one for each scenario
+   * @return true if the sensitivities have the same structure in every scenario
+   */
+  public static boolean isCompatible(List<CurrencyParameterSensitivities> sensitivities) {
+    if (sensitivities.isEmpty()) {
+      return false;
+    }
+    List<CurrencyParameterSensitivity> base = sensitivities.get(0).getSensitivities();
+    for (int i = 1; i < sensitivities.size(); i++) {
+      List<CurrencyParameterSensitivity> other = sensitivities.get(i).getSensitivities();
+      if (other.size() != base.size()) {
+        return false;
+      }
+      for (int j = 0; j < base.size(); j++) {
+        CurrencyParameterSensitivity baseSens = base.get(j);
+        CurrencyParameterSensitivity otherSens = other.get(j);
+        if (baseSens.compareKey(otherSens) != 0 ||
+            baseSens.getParameterCount() != otherSens.getParameterCount() ||
+            !baseSens.getParameterMetadata().equals(otherSens.getParameterMetadata())) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Converts a scenario array to the compact form if possible.
+   * <p>
+   * If the array contains {@link CurrencyParameterSensitivities} with the same structure in every scenario,
+   * an instance of this class is returned. Otherwise the input is returned unchanged.
+   * This is intended to be used when storing large sets of results, see {@code ResultsListener}.
+   *
+   * @param array  the scenario array
+   * @return the compact array, or the input if it cannot be compacted
+   */
+  @SuppressWarnings("unchecked")
+  public static ScenarioArray<?> compact(ScenarioArray<?> array) {
+    if (array instanceof CurrencyParameterSensitivitiesScenarioArray || array.getScenarioCount() == 0) {
+      return array;
+    }
+    for (int i = 0; i < array.getScenarioCount(); i++) {
+      if (!(array.get(i) instanceof CurrencyParameterSensitivities)) {
+        return array;
+      }
+    }
+    List<CurrencyParameterSensitivities> sensitivities =
+        ((ScenarioArray<CurrencyParameterSensitivities>) array).stream().collect(toImmutableList());
+    return isCompatible(sensitivities) ? of(sensitivities) : array;
+  }
+
+  // the total number of parameters
+  private static int parameterCount(CurrencyParameterSensitivities sensitivities) {
+    return sensitivities.getSensitivities().stream()
+        .mapToInt(CurrencyParameterSensitivity::getParameterCount)
+        .sum();
+  }
+
+  // flattens the sensitivity values into a single array
+  private static double[] flatten(CurrencyParameterSensitivities sensitivities, int parameterCount) {
+    double[] flat = new double[parameterCount];
+    int start = 0;
+    for (CurrencyParameterSensitivity sens : sensitivities.getSensitivities()) {
+      System.arraycopy(sens.getSensitivity().toArrayUnsafe(), 0, flat, start, sens.getParameterCount());
+      start += sens.getParameterCount();
+    }
+    return flat;
+  }
+
+  @ImmutableConstructor
+  private CurrencyParameterSensitivitiesScenarioArray(
+      CurrencyParameterSensitivities structure,
+      DoubleMatrix values) {
+
+    JodaBeanUtils.notNull(structure, "structure");
+    JodaBeanUtils.notNull(values, "values");
+    int parameterCount = parameterCount(structure);
+    if (values.columnCount() != parameterCount) {
+      throw new IllegalArgumentException(Messages.format(
+          "Values must have one column for each parameter, expected {} but was {}",
+          parameterCount,
+          values.columnCount()));
+    }
+    this.structure = structure;
+    this.values = values;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int getScenarioCount() {
+    return values.rowCount();
+  }
+
+  @Override
+  public CurrencyParameterSensitivities get(int index) {
+    DoubleArray row = values.row(index);
+    List<CurrencyParameterSensitivity> sensitivities = new ArrayList<>(structure.size());
+    int start = 0;
+    for (CurrencyParameterSensitivity sens : structure.getSensitivities()) {
+      int end = start + sens.getParameterCount();
+      sensitivities.add(sens.withSensitivity(row.subArray(start, end)));
+      start = end;
+    }
+    return CurrencyParameterSensitivities.of(sensitivities);
+  }
+
+  @Override
+  public Stream<CurrencyParameterSensitivities> stream() {
+    return IntStream.range(0, getScenarioCount()).mapToObj(this::get);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public CurrencyParameterSensitivitiesScenarioArray convertedTo(
+      Currency reportingCurrency,
+      ScenarioFxRateProvider fxRateProvider) {
+
+    int scenarioCount = getScenarioCount();
+    if (fxRateProvider.getScenarioCount() != scenarioCount) {
+      throw new IllegalArgumentException(Messages.format(
+          "Expected {} FX rates but received {}", scenarioCount, fxRateProvider.getScenarioCount()));
+    }
+    List<CurrencyParameterSensitivities> converted = new ArrayList<>(scenarioCount);
+    for (int i = 0; i < scenarioCount; i++) {
+      converted.add(get(i).convertedTo(reportingCurrency, fxRateProvider.fxRateProvider(i)));
+    }
+    return of(converted);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code CurrencyParameterSensitivitiesScenarioArray}.
+   * @return the meta-bean, not null
+   */
+  public static CurrencyParameterSensitivitiesScenarioArray.Meta meta() {
+    return CurrencyParameterSensitivitiesScenarioArray.Meta.INSTANCE;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(CurrencyParameterSensitivitiesScenarioArray.Meta.INSTANCE);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  @Override
+  public CurrencyParameterSensitivitiesScenarioArray.Meta metaBean() {
+    return CurrencyParameterSensitivitiesScenarioArray.Meta.INSTANCE;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the structure of the sensitivities, shared by all scenarios.
+   * <p>
+   * This defines the market data names, currencies and parameter metadata of the sensitivities.
+   * The sensitivity values of this instance are not used.
+   * @return the value of the property, not null
+   */
+  public CurrencyParameterSensitivities getStructure() {
+    return structure;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the matrix of sensitivity values.
+   * <p>
+   * There is one row in the matrix for each scenario and one column for each parameter.
+   * The columns are in the order of the sensitivities in the structure.
+   * @return the value of the property, not null
+   */
+  public DoubleMatrix getValues() {
+    return values;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      CurrencyParameterSensitivitiesScenarioArray other = (CurrencyParameterSensitivitiesScenarioArray) obj;
+      return JodaBeanUtils.equal(structure, other.structure) &&
+          JodaBeanUtils.equal(values, other.values);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(structure);
+    hash = hash * 31 + JodaBeanUtils.hashCode(values);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(96);
+    buf.append("CurrencyParameterSensitivitiesScenarioArray{");
+    buf.append("structure").append('=').append(structure).append(',').append(' ');
+    buf.append("values").append('=').append(JodaBeanUtils.toString(values));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code CurrencyParameterSensitivitiesScenarioArray}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code structure} property.
+     */
+    private final MetaProperty<CurrencyParameterSensitivities> structure = DirectMetaProperty.ofImmutable(
+        this, "structure", CurrencyParameterSensitivitiesScenarioArray.class, CurrencyParameterSensitivities.class);
+    /**
+     * The meta-property for the {@code values} property.
+     */
+    private final MetaProperty<DoubleMatrix> values = DirectMetaProperty.ofImmutable(
+        this, "values", CurrencyParameterSensitivitiesScenarioArray.class, DoubleMatrix.class);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "structure",
+        "values");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 144518515:  // structure
+          return structure;
+        case -823812830:  // values
+          return values;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends CurrencyParameterSensitivitiesScenarioArray> builder() {
+      return new CurrencyParameterSensitivitiesScenarioArray.Builder();
+    }
+
+    @Override
+    public Class<? extends CurrencyParameterSensitivitiesScenarioArray> beanType() {
+      return CurrencyParameterSensitivitiesScenarioArray.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code structure} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<CurrencyParameterSensitivities> structure() {
+      return structure;
+    }
+
+    /**
+     * The meta-property for the {@code values} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<DoubleMatrix> values() {
+      return values;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case 144518515:  // structure
+          return ((CurrencyParameterSensitivitiesScenarioArray) bean).getStructure();
+        case -823812830:  // values
+          return ((CurrencyParameterSensitivitiesScenarioArray) bean).getValues();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code CurrencyParameterSensitivitiesScenarioArray}.
+   */
+  private static final class Builder extends DirectPrivateBeanBuilder<CurrencyParameterSensitivitiesScenarioArray> {
+
+    private CurrencyParameterSensitivities structure;
+    private DoubleMatrix values;
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+      super(meta());
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 144518515:  // structure
+          return structure;
+        case -823812830:  // values
+          return values;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case 144518515:  // structure
+          this.structure = (CurrencyParameterSensitivities) newValue;
+          break;
+        case -823812830:  // values
+          this.values = (DoubleMatrix) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public CurrencyParameterSensitivitiesScenarioArray build() {
+      return new CurrencyParameterSensitivitiesScenarioArray(
+          structure,
+          values);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(96);
+      buf.append("CurrencyParameterSensitivitiesScenarioArray.Builder{");
+      buf.append("structure").append('=').append(JodaBeanUtils.toString(structure)).append(',').append(' ');
+      buf.append("values").append('=').append(JodaBeanUtils.toString(values));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -12,6 +12,7 @@ import java.util.Arrays;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.joda.beans.Bean;
 import org.joda.beans.BeanBuilder;
@@ -191,14 +192,23 @@ public final class GridSurfaceInterpolator
   //-------------------------------------------------------------------------
   /**
    * Bound interpolator.
+   * <p>
+   * The x-interpolator bound to the z-values derived at a y-value, the x-row, is cached for a small number
+   * of recent y-values. Queries for several x-values at a few y-values, such as the values of a surface along
+   * time for a strike and its bumped strikes, thus bind the x-interpolator only once per y-value.
    */
   static class Bound implements BoundSurfaceInterpolator {
+    // the number of cached x-rows, a power of two
+    private static final int CACHE_SIZE = 8;
+
     private final CurveInterpolator xInterpolator;
     private final CurveExtrapolator xExtrapolatorLeft;
     private final CurveExtrapolator xExtrapolatorRight;
     private final DoubleArray xValuesUnique;
     private final int paramSize;
     private final BoundCurveInterpolator[] yInterpolators;
+    // the x-rows, in a slot chosen by the y-value, replaced atomically so the instance is thread-safe
+    private final AtomicReferenceArray<XRow> cachedXRows = new AtomicReferenceArray<>(CACHE_SIZE);
 
     Bound(
         CurveInterpolator xInterpolator,
@@ -219,10 +229,8 @@ public final class GridSurfaceInterpolator
     //-------------------------------------------------------------------------
     @Override
     public double interpolate(double x, double y) {
-      // use each y-interpolator to find the z-value for each unique x
-      DoubleArray zValuesEffective = DoubleArray.of(yInterpolators.length, i -> yInterpolators[i].interpolate(y));
-      // interpolate unique x-values against derived z-values
-      return xInterpolator.bind(xValuesUnique, zValuesEffective, xExtrapolatorLeft, xExtrapolatorRight).interpolate(x);
+      // interpolate unique x-values against z-values derived at y
+      return xInterpolator(y).interpolate(x);
     }
 
     @Override
@@ -233,16 +241,34 @@ public final class GridSurfaceInterpolator
       for (int i = 0; i < uniqueX; i++) {
         ySens[i] = yInterpolators[i].parameterSensitivity(y);
       }
-      // use each y-interpolator to find the z-value for each unique x
-      DoubleArray zValuesEffective = DoubleArray.of(uniqueX, i -> yInterpolators[i].interpolate(y));
       // find the sensitivity of the unique x-values against derived z-values
-      DoubleArray xSens = xInterpolator
-          .bind(xValuesUnique, zValuesEffective, xExtrapolatorLeft, xExtrapolatorRight)
-          .parameterSensitivity(x);
+      DoubleArray xSens = xInterpolator(y).parameterSensitivity(x);
 
       return project(xSens, ySens);
     }
 
+    // the x-interpolator bound to the z-values derived at y, using the cached x-row if present
+    private BoundCurveInterpolator xInterpolator(double y) {
+      int slot = cacheSlot(y);
+      XRow cached = cachedXRows.get(slot);
+      if (cached != null && cached.y == y) {
+        return cached.interpolator;
+      }
+      // use each y-interpolator to find the z-value for each unique x
+      DoubleArray zValuesEffective = DoubleArray.of(yInterpolators.length, i -> yInterpolators[i].interpolate(y));
+      BoundCurveInterpolator bound =
+          xInterpolator.bind(xValuesUnique, zValuesEffective, xExtrapolatorLeft, xExtrapolatorRight);
+      cachedXRows.set(slot, new XRow(y, bound));
+      return bound;
+    }
+
+    // the cache slot of the y-value, spreading nearby y-values across the slots
+    private static int cacheSlot(double y) {
+      long bits = Double.doubleToLongBits(y);
+      int hash = (int) (bits ^ (bits >>> 32));
+      return (hash ^ (hash >>> 16) ^ (hash >>> 8)) & (CACHE_SIZE - 1);
+    }
+
     // project sensitivities back to parameters
     private DoubleArray project(DoubleArray xSens, DoubleArray[] ySens) {
       int countParam = 0;
@@ -258,6 +284,20 @@ public final class GridSurfaceInterpolator
     }
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * An x-row, the x-interpolator bound to the z-values derived at a y-value.
+   */
+  private static final class XRow {
+    private final double y;
+    private final BoundCurveInterpolator interpolator;
+
+    private XRow(double y, BoundCurveInterpolator interpolator) {
+      this.y = y;
+      this.interpolator = interpolator;
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * An interpolator that returns the single known value.
@@ -19,6 +19,7 @@ import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.date.DayCounts;
 import com.opengamma.strata.basics.date.Tenor;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.data.scenario.MarketDataBox;
 import com.opengamma.strata.market.ShiftType;
 import com.opengamma.strata.market.curve.interpolator.CurveInterpolator;
@@ -63,6 +64,7 @@ public class CurvePointShiftsTest {
         INTERPOLATOR);
 
     MarketDataBox<Curve> shiftedCurveBox = shift.applyTo(MarketDataBox.ofSingleValue(curve), REF_DATA);
+    assertThat(shiftedCurveBox.getScenarioValue()).isInstanceOf(InterpolatedNodalCurveScenarioArray.class);
 
     Curve scenario1Curve = InterpolatedNodalCurve.of(
         Curves.zeroRates(CurveName.of("curve"), DayCounts.ACT_365F, nodeMetadata),
@@ -171,6 +173,30 @@ public class CurvePointShiftsTest {
     }
   }
 
+  public void scenarioCurves() {
+    List<LabelDateParameterMetadata> nodeMetadata = ImmutableList.of(
+        LabelDateParameterMetadata.of(date(2011, 3, 8), TNR_1M),
+        LabelDateParameterMetadata.of(date(2011, 5, 8), TNR_3M),
+        LabelDateParameterMetadata.of(date(2011, 8, 8), TNR_6M));
+    InterpolatedNodalCurve curve = InterpolatedNodalCurve.of(
+        Curves.zeroRates(CurveName.of("curve"), DayCounts.ACT_365F, nodeMetadata),
+        DoubleArray.of(1, 2, 3),
+        DoubleArray.of(5, 6, 7),
+        INTERPOLATOR);
+    InterpolatedNodalCurveScenarioArray curves = InterpolatedNodalCurveScenarioArray.of(
+        curve, DoubleMatrix.of(2, 3, 5d, 6d, 7d, 6d, 7d, 8d));
+    CurvePointShifts shift = CurvePointShifts.builder(ShiftType.ABSOLUTE)
+        .addShift(0, TNR_1M, 0.1)
+        .addShift(1, TNR_6M, 0.2)
+        .build();
+
+    // the shifts are applied to the y-values of each scenario
+    MarketDataBox<Curve> shiftedCurveBox = shift.applyTo(MarketDataBox.ofScenarioValue(curves), REF_DATA);
+    assertThat(shiftedCurveBox.getScenarioValue()).isEqualTo(
+        curves.withYValues(DoubleMatrix.of(2, 3, 5.1d, 6d, 7d, 6d, 7d, 8.2d)));
+    assertThat(shiftedCurveBox.getValue(1)).isEqualTo(curve.withYValues(DoubleArray.of(6, 7, 8.2)));
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     CurvePointShifts test = CurvePointShifts.builder(ShiftType.RELATIVE)
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.curve;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.date.DayCounts;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+
+/**
+ * Test {@link InterpolatedNodalCurveScenarioArray}.
+ */
+@Test
+public class InterpolatedNodalCurveScenarioArrayTest {
+
+  private static final CurveMetadata METADATA = Curves.zeroRates("Test", DayCounts.ACT_365F);
+  private static final DoubleArray XVALUES = DoubleArray.of(1, 2, 3);
+  private static final DoubleMatrix YVALUES = DoubleMatrix.of(2, 3, 5d, 6d, 7d, 5.5d, 6.5d, 7.5d);
+  private static final InterpolatedNodalCurve BASE = InterpolatedNodalCurve.of(
+      METADATA, XVALUES, DoubleArray.of(5, 6, 7), CurveInterpolators.LINEAR);
+
+  public void of_curve() {
+    InterpolatedNodalCurveScenarioArray test = InterpolatedNodalCurveScenarioArray.of(BASE, YVALUES);
+    assertThat(test.getScenarioCount()).isEqualTo(2);
+    assertThat(test.getMetadata()).isEqualTo(METADATA);
+    assertThat(test.getXValues()).isEqualTo(XVALUES);
+    assertThat(test.getYValues()).isEqualTo(YVALUES);
+    assertThat(test.getInterpolator()).isEqualTo(CurveInterpolators.LINEAR);
+    assertThat(test.getExtrapolatorLeft()).isEqualTo(CurveExtrapolators.FLAT);
+    assertThat(test.getExtrapolatorRight()).isEqualTo(CurveExtrapolators.FLAT);
+    assertThat(test.get(0)).isEqualTo(BASE);
+    assertThat(test.get(1)).isEqualTo(BASE.withYValues(DoubleArray.of(5.5, 6.5, 7.5)));
+    assertThat(test.get(1).yValue(1.5)).isEqualTo(6d);
+    assertThat(test.stream()).containsExactly(test.get(0), test.get(1));
+  }
+
+  public void get_cached() {
+    InterpolatedNodalCurveScenarioArray test = InterpolatedNodalCurveScenarioArray.of(BASE, YVALUES);
+    InterpolatedNodalCurve curve1 = test.get(1);
+    InterpolatedNodalCurve curve0 = test.get(0);
+    assertThat(curve0).isNotSameAs(curve1);
+    // the curves are retained for each scenario, so alternating between scenarios does not create new curves
+    assertThat(test.get(1)).isSameAs(curve1);
+    assertThat(test.get(0)).isSameAs(curve0);
+    assertThrows(() -> test.get(2), IndexOutOfBoundsException.class);
+  }
+
+  public void getParameterMetadata() {
+    InterpolatedNodalCurveScenarioArray test = InterpolatedNodalCurveScenarioArray.of(BASE, YVALUES);
+    for (int i = 0; i < XVALUES.size(); i++) {
+      assertThat(test.getParameterMetadata(i)).isEqualTo(BASE.getParameterMetadata(i));
+    }
+  }
+
+  public void withYValues() {
+    InterpolatedNodalCurveScenarioArray base = InterpolatedNodalCurveScenarioArray.of(BASE, YVALUES);
+    DoubleMatrix yValues = DoubleMatrix.of(1, 3, 4d, 5d, 6d);
+    InterpolatedNodalCurveScenarioArray test = base.withYValues(yValues);
+    assertThat(test).isEqualTo(InterpolatedNodalCurveScenarioArray.of(BASE, yValues));
+    assertThat(test.getScenarioCount()).isEqualTo(1);
+    assertThat(test.get(0)).isEqualTo(BASE.withYValues(DoubleArray.of(4, 5, 6)));
+  }
+
+  public void of_mismatch() {
+    assertThrowsIllegalArg(() -> InterpolatedNodalCurveScenarioArray.of(BASE, DoubleMatrix.of(1, 2, 5d, 6d)));
+    assertThrowsIllegalArg(() -> InterpolatedNodalCurveScenarioArray.of(BASE, DoubleMatrix.EMPTY));
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    InterpolatedNodalCurveScenarioArray test = InterpolatedNodalCurveScenarioArray.of(BASE, YVALUES);
+    coverImmutableBean(test);
+    InterpolatedNodalCurveScenarioArray test2 = InterpolatedNodalCurveScenarioArray.of(
+        Curves.zeroRates("Test2", DayCounts.ACT_360),
+        DoubleArray.of(1, 2),
+        DoubleMatrix.of(1, 2, 1d, 2d),
+        CurveInterpolators.DOUBLE_QUADRATIC,
+        CurveExtrapolators.LINEAR,
+        CurveExtrapolators.LINEAR);
+    coverBeanEquals(test, test2);
+  }
+
+}
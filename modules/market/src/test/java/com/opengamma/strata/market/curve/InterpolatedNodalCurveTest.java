@@ -123,6 +123,11 @@ public class InterpolatedNodalCurveTest {
     assertThat(test.yValueParameterSensitivity(10d).getMarketDataName()).isEqualTo(CURVE_NAME);
     assertThat(test.yValueParameterSensitivity(10d).getSensitivity()).isEqualTo(interp.parameterSensitivity(10d));
     assertThat(test.firstDerivative(10d)).isEqualTo(interp.firstDerivative(10d));
+
+    double[] sensitivity = new double[test.getParameterCount()];
+    test.addYValueParameterSensitivity(10d, 2d, sensitivity);
+    assertThat(DoubleArray.ofUnsafe(sensitivity)).isEqualTo(interp.parameterSensitivity(10d).multipliedBy(2d));
+    assertThrowsIllegalArg(() -> test.addYValueParameterSensitivity(10d, 2d, new double[1]));
   }
 
   //-------------------------------------------------------------------------
@@ -76,6 +76,24 @@ public class LinearCurveInterpolatorTest {
     assertEquals(bci.parameterSensitivity(5.0).get(X_DATA.size() - 1), 1d, TOL);
   }
 
+  public void test_addParameterSensitivity() {
+    BoundCurveInterpolator bci = LINEAR_INTERPOLATOR.bind(X_DATA, Y_DATA, FLAT_EXTRAPOLATOR, FLAT_EXTRAPOLATOR);
+    double[] xValues = {-0.5, 0.0, 0.2, 1.1, 2.3, 5.0, 6.0};
+    double[] computed = new double[X_DATA.size()];
+    double[] expected = new double[X_DATA.size()];
+    for (int i = 0; i < xValues.length; i++) {
+      double amount = 10d * (i + 1);
+      bci.addParameterSensitivity(xValues[i], amount, computed);
+      DoubleArray sensitivity = bci.parameterSensitivity(xValues[i]);
+      for (int j = 0; j < expected.length; j++) {
+        expected[j] += sensitivity.get(j) * amount;
+      }
+    }
+    for (int j = 0; j < expected.length; j++) {
+      assertEquals(computed[j], expected[j], TOL);
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void test_serialization() {
     assertSerialization(LINEAR_INTERPOLATOR);
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.param;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.market.curve.CurveName;
+
+/**
+ * Test {@link CurrencyParameterSensitivitiesScenarioArray}.
+ */
+@Test
+public class CurrencyParameterSensitivitiesScenarioArrayTest {
+
+  private static final CurveName NAME1 = CurveName.of("NAME-1");
+  private static final CurveName NAME2 = CurveName.of("NAME-2");
+  private static final List<ParameterMetadata> METADATA1 = ParameterMetadata.listOfEmpty(2);
+  private static final List<ParameterMetadata> METADATA2 = ParameterMetadata.listOfEmpty(3);
+
+  private static final CurrencyParameterSensitivities SENSI_0 = CurrencyParameterSensitivities.of(
+      CurrencyParameterSensitivity.of(NAME1, METADATA1, USD, DoubleArray.of(1, 2)),
+      CurrencyParameterSensitivity.of(NAME2, METADATA2, EUR, DoubleArray.of(3, 4, 5)));
+  private static final CurrencyParameterSensitivities SENSI_1 = CurrencyParameterSensitivities.of(
+      CurrencyParameterSensitivity.of(NAME1, METADATA1, USD, DoubleArray.of(10, 20)),
+      CurrencyParameterSensitivity.of(NAME2, METADATA2, EUR, DoubleArray.of(30, 40, 50)));
+  private static final CurrencyParameterSensitivities SENSI_OTHER = CurrencyParameterSensitivities.of(
+      CurrencyParameterSensitivity.of(NAME1, METADATA1, USD, DoubleArray.of(10, 20)));
+
+  //-------------------------------------------------------------------------
+  public void test_of_list() {
+    CurrencyParameterSensitivitiesScenarioArray test =
+        CurrencyParameterSensitivitiesScenarioArray.of(ImmutableList.of(SENSI_0, SENSI_1));
+    assertThat(test.getScenarioCount()).isEqualTo(2);
+    assertThat(test.getStructure()).isEqualTo(SENSI_0);
+    assertThat(test.getValues()).isEqualTo(DoubleMatrix.of(2, 5, 1, 2, 3, 4, 5, 10, 20, 30, 40, 50));
+    assertThat(test.get(0)).isEqualTo(SENSI_0);
+    assertThat(test.get(1)).isEqualTo(SENSI_1);
+    assertThat(test.stream().collect(toList())).containsExactly(SENSI_0, SENSI_1);
+  }
+
+  public void test_of_structure() {
+    CurrencyParameterSensitivitiesScenarioArray test = CurrencyParameterSensitivitiesScenarioArray.of(
+        SENSI_0, DoubleMatrix.of(1, 5, 10, 20, 30, 40, 50));
+    assertThat(test.getScenarioCount()).isEqualTo(1);
+    assertThat(test.get(0)).isEqualTo(SENSI_1);
+  }
+
+  public void test_of_invalid() {
+    assertThrowsIllegalArg(
+        () -> CurrencyParameterSensitivitiesScenarioArray.of(ImmutableList.of(SENSI_0, SENSI_OTHER)));
+    assertThrowsIllegalArg(() -> CurrencyParameterSensitivitiesScenarioArray.of(ImmutableList.of()));
+    assertThrowsIllegalArg(() -> CurrencyParameterSensitivitiesScenarioArray.of(SENSI_0, DoubleMatrix.of(1, 2, 1, 2)));
+  }
+
+  public void test_isCompatible() {
+    assertThat(CurrencyParameterSensitivitiesScenarioArray.isCompatible(ImmutableList.of(SENSI_0, SENSI_1))).isTrue();
+    assertThat(CurrencyParameterSensitivitiesScenarioArray.isCompatible(ImmutableList.of(SENSI_0, SENSI_OTHER)))
+        .isFalse();
+    assertThat(CurrencyParameterSensitivitiesScenarioArray.isCompatible(ImmutableList.of())).isFalse();
+  }
+
+  public void test_compact() {
+    ScenarioArray<?> compacted =
+        CurrencyParameterSensitivitiesScenarioArray.compact(ScenarioArray.of(SENSI_0, SENSI_1));
+    assertThat(compacted).isInstanceOf(CurrencyParameterSensitivitiesScenarioArray.class);
+    List<Object> values = compacted.stream().collect(toList());
+    assertThat(values).containsExactly(SENSI_0, SENSI_1);
+
+    ScenarioArray<?> incompatible = ScenarioArray.of(SENSI_0, SENSI_OTHER);
+    assertThat(CurrencyParameterSensitivitiesScenarioArray.compact(incompatible)).isSameAs(incompatible);
+    ScenarioArray<?> other = ScenarioArray.of("foo", "bar");
+    assertThat(CurrencyParameterSensitivitiesScenarioArray.compact(other)).isSameAs(other);
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    CurrencyParameterSensitivitiesScenarioArray test =
+        CurrencyParameterSensitivitiesScenarioArray.of(ImmutableList.of(SENSI_0, SENSI_1));
+    coverImmutableBean(test);
+    CurrencyParameterSensitivitiesScenarioArray test2 =
+        CurrencyParameterSensitivitiesScenarioArray.of(ImmutableList.of(SENSI_OTHER));
+    coverBeanEquals(test, test2);
+  }
+
+}
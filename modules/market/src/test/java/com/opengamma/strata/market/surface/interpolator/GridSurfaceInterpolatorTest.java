@@ -105,6 +105,36 @@ public class GridSurfaceInterpolatorTest {
     }
   }
 
+  public void test_interpolation_sameY() {
+    GridSurfaceInterpolator test = GridSurfaceInterpolator.of(
+        LINEAR, FLAT, FLAT, LINEAR, FLAT, FLAT);
+    BoundSurfaceInterpolator bci = test.bind(X_DATA, Y_DATA, Z_DATA);
+    for (int i = 0; i < Y_TEST.size(); i++) {
+      double y = Y_TEST.get(i);
+      for (int j = 0; j < X_TEST.size(); j++) {
+        // consecutive queries at the same y-value are compared to a new bound interpolator
+        BoundSurfaceInterpolator expected = test.bind(X_DATA, Y_DATA, Z_DATA);
+        assertEquals(bci.interpolate(X_TEST.get(j), y), expected.interpolate(X_TEST.get(j), y));
+        assertEquals(bci.parameterSensitivity(X_TEST.get(j), y), expected.parameterSensitivity(X_TEST.get(j), y));
+      }
+    }
+  }
+
+  public void test_interpolation_alternatingY() {
+    GridSurfaceInterpolator test = GridSurfaceInterpolator.of(
+        LINEAR, FLAT, FLAT, LINEAR, FLAT, FLAT);
+    BoundSurfaceInterpolator bci = test.bind(X_DATA, Y_DATA, Z_DATA);
+    for (int j = 0; j < X_TEST.size(); j++) {
+      for (int i = 0; i < Y_TEST.size(); i++) {
+        // queries alternating between the y-values are compared to a new bound interpolator
+        double y = Y_TEST.get(i);
+        BoundSurfaceInterpolator expected = test.bind(X_DATA, Y_DATA, Z_DATA);
+        assertEquals(bci.interpolate(X_TEST.get(j), y), expected.interpolate(X_TEST.get(j), y));
+        assertEquals(bci.parameterSensitivity(X_TEST.get(j), y), expected.parameterSensitivity(X_TEST.get(j), y));
+      }
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     GridSurfaceInterpolator test = GridSurfaceInterpolator.of(
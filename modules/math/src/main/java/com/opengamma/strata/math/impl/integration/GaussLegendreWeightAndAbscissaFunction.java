@@ -6,10 +6,8 @@
 package com.opengamma.strata.math.impl.integration;
 
 import com.opengamma.strata.collect.ArgChecker;
-import com.opengamma.strata.collect.tuple.Pair;
-import com.opengamma.strata.math.impl.function.DoubleFunction1D;
+import com.opengamma.strata.math.MathException;
 import com.opengamma.strata.math.impl.function.special.LegendrePolynomialFunction;
-import com.opengamma.strata.math.impl.rootfinding.NewtonRaphsonSingleRootFinder;
 
 /**
  * Class that generates weights and abscissas for Gauss-Legendre quadrature.
@@ -21,13 +19,23 @@ import com.opengamma.strata.math.impl.rootfinding.NewtonRaphsonSingleRootFinder;
  * $$
  * where $x_i$ is the $i^{th}$ root of the orthogonal polynomial and $L_i'$ is
  * the first derivative of the $i^{th}$ polynomial. The orthogonal polynomial
- * is generated by
- * {@link LegendrePolynomialFunction}.
+ * is the same as that generated by {@link LegendrePolynomialFunction}.
+ * <p>
+ * The roots are found by Newton-Raphson iteration, with the polynomial and its derivative
+ * evaluated by the three-term recurrence relation. This is accurate for any number of points.
  */
 public class GaussLegendreWeightAndAbscissaFunction implements QuadratureWeightAndAbscissaFunction {
 
-  private static final LegendrePolynomialFunction LEGENDRE = new LegendrePolynomialFunction();
-  private static final NewtonRaphsonSingleRootFinder ROOT_FINDER = new NewtonRaphsonSingleRootFinder(1e-15);
+  /**
+   * The absolute change in the root at which the iteration stops.
+   * <p>
+   * The roots lie in [-1, 1], so this is close to the machine precision.
+   */
+  private static final double TOLERANCE = 1e-15;
+  /**
+   * The maximum number of iterations for each root.
+   */
+  private static final int MAX_ITERATIONS = 100;
 
   /**
    * {@inheritDoc}
@@ -38,15 +46,22 @@ public class GaussLegendreWeightAndAbscissaFunction implements QuadratureWeightA
     int mid = (n + 1) / 2;
     double[] x = new double[n];
     double[] w = new double[n];
-    Pair<DoubleFunction1D, DoubleFunction1D>[] polynomials = LEGENDRE.getPolynomialsAndFirstDerivative(n);
-    Pair<DoubleFunction1D, DoubleFunction1D> pair = polynomials[n];
-    DoubleFunction1D function = pair.getFirst();
-    DoubleFunction1D derivative = pair.getSecond();
     for (int i = 0; i < mid; i++) {
-      double root = ROOT_FINDER.getRoot(function, derivative, getInitialRootGuess(i, n));
+      double root = getInitialRootGuess(i, n);
+      double[] pdp = legendreAndDerivative(n, root);
+      int count = 0;
+      double step = pdp[0] / pdp[1];
+      while (Math.abs(step) > TOLERANCE) {
+        if (++count > MAX_ITERATIONS) {
+          throw new MathException("Could not find root of Legendre polynomial of degree " + n);
+        }
+        root -= step;
+        pdp = legendreAndDerivative(n, root);
+        step = pdp[0] / pdp[1];
+      }
       x[i] = -root;
       x[n - i - 1] = root;
-      double dp = derivative.applyAsDouble(root);
+      double dp = pdp[1];
       w[i] = 2 / ((1 - root * root) * dp * dp);
       w[n - i - 1] = w[i];
     }
@@ -57,4 +72,17 @@ public class GaussLegendreWeightAndAbscissaFunction implements QuadratureWeightA
     return Math.cos(Math.PI * (i + 0.75) / (n + 0.5));
   }
 
+  // the Legendre polynomial of degree n and its first derivative, using the three-term recurrence relation
+  private static double[] legendreAndDerivative(int n, double x) {
+    double p = 1d;
+    double pPrevious = 0d;
+    for (int j = 1; j <= n; j++) {
+      double pPrevious2 = pPrevious;
+      pPrevious = p;
+      p = ((2 * j - 1) * x * pPrevious - (j - 1) * pPrevious2) / j;
+    }
+    double dp = n * (x * p - pPrevious) / (x * x - 1);
+    return new double[] {p, dp};
+  }
+
 }
@@ -63,4 +63,37 @@ public class TridiagonalSolver {
     return DoubleArray.copyOf(solvTriDag(aM, b.toArray()));
   }
 
+  /**
+   * Solves the system Ax = y for the unknown vector x, where A is a tridiagonal matrix and y is a vector.
+   * <p>
+   * The matrix is specified by its diagonal and sub-diagonals, the size of the system being the length of the diagonal.
+   * The element i of the lower sub-diagonal is the element (i + 1, i) of the matrix and the element i of the
+   * upper sub-diagonal is the element (i, i + 1) of the matrix.
+   * <p>
+   * No array is allocated. The diagonal and the known vector are used as workspace and are overwritten.
+   * This allows the same arrays to be reused when solving many systems of the same size, for example
+   * in a finite difference scheme.
+   * @param lower  the lower sub-diagonal, at least one element shorter than the diagonal
+   * @param diagonal  the diagonal, overwritten
+   * @param upper  the upper sub-diagonal, at least one element shorter than the diagonal
+   * @param b  the known vector, overwritten
+   * @param x  the array filled with the solution
+   */
+  public static void solvTriDag(double[] lower, double[] diagonal, double[] upper, double[] b, double[] x) {
+    int n = diagonal.length;
+    ArgChecker.isTrue(lower.length >= n - 1, "lower sub-diagonal too short");
+    ArgChecker.isTrue(upper.length >= n - 1, "upper sub-diagonal too short");
+    ArgChecker.isTrue(b.length >= n, "vector y too short");
+    ArgChecker.isTrue(x.length >= n, "vector x too short");
+    for (int i = 1; i < n; i++) {
+      double m = lower[i - 1] / diagonal[i - 1];
+      diagonal[i] = diagonal[i] - m * upper[i - 1];
+      b[i] = b[i] - m * b[i - 1];
+    }
+    x[n - 1] = b[n - 1] / diagonal[n - 1];
+    for (int i = n - 2; i >= 0; i--) {
+      x[i] = (b[i] - upper[i] * x[i + 1]) / diagonal[i];
+    }
+  }
+
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import cern.jet.random.engine.RandomEngine;
+
+/**
+ * Counter-based random number engine.
+ * <p>
+ * The engine produces the stream of random numbers identified by a seed and a stream index.
+ * The n-th number of the stream is obtained by hashing the seed, the stream index and n,
+ * so each stream can be generated independently of the others.
+ * For example, a Monte Carlo simulation can use one stream for each path, making each path
+ * reproducible whatever the order, or the thread, in which the paths are generated.
+ * <p>
+ * The hash is the finalizer of the SplitMix64 generator.
+ * <p>
+ * This engine is not thread-safe, but creating an instance is cheap.
+ */
+public final class CounterBasedRandomEngine extends RandomEngine {
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+  /**
+   * The increment of the SplitMix64 generator, the odd integer closest to 2^64 divided by the golden ratio.
+   */
+  private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+  /**
+   * The key identifying the stream, derived from the seed and the stream index.
+   */
+  private final long key;
+  /**
+   * The number of values produced so far.
+   */
+  private long counter;
+
+  /**
+   * Creates an instance.
+   * 
+   * @param seed  the seed
+   * @param stream  the index of the stream
+   */
+  public CounterBasedRandomEngine(long seed, long stream) {
+    this.key = mix(mix(seed) + mix(stream) * GOLDEN_GAMMA);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int nextInt() {
+    return (int) (nextLong() >>> 32);
+  }
+
+  @Override
+  public long nextLong() {
+    counter++;
+    return mix(key + counter * GOLDEN_GAMMA);
+  }
+
+  // the SplitMix64 finalizer
+  private static long mix(long value) {
+    long z = value;
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+
+}
@@ -5,8 +5,10 @@
  */
 package com.opengamma.strata.math.impl.rootfinding;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.math.MathException;
 
 /**
@@ -41,13 +43,42 @@ public class BrentSingleRootFinder extends RealSingleRootFinder {
     if (xLower.equals(xUpper)) {
       return xLower;
     }
+    return root(function::apply, xLower, xUpper);
+  }
+
+  /**
+   * Finds the root of a primitive function.
+   * <p>
+   * This is equivalent to {@link #getRoot(Function, Double, Double)}, but avoids boxing
+   * when the function is evaluated.
+   * 
+   * @param function  the function, not null
+   * @param xLower  the lower bound, must be less than or equal to the upper bound
+   * @param xUpper  the upper bound
+   * @return the root
+   * @throws IllegalArgumentException if the bounds do not bracket a root
+   * @throws MathException if the root cannot be found
+   */
+  public double getRoot(DoubleUnaryOperator function, double xLower, double xUpper) {
+    ArgChecker.notNull(function, "function");
+    ArgChecker.isTrue(xLower <= xUpper, "x1 must be less or equal to  x2");
+    ArgChecker.isTrue(
+        function.applyAsDouble(xLower) * function.applyAsDouble(xUpper) <= 0, "x1 and x2 do not bracket a root");
+    if (xLower == xUpper) {
+      return xLower;
+    }
+    return root(function, xLower, xUpper);
+  }
+
+  // Brent's method, the bounds having been checked
+  private double root(DoubleUnaryOperator function, double xLower, double xUpper) {
     double x1 = xLower;
     double x2 = xUpper;
     double x3 = xUpper;
     double delta = 0;
     double oldDelta = 0;
-    double f1 = function.apply(x1);
-    double f2 = function.apply(x2);
+    double f1 = function.applyAsDouble(x1);
+    double f2 = function.applyAsDouble(x2);
     double f3 = f2;
     double r1, r2, r3, r4, eps, xMid, min1, min2;
     for (int i = 0; i < MAX_ITER; i++) {
@@ -104,9 +135,9 @@ public class BrentSingleRootFinder extends RealSingleRootFinder {
       } else {
         x2 += Math.copySign(eps, xMid);
       }
-      f1 = function.apply(x1);
-      f2 = function.apply(x2);
-      f3 = function.apply(x3);
+      f1 = function.applyAsDouble(x1);
+      f2 = function.applyAsDouble(x2);
+      f3 = function.applyAsDouble(x3);
     }
     throw new MathException("Could not converge to root in " + MAX_ITER + " attempts");
   }
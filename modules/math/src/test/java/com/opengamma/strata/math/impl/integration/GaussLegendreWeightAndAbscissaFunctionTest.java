@@ -5,6 +5,9 @@
  */
 package com.opengamma.strata.math.impl.integration;
 
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
 import org.testng.annotations.Test;
 
 /**
@@ -23,6 +26,7 @@ public class GaussLegendreWeightAndAbscissaFunctionTest extends WeightAndAbsciss
     Math.sqrt(245 + 14 * Math.sqrt(70)) / 21. };
   private static final double[] W5 = new double[] {(322 - 13 * Math.sqrt(70)) / 900., (322 + 13 * Math.sqrt(70)) / 900., 128. / 225, (322 + 13 * Math.sqrt(70)) / 900.,
     (322 - 13 * Math.sqrt(70)) / 900. };
+  private static final double TOL = 1e-13;
   private static final QuadratureWeightAndAbscissaFunction F = new GaussLegendreWeightAndAbscissaFunction();
 
   @Test
@@ -33,6 +37,31 @@ public class GaussLegendreWeightAndAbscissaFunctionTest extends WeightAndAbsciss
     assertResults(F.generate(5), X5, W5);
   }
 
+  @Test
+  public void testManyPoints() {
+    for (int n = 6; n <= 100; n++) {
+      GaussianQuadratureData data = F.generate(n);
+      double[] x = data.getAbscissas();
+      double[] w = data.getWeights();
+      double sumWeights = 0;
+      double sumX2 = 0;
+      double sumX2n = 0;
+      for (int i = 0; i < n; i++) {
+        assertEquals(x[i], -x[n - 1 - i], TOL);
+        if (i > 0) {
+          assertTrue(x[i] > x[i - 1]);
+        }
+        sumWeights += w[i];
+        sumX2 += w[i] * x[i] * x[i];
+        sumX2n += w[i] * Math.pow(x[i], 2 * n - 2);
+      }
+      // the rule is exact for polynomials of degree up to 2n - 1
+      assertEquals(sumWeights, 2, TOL);
+      assertEquals(sumX2, 2. / 3, TOL);
+      assertEquals(sumX2n, 2. / (2 * n - 1), TOL);
+    }
+  }
+
   @Override
   protected QuadratureWeightAndAbscissaFunction getFunction() {
     return F;
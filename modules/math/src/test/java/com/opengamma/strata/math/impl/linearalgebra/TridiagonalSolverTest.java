@@ -60,4 +60,26 @@ public class TridiagonalSolverTest {
 
   }
 
+  public void testInPlace() {
+    int n = 53;
+    double[] a = new double[n - 1];
+    double[] b = new double[n];
+    double[] c = new double[n - 1];
+    double[] y = new double[n];
+    for (int ii = 0; ii < n; ii++) {
+      b[ii] = RANDOM.nextRandom();
+      y[ii] = RANDOM.nextRandom();
+      if (ii < n - 1) {
+        a[ii] = RANDOM.nextRandom();
+        c[ii] = RANDOM.nextRandom();
+      }
+    }
+    double[] expected = solvTriDag(new TridiagonalMatrix(b, a, c), y);
+    double[] x = new double[n];
+    solvTriDag(c, b.clone(), a, y.clone(), x);
+    for (int i = 0; i < n; i++) {
+      assertEquals(expected[i], x[i], 1e-14);
+    }
+  }
+
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link CounterBasedRandomEngine}.
+ */
+@Test
+public class CounterBasedRandomEngineTest {
+
+  private static final long SEED = 20170501L;
+  private static final int NB_VALUES = 100_000;
+
+  public void test_reproducible() {
+    double[] first = new NormalRandomNumberGenerator(0d, 1d, new CounterBasedRandomEngine(SEED, 12)).getVector(10);
+    double[] second = new NormalRandomNumberGenerator(0d, 1d, new CounterBasedRandomEngine(SEED, 12)).getVector(10);
+    assertTrue(Arrays.equals(first, second));
+    double[] otherStream = new NormalRandomNumberGenerator(0d, 1d, new CounterBasedRandomEngine(SEED, 13)).getVector(10);
+    assertFalse(Arrays.equals(first, otherStream));
+    double[] otherSeed = new NormalRandomNumberGenerator(0d, 1d, new CounterBasedRandomEngine(SEED + 1, 12)).getVector(10);
+    assertFalse(Arrays.equals(first, otherSeed));
+  }
+
+  public void test_uniform() {
+    CounterBasedRandomEngine engine = new CounterBasedRandomEngine(SEED, 0);
+    double sum = 0d;
+    double sumSq = 0d;
+    for (int i = 0; i < NB_VALUES; i++) {
+      double value = engine.raw();
+      assertTrue(value > 0d && value < 1d);
+      sum += value;
+      sumSq += value * value;
+    }
+    double mean = sum / NB_VALUES;
+    assertEquals(mean, 0.5, 0.005);
+    assertEquals(sumSq / NB_VALUES - mean * mean, 1d / 12d, 0.002);
+  }
+
+  public void test_normal() {
+    // one value from each stream, as used for one path in a Monte Carlo simulation
+    double sum = 0d;
+    double sumSq = 0d;
+    for (int i = 0; i < NB_VALUES; i++) {
+      double value = new NormalRandomNumberGenerator(0d, 1d, new CounterBasedRandomEngine(SEED, i)).getVector(1)[0];
+      sum += value;
+      sumSq += value * value;
+    }
+    double mean = sum / NB_VALUES;
+    assertEquals(mean, 0d, 0.02);
+    assertEquals(sumSq / NB_VALUES - mean * mean, 1d, 0.02);
+  }
+
+}
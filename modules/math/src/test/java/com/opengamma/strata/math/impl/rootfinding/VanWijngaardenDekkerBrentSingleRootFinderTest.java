@@ -5,6 +5,11 @@
  */
 package com.opengamma.strata.math.impl.rootfinding;
 
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import java.util.function.DoubleUnaryOperator;
+
 import org.testng.annotations.Test;
 
 /**
@@ -13,10 +18,30 @@ import org.testng.annotations.Test;
 @Test
 public class VanWijngaardenDekkerBrentSingleRootFinderTest extends RealSingleRootFinderTestCase {
   private static final RealSingleRootFinder FINDER = new BrentSingleRootFinder();
+  private static final DoubleUnaryOperator F_PRIMITIVE = x -> x * x * x - 4 * x * x + x + 6;
 
   @Override
   protected RealSingleRootFinder getRootFinder() {
     return FINDER;
   }
 
+  public void testPrimitive() {
+    BrentSingleRootFinder finder = new BrentSingleRootFinder();
+    assertEquals(finder.getRoot(F_PRIMITIVE, 2.5, 3.5), finder.getRoot(F, 2.5, 3.5).doubleValue());
+    assertEquals(finder.getRoot(F_PRIMITIVE, 1.5, 2.5), finder.getRoot(F, 1.5, 2.5).doubleValue());
+    assertEquals(finder.getRoot(F_PRIMITIVE, -1.5, 0.5), -1, EPS);
+    assertEquals(finder.getRoot(F_PRIMITIVE, 2d, 2d), 2d);
+    assertThrowsIllegalArg(() -> finder.getRoot(F_PRIMITIVE, 10d, 100d));
+    assertThrowsIllegalArg(() -> finder.getRoot(F_PRIMITIVE, 3.5, 2.5));
+    assertThrowsIllegalArg(() -> finder.getRoot((DoubleUnaryOperator) null, 2.5, 3.5));
+  }
+
+  public void testPrimitiveBracket() {
+    BracketRoot bracketer = new BracketRoot();
+    double[] expected = bracketer.getBracketedPoints(F, 3.2, 3.4, 2.5, 10d);
+    double[] computed = bracketer.getBracketedPoints(F_PRIMITIVE, 3.2, 3.4, 2.5, 10d);
+    assertEquals(computed, expected);
+    assertEquals(new BrentSingleRootFinder().getRoot(F_PRIMITIVE, computed[0], computed[1]), 3, EPS);
+  }
+
 }
@@ -5,10 +5,16 @@
  */
 package com.opengamma.strata.measure.credit;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
 import com.opengamma.strata.data.scenario.DoubleScenarioArray;
 import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
@@ -80,9 +86,13 @@ final class CdsMeasureCalculations {
       CreditRatesScenarioMarketData marketData,
       ReferenceData refData) {
 
+    List<CreditRatesProvider> ratesProviders = ratesProviders(marketData);
+    if (hasSingleValuationDate(ratesProviders)) {
+      return CurrencyScenarioArray.of(tradePricer.presentValue(trade, ratesProviders, PriceType.DIRTY, refData));
+    }
     return CurrencyScenarioArray.of(
         marketData.getScenarioCount(),
-        i -> presentValue(trade, marketData.scenario(i).creditRatesProvider(), PriceType.DIRTY, refData));
+        i -> presentValue(trade, ratesProviders.get(i), PriceType.DIRTY, refData));
   }
 
   // calculates present value for one scenario
@@ -102,9 +112,14 @@ final class CdsMeasureCalculations {
       CreditRatesScenarioMarketData marketData,
       ReferenceData refData) {
 
+    List<CreditRatesProvider> ratesProviders = ratesProviders(marketData);
+    if (hasSingleValuationDate(ratesProviders)) {
+      return CurrencyScenarioArray.of(
+          tradePricer.presentValueOnSettle(trade, ratesProviders, PriceType.CLEAN, refData));
+    }
     return CurrencyScenarioArray.of(
         marketData.getScenarioCount(),
-        i -> principal(trade, marketData.scenario(i).creditRatesProvider(), refData));
+        i -> principal(trade, ratesProviders.get(i), refData));
   }
 
   // calculates principal for one scenario
@@ -123,9 +138,14 @@ final class CdsMeasureCalculations {
       CreditRatesScenarioMarketData marketData,
       ReferenceData refData) {
 
+    List<CreditRatesProvider> ratesProviders = ratesProviders(marketData);
+    if (hasSingleValuationDate(ratesProviders)) {
+      DoubleArray puf = tradePricer.price(trade, ratesProviders, PriceType.CLEAN, refData);
+      return DoubleScenarioArray.of(puf.map(converter::cleanPriceFromPointsUpfront));
+    }
     return DoubleScenarioArray.of(
         marketData.getScenarioCount(),
-        i -> unitPrice(trade, marketData.scenario(i).creditRatesProvider(), refData));
+        i -> unitPrice(trade, ratesProviders.get(i), refData));
   }
 
   // calculates price for one scenario
@@ -438,4 +458,18 @@ final class CdsMeasureCalculations {
     return tradePricer.expectedLoss(trade, ratesProvider);
   }
 
+  //-------------------------------------------------------------------------
+  // obtains the rates provider of each scenario
+  private static List<CreditRatesProvider> ratesProviders(CreditRatesScenarioMarketData marketData) {
+    return IntStream.range(0, marketData.getScenarioCount())
+        .mapToObj(i -> marketData.scenario(i).creditRatesProvider())
+        .collect(toImmutableList());
+  }
+
+  // checks if the rates providers can be priced together, which requires a single valuation date
+  private static boolean hasSingleValuationDate(List<CreditRatesProvider> ratesProviders) {
+    return !ratesProviders.isEmpty() &&
+        ratesProviders.stream().map(CreditRatesProvider::getValuationDate).distinct().count() == 1;
+  }
+
 }
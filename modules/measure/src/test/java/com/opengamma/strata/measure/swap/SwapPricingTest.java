@@ -9,6 +9,8 @@ import static com.opengamma.strata.basics.currency.Currency.USD;
 import static com.opengamma.strata.basics.date.DayCounts.THIRTY_U_360;
 import static com.opengamma.strata.basics.index.OvernightIndices.USD_FED_FUND;
 import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
+import static com.opengamma.strata.product.common.BuySell.BUY;
+import static com.opengamma.strata.product.common.BuySell.SELL;
 import static com.opengamma.strata.product.common.PayReceive.RECEIVE;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.offset;
@@ -58,6 +60,8 @@ import com.opengamma.strata.product.swap.RateCalculationSwapLeg;
 import com.opengamma.strata.product.swap.Swap;
 import com.opengamma.strata.product.swap.SwapLeg;
 import com.opengamma.strata.product.swap.SwapTrade;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConventions;
+import com.opengamma.strata.product.swap.type.FixedIborSwapTradeColumns;
 
 @Test
 public class SwapPricingTest {
@@ -150,6 +154,40 @@ public class SwapPricingTest {
     assertThat(pv.getAmount()).isCloseTo(-1003684.8402, offset(TOLERANCE_PV));
   }
 
+  public void presentValueTradeColumns() {
+    LocalDate tradeDate = LocalDate.of(2014, 1, 22);
+    LocalDate startDate = LocalDate.of(2014, 4, 22);
+    FixedIborSwapTradeColumns book = FixedIborSwapTradeColumns.builder(FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M)
+        .add(null, tradeDate, startDate, LocalDate.of(2019, 1, 22), BUY, 1_000_000d, 0.02)
+        .add(null, tradeDate, startDate, LocalDate.of(2024, 1, 22), SELL, 2_000_000d, 0.03)
+        .build();
+
+    CurveGroupName groupName = CurveGroupName.of("Test");
+    CurveId idUsdDsc = CurveId.of(groupName, StandardDataSets.GROUP1_USD_DSC.getName());
+    CurveId idUsdL3M = CurveId.of(groupName, StandardDataSets.GROUP1_USD_L3M.getName());
+    MarketData suppliedData = ImmutableMarketData.builder(VAL_DATE)
+        .addValue(idUsdDsc, StandardDataSets.GROUP1_USD_DSC)
+        .addValue(idUsdL3M, StandardDataSets.GROUP1_USD_L3M)
+        .build();
+    RatesMarketDataLookup ratesLookup = RatesMarketDataLookup.of(
+        ImmutableMap.of(USD, idUsdDsc),
+        ImmutableMap.of(IborIndices.USD_LIBOR_3M, idUsdL3M));
+    List<Column> columns = ImmutableList.of(Column.of(Measures.PRESENT_VALUE));
+    CalculationRules rules = CalculationRules.of(StandardComponents.calculationFunctions(), USD, ratesLookup);
+
+    // the trades created per task give the same results as the trades held by the runner
+    CalculationRunner runner = CalculationRunner.of(MoreExecutors.newDirectExecutorService());
+    Results expected = runner.calculate(rules, book.asTrades(), columns, suppliedData, REF_DATA);
+    Results results = runner.calculate(rules, book.asTargets(), columns, suppliedData, REF_DATA);
+    assertThat(results.getRowCount()).isEqualTo(2);
+    for (int i = 0; i < 2; i++) {
+      assertThat(results.get(i, 0)).isSuccess();
+      CurrencyAmount pv = (CurrencyAmount) results.get(i, 0).getValue();
+      CurrencyAmount expectedPv = (CurrencyAmount) expected.get(i, 0).getValue();
+      assertThat(pv.getAmount()).isCloseTo(expectedPv.getAmount(), offset(TOLERANCE_PV));
+    }
+  }
+
   private static SwapLeg fixedLeg(
       LocalDate start, LocalDate end, Frequency frequency,
       PayReceive payReceive, NotionalSchedule notional, double fixedRate, StubConvention stubConvention) {
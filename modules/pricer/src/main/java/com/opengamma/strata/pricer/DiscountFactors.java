@@ -24,6 +24,7 @@ import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
 import com.opengamma.strata.market.param.ParameterPerturbation;
 import com.opengamma.strata.market.param.ParameterizedData;
+import com.opengamma.strata.pricer.sensitivity.ParameterSensitivityAccumulator;
 
 /**
  * Provides access to discount factors for a single currency.
@@ -447,6 +448,29 @@ public interface DiscountFactors
    */
   public abstract CurrencyParameterSensitivities parameterSensitivity(ZeroRateSensitivity pointSensitivity);
 
+  /**
+   * Adds the parameter sensitivity of the zero rate at the specified year fraction to the accumulator.
+   * <p>
+   * The result is the same as adding the parameter sensitivity of the equivalent zero rate point sensitivity.
+   * Implementations based on a curve add the sensitivity directly to the accumulator,
+   * without creating the point and parameter sensitivity objects.
+   * 
+   * @param yearFraction  the year fraction of the zero rate
+   * @param sensitivityCurrency  the currency of the sensitivity
+   * @param amount  the sensitivity to the zero rate
+   * @param accumulator  the accumulator to add the parameter sensitivity to
+   * @throws RuntimeException if the result cannot be calculated
+   */
+  public default void addZeroRateParameterSensitivity(
+      double yearFraction,
+      Currency sensitivityCurrency,
+      double amount,
+      ParameterSensitivityAccumulator accumulator) {
+
+    accumulator.add(parameterSensitivity(
+        ZeroRateSensitivity.of(getCurrency(), yearFraction, sensitivityCurrency, amount)));
+  }
+
   /**
    * Creates the parameter sensitivity when the sensitivity values are known.
    * <p>
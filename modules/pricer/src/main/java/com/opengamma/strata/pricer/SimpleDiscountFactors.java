@@ -41,6 +41,7 @@ import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
 import com.opengamma.strata.market.param.ParameterMetadata;
 import com.opengamma.strata.market.param.ParameterPerturbation;
 import com.opengamma.strata.market.param.UnitParameterSensitivity;
+import com.opengamma.strata.pricer.sensitivity.ParameterSensitivityAccumulator;
 
 /**
  * Provides access to discount factors for a currency based on a discount factor curve.
@@ -204,6 +205,21 @@ public final class SimpleDiscountFactors
     return CurrencyParameterSensitivities.of(curSens);
   }
 
+  @Override
+  public void addZeroRateParameterSensitivity(
+      double yearFraction,
+      Currency sensitivityCurrency,
+      double amount,
+      ParameterSensitivityAccumulator accumulator) {
+
+    if (Math.abs(yearFraction) < EFFECTIVE_ZERO) {
+      return; // Discount factor in 0 is always 1, no sensitivity.
+    }
+    double discountFactor = discountFactor(yearFraction);
+    double yValueAmount = -amount / (yearFraction * discountFactor);
+    accumulator.addCurveSensitivity(curve, yearFraction, sensitivityCurrency, yValueAmount);
+  }
+
   @Override
   public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
     return CurrencyParameterSensitivities.of(curve.createParameterSensitivity(currency, sensitivities));
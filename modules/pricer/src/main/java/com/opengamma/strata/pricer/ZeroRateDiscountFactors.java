@@ -41,6 +41,7 @@ import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
 import com.opengamma.strata.market.param.ParameterMetadata;
 import com.opengamma.strata.market.param.ParameterPerturbation;
 import com.opengamma.strata.market.param.UnitParameterSensitivity;
+import com.opengamma.strata.pricer.sensitivity.ParameterSensitivityAccumulator;
 
 /**
  * Provides access to discount factors for a currency based on a zero rate continuously compounded curve.
@@ -193,6 +194,16 @@ public final class ZeroRateDiscountFactors
     return CurrencyParameterSensitivities.of(curSens);
   }
 
+  @Override
+  public void addZeroRateParameterSensitivity(
+      double yearFraction,
+      Currency sensitivityCurrency,
+      double amount,
+      ParameterSensitivityAccumulator accumulator) {
+
+    accumulator.addCurveSensitivity(curve, yearFraction, sensitivityCurrency, amount);
+  }
+
   @Override
   public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
     return CurrencyParameterSensitivities.of(curve.createParameterSensitivity(currency, sensitivities));
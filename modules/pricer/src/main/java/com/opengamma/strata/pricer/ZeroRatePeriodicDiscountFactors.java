@@ -40,6 +40,7 @@ import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
 import com.opengamma.strata.market.param.ParameterMetadata;
 import com.opengamma.strata.market.param.ParameterPerturbation;
 import com.opengamma.strata.market.param.UnitParameterSensitivity;
+import com.opengamma.strata.pricer.sensitivity.ParameterSensitivityAccumulator;
 
 /**
  * Provides access to discount factors for a currency based on a zero rate periodically-compounded curve.
@@ -234,6 +235,18 @@ public final class ZeroRatePeriodicDiscountFactors
     return CurrencyParameterSensitivities.of(curSens);
   }
 
+  @Override
+  public void addZeroRateParameterSensitivity(
+      double yearFraction,
+      Currency sensitivityCurrency,
+      double amount,
+      ParameterSensitivityAccumulator accumulator) {
+
+    double rp = curve.yValue(yearFraction);
+    double rpBar = 1.0 / (1 + rp / frequency);
+    accumulator.addCurveSensitivity(curve, yearFraction, sensitivityCurrency, rpBar * amount);
+  }
+
   @Override
   public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
     return CurrencyParameterSensitivities.of(curve.createParameterSensitivity(currency, sensitivities));
@@ -10,14 +10,20 @@ import static com.opengamma.strata.market.model.SabrParameterType.BETA;
 import static com.opengamma.strata.market.model.SabrParameterType.NU;
 import static com.opengamma.strata.market.model.SabrParameterType.RHO;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.OptionalDouble;
 import java.util.function.Function;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.collect.ArgChecker;
@@ -27,6 +33,8 @@ import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.math.MathException;
+import com.opengamma.strata.math.impl.integration.GaussLegendreWeightAndAbscissaFunction;
+import com.opengamma.strata.math.impl.integration.GaussianQuadratureData;
 import com.opengamma.strata.math.impl.integration.RungeKuttaIntegrator1D;
 import com.opengamma.strata.pricer.impl.option.SabrExtrapolationRightFunction;
 import com.opengamma.strata.pricer.impl.volatility.smile.SabrFormulaData;
@@ -50,7 +58,9 @@ import com.opengamma.strata.product.swap.SwapLegType;
  *  The extrapolation is done on call prices above a certain strike. See {@link SabrExtrapolationRightFunction} for
  *  more details on the extrapolation method.
  *  <p>
- *  The replication requires numerical integration. This is completed by {@link RungeKuttaIntegrator1D}.
+ *  The replication requires numerical integration. By default, this is completed by {@link RungeKuttaIntegrator1D}.
+ *  Alternatively, fixed-node Gauss-Legendre quadrature can be used, see
+ *  {@link #ofGaussLegendre(DiscountingSwapProductPricer, double, double, int)}.
  *  <p>
  *  The consistency between {@code RatesProvider} and {@code SabrParametersSwaptionVolatilities} is not checked in this 
  *  class, but validated only once in {@link SabrExtrapolationReplicationCmsLegPricer}.
@@ -85,6 +95,20 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
    * The relative tolerance for the numerical integration in sensitivity computation.
    */
   private static final double REL_TOL_VEGA = 1e-3;
+  /**
+   * The integrator used in PV and curve sensitivity computation.
+   */
+  private static final RungeKuttaIntegrator1D INTEGRATOR = new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL, NUM_ITER);
+  /**
+   * The integrator used in SABR sensitivity computation.
+   */
+  private static final RungeKuttaIntegrator1D INTEGRATOR_VEGA =
+      new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL_VEGA, NUM_ITER);
+  /**
+   * The integrator used in strike sensitivity computation.
+   */
+  private static final RungeKuttaIntegrator1D INTEGRATOR_STRIKE =
+      new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL_STRIKE, NUM_ITER);
   /**
    * The maximum iteration count.
    */
@@ -99,6 +123,10 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
    * For expiry below that value, the forward rate is used for present value.
    */
   private static final double MIN_TIME = 1e-4;
+  /**
+   * The minimal width of the first panels of the Gauss-Legendre quadrature.
+   */
+  private static final double MIN_PANEL_WIDTH = 1e-4;
 
   /**
    * Pricer for the underlying swap.
@@ -116,6 +144,12 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
    * This must be greater than 0 in order to ensure that the call price converges to 0 for infinite strike.
    */
   private final double mu;
+  /**
+   * The Gauss-Legendre abscissas and weights on [-1, 1] used in each panel of the fixed-node integration.
+   * <p>
+   * This is null if the adaptive integration is used.
+   */
+  private final GaussianQuadratureData quadrature;
 
   //-------------------------------------------------------------------------
   /**
@@ -131,7 +165,7 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
       double cutOffStrike,
       double mu) {
 
-    return new SabrExtrapolationReplicationCmsPeriodPricer(swapPricer, cutOffStrike, mu);
+    return new SabrExtrapolationReplicationCmsPeriodPricer(swapPricer, cutOffStrike, mu, null);
   }
 
   /**
@@ -145,14 +179,47 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
     return of(DiscountingSwapProductPricer.DEFAULT, cutOffStrike, mu);
   }
 
+  /**
+   * Obtains the pricer using fixed-node Gauss-Legendre integration.
+   * <p>
+   * The replication integrals are computed by Gauss-Legendre quadrature on a set of panels anchored at the forward.
+   * The width of the first panel on each side of the forward is the standard deviation of the shifted swap rate and
+   * the width doubles for each subsequent panel, so that the region close to the forward is sampled densely.
+   * The abscissas and weights are computed once by this method and reused for all the CMS periods priced.
+   * <p>
+   * The smile is evaluated for all the nodes of a panel at once, and the values of the full panels are shared
+   * between the integrals of a sensitivity computation and between the periods priced together by
+   * {@link #presentValue(List, RatesProvider, SabrSwaptionVolatilities)}.
+   * This is significantly faster than the adaptive integration used by the other factory methods,
+   * as the number of evaluations of the SABR formula is fixed and small, at the cost of a small loss of accuracy.
+   * 
+   * @param swapPricer  the pricer for underlying swap
+   * @param cutOffStrike  the cut-off strike value
+   * @param mu  the tail thickness
+   * @param nbPoints  the number of Gauss-Legendre points in each panel
+   * @return the pricer
+   */
+  public static SabrExtrapolationReplicationCmsPeriodPricer ofGaussLegendre(
+      DiscountingSwapProductPricer swapPricer,
+      double cutOffStrike,
+      double mu,
+      int nbPoints) {
+
+    ArgChecker.isTrue(nbPoints > 1, "nbPoints must be greater than 1, but was {}", nbPoints);
+    GaussianQuadratureData quadrature = new GaussLegendreWeightAndAbscissaFunction().generate(nbPoints);
+    return new SabrExtrapolationReplicationCmsPeriodPricer(swapPricer, cutOffStrike, mu, quadrature);
+  }
+
   private SabrExtrapolationReplicationCmsPeriodPricer(
       DiscountingSwapProductPricer swapPricer,
       double cutOffStrike,
-      double mu) {
+      double mu,
+      GaussianQuadratureData quadrature) {
 
     this.swapPricer = ArgChecker.notNull(swapPricer, "swapPricer");
     this.cutOffStrike = cutOffStrike;
     this.mu = ArgChecker.notNegativeOrZero(mu, "mu");
+    this.quadrature = quadrature;
   }
 
   //-------------------------------------------------------------------------
@@ -169,6 +236,40 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
       RatesProvider provider,
       SabrSwaptionVolatilities swaptionVolatilities) {
 
+    return presentValue(cmsPeriod, provider, swaptionVolatilities, new HashMap<>());
+  }
+
+  /**
+   * Computes the present values of a list of CMS periods by replication in SABR framework.
+   * <p>
+   * The result is the same as calling {@link #presentValue(CmsPeriod, RatesProvider, SabrSwaptionVolatilities)}
+   * for each period. When the Gauss-Legendre integration is used, the smile values at the nodes of the quadrature
+   * are computed once for all the periods with the same fixing, tenor, forward and option type,
+   * for example CMS coupons and caplets with different strikes on the same swap rate.
+   * 
+   * @param cmsPeriods  the CMS periods
+   * @param provider  the rates provider
+   * @param swaptionVolatilities  the swaption volatilities
+   * @return the present values, in the order of the periods
+   */
+  public List<CurrencyAmount> presentValue(
+      List<CmsPeriod> cmsPeriods,
+      RatesProvider provider,
+      SabrSwaptionVolatilities swaptionVolatilities) {
+
+    Map<List<Object>, ReplicationSmile> smiles = new HashMap<>();
+    return cmsPeriods.stream()
+        .map(cmsPeriod -> presentValue(cmsPeriod, provider, swaptionVolatilities, smiles))
+        .collect(toImmutableList());
+  }
+
+  // computes the present value, sharing the smile values at the quadrature nodes through the map
+  private CurrencyAmount presentValue(
+      CmsPeriod cmsPeriod,
+      RatesProvider provider,
+      SabrSwaptionVolatilities swaptionVolatilities,
+      Map<List<Object>, ReplicationSmile> smiles) {
+
     Currency ccy = cmsPeriod.getCurrency();
     if (provider.getValuationDate().isAfter(cmsPeriod.getPaymentDate())) {
       return CurrencyAmount.zero(ccy);
@@ -204,15 +305,27 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
         cmsPeriod, swap, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor, cutOffStrike, eta);
     double factor = dfPayment / intProv.h(forward) * intProv.g(forward);
     double strikePart = factor * intProv.k(strikeCpn) * intProv.bs(strikeCpn);
-    RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL, NUM_ITER);
     double integralPart = 0d;
-    Function<Double, Double> integrant = intProv.integrant();
     try {
-      if (intProv.getPutCall().isCall()) {
-        integralPart = dfPayment *
-            integrateCall(integrator, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
+      if (quadrature != null) {
+        ReplicationSmile smile = smiles.computeIfAbsent(
+            ImmutableList.of(intProv.getPutCall(), expiryTime, tenor, forward),
+            key -> new ReplicationSmile(intProv, swaptionVolatilities, forward, expiryTime, tenor, NodeValues.PRICE));
+        NodeIntegrant integrant = (x, values, node, weight, result) ->
+            result[0] += weight * intProv.getFactor() * intProv.replicationFactor(x) * values[0][node];
+        if (intProv.getPutCall().isCall()) {
+          integralPart = dfPayment * smile.integrateCall(integrant, 1, strikeCpn, REL_TOL)[0];
+        } else {
+          integralPart = -dfPayment * smile.integrate(integrant, 1, -shift + ZERO_SHIFT, strikeCpn)[0];
+        }
       } else {
-        integralPart = -dfPayment * integrator.integrate(integrant, -shift + ZERO_SHIFT, strikeCpn);
+        Function<Double, Double> integrant = intProv.integrant();
+        if (intProv.getPutCall().isCall()) {
+          integralPart = dfPayment *
+              integrateCall(INTEGRATOR, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
+        } else {
+          integralPart = -dfPayment * INTEGRATOR.integrate(integrant, -shift + ZERO_SHIFT, strikeCpn);
+        }
       }
     } catch (Exception e) {
       throw new MathException(e);
@@ -324,23 +437,42 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
         .relativeYearFraction(cmsPeriod.getPaymentDate(), swap.getStartDate());
     CmsDeltaIntegrantProvider intProv = new CmsDeltaIntegrantProvider(
         cmsPeriod, swap, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor, cutOffStrike, eta);
-    RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL, NUM_ITER);
     double[] bs = intProv.bsbsp(strikeCpn);
     double[] n = intProv.getNnp();
     double strikePartPrice = intProv.k(strikeCpn) * n[0] * bs[0];
     double integralPartPrice = 0d;
     double integralPart = 0d;
-    Function<Double, Double> integrant = intProv.integrant();
-    Function<Double, Double> integrantDelta = intProv.integrantDelta();
     try {
-      if (intProv.getPutCall().isCall()) {
-        integralPartPrice =
-            integrateCall(integrator, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
-        integralPart = dfPayment *
-            integrateCall(integrator, integrantDelta, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
+      if (quadrature != null) {
+        // the price and delta integrants are computed together from the same smile values
+        ReplicationSmile smile = new ReplicationSmile(
+            intProv, swaptionVolatilities, forward, expiryTime, tenor, NodeValues.PRICE_FORWARD_DERIVATIVE);
+        NodeIntegrant integrant = (x, values, node, weight, result) -> {
+          double replicationWeight = weight * intProv.replicationFactor(x);
+          result[0] += replicationWeight * intProv.getFactor() * values[0][node];
+          result[1] += replicationWeight * (n[1] * values[0][node] + n[0] * values[1][node]);
+        };
+        if (intProv.getPutCall().isCall()) {
+          double[] integrals = smile.integrateCall(integrant, 2, strikeCpn, REL_TOL);
+          integralPartPrice = integrals[0];
+          integralPart = dfPayment * integrals[1];
+        } else {
+          double[] integrals = smile.integrate(integrant, 2, -shift + ZERO_SHIFT, strikeCpn);
+          integralPartPrice = -integrals[0];
+          integralPart = -dfPayment * integrals[1];
+        }
       } else {
-        integralPartPrice = -integrator.integrate(integrant, -shift + ZERO_SHIFT, strikeCpn);
-        integralPart = -dfPayment * integrator.integrate(integrantDelta, -shift, strikeCpn);
+        Function<Double, Double> integrant = intProv.integrant();
+        Function<Double, Double> integrantDelta = intProv.integrantDelta();
+        if (intProv.getPutCall().isCall()) {
+          integralPartPrice =
+              integrateCall(INTEGRATOR, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
+          integralPart = dfPayment *
+              integrateCall(INTEGRATOR, integrantDelta, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
+        } else {
+          integralPartPrice = -INTEGRATOR.integrate(integrant, -shift + ZERO_SHIFT, strikeCpn);
+          integralPart = -dfPayment * INTEGRATOR.integrate(integrantDelta, -shift, strikeCpn);
+        }
       }
     } catch (Exception e) {
       throw new MathException(e);
@@ -404,23 +536,44 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
     double[] strikePartPrice = intProv.getSabrExtrapolation()
         .priceAdjointSabr(Math.max(0d, strikeCpn + shift), intProv.getPutCall()) // handle tiny but negative number
         .getDerivatives().multipliedBy(factor2).toArray();
-    RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL_VEGA, NUM_ITER);
-    double[] totalSensi = new double[4];
-    for (int loopparameter = 0; loopparameter < 4; loopparameter++) {
-      double integralPart = 0d;
-      Function<Double, Double> integrant = intProv.integrantVega(loopparameter);
-      try {
-        if (intProv.getPutCall().isCall()) {
-          integralPart = dfPayment *
-              integrateCall(integrator, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
-        } else {
-          integralPart = -dfPayment * integrator.integrate(integrant, -shift + ZERO_SHIFT, strikeCpn);
+    double[] integralPart = new double[4];
+    try {
+      if (quadrature != null) {
+        // the four integrants are computed together from the same smile derivatives
+        ReplicationSmile smile = new ReplicationSmile(
+            intProv, swaptionVolatilities, forward, expiryTime, tenor, NodeValues.PRICE_SABR_DERIVATIVES);
+        NodeIntegrant integrant = (x, values, node, weight, result) -> {
+          double replicationWeight = weight * intProv.getFactor() * intProv.replicationFactor(x);
+          for (int loopparameter = 0; loopparameter < 4; loopparameter++) {
+            result[loopparameter] += replicationWeight * values[loopparameter][node];
+          }
+        };
+        double[] integrals = intProv.getPutCall().isCall() ?
+            smile.integrateCall(integrant, 4, strikeCpn, REL_TOL_VEGA) :
+            smile.integrate(integrant, 4, -shift + ZERO_SHIFT, strikeCpn);
+        double sign = intProv.getPutCall().isCall() ? 1d : -1d;
+        for (int loopparameter = 0; loopparameter < 4; loopparameter++) {
+          integralPart[loopparameter] = sign * dfPayment * integrals[loopparameter];
+        }
+      } else {
+        for (int loopparameter = 0; loopparameter < 4; loopparameter++) {
+          Function<Double, Double> integrant = intProv.integrantVega(loopparameter);
+          if (intProv.getPutCall().isCall()) {
+            integralPart[loopparameter] = dfPayment *
+                integrateCall(INTEGRATOR_VEGA, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
+          } else {
+            integralPart[loopparameter] =
+                -dfPayment * INTEGRATOR_VEGA.integrate(integrant, -shift + ZERO_SHIFT, strikeCpn);
+          }
         }
-      } catch (Exception e) {
-        throw new RuntimeException(e);
       }
-      totalSensi[loopparameter] =
-          (strikePartPrice[loopparameter] + integralPart) * cmsPeriod.getNotional() * cmsPeriod.getYearFraction();
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+    double[] totalSensi = new double[4];
+    for (int loopparameter = 0; loopparameter < 4; loopparameter++) {
+      totalSensi[loopparameter] = (strikePartPrice[loopparameter] + integralPart[loopparameter]) *
+          cmsPeriod.getNotional() * cmsPeriod.getYearFraction();
     }
     SwaptionVolatilitiesName name = swaptionVolatilities.getName();
     return PointSensitivityBuilder.of(
@@ -486,17 +639,27 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
     CmsIntegrantProvider intProv = new CmsIntegrantProvider(
         cmsPeriod, swap, swaptionVolatilities, forward, strike, expiryTime, tenor, cutOffStrike, eta);
     double factor = dfPayment * intProv.g(forward) / intProv.h(forward);
-    RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL_STRIKE, NUM_ITER);
     double[] kpkpp = intProv.kpkpp(strike);
-    double firstPart;
+    double firstPart = -kpkpp[0] * intProv.bs(strike);
     double thirdPart;
-    Function<Double, Double> integrant = intProv.integrantDualDelta();
-    if (intProv.getPutCall().isCall()) {
-      firstPart = -kpkpp[0] * intProv.bs(strike);
-      thirdPart = integrateCall(integrator, integrant, swaptionVolatilities, forward, strike, expiryTime, tenor);
+    if (quadrature != null) {
+      ReplicationSmile smile =
+          new ReplicationSmile(intProv, swaptionVolatilities, forward, expiryTime, tenor, NodeValues.PRICE);
+      NodeIntegrant integrant = (x, values, node, weight, result) ->
+          result[0] -= weight * intProv.kpkpp(x)[1] * values[0][node];
+      if (intProv.getPutCall().isCall()) {
+        thirdPart = smile.integrateCall(integrant, 1, strike, REL_TOL_STRIKE)[0];
+      } else {
+        thirdPart = -smile.integrate(integrant, 1, -shift + ZERO_SHIFT, strike)[0];
+      }
     } else {
-      firstPart = -kpkpp[0] * intProv.bs(strike);
-      thirdPart = -integrator.integrate(integrant, -shift + ZERO_SHIFT, strike);
+      Function<Double, Double> integrant = intProv.integrantDualDelta();
+      if (intProv.getPutCall().isCall()) {
+        thirdPart =
+            integrateCall(INTEGRATOR_STRIKE, integrant, swaptionVolatilities, forward, strike, expiryTime, tenor);
+      } else {
+        thirdPart = -INTEGRATOR_STRIKE.integrate(integrant, -shift + ZERO_SHIFT, strike);
+      }
     }
     double secondPart =
         intProv.k(strike) * intProv.getSabrExtrapolation().priceDerivativeStrike(strike + shift, intProv.getPutCall());
@@ -530,13 +693,12 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
       double expiryTime,
       double tenor) {
 
-    double res;
     double vol = swaptionVolatilities.volatility(expiryTime, tenor, forward, forward);
     double upper0 = Math.max(
         forward * Math.exp(6d * vol * Math.sqrt(expiryTime)),
         Math.max(cutOffStrike, 2d * strike));  // To ensure that the integral covers a good part of the smile
     double upper = Math.min(upper0, 1d); // To ensure that we don't miss the meaningful part
-    res = integrator.integrate(integrant, strike, upper);
+    double res = integrator.integrate(integrant, strike, upper);
     double reminder = integrant.apply(upper) * upper;
     double error = reminder / res;
     int count = 0;
@@ -587,6 +749,182 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
     builder.put(ExplainKey.CONVEXITY_ADJUSTED_RATE, adjustedForwardRate(period, ratesProvider, swaptionVolatilities));
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * The values of the smile computed at the nodes of the Gauss-Legendre quadrature.
+   */
+  private enum NodeValues {
+    /** The price. */
+    PRICE,
+    /** The price and its derivative with respect to the forward. */
+    PRICE_FORWARD_DERIVATIVE,
+    /** The derivatives of the price with respect to the four SABR parameters. */
+    PRICE_SABR_DERIVATIVES
+  }
+
+  /**
+   * The integrants of the replication at a node of the Gauss-Legendre quadrature.
+   */
+  @FunctionalInterface
+  private interface NodeIntegrant {
+    /**
+     * Adds the integrants at the node, multiplied by the weight, to the result.
+     * 
+     * @param x  the node
+     * @param values  the smile values at the nodes of the panel, indexed by value and then by node
+     * @param node  the index of the node in the panel
+     * @param weight  the weight of the node
+     * @param result  the integrals, updated
+     */
+    void add(double x, double[][] values, int node, double weight, double[] result);
+  }
+
+  /**
+   * The smile at the nodes of the Gauss-Legendre quadrature.
+   * <p>
+   * The panels are anchored at the forward, so that the nodes of a full panel do not depend on the strike.
+   * The boundaries are {@code forward + width * (2^j - 1)} above the forward and {@code forward - width * (2^j - 1)}
+   * below it. The smile values at the nodes of a full panel are computed once, for all the nodes together,
+   * and reused by each integration. The partial panels at the ends of an integration range are computed each time.
+   */
+  private final class ReplicationSmile {
+    private final double forward;
+    private final double shift;
+    private final double volatility;
+    private final double expiryTime;
+    private final double width;
+    private final SabrExtrapolationRightFunction sabrExtrapolation;
+    private final PutCall putCall;
+    private final NodeValues nodeValues;
+    private final Map<Integer, double[][]> panels = new HashMap<>();
+
+    ReplicationSmile(
+        CmsIntegrantProvider intProv,
+        SabrSwaptionVolatilities swaptionVolatilities,
+        double forward,
+        double expiryTime,
+        double tenor,
+        NodeValues nodeValues) {
+
+      this.forward = forward;
+      this.shift = swaptionVolatilities.shift(expiryTime, tenor);
+      this.volatility = swaptionVolatilities.volatility(expiryTime, tenor, forward, forward);
+      this.expiryTime = expiryTime;
+      this.width = Math.max((forward + shift) * volatility * Math.sqrt(expiryTime), MIN_PANEL_WIDTH);
+      this.sabrExtrapolation = intProv.getSabrExtrapolation();
+      this.putCall = intProv.getPutCall();
+      this.nodeValues = nodeValues;
+    }
+
+    // integrates from the strike to the upper bound, extended until the remainder is small
+    double[] integrateCall(NodeIntegrant integrant, int nbIntegrals, double strike, double relativeTolerance) {
+      double upper0 = Math.max(
+          forward * Math.exp(6d * volatility * Math.sqrt(expiryTime)),
+          Math.max(cutOffStrike, 2d * strike));  // To ensure that the integral covers a good part of the smile
+      double upper = Math.min(upper0, 1d); // To ensure that we don't miss the meaningful part
+      double[] res = integrate(integrant, nbIntegrals, strike, upper);
+      int count = 0;
+      while (error(integrant, res, upper) > relativeTolerance && count < MAX_COUNT) {
+        double[] extension = integrate(integrant, nbIntegrals, upper, 2d * upper);
+        for (int i = 0; i < nbIntegrals; i++) {
+          res[i] += extension[i];
+        }
+        upper *= 2d;
+        ++count;
+        if (count == MAX_COUNT) {
+          log.info("Maximum iteration count, " + MAX_COUNT + ", has been reached. Relative error is greater than " +
+              relativeTolerance);
+        }
+      }
+      return res;
+    }
+
+    // the largest relative size of the remainder beyond the upper bound
+    private double error(NodeIntegrant integrant, double[] res, double upper) {
+      double[] reminder = new double[res.length];
+      integrant.add(upper, values(new double[] {upper}), 0, upper, reminder);
+      double error = 0d;
+      for (int i = 0; i < res.length; i++) {
+        error = Math.max(error, Math.abs(reminder[i] / res[i]));
+      }
+      return error;
+    }
+
+    // integrates from start to end, with start below end
+    double[] integrate(NodeIntegrant integrant, int nbIntegrals, double start, double end) {
+      double[] abscissas = quadrature.getAbscissas();
+      double[] weights = quadrature.getWeights();
+      double[] res = new double[nbIntegrals];
+      int panel = 0;
+      while (boundary(panel) > start) {
+        panel--;
+      }
+      while (boundary(panel + 1) <= start) {
+        panel++;
+      }
+      double panelStart = start;
+      while (panelStart < end) {
+        double panelEnd = Math.min(boundary(panel + 1), end);
+        double halfLength = 0.5 * (panelEnd - panelStart);
+        double middle = 0.5 * (panelEnd + panelStart);
+        double[] x = new double[abscissas.length];
+        for (int i = 0; i < abscissas.length; i++) {
+          x[i] = middle + halfLength * abscissas[i];
+        }
+        double[][] values = panelStart == boundary(panel) && panelEnd == boundary(panel + 1) ?
+            panels.computeIfAbsent(panel, p -> values(x)) :
+            values(x);
+        for (int i = 0; i < abscissas.length; i++) {
+          integrant.add(x[i], values, i, halfLength * weights[i], res);
+        }
+        panelStart = panelEnd;
+        panel++;
+      }
+      return res;
+    }
+
+    // the lower boundary of the panel
+    private double boundary(int panel) {
+      return panel >= 0 ?
+          forward + width * (Math.pow(2d, panel) - 1d) :
+          forward - width * (Math.pow(2d, -panel) - 1d);
+    }
+
+    // the smile values at the nodes, indexed by value and then by node
+    private double[][] values(double[] x) {
+      double[] strikes = new double[x.length];
+      for (int i = 0; i < x.length; i++) {
+        strikes[i] = Math.max(x[i] + shift, 0d); // handle tiny but negative number
+      }
+      double[] prices = nodeValues == NodeValues.PRICE_SABR_DERIVATIVES ?
+          null :
+          sabrExtrapolation.price(DoubleArray.ofUnsafe(strikes), putCall).toArrayUnsafe();
+      switch (nodeValues) {
+        case PRICE:
+          return new double[][] {prices};
+        case PRICE_FORWARD_DERIVATIVE: {
+          double[] derivatives = new double[x.length];
+          for (int i = 0; i < x.length; i++) {
+            derivatives[i] = sabrExtrapolation.priceDerivativeForward(strikes[i], putCall);
+          }
+          return new double[][] {prices, derivatives};
+        }
+        case PRICE_SABR_DERIVATIVES: {
+          double[][] derivatives = new double[4][x.length];
+          for (int i = 0; i < x.length; i++) {
+            DoubleArray priceDerivativeSabr = sabrExtrapolation.priceAdjointSabr(strikes[i], putCall).getDerivatives();
+            for (int j = 0; j < 4; j++) {
+              derivatives[j][i] = priceDerivativeSabr.get(j);
+            }
+          }
+          return derivatives;
+        }
+        default:
+          throw new IllegalArgumentException("Unknown node values: " + nodeValues);
+      }
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Inner class to implement the integration used in price replication.
@@ -650,6 +988,15 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
       return shift;
     }
 
+    /**
+     * Gets the factor field.
+     * 
+     * @return the factor
+     */
+    public double getFactor() {
+      return factor;
+    }
+
     /**
      * Gets the sabrExtrapolation field.
      * 
@@ -703,9 +1050,7 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
       return new Function<Double, Double>() {
         @Override
         public Double apply(Double x) {
-          double[] kD = kpkpp(x);
-          // Implementation note: kD[0] contains the first derivative of k; kD[1] the second derivative of k.
-          return factor * (kD[1] * (x - strike) + 2d * kD[0]) * bs(x);
+          return factor * replicationFactor(x) * bs(x);
         }
       };
     }
@@ -720,15 +1065,25 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
       return new Function<Double, Double>() {
         @Override
         public Double apply(Double x) {
-          double[] kD = kpkpp(x);
-          // Implementation note: kD[0] contains the first derivative of k; kD[1] the second derivative of k.
           double xShifted = Math.max(x + shift, 0d); // handle tiny but negative number
           DoubleArray priceDerivativeSabr = getSabrExtrapolation().priceAdjointSabr(xShifted, putCall).getDerivatives();
-          return priceDerivativeSabr.get(i) * (factor * (kD[1] * (x - strike) + 2d * kD[0]));
+          return priceDerivativeSabr.get(i) * (factor * replicationFactor(x));
         }
       };
     }
 
+    /**
+     * The factor of the option price in the integrant used in price replication, excluding the constant factor.
+     * 
+     * @param x  the swap rate.
+     * @return the factor.
+     */
+    double replicationFactor(double x) {
+      double[] kD = kpkpp(x);
+      // Implementation note: kD[0] contains the first derivative of k; kD[1] the second derivative of k.
+      return kD[1] * (x - strike) + 2d * kD[0];
+    }
+
     /**
      * Obtains the integrant sensitivity to strike.
      * 
@@ -880,10 +1235,8 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
       return new Function<Double, Double>() {
         @Override
         public Double apply(Double x) {
-          double[] kD = kpkpp(x);
-          // Implementation note: kD[0] contains the first derivative of k; kD[1] the second derivative of k.
           double[] bs = bsbsp(x);
-          return (kD[1] * (x - getStrike()) + 2d * kD[0]) * (nnp[1] * bs[0] + nnp[0] * bs[1]);
+          return replicationFactor(x) * (nnp[1] * bs[0] + nnp[0] * bs[1]);
         }
       };
     }
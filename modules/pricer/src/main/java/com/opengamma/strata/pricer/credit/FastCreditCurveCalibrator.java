@@ -10,7 +10,7 @@ import static com.opengamma.strata.math.impl.util.Epsilon.epsilonP;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.function.Function;
+import java.util.function.DoubleUnaryOperator;
 
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.collect.array.DoubleArray;
@@ -26,7 +26,6 @@ import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
 import com.opengamma.strata.math.MathException;
 import com.opengamma.strata.math.impl.rootfinding.BracketRoot;
 import com.opengamma.strata.math.impl.rootfinding.BrentSingleRootFinder;
-import com.opengamma.strata.math.impl.rootfinding.RealSingleRootFinder;
 import com.opengamma.strata.pricer.common.PriceType;
 import com.opengamma.strata.product.credit.CreditCouponPaymentPeriod;
 import com.opengamma.strata.product.credit.ResolvedCds;
@@ -54,7 +53,7 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
   /**
    * The root finder.
    */
-  private static final RealSingleRootFinder ROOTFINDER = new BrentSingleRootFinder();
+  private static final BrentSingleRootFinder ROOTFINDER = new BrentSingleRootFinder();
 
   //-------------------------------------------------------------------------
   /**
@@ -146,7 +145,7 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
 
       Pricer pricer = new Pricer(cds, discountFactors, times, flactionalSpreads.get(i), pointsUpfront.get(i), lgd[i], stepinDate,
           effectiveStartDate, settlementDate, accrued);
-      Function<Double, Double> func = pricer.getPointFunction(i, creditCurve);
+      DoubleUnaryOperator func = pricer.getPointFunction(i, creditCurve);
 
       switch (getArbitrageHandling()) {
         case IGNORE: {
@@ -158,7 +157,7 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
                 ROOTFINDER.getRoot(func, bracket[0], bracket[1]); //Negative guess handled
             creditCurve = creditCurve.withParameter(i, zeroRate);
           } catch (final MathException e) { //handling bracketing failure due to small survival probability
-            if (Math.abs(func.apply(creditCurve.getYValues().get(i - 1))) < 1.e-12) {
+            if (Math.abs(func.applyAsDouble(creditCurve.getYValues().get(i - 1))) < 1.e-12) {
               creditCurve = creditCurve.withParameter(i, creditCurve.getYValues().get(i - 1));
             } else {
               throw new MathException(e);
@@ -170,7 +169,7 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
           final double minValue = i == 0 ?
               0d :
               creditCurve.getYValues().get(i - 1) * creditCurve.getXValues().get(i - 1) / creditCurve.getXValues().get(i);
-          if (i > 0 && func.apply(minValue) > 0.0) { //can never fail on the first spread
+          if (i > 0 && func.applyAsDouble(minValue) > 0.0) { //can never fail on the first spread
             final StringBuilder msg = new StringBuilder();
             if (pointsUpfront.get(i) == 0.0) {
               msg.append("The par spread of " + flactionalSpreads.get(i) + " at index " + i);
@@ -192,7 +191,7 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
           final double minValue = i == 0 ?
               0.0 :
               creditCurve.getYValues().get(i - 1) * creditCurve.getXValues().get(i - 1) / creditCurve.getXValues().get(i);
-          if (i > 0 && func.apply(minValue) > 0.0) { //can never fail on the first spread
+          if (i > 0 && func.applyAsDouble(minValue) > 0.0) { //can never fail on the first spread
             creditCurve = creditCurve.withParameter(i, minValue);
           } else {
             guess[i] = Math.max(minValue, guess[i]);
@@ -329,15 +328,12 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
       }
     }
 
-    public Function<Double, Double> getPointFunction(int index, NodalCurve creditCurve) {
-      return new Function<Double, Double>() {
-        @Override
-        public Double apply(Double x) {
-          NodalCurve cc = creditCurve.withParameter(index, x);
-          double rpv01 = rpv01(cc, PriceType.CLEAN);
-          double pro = protectionLeg(cc);
-          return pro - fracSpread * rpv01 - puf;
-        }
+    public DoubleUnaryOperator getPointFunction(int index, NodalCurve creditCurve) {
+      return x -> {
+        NodalCurve cc = creditCurve.withParameter(index, x);
+        double rpv01 = rpv01(cc, PriceType.CLEAN);
+        double pro = protectionLeg(cc);
+        return pro - fracSpread * rpv01 - puf;
       };
     }
 
@@ -10,12 +10,15 @@ import static com.opengamma.strata.math.impl.util.Epsilon.epsilonP;
 import static com.opengamma.strata.math.impl.util.Epsilon.epsilonPP;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.CurrencyAmountArray;
+import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.tuple.Pair;
@@ -32,6 +35,10 @@ import com.opengamma.strata.product.credit.ResolvedCds;
  * <p>
  * A CDS product is priced based on {@code referenceDate}.
  * This is typically valuation date, or settlement date if the product is associated with a {@code Trade}. 
+ * <p>
+ * The price and present value can also be calculated for a list of rates providers, typically one per scenario.
+ * In that case the integration schedules are computed once and shared by all the rates providers
+ * whose curves have the same nodes.
  */
 public class IsdaCdsProductPricer {
 
@@ -127,6 +134,77 @@ public class IsdaCdsProductPricer {
     return protectionLeg - rpv01 * fractionalSpread;
   }
 
+  /**
+   * Calculates the price of the CDS product for a list of rates providers, typically one per scenario.
+   * <p>
+   * The result is the same as calling
+   * {@link #price(ResolvedCds, CreditRatesProvider, LocalDate, PriceType, ReferenceData)} for each rates provider.
+   * However, the integration schedules of the protection leg and the accrual-on-default are computed once
+   * and reused for all the rates providers whose curves have the same nodes.
+   * <p>
+   * The rates providers must all have the same valuation date.
+   * 
+   * @param cds  the product
+   * @param ratesProviders  the rates providers, one per scenario
+   * @param referenceDate  the reference date
+   * @param priceType  the price type
+   * @param refData  the reference data
+   * @return the price for each rates provider
+   */
+  public DoubleArray price(
+      ResolvedCds cds,
+      List<CreditRatesProvider> ratesProviders,
+      LocalDate referenceDate,
+      PriceType priceType,
+      ReferenceData refData) {
+
+    return price(cds, ratesProviders, cds.getFixedRate(), referenceDate, priceType, refData);
+  }
+
+  // internal price computation for a list of rates providers with specified coupon rate
+  DoubleArray price(
+      ResolvedCds cds,
+      List<CreditRatesProvider> ratesProviders,
+      double fractionalSpread,
+      LocalDate referenceDate,
+      PriceType priceType,
+      ReferenceData refData) {
+
+    ArgChecker.notEmpty(ratesProviders, "ratesProviders");
+    LocalDate valuationDate = ratesProviders.get(0).getValuationDate();
+    for (CreditRatesProvider ratesProvider : ratesProviders) {
+      ArgChecker.isTrue(ratesProvider.getValuationDate().equals(valuationDate),
+          "Rates providers must have the same valuation date, but found {} and {}",
+          valuationDate, ratesProvider.getValuationDate());
+    }
+    int nScenarios = ratesProviders.size();
+    if (!cds.getProtectionEndDate().isAfter(valuationDate)) {
+      return DoubleArray.filled(nScenarios);
+    }
+    LocalDate stepinDate = cds.getStepinDateOffset().adjust(valuationDate, refData);
+    LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
+    double accrued = priceType.isCleanPrice() ? cds.accruedYearFraction(stepinDate) : 0d;
+    double[] prices = new double[nScenarios];
+    IntegrationSchedule schedule = null;
+    for (int i = 0; i < nScenarios; i++) {
+      CreditRatesProvider ratesProvider = ratesProviders.get(i);
+      double recoveryRate = recoveryRate(cds, ratesProvider);
+      Pair<CreditDiscountFactors, LegalEntitySurvivalProbabilities> rates = reduceDiscountFactors(cds, ratesProvider);
+      CreditDiscountFactors discountFactors = rates.getFirst();
+      LegalEntitySurvivalProbabilities survivalProbabilities = rates.getSecond();
+      if (schedule == null || !schedule.matches(discountFactors, survivalProbabilities)) {
+        schedule = new IntegrationSchedule(
+            cds, discountFactors, survivalProbabilities, referenceDate, stepinDate, effectiveStartDate);
+      }
+      double df = discountFactors.discountFactor(schedule.referenceTime);
+      double protectionLeg = (1d - recoveryRate) *
+          (protectionIntegral(schedule.protectionSchedule, discountFactors, survivalProbabilities) / df);
+      double rpv01 = riskyAnnuity(schedule, discountFactors, survivalProbabilities) / df - accrued;
+      prices[i] = protectionLeg - rpv01 * fractionalSpread;
+    }
+    return DoubleArray.ofUnsafe(prices);
+  }
+
   /**
    * Calculates the price sensitivity of the product. 
    * <p>
@@ -189,6 +267,33 @@ public class IsdaCdsProductPricer {
     return CurrencyAmount.of(cds.getCurrency(), cds.getBuySell().normalize(cds.getNotional()) * price);
   }
 
+  /**
+   * Calculates the present value of the CDS product for a list of rates providers, typically one per scenario.
+   * <p>
+   * The result is the same as calling
+   * {@link #presentValue(ResolvedCds, CreditRatesProvider, LocalDate, PriceType, ReferenceData)}
+   * for each rates provider, see {@link #price(ResolvedCds, List, LocalDate, PriceType, ReferenceData)}.
+   * <p>
+   * The rates providers must all have the same valuation date.
+   * 
+   * @param cds  the product
+   * @param ratesProviders  the rates providers, one per scenario
+   * @param referenceDate  the reference date
+   * @param priceType  the price type
+   * @param refData  the reference data
+   * @return the present value for each rates provider
+   */
+  public CurrencyAmountArray presentValue(
+      ResolvedCds cds,
+      List<CreditRatesProvider> ratesProviders,
+      LocalDate referenceDate,
+      PriceType priceType,
+      ReferenceData refData) {
+
+    DoubleArray price = price(cds, ratesProviders, referenceDate, priceType, refData);
+    return CurrencyAmountArray.of(cds.getCurrency(), price.multipliedBy(cds.getBuySell().normalize(cds.getNotional())));
+  }
+
   /**
    * Calculates the present value sensitivity of the product. 
    * <p>
@@ -489,6 +594,18 @@ public class IsdaCdsProductPricer {
         discountFactors.relativeYearFraction(cds.getProtectionEndDate()),
         discountFactors.getParameterKeys(),
         survivalProbabilities.getParameterKeys());
+    double pv = protectionIntegral(integrationSchedule, discountFactors, survivalProbabilities);
+    // roll to the cash settle date
+    double df = discountFactors.discountFactor(referenceDate);
+
+    return pv / df;
+  }
+
+  // computes the protection leg integral over the integration schedule, not rolled to the cash settle date
+  private double protectionIntegral(
+      DoubleArray integrationSchedule,
+      CreditDiscountFactors discountFactors,
+      LegalEntitySurvivalProbabilities survivalProbabilities) {
 
     double pv = 0d;
     double ht0 = survivalProbabilities.zeroRate(integrationSchedule.get(0)) * integrationSchedule.get(0);
@@ -515,10 +632,7 @@ public class IsdaCdsProductPricer {
       rt0 = rt1;
       b0 = b1;
     }
-    // roll to the cash settle date
-    double df = discountFactors.discountFactor(referenceDate);
-
-    return pv / df;
+    return pv;
   }
 
   // computes risky annuity
@@ -564,6 +678,30 @@ public class IsdaCdsProductPricer {
     return pv;
   }
 
+  // computes risky annuity using a precomputed schedule, not rolled to the cash settle date
+  private double riskyAnnuity(
+      IntegrationSchedule schedule,
+      CreditDiscountFactors discountFactors,
+      LegalEntitySurvivalProbabilities survivalProbabilities) {
+
+    CreditDiscountFactors survivalCurve = survivalProbabilities.getSurvivalProbabilities();
+    double pv = 0d;
+    for (int i = 0; i < schedule.couponYearFractions.length; i++) {
+      double q = survivalCurve.discountFactor(schedule.couponEndTimes[i]);
+      double p = discountFactors.discountFactor(schedule.couponPaymentTimes[i]);
+      pv += schedule.couponYearFractions[i] * p * q;
+    }
+    for (int i = 0; i < schedule.accrualKnots.length; i++) {
+      DoubleArray knots = schedule.accrualKnots[i];
+      if (knots != null) {
+        double integral =
+            accrualOnDefault(knots, schedule.accrualStartTimes[i], discountFactors, survivalProbabilities);
+        pv += schedule.accrualYearFractions[i] * integral / schedule.accrualCurveYearFractions[i];
+      }
+    }
+    return pv;
+  }
+
   // computes accrual-on-default pv per unit notional for a single payment period
   private double singlePeriodAccrualOnDefault(
       CreditCouponPaymentPeriod coupon,
@@ -580,13 +718,26 @@ public class IsdaCdsProductPricer {
 
     DoubleArray knots = DoublesScheduleGenerator.truncateSetInclusive(discountFactors.relativeYearFraction(start),
         discountFactors.relativeYearFraction(coupon.getEffectiveEndDate()), integrationSchedule);
+    double effStart = discountFactors.relativeYearFraction(coupon.getEffectiveStartDate());
+    double pv = accrualOnDefault(knots, effStart, discountFactors, survivalProbabilities);
+
+    double yearFractionCurve =
+        discountFactors.getDayCount().relativeYearFraction(coupon.getStartDate(), coupon.getEndDate());
+    return coupon.getYearFraction() * pv / yearFractionCurve;
+  }
+
+  // computes the accrual-on-default integral over the knots of a single payment period
+  private double accrualOnDefault(
+      DoubleArray knots,
+      double effStart,
+      CreditDiscountFactors discountFactors,
+      LegalEntitySurvivalProbabilities survivalProbabilities) {
 
     double t0Knot = knots.get(0);
     double ht0 = survivalProbabilities.zeroRate(t0Knot) * t0Knot;
     double rt0 = discountFactors.zeroRate(t0Knot) * t0Knot;
     double b0 = Math.exp(-rt0 - ht0);
 
-    double effStart = discountFactors.relativeYearFraction(coupon.getEffectiveStartDate());
     double t0 = t0Knot - effStart + omega;
     double pv = 0d;
     final int nItems = knots.size();
@@ -624,10 +775,7 @@ public class IsdaCdsProductPricer {
       rt0 = rt1;
       b0 = b1;
     }
-
-    double yearFractionCurve =
-        discountFactors.getDayCount().relativeYearFraction(coupon.getStartDate(), coupon.getEndDate());
-    return coupon.getYearFraction() * pv / yearFractionCurve;
+    return pv;
   }
 
   //-------------------------------------------------------------------------
@@ -898,4 +1046,122 @@ public class IsdaCdsProductPricer {
     return Pair.of(discountFactors, survivalProbabilities);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * The integration schedule of a CDS product, precomputed for a set of curve nodes.
+   * <p>
+   * The times are relative to the valuation date, using the day count of the curves.
+   * The schedule only depends on the nodes of the curves, not on their values,
+   * thus it can be shared by all the scenarios whose curves have the same nodes.
+   */
+  private static final class IntegrationSchedule {
+
+    /** The valuation date of the curves. */
+    private final LocalDate valuationDate;
+    /** The day count of the curves. */
+    private final DayCount dayCount;
+    /** The nodes of the discount curve. */
+    private final DoubleArray discountNodes;
+    /** The nodes of the credit curve. */
+    private final DoubleArray creditNodes;
+    /** The time of the reference date. */
+    private final double referenceTime;
+    /** The integration schedule of the protection leg. */
+    private final DoubleArray protectionSchedule;
+    /** The year fractions of the coupons that are paid after the step-in date. */
+    private final double[] couponYearFractions;
+    /** The times of the effective end dates of the coupons that are paid after the step-in date. */
+    private final double[] couponEndTimes;
+    /** The times of the payment dates of the coupons that are paid after the step-in date. */
+    private final double[] couponPaymentTimes;
+    /** The accrual-on-default knots of each coupon, null if the coupon has expired. */
+    private final DoubleArray[] accrualKnots;
+    /** The times of the effective start dates of the coupons, used for the accrual-on-default. */
+    private final double[] accrualStartTimes;
+    /** The year fractions of the coupons, used for the accrual-on-default. */
+    private final double[] accrualYearFractions;
+    /** The year fractions of the coupons based on the curve day count, used for the accrual-on-default. */
+    private final double[] accrualCurveYearFractions;
+
+    // computes the schedule, consistently with the single scenario methods
+    private IntegrationSchedule(
+        ResolvedCds cds,
+        CreditDiscountFactors discountFactors,
+        LegalEntitySurvivalProbabilities survivalProbabilities,
+        LocalDate referenceDate,
+        LocalDate stepinDate,
+        LocalDate effectiveStartDate) {
+
+      this.valuationDate = discountFactors.getValuationDate();
+      this.dayCount = discountFactors.getDayCount();
+      this.discountNodes = discountFactors.getParameterKeys();
+      this.creditNodes = survivalProbabilities.getParameterKeys();
+      this.referenceTime = discountFactors.relativeYearFraction(referenceDate);
+      this.protectionSchedule = DoublesScheduleGenerator.getIntegrationsPoints(
+          discountFactors.relativeYearFraction(effectiveStartDate),
+          discountFactors.relativeYearFraction(cds.getProtectionEndDate()),
+          discountNodes,
+          creditNodes);
+      // premium leg
+      List<CreditCouponPaymentPeriod> coupons = cds.getPaymentPeriods();
+      int nCoupons = (int) coupons.stream().filter(c -> stepinDate.isBefore(c.getEndDate())).count();
+      this.couponYearFractions = new double[nCoupons];
+      this.couponEndTimes = new double[nCoupons];
+      this.couponPaymentTimes = new double[nCoupons];
+      int index = 0;
+      for (CreditCouponPaymentPeriod coupon : coupons) {
+        if (stepinDate.isBefore(coupon.getEndDate())) {
+          couponYearFractions[index] = coupon.getYearFraction();
+          couponEndTimes[index] = discountFactors.relativeYearFraction(coupon.getEffectiveEndDate());
+          couponPaymentTimes[index] = discountFactors.relativeYearFraction(coupon.getPaymentDate());
+          index++;
+        }
+      }
+      // accrual-on-default
+      if (!cds.getPaymentOnDefault().isAccruedInterest()) {
+        this.accrualKnots = new DoubleArray[0];
+        this.accrualStartTimes = new double[0];
+        this.accrualYearFractions = new double[0];
+        this.accrualCurveYearFractions = new double[0];
+        return;
+      }
+      LocalDate start = coupons.size() == 1 ? effectiveStartDate : cds.getAccrualStartDate();
+      DoubleArray integrationSchedule = DoublesScheduleGenerator.getIntegrationsPoints(
+          discountFactors.relativeYearFraction(start),
+          discountFactors.relativeYearFraction(cds.getProtectionEndDate()),
+          discountNodes,
+          creditNodes);
+      this.accrualKnots = new DoubleArray[coupons.size()];
+      this.accrualStartTimes = new double[coupons.size()];
+      this.accrualYearFractions = new double[coupons.size()];
+      this.accrualCurveYearFractions = new double[coupons.size()];
+      for (int i = 0; i < coupons.size(); i++) {
+        CreditCouponPaymentPeriod coupon = coupons.get(i);
+        LocalDate couponStart = coupon.getEffectiveStartDate().isBefore(effectiveStartDate) ?
+            effectiveStartDate :
+            coupon.getEffectiveStartDate();
+        if (couponStart.isBefore(coupon.getEffectiveEndDate())) {
+          accrualKnots[i] = DoublesScheduleGenerator.truncateSetInclusive(
+              discountFactors.relativeYearFraction(couponStart),
+              discountFactors.relativeYearFraction(coupon.getEffectiveEndDate()),
+              integrationSchedule);
+          accrualStartTimes[i] = discountFactors.relativeYearFraction(coupon.getEffectiveStartDate());
+          accrualYearFractions[i] = coupon.getYearFraction();
+          accrualCurveYearFractions[i] = dayCount.relativeYearFraction(coupon.getStartDate(), coupon.getEndDate());
+        }
+      }
+    }
+
+    // checks if the schedule can be used for the specified curves
+    private boolean matches(
+        CreditDiscountFactors discountFactors,
+        LegalEntitySurvivalProbabilities survivalProbabilities) {
+
+      return valuationDate.equals(discountFactors.getValuationDate()) &&
+          dayCount.equals(discountFactors.getDayCount()) &&
+          discountNodes.equals(discountFactors.getParameterKeys()) &&
+          creditNodes.equals(survivalProbabilities.getParameterKeys());
+    }
+  }
+
 }
@@ -6,14 +6,19 @@
 package com.opengamma.strata.pricer.credit;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.CurrencyAmountArray;
 import com.opengamma.strata.basics.currency.Payment;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.pricer.DiscountingPaymentPricer;
 import com.opengamma.strata.pricer.common.PriceType;
+import com.opengamma.strata.product.credit.ResolvedCds;
 import com.opengamma.strata.product.credit.ResolvedCdsTrade;
 
 /**
@@ -104,6 +109,32 @@ public class IsdaCdsTradePricer {
     return productPricer.price(trade.getProduct(), ratesProvider, fractionalSpread, settlementDate, priceType, refData);
   }
 
+  /**
+   * Calculates the price of the underlying product for a list of rates providers, typically one per scenario.
+   * <p>
+   * The result is the same as calling {@link #price(ResolvedCdsTrade, CreditRatesProvider, PriceType, ReferenceData)}
+   * for each rates provider, but the integration schedules are shared between the rates providers,
+   * see {@link IsdaCdsProductPricer#price(ResolvedCds, List, LocalDate, PriceType, ReferenceData)}.
+   * <p>
+   * The rates providers must all have the same valuation date.
+   * 
+   * @param trade  the trade
+   * @param ratesProviders  the rates providers, one per scenario
+   * @param priceType  the price type
+   * @param refData  the reference data
+   * @return the price for each rates provider
+   */
+  public DoubleArray price(
+      ResolvedCdsTrade trade,
+      List<CreditRatesProvider> ratesProviders,
+      PriceType priceType,
+      ReferenceData refData) {
+
+    ArgChecker.notEmpty(ratesProviders, "ratesProviders");
+    LocalDate settlementDate = calculateSettlementDate(trade, ratesProviders.get(0), refData);
+    return productPricer.price(trade.getProduct(), ratesProviders, settlementDate, priceType, refData);
+  }
+
   /**
    * Calculates the price sensitivity of the underlying product. 
    * <p>
@@ -197,6 +228,42 @@ public class IsdaCdsTradePricer {
     return pvProduct.plus(pvUpfront);
   }
 
+  /**
+   * Calculates the present value of the trade for a list of rates providers, typically one per scenario.
+   * <p>
+   * The result is the same as calling
+   * {@link #presentValue(ResolvedCdsTrade, CreditRatesProvider, PriceType, ReferenceData)} for each rates provider,
+   * but the integration schedules are shared between the rates providers,
+   * see {@link IsdaCdsProductPricer#price(ResolvedCds, List, LocalDate, PriceType, ReferenceData)}.
+   * <p>
+   * The rates providers must all have the same valuation date.
+   * 
+   * @param trade  the trade
+   * @param ratesProviders  the rates providers, one per scenario
+   * @param priceType  the price type
+   * @param refData  the reference data
+   * @return the present value for each rates provider
+   */
+  public CurrencyAmountArray presentValue(
+      ResolvedCdsTrade trade,
+      List<CreditRatesProvider> ratesProviders,
+      PriceType priceType,
+      ReferenceData refData) {
+
+    ArgChecker.notEmpty(ratesProviders, "ratesProviders");
+    CurrencyAmountArray pvProduct = productPricer.presentValue(
+        trade.getProduct(), ratesProviders, ratesProviders.get(0).getValuationDate(), priceType, refData);
+    if (!trade.getUpfrontFee().isPresent()) {
+      return pvProduct;
+    }
+    Payment upfront = trade.getUpfrontFee().get();
+    CurrencyAmountArray pvUpfront = CurrencyAmountArray.of(
+        ratesProviders.size(),
+        i -> upfrontPricer.presentValue(
+            upfront, ratesProviders.get(i).discountFactors(upfront.getCurrency()).toDiscountFactors()));
+    return pvProduct.plus(pvUpfront);
+  }
+
   /**
    * Calculates the present value sensitivity of the trade. 
    * <p>
@@ -244,6 +311,33 @@ public class IsdaCdsTradePricer {
     LocalDate settlementDate = calculateSettlementDate(trade, ratesProvider, refData);
     return productPricer.presentValue(trade.getProduct(), ratesProvider, settlementDate, priceType, refData);
   }
+  /**
+   * Calculates the present value of the underlying product for a list of rates providers, typically one per scenario.
+   * <p>
+   * The result is the same as calling
+   * {@link #presentValueOnSettle(ResolvedCdsTrade, CreditRatesProvider, PriceType, ReferenceData)}
+   * for each rates provider, but the integration schedules are shared between the rates providers,
+   * see {@link IsdaCdsProductPricer#price(ResolvedCds, List, LocalDate, PriceType, ReferenceData)}.
+   * <p>
+   * The rates providers must all have the same valuation date.
+   * 
+   * @param trade  the trade
+   * @param ratesProviders  the rates providers, one per scenario
+   * @param priceType  the price type
+   * @param refData  the reference data
+   * @return the present value for each rates provider
+   */
+  public CurrencyAmountArray presentValueOnSettle(
+      ResolvedCdsTrade trade,
+      List<CreditRatesProvider> ratesProviders,
+      PriceType priceType,
+      ReferenceData refData) {
+
+    ArgChecker.notEmpty(ratesProviders, "ratesProviders");
+    LocalDate settlementDate = calculateSettlementDate(trade, ratesProviders.get(0), refData);
+    return productPricer.presentValue(trade.getProduct(), ratesProviders, settlementDate, priceType, refData);
+  }
+
 
   /**
    * Calculates the present value sensitivity of the underlying product. 
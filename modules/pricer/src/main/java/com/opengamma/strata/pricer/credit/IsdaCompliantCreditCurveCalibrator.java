@@ -5,9 +5,17 @@
  */
 package com.opengamma.strata.pricer.credit;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -15,6 +23,7 @@ import java.util.stream.IntStream;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.basics.currency.Currency;
@@ -40,6 +49,7 @@ import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
 import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
 import com.opengamma.strata.pricer.common.PriceType;
+import com.opengamma.strata.pricer.impl.ParallelTasks;
 import com.opengamma.strata.product.credit.CdsCalibrationTrade;
 import com.opengamma.strata.product.credit.CdsQuote;
 import com.opengamma.strata.product.credit.ResolvedCdsTrade;
@@ -172,6 +182,112 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
         refData);
   }
 
+  /**
+   * Calibrates the ISDA compliant credit curves of several legal entities to the market data.
+   * <p>
+   * This creates a credit curve for each curve definition, as in
+   * {@link #calibrate(IsdaCreditCurveDefinition, MarketData, ImmutableCreditRatesProvider, ReferenceData)}.
+   * The curves are independent of one another, and are added to the credit curves of {@code ratesProvider}.
+   * A curve already in {@code ratesProvider} for the same legal entity and currency is replaced.
+   * 
+   * @param curveDefinitions  the curve definitions, one for each legal entity and currency
+   * @param marketData  the market data
+   * @param ratesProvider  the rates provider
+   * @param refData  the reference data
+   * @return the rates provider containing the calibrated credit curves
+   */
+  public ImmutableCreditRatesProvider calibrate(
+      List<IsdaCreditCurveDefinition> curveDefinitions,
+      MarketData marketData,
+      ImmutableCreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    return calibrate(curveDefinitions, marketData, ratesProvider, refData, MoreExecutors.directExecutor())
+        .getRatesProvider();
+  }
+
+  /**
+   * Calibrates the ISDA compliant credit curves of several legal entities to the market data,
+   * returning the time taken to calibrate each curve.
+   * <p>
+   * This creates a credit curve for each curve definition, as in
+   * {@link #calibrate(IsdaCreditCurveDefinition, MarketData, ImmutableCreditRatesProvider, ReferenceData)}.
+   * The curves are independent of one another, and are added to the credit curves of {@code ratesProvider}.
+   * A curve already in {@code ratesProvider} for the same legal entity and currency is replaced.
+   * <p>
+   * Each curve is calibrated independently of the others, using the executor.
+   * An executor with several threads allows the curves to be calibrated in parallel.
+   * The calibrated curves do not depend on the executor.
+   * 
+   * @param curveDefinitions  the curve definitions, one for each legal entity and currency
+   * @param marketData  the market data
+   * @param ratesProvider  the rates provider
+   * @param refData  the reference data
+   * @param executor  the executor used to calibrate the curves
+   * @return the rates provider containing the calibrated credit curves, and the calibration times
+   */
+  public IsdaCreditCurveCalibrationResult calibrateWithDiagnostics(
+      List<IsdaCreditCurveDefinition> curveDefinitions,
+      MarketData marketData,
+      ImmutableCreditRatesProvider ratesProvider,
+      ReferenceData refData,
+      ExecutorService executor) {
+
+    return calibrate(curveDefinitions, marketData, ratesProvider, refData, ArgChecker.notNull(executor, "executor"));
+  }
+
+  // calibrates the curves on the executor, then adds them to the rates provider in the order of the definitions
+  private IsdaCreditCurveCalibrationResult calibrate(
+      List<IsdaCreditCurveDefinition> curveDefinitions,
+      MarketData marketData,
+      ImmutableCreditRatesProvider ratesProvider,
+      ReferenceData refData,
+      Executor executor) {
+
+    ArgChecker.notNull(curveDefinitions, "curveDefinitions");
+    ArgChecker.notNull(marketData, "marketData");
+    ArgChecker.notNull(ratesProvider, "ratesProvider");
+    ArgChecker.notNull(refData, "refData");
+    Set<CurveName> names = new HashSet<>();
+    for (IsdaCreditCurveDefinition curveDefinition : curveDefinitions) {
+      ArgChecker.isTrue(names.add(curveDefinition.getName()), "Duplicate curve name: {}", curveDefinition.getName());
+    }
+    List<CompletableFuture<TimedCurve>> results = curveDefinitions.stream()
+        .map(curveDefinition -> CompletableFuture.supplyAsync(
+            () -> calibrateTimed(curveDefinition, marketData, ratesProvider, refData),
+            executor))
+        .collect(Guavate.toImmutableList());
+    // the results are combined in order, so the outcome does not depend on the executor
+    // the existing curves are obtained using the meta-property, as the getter is private
+    Map<Pair<StandardId, Currency>, LegalEntitySurvivalProbabilities> creditCurves =
+        new HashMap<>(ImmutableCreditRatesProvider.meta().creditCurves().get(ratesProvider));
+    Set<Pair<StandardId, Currency>> calibrated = new HashSet<>();
+    ImmutableMap.Builder<CurveName, Duration> calibrationTimes = ImmutableMap.builder();
+    for (int i = 0; i < results.size(); i++) {
+      TimedCurve result = ParallelTasks.join(results.get(i));
+      LegalEntitySurvivalProbabilities curve = result.curve;
+      Pair<StandardId, Currency> key = Pair.of(curve.getLegalEntityId(), curve.getCurrency());
+      ArgChecker.isTrue(calibrated.add(key), "Duplicate legal entity and currency: {}", key);
+      creditCurves.put(key, curve);
+      calibrationTimes.put(curveDefinitions.get(i).getName(), result.time);
+    }
+    return IsdaCreditCurveCalibrationResult.of(
+        ratesProvider.toBuilder().creditCurves(creditCurves).build(),
+        calibrationTimes.build());
+  }
+
+  // calibrates a single curve, measuring the time taken
+  private TimedCurve calibrateTimed(
+      IsdaCreditCurveDefinition curveDefinition,
+      MarketData marketData,
+      ImmutableCreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    long start = System.nanoTime();
+    LegalEntitySurvivalProbabilities curve = calibrate(curveDefinition, marketData, ratesProvider, refData);
+    return new TimedCurve(curve, Duration.ofNanos(System.nanoTime() - start));
+  }
+
   LegalEntitySurvivalProbabilities calibrate(
       List<CdsIsdaCreditCurveNode> curveNodes,
       CurveName name,
@@ -371,4 +487,16 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
     return res;
   }
 
+  //-------------------------------------------------------------------------
+  // a calibrated credit curve and the time taken to calibrate it
+  private static final class TimedCurve {
+    private final LegalEntitySurvivalProbabilities curve;
+    private final Duration time;
+
+    private TimedCurve(LegalEntitySurvivalProbabilities curve, Duration time) {
+      this.curve = curve;
+      this.time = time;
+    }
+  }
+
 }
@@ -0,0 +1,349 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.market.curve.CurveName;
+
+/**
+ * The result of the calibration of the credit curves of several legal entities.
+ * <p>
+ * This is produced by {@link IsdaCompliantCreditCurveCalibrator}.
+ */
+@BeanDefinition(builderScope = "private")
+public final class IsdaCreditCurveCalibrationResult
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The rates provider containing the calibrated credit curves.
+   * <p>
+   * This contains the credit curves of the input rates provider, replaced or supplemented by the calibrated curves.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableCreditRatesProvider ratesProvider;
+  /**
+   * The time taken to calibrate each credit curve, keyed by curve name.
+   * <p>
+   * This is the elapsed time of the calibration of the curve alone,
+   * excluding any time spent waiting for the executor.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableMap<CurveName, Duration> calibrationTimes;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   * 
+   * @param ratesProvider  the rates provider containing the calibrated credit curves
+   * @param calibrationTimes  the time taken to calibrate each credit curve, keyed by curve name
+   * @return the result
+   */
+  public static IsdaCreditCurveCalibrationResult of(
+      ImmutableCreditRatesProvider ratesProvider,
+      Map<CurveName, Duration> calibrationTimes) {
+
+    return new IsdaCreditCurveCalibrationResult(ratesProvider, calibrationTimes);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the total time taken to calibrate the credit curves.
+   * <p>
+   * When the curves are calibrated in parallel this exceeds the elapsed time of the whole calibration.
+   * 
+   * @return the sum of the calibration times
+   */
+  public Duration getTotalCalibrationTime() {
+    return calibrationTimes.values().stream()
+        .reduce(Duration.ZERO, Duration::plus);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code IsdaCreditCurveCalibrationResult}.
+   * @return the meta-bean, not null
+   */
+  public static IsdaCreditCurveCalibrationResult.Meta meta() {
+    return IsdaCreditCurveCalibrationResult.Meta.INSTANCE;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(IsdaCreditCurveCalibrationResult.Meta.INSTANCE);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private IsdaCreditCurveCalibrationResult(
+      ImmutableCreditRatesProvider ratesProvider,
+      Map<CurveName, Duration> calibrationTimes) {
+    JodaBeanUtils.notNull(ratesProvider, "ratesProvider");
+    JodaBeanUtils.notNull(calibrationTimes, "calibrationTimes");
+    this.ratesProvider = ratesProvider;
+    this.calibrationTimes = ImmutableMap.copyOf(calibrationTimes);
+  }
+
+  @Override
+  public IsdaCreditCurveCalibrationResult.Meta metaBean() {
+    return IsdaCreditCurveCalibrationResult.Meta.INSTANCE;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the rates provider containing the calibrated credit curves.
+   * <p>
+   * This contains the credit curves of the input rates provider, replaced or supplemented by the calibrated curves.
+   * @return the value of the property, not null
+   */
+  public ImmutableCreditRatesProvider getRatesProvider() {
+    return ratesProvider;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the time taken to calibrate each credit curve, keyed by curve name.
+   * <p>
+   * This is the elapsed time of the calibration of the curve alone,
+   * excluding any time spent waiting for the executor.
+   * @return the value of the property, not null
+   */
+  public ImmutableMap<CurveName, Duration> getCalibrationTimes() {
+    return calibrationTimes;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      IsdaCreditCurveCalibrationResult other = (IsdaCreditCurveCalibrationResult) obj;
+      return JodaBeanUtils.equal(ratesProvider, other.ratesProvider) &&
+          JodaBeanUtils.equal(calibrationTimes, other.calibrationTimes);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(ratesProvider);
+    hash = hash * 31 + JodaBeanUtils.hashCode(calibrationTimes);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(96);
+    buf.append("IsdaCreditCurveCalibrationResult{");
+    buf.append("ratesProvider").append('=').append(ratesProvider).append(',').append(' ');
+    buf.append("calibrationTimes").append('=').append(JodaBeanUtils.toString(calibrationTimes));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code IsdaCreditCurveCalibrationResult}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code ratesProvider} property.
+     */
+    private final MetaProperty<ImmutableCreditRatesProvider> ratesProvider = DirectMetaProperty.ofImmutable(
+        this, "ratesProvider", IsdaCreditCurveCalibrationResult.class, ImmutableCreditRatesProvider.class);
+    /**
+     * The meta-property for the {@code calibrationTimes} property.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes" })
+    private final MetaProperty<ImmutableMap<CurveName, Duration>> calibrationTimes = DirectMetaProperty.ofImmutable(
+        this, "calibrationTimes", IsdaCreditCurveCalibrationResult.class, (Class) ImmutableMap.class);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "ratesProvider",
+        "calibrationTimes");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 1560245924:  // ratesProvider
+          return ratesProvider;
+        case -1354817668:  // calibrationTimes
+          return calibrationTimes;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends IsdaCreditCurveCalibrationResult> builder() {
+      return new IsdaCreditCurveCalibrationResult.Builder();
+    }
+
+    @Override
+    public Class<? extends IsdaCreditCurveCalibrationResult> beanType() {
+      return IsdaCreditCurveCalibrationResult.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code ratesProvider} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<ImmutableCreditRatesProvider> ratesProvider() {
+      return ratesProvider;
+    }
+
+    /**
+     * The meta-property for the {@code calibrationTimes} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<ImmutableMap<CurveName, Duration>> calibrationTimes() {
+      return calibrationTimes;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case 1560245924:  // ratesProvider
+          return ((IsdaCreditCurveCalibrationResult) bean).getRatesProvider();
+        case -1354817668:  // calibrationTimes
+          return ((IsdaCreditCurveCalibrationResult) bean).getCalibrationTimes();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code IsdaCreditCurveCalibrationResult}.
+   */
+  private static final class Builder extends DirectPrivateBeanBuilder<IsdaCreditCurveCalibrationResult> {
+
+    private ImmutableCreditRatesProvider ratesProvider;
+    private Map<CurveName, Duration> calibrationTimes = ImmutableMap.of();
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+      super(meta());
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 1560245924:  // ratesProvider
+          return ratesProvider;
+        case -1354817668:  // calibrationTimes
+          return calibrationTimes;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case 1560245924:  // ratesProvider
+          this.ratesProvider = (ImmutableCreditRatesProvider) newValue;
+          break;
+        case -1354817668:  // calibrationTimes
+          this.calibrationTimes = (Map<CurveName, Duration>) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public IsdaCreditCurveCalibrationResult build() {
+      return new IsdaCreditCurveCalibrationResult(
+          ratesProvider,
+          calibrationTimes);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(96);
+      buf.append("IsdaCreditCurveCalibrationResult.Builder{");
+      buf.append("ratesProvider").append('=').append(JodaBeanUtils.toString(ratesProvider)).append(',').append(' ');
+      buf.append("calibrationTimes").append('=').append(JodaBeanUtils.toString(calibrationTimes));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
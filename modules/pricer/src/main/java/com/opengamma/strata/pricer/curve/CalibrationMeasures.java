@@ -6,6 +6,7 @@
 package com.opengamma.strata.pricer.curve;
 
 import static com.opengamma.strata.collect.Guavate.toImmutableMap;
+import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 
 import java.util.List;
 
@@ -15,6 +16,7 @@ import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.MarketDataName;
 import com.opengamma.strata.market.curve.CurveParameterSize;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
@@ -178,6 +180,21 @@ public final class CalibrationMeasures {
     return result;
   }
 
+  /**
+   * Finds the names of the market data that the trade is sensitive to.
+   * <p>
+   * A name is included if the trade has a sensitivity to it, even if the sensitivity is zero.
+   * 
+   * @param trade  the trade
+   * @param provider  the rates provider
+   * @return the names of the market data
+   */
+  ImmutableSet<MarketDataName<?>> sensitivityNames(ResolvedTrade trade, RatesProvider provider) {
+    return extractSensitivities(trade, provider).getSensitivities().stream()
+        .map(s -> s.getMarketDataName())
+        .collect(toImmutableSet());
+  }
+
   // determine the curve parameter sensitivities, removing the curency
   private UnitParameterSensitivities extractSensitivities(ResolvedTrade trade, RatesProvider provider) {
     CalibrationMeasure<ResolvedTrade> measure = getMeasure(trade);
@@ -8,8 +8,11 @@ package com.opengamma.strata.pricer.curve;
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 
 import com.google.common.collect.ImmutableList;
@@ -23,6 +26,8 @@ import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.MarketDataFxRateProvider;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.market.curve.CurveDefinition;
 import com.opengamma.strata.market.curve.CurveGroupDefinition;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.CurveNode;
@@ -51,6 +56,12 @@ import com.opengamma.strata.product.ResolvedTrade;
  * <p>
  * Once calibrated, the curves are then available for use.
  * Each node in the curve definition becomes a parameter in the matching output curve.
+ * <p>
+ * Within a group, the curves are split into blocks based on the dependency of the node trades on the curves.
+ * For example, an overnight discounting curve typically does not depend on the forward curves in the same group.
+ * The blocks are calibrated in dependency order, with the curves of earlier blocks fixed,
+ * which results in smaller systems than solving the whole group at once.
+ * The Jacobian matrices and the sensitivity to market quotes are computed for the whole group.
  */
 public final class CurveCalibrator {
 
@@ -242,7 +253,6 @@ public final class CurveCalibrator {
       CurveGroupDefinition groupDefnBound = groupDefn.bindTimeSeries(knownData.getValuationDate(), knownData.getTimeSeries());
       // combine all data in the group into flat lists
       ImmutableList<ResolvedTrade> trades = groupDefnBound.resolvedTrades(marketData, refData);
-      ImmutableList<Double> initialGuesses = groupDefnBound.initialGuesses(marketData);
       ImmutableList<CurveParameterSize> orderGroup = toOrder(groupDefnBound);
       ImmutableList<CurveParameterSize> orderPrevAndGroup = ImmutableList.<CurveParameterSize>builder()
           .addAll(orderPrev)
@@ -251,7 +261,8 @@ public final class CurveCalibrator {
 
       // calibrate
       RatesProviderGenerator providerGenerator = ImmutableRatesProviderGenerator.of(providerCombined, groupDefnBound, refData);
-      DoubleArray calibratedGroupParams = calibrateGroup(providerGenerator, trades, initialGuesses, orderGroup);
+      DoubleArray calibratedGroupParams =
+          calibrateGroupInBlocks(groupDefnBound, trades, orderGroup, providerCombined, marketData, refData);
       ImmutableRatesProvider calibratedProvider = providerGenerator.generate(calibratedGroupParams);
 
       // use calibration to build Jacobian matrices
@@ -273,6 +284,118 @@ public final class CurveCalibrator {
     return providerCombined;
   }
 
+  // calibrates a single group, solving the blocks of the group one after another
+  // the result is the parameters of the whole group, in the group order
+  private DoubleArray calibrateGroupInBlocks(
+      CurveGroupDefinition groupDefn,
+      ImmutableList<ResolvedTrade> trades,
+      ImmutableList<CurveParameterSize> orderGroup,
+      ImmutableRatesProvider knownProvider,
+      MarketData marketData,
+      ReferenceData refData) {
+
+    ImmutableList<Double> initialGuesses = groupDefn.initialGuesses(marketData);
+    List<List<Integer>> blocks = splitBlocks(groupDefn, trades, orderGroup, initialGuesses, knownProvider, refData);
+    if (blocks.size() == 1) {
+      RatesProviderGenerator providerGenerator = ImmutableRatesProviderGenerator.of(knownProvider, groupDefn, refData);
+      return calibrateGroup(providerGenerator, trades, initialGuesses, orderGroup);
+    }
+    ImmutableList<CurveDefinition> curveDefns = groupDefn.getCurveDefinitions();
+    int[] startIndices = new int[curveDefns.size()];
+    for (int i = 1; i < startIndices.length; i++) {
+      startIndices[i] = startIndices[i - 1] + orderGroup.get(i - 1).getParameterCount();
+    }
+    double[] groupParams = new double[initialGuesses.size()];
+    ImmutableRatesProvider blockKnownProvider = knownProvider;
+    for (List<Integer> block : blocks) {
+      CurveGroupDefinition blockDefn = groupDefn.withCurveDefinitions(
+          block.stream().map(curveDefns::get).collect(toImmutableList()));
+      RatesProviderGenerator blockGenerator =
+          ImmutableRatesProviderGenerator.of(blockKnownProvider, blockDefn, refData);
+      DoubleArray blockParams = calibrateGroup(
+          blockGenerator,
+          blockDefn.resolvedTrades(marketData, refData),
+          blockDefn.initialGuesses(marketData),
+          toOrder(blockDefn));
+      blockKnownProvider = blockGenerator.generate(blockParams);
+      int blockIndex = 0;
+      for (int curveIndex : block) {
+        int paramCount = orderGroup.get(curveIndex).getParameterCount();
+        System.arraycopy(blockParams.toArrayUnsafe(), blockIndex, groupParams, startIndices[curveIndex], paramCount);
+        blockIndex += paramCount;
+      }
+    }
+    return DoubleArray.ofUnsafe(groupParams);
+  }
+
+  // splits a group into blocks of curves, returning the indices of the curves in each block
+  // curve A depends on curve B if any node trade of A has a sensitivity to B, even if the sensitivity is zero
+  // the sensitivities are evaluated using the initial guesses, with the curves of previous groups fixed
+  // the blocks are the strongly connected components of the dependency graph, in dependency order
+  private List<List<Integer>> splitBlocks(
+      CurveGroupDefinition groupDefn,
+      ImmutableList<ResolvedTrade> trades,
+      ImmutableList<CurveParameterSize> orderGroup,
+      ImmutableList<Double> initialGuesses,
+      ImmutableRatesProvider knownProvider,
+      ReferenceData refData) {
+
+    int nbCurves = orderGroup.size();
+    if (nbCurves < 2) {
+      return ImmutableList.of(ImmutableList.of(0));
+    }
+    ImmutableRatesProvider provider = ImmutableRatesProviderGenerator.of(knownProvider, groupDefn, refData)
+        .generate(DoubleArray.copyOf(initialGuesses));
+    boolean[][] dependsOn = new boolean[nbCurves][nbCurves];
+    int tradeIndex = 0;
+    for (int i = 0; i < nbCurves; i++) {
+      for (int p = 0; p < orderGroup.get(i).getParameterCount(); p++) {
+        Set<MarketDataName<?>> names = measures.sensitivityNames(trades.get(tradeIndex), provider);
+        for (int j = 0; j < nbCurves; j++) {
+          dependsOn[i][j] |= names.contains(orderGroup.get(j).getName());
+        }
+        tradeIndex++;
+      }
+    }
+    List<List<Integer>> components = new CurveDependencyComponents(dependsOn).components();
+    components.forEach(Collections::sort);
+    return components;
+  }
+
+  /**
+   * Splits a curve group into the blocks of curves that are calibrated together.
+   * <p>
+   * The blocks are returned in the order they are calibrated, each block containing the names of its curves
+   * in the order of the group. This exposes the block structure used by
+   * {@link #calibrate(List, ImmutableRatesProvider, MarketData, ReferenceData)} for testing.
+   *
+   * @param groupDefn  the curve group definition
+   * @param knownData  the starting data for the calibration, including the curves of previous groups
+   * @param marketData  the market data required to build a trade for the instrument
+   * @param refData  the reference data, used to resolve the trades
+   * @return the names of the curves in each block, in calibration order
+   */
+  ImmutableList<ImmutableList<CurveName>> calibrationBlocks(
+      CurveGroupDefinition groupDefn,
+      ImmutableRatesProvider knownData,
+      MarketData marketData,
+      ReferenceData refData) {
+
+    CurveGroupDefinition groupDefnBound =
+        groupDefn.bindTimeSeries(knownData.getValuationDate(), knownData.getTimeSeries());
+    ImmutableList<CurveParameterSize> orderGroup = toOrder(groupDefnBound);
+    List<List<Integer>> blocks = splitBlocks(
+        groupDefnBound,
+        groupDefnBound.resolvedTrades(marketData, refData),
+        orderGroup,
+        groupDefnBound.initialGuesses(marketData),
+        knownData,
+        refData);
+    return blocks.stream()
+        .map(block -> block.stream().map(i -> orderGroup.get(i).getName()).collect(toImmutableList()))
+        .collect(toImmutableList());
+  }
+
   // converts a definition to the curve order list
   private static ImmutableList<CurveParameterSize> toOrder(CurveGroupDefinition groupDefn) {
     return groupDefn.getCurveDefinitions().stream().map(def -> def.toCurveParameterSize()).collect(toImmutableList());
@@ -449,4 +572,62 @@ public final class CurveCalibrator {
     return Messages.format("CurveCalibrator[{}]", measures);
   }
 
+  //-------------------------------------------------------------------------
+  // finds the strongly connected components of the curve dependency graph using Tarjan's algorithm
+  // a component is only completed once all the components it depends on are completed,
+  // thus the components are returned in the order they must be calibrated
+  private static final class CurveDependencyComponents {
+    private final boolean[][] dependsOn;
+    private final int[] index;
+    private final int[] lowLink;
+    private final boolean[] onStack;
+    private final List<Integer> stack = new ArrayList<>();
+    private final List<List<Integer>> components = new ArrayList<>();
+    private int nextIndex = 1;
+
+    private CurveDependencyComponents(boolean[][] dependsOn) {
+      this.dependsOn = dependsOn;
+      this.index = new int[dependsOn.length];
+      this.lowLink = new int[dependsOn.length];
+      this.onStack = new boolean[dependsOn.length];
+    }
+
+    private List<List<Integer>> components() {
+      for (int i = 0; i < dependsOn.length; i++) {
+        if (index[i] == 0) {
+          visit(i);
+        }
+      }
+      return components;
+    }
+
+    private void visit(int curve) {
+      index[curve] = nextIndex;
+      lowLink[curve] = nextIndex;
+      nextIndex++;
+      stack.add(curve);
+      onStack[curve] = true;
+      for (int other = 0; other < dependsOn.length; other++) {
+        if (other != curve && dependsOn[curve][other]) {
+          if (index[other] == 0) {
+            visit(other);
+            lowLink[curve] = Math.min(lowLink[curve], lowLink[other]);
+          } else if (onStack[other]) {
+            lowLink[curve] = Math.min(lowLink[curve], index[other]);
+          }
+        }
+      }
+      if (lowLink[curve] == index[curve]) {
+        List<Integer> component = new ArrayList<>();
+        int member;
+        do {
+          member = stack.remove(stack.size() - 1);
+          onStack[member] = false;
+          component.add(member);
+        } while (member != curve);
+        components.add(component);
+      }
+    }
+  }
+
 }
@@ -7,9 +7,11 @@ package com.opengamma.strata.pricer.fxopt;
 
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.math.DoubleMath;
 import com.opengamma.strata.basics.currency.Currency;
@@ -423,15 +425,17 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
         barrier.getBarrierType(),
         barrier.getBarrierLevel(),
         DoubleArray.ofUnsafe(rebateArray));
-    ValueDerivatives barrierPrice = TREE.optionPriceAdjoint(barrierFunction, data);
     if (barrier.getKnockType().isKnockIn()) {  // use in-out parity
       EuropeanVanillaOptionFunction vanillaFunction = EuropeanVanillaOptionFunction.of(
           underlyingOption.getStrike(), timeToExpiry, underlyingOption.getPutCall(), nSteps);
-      ValueDerivatives vanillaPrice = TREE.optionPriceAdjoint(vanillaFunction, data);
+      // both options are rolled back through the tree in a single pass
+      List<ValueDerivatives> prices = TREE.optionPriceAdjoint(ImmutableList.of(barrierFunction, vanillaFunction), data);
+      ValueDerivatives barrierPrice = prices.get(0);
+      ValueDerivatives vanillaPrice = prices.get(1);
       return ValueDerivatives.of(vanillaPrice.getValue() + rebateAtExpiry - barrierPrice.getValue(),
           DoubleArray.of(vanillaPrice.getDerivative(0) + rebateAtExpiryDerivative - barrierPrice.getDerivative(0)));
     }
-    return barrierPrice;
+    return TREE.optionPriceAdjoint(barrierFunction, data);
   }
 
   //-------------------------------------------------------------------------
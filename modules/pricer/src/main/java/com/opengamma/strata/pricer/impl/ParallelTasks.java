@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Utilities for tasks run in parallel by pricers and calibrators.
+ */
+public final class ParallelTasks {
+
+  /**
+   * Restricted constructor.
+   */
+  private ParallelTasks() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Waits for the result of a task, rethrowing any runtime exception thrown by it.
+   * <p>
+   * {@link CompletableFuture#join()} wraps the exception thrown by the task in a {@link CompletionException}.
+   * This method unwraps it, so that the caller sees the same exception as if the task was run directly.
+   * 
+   * @param <T>  the type of the result
+   * @param result  the result of the task
+   * @return the result, once the task is complete
+   * @throws RuntimeException the runtime exception thrown by the task
+   * @throws CompletionException if the task threw an error or checked exception
+   */
+  public static <T> T join(CompletableFuture<T> result) {
+    try {
+      return result.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      throw ex;
+    }
+  }
+
+}
@@ -67,6 +67,17 @@ public final class BlackFormulaRepository {
     ArgChecker.isTrue(timeToExpiry >= 0d, "negative/NaN timeToExpiry; have {}", timeToExpiry);
     ArgChecker.isTrue(lognormalVol >= 0d, "negative/NaN lognormalVol; have {}", lognormalVol);
 
+    return priceUnchecked(forward, strike, timeToExpiry, lognormalVol, isCall);
+  }
+
+  // computes the value without checking the arguments
+  private static double priceUnchecked(
+      double forward,
+      double strike,
+      double timeToExpiry,
+      double lognormalVol,
+      boolean isCall) {
+
     double sigmaRootT = lognormalVol * Math.sqrt(timeToExpiry);
     if (Double.isNaN(sigmaRootT)) {
       log.info("lognormalVol * Math.sqrt(timeToExpiry) ambiguous");
@@ -328,6 +339,17 @@ public final class BlackFormulaRepository {
     ArgChecker.isTrue(timeToExpiry >= 0d, "negative/NaN timeToExpiry; have {}", timeToExpiry);
     ArgChecker.isTrue(lognormalVol >= 0d, "negative/NaN lognormalVol; have {}", lognormalVol);
 
+    return deltaUnchecked(forward, strike, timeToExpiry, lognormalVol, isCall);
+  }
+
+  // computes the value without checking the arguments
+  private static double deltaUnchecked(
+      double forward,
+      double strike,
+      double timeToExpiry,
+      double lognormalVol,
+      boolean isCall) {
+
     double sigmaRootT = lognormalVol * Math.sqrt(timeToExpiry);
     if (Double.isNaN(sigmaRootT)) {
       log.info("lognormalVol * Math.sqrt(timeToExpiry) ambiguous");
@@ -528,6 +550,11 @@ public final class BlackFormulaRepository {
     ArgChecker.isTrue(timeToExpiry >= 0d, "negative/NaN timeToExpiry; have {}", timeToExpiry);
     ArgChecker.isTrue(lognormalVol >= 0d, "negative/NaN lognormalVol; have {}", lognormalVol);
 
+    return gammaUnchecked(forward, strike, timeToExpiry, lognormalVol);
+  }
+
+  // computes the value without checking the arguments
+  private static double gammaUnchecked(double forward, double strike, double timeToExpiry, double lognormalVol) {
     double sigmaRootT = lognormalVol * Math.sqrt(timeToExpiry);
     if (Double.isNaN(sigmaRootT)) {
       log.info("lognormalVol * Math.sqrt(timeToExpiry) ambiguous");
@@ -839,6 +866,16 @@ public final class BlackFormulaRepository {
     ArgChecker.isTrue(timeToExpiry >= 0d, "negative/NaN timeToExpiry; have {}", timeToExpiry);
     ArgChecker.isTrue(lognormalVol >= 0d, "negative/NaN lognormalVol; have {}", lognormalVol);
 
+    return driftlessThetaUnchecked(forward, strike, timeToExpiry, lognormalVol);
+  }
+
+  // computes the value without checking the arguments
+  private static double driftlessThetaUnchecked(
+      double forward,
+      double strike,
+      double timeToExpiry,
+      double lognormalVol) {
+
     double rootT = Math.sqrt(timeToExpiry);
     double sigmaRootT = lognormalVol * rootT;
     if (Double.isNaN(sigmaRootT)) {
@@ -896,6 +933,11 @@ public final class BlackFormulaRepository {
     ArgChecker.isTrue(timeToExpiry >= 0d, "negative/NaN timeToExpiry; have {}", timeToExpiry);
     ArgChecker.isTrue(lognormalVol >= 0d, "negative/NaN lognormalVol; have {}", lognormalVol);
 
+    return vegaUnchecked(forward, strike, timeToExpiry, lognormalVol);
+  }
+
+  // computes the value without checking the arguments
+  private static double vegaUnchecked(double forward, double strike, double timeToExpiry, double lognormalVol) {
     double rootT = Math.sqrt(timeToExpiry);
     double sigmaRootT = lognormalVol * rootT;
     if (Double.isNaN(sigmaRootT)) {
@@ -1445,4 +1487,219 @@ public final class BlackFormulaRepository {
     return normalVolatility * factor1 * factor2;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the forward prices of a set of options.
+   * <p>
+   * The options are described by arrays of equal size, the i-th element of each array relating to the i-th option.
+   * The arguments are validated once, in a single pass, before the prices are computed, avoiding the
+   * overhead of calling {@link #price(double, double, double, double, boolean)} for each option.
+   * The regular case is then evaluated in a single loop, with only the options at the boundaries
+   * (zero or very large volatility, at-the-money or very large forward and strike) using the single option formula.
+   * The results are identical to those of the single option method.
+   * 
+   * @param forward  the forward values of the underlying
+   * @param strike  the strikes
+   * @param timeToExpiry  the times to expiry
+   * @param lognormalVol  the log-normal volatilities
+   * @param isCall  true for calls, false for puts
+   * @return the forward prices
+   */
+  public static DoubleArray price(
+      DoubleArray forward,
+      DoubleArray strike,
+      DoubleArray timeToExpiry,
+      DoubleArray lognormalVol,
+      boolean isCall) {
+
+    validate(forward, strike, timeToExpiry, lognormalVol);
+    int size = forward.size();
+    int sign = isCall ? 1 : -1;
+    double[] prices = new double[size];
+    for (int i = 0; i < size; i++) {
+      double fwd = forward.get(i);
+      double str = strike.get(i);
+      double sigmaRootT = lognormalVol.get(i) * Math.sqrt(timeToExpiry.get(i));
+      double d1 = regularD1(fwd, str, sigmaRootT);
+      if (Double.isNaN(d1)) {
+        prices[i] = priceUnchecked(fwd, str, timeToExpiry.get(i), lognormalVol.get(i), isCall);
+        continue;
+      }
+      double nF = NORMAL.getCDF(sign * d1);
+      double nS = NORMAL.getCDF(sign * (d1 - sigmaRootT));
+      double first = nF == 0d ? 0d : fwd * nF;
+      double second = nS == 0d ? 0d : str * nS;
+      prices[i] = Math.max(0., sign * (first - second));
+    }
+    return DoubleArray.ofUnsafe(prices);
+  }
+
+  /**
+   * Computes the forward driftless deltas of a set of options.
+   * <p>
+   * The options are described by arrays of equal size, the i-th element of each array relating to the i-th option.
+   * The results are identical to those of {@link #delta(double, double, double, double, boolean)}.
+   * 
+   * @param forward  the forward values of the underlying
+   * @param strike  the strikes
+   * @param timeToExpiry  the times to expiry
+   * @param lognormalVol  the log-normal volatilities
+   * @param isCall  true for calls, false for puts
+   * @return the forward driftless deltas
+   */
+  public static DoubleArray delta(
+      DoubleArray forward,
+      DoubleArray strike,
+      DoubleArray timeToExpiry,
+      DoubleArray lognormalVol,
+      boolean isCall) {
+
+    validate(forward, strike, timeToExpiry, lognormalVol);
+    int size = forward.size();
+    int sign = isCall ? 1 : -1;
+    double[] deltas = new double[size];
+    for (int i = 0; i < size; i++) {
+      double sigmaRootT = lognormalVol.get(i) * Math.sqrt(timeToExpiry.get(i));
+      double d1 = regularD1(forward.get(i), strike.get(i), sigmaRootT);
+      deltas[i] = Double.isNaN(d1) ?
+          deltaUnchecked(forward.get(i), strike.get(i), timeToExpiry.get(i), lognormalVol.get(i), isCall) :
+          sign * NORMAL.getCDF(sign * d1);
+    }
+    return DoubleArray.ofUnsafe(deltas);
+  }
+
+  /**
+   * Computes the forward driftless gammas of a set of options.
+   * <p>
+   * The options are described by arrays of equal size, the i-th element of each array relating to the i-th option.
+   * The results are identical to those of {@link #gamma(double, double, double, double)}.
+   * 
+   * @param forward  the forward values of the underlying
+   * @param strike  the strikes
+   * @param timeToExpiry  the times to expiry
+   * @param lognormalVol  the log-normal volatilities
+   * @return the forward driftless gammas
+   */
+  public static DoubleArray gamma(
+      DoubleArray forward,
+      DoubleArray strike,
+      DoubleArray timeToExpiry,
+      DoubleArray lognormalVol) {
+
+    validate(forward, strike, timeToExpiry, lognormalVol);
+    int size = forward.size();
+    double[] gammas = new double[size];
+    for (int i = 0; i < size; i++) {
+      double fwd = forward.get(i);
+      double sigmaRootT = lognormalVol.get(i) * Math.sqrt(timeToExpiry.get(i));
+      double d1 = regularD1(fwd, strike.get(i), sigmaRootT);
+      if (Double.isNaN(d1)) {
+        gammas[i] = gammaUnchecked(fwd, strike.get(i), timeToExpiry.get(i), lognormalVol.get(i));
+        continue;
+      }
+      double nVal = NORMAL.getPDF(d1);
+      gammas[i] = nVal == 0d ? 0d : nVal / fwd / sigmaRootT;
+    }
+    return DoubleArray.ofUnsafe(gammas);
+  }
+
+  /**
+   * Computes the forward driftless thetas of a set of options.
+   * <p>
+   * The options are described by arrays of equal size, the i-th element of each array relating to the i-th option.
+   * The results are identical to those of {@link #driftlessTheta(double, double, double, double)}.
+   * 
+   * @param forward  the forward values of the underlying
+   * @param strike  the strikes
+   * @param timeToExpiry  the times to expiry
+   * @param lognormalVol  the log-normal volatilities
+   * @return the driftless thetas
+   */
+  public static DoubleArray driftlessTheta(
+      DoubleArray forward,
+      DoubleArray strike,
+      DoubleArray timeToExpiry,
+      DoubleArray lognormalVol) {
+
+    validate(forward, strike, timeToExpiry, lognormalVol);
+    int size = forward.size();
+    double[] thetas = new double[size];
+    for (int i = 0; i < size; i++) {
+      double fwd = forward.get(i);
+      double vol = lognormalVol.get(i);
+      double rootT = Math.sqrt(timeToExpiry.get(i));
+      double d1 = regularD1(fwd, strike.get(i), vol * rootT);
+      if (Double.isNaN(d1)) {
+        thetas[i] = driftlessThetaUnchecked(fwd, strike.get(i), timeToExpiry.get(i), vol);
+        continue;
+      }
+      double nVal = NORMAL.getPDF(d1);
+      thetas[i] = nVal == 0d ? 0d : -fwd * nVal * vol / 2. / rootT;
+    }
+    return DoubleArray.ofUnsafe(thetas);
+  }
+
+  /**
+   * Computes the forward vegas of a set of options.
+   * <p>
+   * The options are described by arrays of equal size, the i-th element of each array relating to the i-th option.
+   * The results are identical to those of {@link #vega(double, double, double, double)}.
+   * 
+   * @param forward  the forward values of the underlying
+   * @param strike  the strikes
+   * @param timeToExpiry  the times to expiry
+   * @param lognormalVol  the log-normal volatilities
+   * @return the forward vegas
+   */
+  public static DoubleArray vega(
+      DoubleArray forward,
+      DoubleArray strike,
+      DoubleArray timeToExpiry,
+      DoubleArray lognormalVol) {
+
+    validate(forward, strike, timeToExpiry, lognormalVol);
+    int size = forward.size();
+    double[] vegas = new double[size];
+    for (int i = 0; i < size; i++) {
+      double fwd = forward.get(i);
+      double rootT = Math.sqrt(timeToExpiry.get(i));
+      double d1 = regularD1(fwd, strike.get(i), lognormalVol.get(i) * rootT);
+      if (Double.isNaN(d1)) {
+        vegas[i] = vegaUnchecked(fwd, strike.get(i), timeToExpiry.get(i), lognormalVol.get(i));
+        continue;
+      }
+      double nVal = NORMAL.getPDF(d1);
+      vegas[i] = nVal == 0d ? 0d : fwd * rootT * nVal;
+    }
+    return DoubleArray.ofUnsafe(vegas);
+  }
+
+  // the d1 term shared by the price and greeks, NaN if a boundary case of the single option formula applies
+  private static double regularD1(double forward, double strike, double sigmaRootT) {
+    if (sigmaRootT >= SMALL && sigmaRootT <= LARGE && forward <= LARGE && strike <= LARGE &&
+        Math.abs(forward - strike) >= SMALL) {
+      return Math.log(forward / strike) / sigmaRootT + 0.5 * sigmaRootT;
+    }
+    return Double.NaN;
+  }
+
+  // validates the arguments of a set of options in a single pass
+  private static void validate(
+      DoubleArray forward,
+      DoubleArray strike,
+      DoubleArray timeToExpiry,
+      DoubleArray lognormalVol) {
+
+    int size = forward.size();
+    ArgChecker.isTrue(strike.size() == size, "strike array must have the same size as the forward array");
+    ArgChecker.isTrue(timeToExpiry.size() == size, "timeToExpiry array must have the same size as the forward array");
+    ArgChecker.isTrue(lognormalVol.size() == size, "lognormalVol array must have the same size as the forward array");
+    for (int i = 0; i < size; i++) {
+      ArgChecker.isTrue(forward.get(i) >= 0d, "negative/NaN forward; have {}", forward.get(i));
+      ArgChecker.isTrue(strike.get(i) >= 0d, "negative/NaN strike; have {}", strike.get(i));
+      ArgChecker.isTrue(timeToExpiry.get(i) >= 0d, "negative/NaN timeToExpiry; have {}", timeToExpiry.get(i));
+      ArgChecker.isTrue(lognormalVol.get(i) >= 0d, "negative/NaN lognormalVol; have {}", lognormalVol.get(i));
+    }
+  }
+
 }
@@ -0,0 +1,350 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.option;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
+import com.opengamma.strata.math.impl.statistics.distribution.ProbabilityDistribution;
+import com.opengamma.strata.product.common.PutCall;
+
+/**
+ * Fast implied volatility formulas for the Black and normal (Bachelier) models.
+ * <p>
+ * The implied volatility is found by solving for the normalised total volatility, the volatility multiplied by
+ * the square root of the time to expiry, using the price of the out-of-the-money option.
+ * The solver starts from a guess derived from the inflection point of the normalised price, or from an exact
+ * formula at-the-money, and applies third order Householder steps to an objective function chosen so that
+ * the iteration is well conditioned in each region: the logarithm of the price for low prices, and either the
+ * logarithm of the distance to the upper price bound (Black) or the price itself (normal) otherwise.
+ * The iteration is safeguarded by a bracket of the solution and stops when the relative change in the
+ * volatility, or the width of the bracket, is of the order of the machine precision.
+ * <p>
+ * In contrast to {@link GenericImpliedVolatiltySolver}, no guess of the volatility is required,
+ * no boxed functions are created and the number of price evaluations is bounded.
+ * Typically, four or five evaluations are sufficient to reach close to machine precision.
+ * <p>
+ * The volatility found reproduces the input price to machine precision. For in-the-money options, the price
+ * is dominated by the intrinsic value and the out-of-the-money part, from which the volatility is implied,
+ * is only known to the rounding of the price. The relative accuracy of the volatility is then of the order
+ * of the machine precision multiplied by the ratio of the price to its out-of-the-money part.
+ * <p>
+ * As for the other formula repositories, all prices are <b>forward</b> prices, i.e. (spot price)/numeraire.
+ */
+public final class ImpliedVolatilityFormulaRepository {
+
+  /**
+   * The normal distribution implementation.
+   */
+  private static final ProbabilityDistribution<Double> NORMAL = new NormalDistribution(0, 1);
+  /**
+   * The square root of two pi.
+   */
+  private static final double ROOT_2PI = Math.sqrt(2d * Math.PI);
+  /**
+   * The maximum number of iterations of the solver.
+   */
+  private static final int MAX_ITERATIONS = 50;
+  /**
+   * The relative change in the normalised volatility at which the iteration stops.
+   */
+  private static final double TOLERANCE = 4d * Math.ulp(1d);
+  /**
+   * The relative width of the bracket of the solution at which the iteration stops.
+   * <p>
+   * For very low prices, the rounding errors in the price prevent the relative change in the volatility
+   * from reaching {@link #TOLERANCE}, but the bracket still shrinks around the solution.
+   */
+  private static final double BRACKET_TOLERANCE = 64d * Math.ulp(1d);
+
+  // restricted constructor
+  private ImpliedVolatilityFormulaRepository() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the log-normal (Black) implied volatility of an option from its forward price.
+   * <p>
+   * The price may be that of an in-the-money or an out-of-the-money option.
+   * It must be above the intrinsic value and below the upper bound of the option price,
+   * the forward for a call and the strike for a put.
+   * If the price is equal to the intrinsic value, the implied volatility is zero.
+   * A zero strike or time to expiry is only valid in that case.
+   *
+   * @param price  the forward price of the option
+   * @param forward  the forward value of the underlying, strictly positive
+   * @param strike  the strike, positive or zero
+   * @param timeToExpiry  the time to expiry, positive or zero
+   * @param isCall  true for call, false for put
+   * @return the log-normal implied volatility
+   * @throws IllegalArgumentException if the price is outside the range of Black prices
+   */
+  public static double impliedBlackVolatility(
+      double price,
+      double forward,
+      double strike,
+      double timeToExpiry,
+      boolean isCall) {
+
+    ArgChecker.isTrue(forward > 0d, "negative/zero/NaN forward; have {}", forward);
+    ArgChecker.isTrue(strike >= 0d, "negative/NaN strike; have {}", strike);
+    ArgChecker.isTrue(timeToExpiry >= 0d, "negative/NaN timeToExpiry; have {}", timeToExpiry);
+    ArgChecker.isTrue(price >= 0d, "negative/NaN price; have {}", price);
+    ArgChecker.isFalse(Double.isInfinite(forward), "forward is Infinity");
+    ArgChecker.isFalse(Double.isInfinite(strike), "strike is Infinity");
+    ArgChecker.isFalse(Double.isInfinite(timeToExpiry), "timeToExpiry is Infinity");
+    double intrinsic = Math.max((isCall ? 1d : -1d) * (forward - strike), 0d);
+    double otmPrice = price - intrinsic;
+    ArgChecker.isTrue(otmPrice >= 0d, "price of {} is below the intrinsic value of {}", price, intrinsic);
+    if (otmPrice == 0d) {
+      return 0d;
+    }
+    ArgChecker.isTrue(strike > 0d, "price of {} exceeds the upper bound of the option price", price);
+    ArgChecker.isTrue(timeToExpiry > 0d, "price of {} exceeds the intrinsic value at expiry of {}", price, intrinsic);
+    double rootForwardStrike = Math.sqrt(forward * strike);
+    // the out-of-the-money option is a call with x <= 0 after normalisation, using put-call symmetry
+    double x = -Math.abs(Math.log(forward / strike));
+    double beta = otmPrice / rootForwardStrike;
+    double betaMax = Math.exp(0.5 * x);
+    ArgChecker.isTrue(beta < betaMax, "price of {} exceeds the upper bound of the option price", price);
+    return blackNormalisedVolatility(beta, x) / Math.sqrt(timeToExpiry);
+  }
+
+  /**
+   * Computes the log-normal (Black) implied volatilities of a set of options from their forward prices.
+   * <p>
+   * The options are described by arrays of equal size, the i-th element of each array relating to the i-th option.
+   * The results are identical to those of {@link #impliedBlackVolatility(double, double, double, double, boolean)}.
+   *
+   * @param price  the forward prices of the options
+   * @param forward  the forward values of the underlying
+   * @param strike  the strikes
+   * @param timeToExpiry  the times to expiry
+   * @param isCall  true for calls, false for puts
+   * @return the log-normal implied volatilities
+   * @throws IllegalArgumentException if a price is outside the range of Black prices
+   */
+  public static DoubleArray impliedBlackVolatility(
+      DoubleArray price,
+      DoubleArray forward,
+      DoubleArray strike,
+      DoubleArray timeToExpiry,
+      boolean isCall) {
+
+    validateSizes(price, forward, strike, timeToExpiry);
+    return DoubleArray.of(price.size(), i -> impliedBlackVolatility(
+        price.get(i), forward.get(i), strike.get(i), timeToExpiry.get(i), isCall));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the normal (Bachelier) implied volatility of an option from its forward price.
+   * <p>
+   * The price may be that of an in-the-money or an out-of-the-money option.
+   * It must be above the intrinsic value.
+   *
+   * @param price  the forward price of the option
+   * @param forward  the forward value of the underlying
+   * @param strike  the strike
+   * @param timeToExpiry  the time to expiry, strictly positive
+   * @param putCall  whether the option is put or call
+   * @return the normal implied volatility
+   * @throws IllegalArgumentException if the price is below the intrinsic value
+   */
+  public static double impliedNormalVolatility(
+      double price,
+      double forward,
+      double strike,
+      double timeToExpiry,
+      PutCall putCall) {
+
+    ArgChecker.isTrue(timeToExpiry > 0d, "negative/zero/NaN timeToExpiry; have {}", timeToExpiry);
+    ArgChecker.isTrue(price >= 0d, "negative/NaN price; have {}", price);
+    double intrinsic = Math.max((putCall.isCall() ? 1d : -1d) * (forward - strike), 0d);
+    double otmPrice = price - intrinsic;
+    ArgChecker.isTrue(otmPrice >= 0d, "price of {} is below the intrinsic value of {}", price, intrinsic);
+    // the out-of-the-money option is a call with x <= 0 after normalisation, using put-call symmetry
+    double x = -Math.abs(forward - strike);
+    return normalNormalisedVolatility(otmPrice, x) / Math.sqrt(timeToExpiry);
+  }
+
+  /**
+   * Computes the normal (Bachelier) implied volatilities of a set of options from their forward prices.
+   * <p>
+   * The options are described by arrays of equal size, the i-th element of each array relating to the i-th option.
+   * The results are identical to those of {@link #impliedNormalVolatility(double, double, double, double, PutCall)}.
+   *
+   * @param price  the forward prices of the options
+   * @param forward  the forward values of the underlying
+   * @param strike  the strikes
+   * @param timeToExpiry  the times to expiry
+   * @param putCall  whether the options are puts or calls
+   * @return the normal implied volatilities
+   * @throws IllegalArgumentException if a price is below the intrinsic value
+   */
+  public static DoubleArray impliedNormalVolatility(
+      DoubleArray price,
+      DoubleArray forward,
+      DoubleArray strike,
+      DoubleArray timeToExpiry,
+      PutCall putCall) {
+
+    validateSizes(price, forward, strike, timeToExpiry);
+    return DoubleArray.of(price.size(), i -> impliedNormalVolatility(
+        price.get(i), forward.get(i), strike.get(i), timeToExpiry.get(i), putCall));
+  }
+
+  //-------------------------------------------------------------------------
+  // solves b(x, s) = beta for the total volatility s, where b is the Black price of a call divided by sqrt(FK)
+  // b(x, s) = exp(x/2) N(x/s + s/2) - exp(-x/2) N(x/s - s/2), with x = ln(F/K) <= 0
+  private static double blackNormalisedVolatility(double beta, double x) {
+    if (beta == 0d) {
+      return 0d;
+    }
+    double expHalfX = Math.exp(0.5 * x);
+    double expMinusHalfX = Math.exp(-0.5 * x);
+    double betaMax = expHalfX;
+    // s = sqrt(-2x) is the inflection point of b, below which b is very flat
+    double sInflection = Math.sqrt(-2d * x);
+    boolean lower = x < 0d && beta < blackNormalisedPrice(x, sInflection);
+    double target = lower ? Math.log(beta) : Math.log(betaMax - beta);
+    // at-the-money the solution is explicit, and is only refined by the iteration
+    double s = x == 0d ? -2d * NORMAL.getInverseCDF(0.5 * (1d - beta)) : sInflection;
+    double sLower = 0d;
+    double sUpper = Double.POSITIVE_INFINITY;
+    for (int i = 0; i < MAX_ITERATIONS; i++) {
+      double d1 = x / s + 0.5 * s;
+      double d2 = d1 - s;
+      double vega = Math.exp(-0.5 * (x * x / (s * s) + 0.25 * s * s)) / ROOT_2PI;
+      double h2 = x * x / (s * s * s) - 0.25 * s;  // b''/b'
+      double h3 = h2 * h2 - 3d * x * x / (s * s * s * s) - 0.25;  // b'''/b'
+      double objective;
+      double ratio;  // derivative of the objective
+      if (lower) {
+        double b = expHalfX * cdf(d1) - expMinusHalfX * cdf(d2);
+        if (b < beta) {
+          sLower = s;
+        } else {
+          sUpper = s;
+        }
+        objective = Math.log(b) - target;
+        ratio = vega / b;
+      } else {
+        // distance to the upper bound, computed without cancellation
+        double u = expHalfX * cdf(-d1) + expMinusHalfX * cdf(d2);
+        if (u > betaMax - beta) {
+          sLower = s;
+        } else {
+          sUpper = s;
+        }
+        objective = Math.log(u) - target;
+        ratio = -vega / u;
+      }
+      double next = householderStep(s, objective, ratio, h2 - ratio, h3 - 3d * ratio * h2 + 2d * ratio * ratio);
+      if (Math.abs(next - s) <= TOLERANCE * s || sUpper - sLower <= BRACKET_TOLERANCE * s) {
+        return next;
+      }
+      s = safeguard(next, s, sLower, sUpper);
+    }
+    return s;
+  }
+
+  // the normalised Black price of an out-of-the-money call
+  private static double blackNormalisedPrice(double x, double s) {
+    double d1 = x / s + 0.5 * s;
+    return Math.exp(0.5 * x) * cdf(d1) - Math.exp(-0.5 * x) * cdf(d1 - s);
+  }
+
+  // solves p(x, s) = price for the total volatility s, where p is the normal price of a call
+  // p(x, s) = s n(x/s) + x N(x/s), with x = F - K <= 0
+  private static double normalNormalisedVolatility(double price, double x) {
+    if (price == 0d) {
+      return 0d;
+    }
+    if (x == 0d) {
+      return price * ROOT_2PI;
+    }
+    // s = -x is used to split the flat region of low prices from the almost linear region of high prices
+    double sPivot = -x;
+    boolean lower = price < normalPrice(x, sPivot);
+    double target = lower ? Math.log(price) : price;
+    // the price is close to s n(0) + x/2 for high prices
+    double s = lower ? sPivot : (price - 0.5 * x) * ROOT_2PI;
+    double sLower = 0d;
+    double sUpper = Double.POSITIVE_INFINITY;
+    for (int i = 0; i < MAX_ITERATIONS; i++) {
+      double z = x / s;
+      double vega = pdf(z);
+      double p = s * vega + x * cdf(z);
+      double h2 = x * x / (s * s * s);  // p''/p'
+      double h3 = h2 * h2 - 3d * x * x / (s * s * s * s);  // p'''/p'
+      if (p < price) {
+        sLower = s;
+      } else {
+        sUpper = s;
+      }
+      double next;
+      if (lower) {
+        double ratio = vega / p;
+        next = householderStep(
+            s, Math.log(p) - target, ratio, h2 - ratio, h3 - 3d * ratio * h2 + 2d * ratio * ratio);
+      } else {
+        next = householderStep(s, p - target, vega, h2, h3);
+      }
+      if (Math.abs(next - s) <= TOLERANCE * s || sUpper - sLower <= BRACKET_TOLERANCE * s) {
+        return next;
+      }
+      s = safeguard(next, s, sLower, sUpper);
+    }
+    return s;
+  }
+
+  // the normal price of an out-of-the-money call
+  private static double normalPrice(double x, double s) {
+    double z = x / s;
+    return s * pdf(z) + x * cdf(z);
+  }
+
+  //-------------------------------------------------------------------------
+  // third order Householder step for f(s) = 0, given f, f' and the ratios f''/f' and f'''/f'
+  private static double householderStep(double s, double f, double df, double ratio2, double ratio3) {
+    double newton = -f / df;
+    return s + newton * (1d + 0.5 * ratio2 * newton) / (1d + newton * (ratio2 + ratio3 * newton / 6d));
+  }
+
+  // keeps the iteration within the bracket of the solution, falling back to bisection
+  private static double safeguard(double next, double s, double sLower, double sUpper) {
+    if (next > sLower && next < sUpper) {
+      return next;
+    }
+    if (sUpper == Double.POSITIVE_INFINITY) {
+      return 2d * Math.max(s, sLower);
+    }
+    return 0.5 * (sLower + sUpper);
+  }
+
+  private static double cdf(double x) {
+    return NORMAL.getCDF(x);
+  }
+
+  private static double pdf(double x) {
+    return Math.exp(-0.5 * x * x) / ROOT_2PI;
+  }
+
+  // validates the sizes of the arrays describing a set of options
+  private static void validateSizes(
+      DoubleArray price,
+      DoubleArray forward,
+      DoubleArray strike,
+      DoubleArray timeToExpiry) {
+
+    int size = price.size();
+    ArgChecker.isTrue(forward.size() == size, "forward array must have the same size as the price array");
+    ArgChecker.isTrue(strike.size() == size, "strike array must have the same size as the price array");
+    ArgChecker.isTrue(timeToExpiry.size() == size, "timeToExpiry array must have the same size as the price array");
+  }
+
+}
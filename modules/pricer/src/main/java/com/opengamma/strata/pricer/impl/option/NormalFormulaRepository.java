@@ -391,4 +391,199 @@ public final class NormalFormulaRepository {
     return ValueDerivatives.of(normalVol, DoubleArray.of(blackVolatilityBar));
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the forward prices of a set of options.
+   * <p>
+   * The options are described by arrays of equal size, the i-th element of each array relating to the i-th option.
+   * The options are priced in a single loop, with only the options with a near-zero volatility or time to expiry
+   * using the single option formula.
+   * The results are identical to those of {@link #price(double, double, double, double, PutCall)}.
+   * <p>
+   * Note that the 'numeraire' is a simple multiplier and is the responsibility of the caller.
+   * 
+   * @param forward  the forward values of the underlying
+   * @param strike  the strikes
+   * @param timeToExpiry  the times to expiry
+   * @param normalVol  the normal volatilities
+   * @param putCall  whether they are puts or calls
+   * @return the forward prices
+   */
+  public static DoubleArray price(
+      DoubleArray forward,
+      DoubleArray strike,
+      DoubleArray timeToExpiry,
+      DoubleArray normalVol,
+      PutCall putCall) {
+
+    validate(forward, strike, timeToExpiry, normalVol);
+    int size = forward.size();
+    int sign = putCall.isCall() ? 1 : -1;
+    double[] prices = new double[size];
+    for (int i = 0; i < size; i++) {
+      double sigmaRootT = normalVol.get(i) * Math.sqrt(timeToExpiry.get(i));
+      double x = sign * (forward.get(i) - strike.get(i));
+      if (sigmaRootT < NEAR_ZERO) {
+        prices[i] = (x > 0 ? x : 0d);
+        continue;
+      }
+      double arg = x / sigmaRootT;
+      prices[i] = x * DISTRIBUTION.getCDF(arg) + sigmaRootT * DISTRIBUTION.getPDF(arg);
+    }
+    return DoubleArray.ofUnsafe(prices);
+  }
+
+  /**
+   * Computes the deltas of a set of options.
+   * <p>
+   * The options are described by arrays of equal size, the i-th element of each array relating to the i-th option.
+   * The results are identical to those of {@link #delta(double, double, double, double, PutCall)}.
+   * <p>
+   * Note that the 'numeraire' is a simple multiplier and is the responsibility of the caller.
+   * 
+   * @param forward  the forward values of the underlying
+   * @param strike  the strikes
+   * @param timeToExpiry  the times to expiry
+   * @param normalVol  the normal volatilities
+   * @param putCall  whether they are puts or calls
+   * @return the deltas
+   */
+  public static DoubleArray delta(
+      DoubleArray forward,
+      DoubleArray strike,
+      DoubleArray timeToExpiry,
+      DoubleArray normalVol,
+      PutCall putCall) {
+
+    validate(forward, strike, timeToExpiry, normalVol);
+    int size = forward.size();
+    int sign = putCall.isCall() ? 1 : -1;
+    double[] deltas = new double[size];
+    for (int i = 0; i < size; i++) {
+      double sigmaRootT = normalVol.get(i) * Math.sqrt(timeToExpiry.get(i));
+      deltas[i] = sigmaRootT < NEAR_ZERO ?
+          delta(forward.get(i), strike.get(i), timeToExpiry.get(i), normalVol.get(i), putCall) :
+          sign * DISTRIBUTION.getCDF(sign * (forward.get(i) - strike.get(i)) / sigmaRootT);
+    }
+    return DoubleArray.ofUnsafe(deltas);
+  }
+
+  /**
+   * Computes the gammas of a set of options.
+   * <p>
+   * The options are described by arrays of equal size, the i-th element of each array relating to the i-th option.
+   * The results are identical to those of {@link #gamma(double, double, double, double, PutCall)}.
+   * <p>
+   * Note that the 'numeraire' is a simple multiplier and is the responsibility of the caller.
+   * 
+   * @param forward  the forward values of the underlying
+   * @param strike  the strikes
+   * @param timeToExpiry  the times to expiry
+   * @param normalVol  the normal volatilities
+   * @param putCall  whether they are puts or calls
+   * @return the gammas
+   */
+  public static DoubleArray gamma(
+      DoubleArray forward,
+      DoubleArray strike,
+      DoubleArray timeToExpiry,
+      DoubleArray normalVol,
+      PutCall putCall) {
+
+    validate(forward, strike, timeToExpiry, normalVol);
+    int size = forward.size();
+    double[] gammas = new double[size];
+    for (int i = 0; i < size; i++) {
+      double sigmaRootT = normalVol.get(i) * Math.sqrt(timeToExpiry.get(i));
+      gammas[i] = sigmaRootT < NEAR_ZERO ?
+          gamma(forward.get(i), strike.get(i), timeToExpiry.get(i), normalVol.get(i), putCall) :
+          DISTRIBUTION.getPDF((forward.get(i) - strike.get(i)) / sigmaRootT) / sigmaRootT;
+    }
+    return DoubleArray.ofUnsafe(gammas);
+  }
+
+  /**
+   * Computes the thetas of a set of options.
+   * <p>
+   * The options are described by arrays of equal size, the i-th element of each array relating to the i-th option.
+   * The results are identical to those of {@link #theta(double, double, double, double, PutCall)}.
+   * <p>
+   * Note that the 'numeraire' is a simple multiplier and is the responsibility of the caller.
+   * 
+   * @param forward  the forward values of the underlying
+   * @param strike  the strikes
+   * @param timeToExpiry  the times to expiry
+   * @param normalVol  the normal volatilities
+   * @param putCall  whether they are puts or calls
+   * @return the thetas
+   */
+  public static DoubleArray theta(
+      DoubleArray forward,
+      DoubleArray strike,
+      DoubleArray timeToExpiry,
+      DoubleArray normalVol,
+      PutCall putCall) {
+
+    validate(forward, strike, timeToExpiry, normalVol);
+    int size = forward.size();
+    double[] thetas = new double[size];
+    for (int i = 0; i < size; i++) {
+      double vol = normalVol.get(i);
+      double rootT = Math.sqrt(timeToExpiry.get(i));
+      double sigmaRootT = vol * rootT;
+      thetas[i] = sigmaRootT < NEAR_ZERO ?
+          theta(forward.get(i), strike.get(i), timeToExpiry.get(i), vol, putCall) :
+          -0.5 * DISTRIBUTION.getPDF((forward.get(i) - strike.get(i)) / sigmaRootT) * vol / rootT;
+    }
+    return DoubleArray.ofUnsafe(thetas);
+  }
+
+  /**
+   * Computes the vegas of a set of options.
+   * <p>
+   * The options are described by arrays of equal size, the i-th element of each array relating to the i-th option.
+   * The results are identical to those of {@link #vega(double, double, double, double, PutCall)}.
+   * <p>
+   * Note that the 'numeraire' is a simple multiplier and is the responsibility of the caller.
+   * 
+   * @param forward  the forward values of the underlying
+   * @param strike  the strikes
+   * @param timeToExpiry  the times to expiry
+   * @param normalVol  the normal volatilities
+   * @param putCall  whether they are puts or calls
+   * @return the vegas
+   */
+  public static DoubleArray vega(
+      DoubleArray forward,
+      DoubleArray strike,
+      DoubleArray timeToExpiry,
+      DoubleArray normalVol,
+      PutCall putCall) {
+
+    validate(forward, strike, timeToExpiry, normalVol);
+    int size = forward.size();
+    double[] vegas = new double[size];
+    for (int i = 0; i < size; i++) {
+      double rootT = Math.sqrt(timeToExpiry.get(i));
+      double sigmaRootT = normalVol.get(i) * rootT;
+      vegas[i] = sigmaRootT < NEAR_ZERO ?
+          vega(forward.get(i), strike.get(i), timeToExpiry.get(i), normalVol.get(i), putCall) :
+          DISTRIBUTION.getPDF((forward.get(i) - strike.get(i)) / sigmaRootT) * rootT;
+    }
+    return DoubleArray.ofUnsafe(vegas);
+  }
+
+  // validates the sizes of the arrays describing a set of options
+  private static void validate(
+      DoubleArray forward,
+      DoubleArray strike,
+      DoubleArray timeToExpiry,
+      DoubleArray normalVol) {
+
+    int size = forward.size();
+    ArgChecker.isTrue(strike.size() == size, "strike array must have the same size as the forward array");
+    ArgChecker.isTrue(timeToExpiry.size() == size, "timeToExpiry array must have the same size as the forward array");
+    ArgChecker.isTrue(normalVol.size() == size, "normalVol array must have the same size as the forward array");
+  }
+
 }
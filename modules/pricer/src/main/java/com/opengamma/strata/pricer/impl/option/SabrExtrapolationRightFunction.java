@@ -194,6 +194,50 @@ public final class SabrExtrapolationRightFunction {
     return price;
   }
 
+  /**
+   * Computes the option prices for a set of strikes with numeraire=1.
+   * <p>
+   * The result is the same as calling {@link #price(double, PutCall)} for each strike.
+   * The strikes below the cut-off strike are priced by a single call to the array based Black formula,
+   * with the SABR volatilities computed beforehand.
+   * 
+   * @param strikes  the strikes of the options
+   * @param putCall  whether the options are put or call
+   * @return the option prices
+   */
+  public DoubleArray price(DoubleArray strikes, PutCall putCall) {
+    int nbStrikes = strikes.size();
+    int nbSabr = 0;
+    double[] sabrStrikes = new double[nbStrikes];
+    double[] sabrVolatilities = new double[nbStrikes];
+    double[] prices = new double[nbStrikes];
+    for (int i = 0; i < nbStrikes; i++) {
+      double strike = strikes.get(i);
+      if (strike <= cutOffStrike) {
+        sabrStrikes[nbSabr] = strike;
+        sabrVolatilities[nbSabr] = sabrFunction.volatility(forward, strike, timeToExpiry, sabrData);
+        nbSabr++;
+      } else {
+        prices[i] = extrapolation(strike);
+        if (putCall.isPut()) { // Put by call/put parity
+          prices[i] -= (forward - strike);
+        }
+      }
+    }
+    DoubleArray sabrPrices = BlackFormulaRepository.price(
+        DoubleArray.filled(nbSabr, forward),
+        DoubleArray.ofUnsafe(Arrays.copyOf(sabrStrikes, nbSabr)),
+        DoubleArray.filled(nbSabr, timeToExpiry),
+        DoubleArray.ofUnsafe(Arrays.copyOf(sabrVolatilities, nbSabr)),
+        putCall.isCall());
+    for (int i = 0, j = 0; i < nbStrikes; i++) {
+      if (strikes.get(i) <= cutOffStrike) {
+        prices[i] = sabrPrices.get(j++);
+      }
+    }
+    return DoubleArray.ofUnsafe(prices);
+  }
+
   /**
    * Computes the option price derivative with respect to the strike.
    * <p>
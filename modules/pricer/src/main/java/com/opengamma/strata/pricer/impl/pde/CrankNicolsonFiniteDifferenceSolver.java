@@ -0,0 +1,283 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.pde;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.opengamma.strata.basics.value.ValueDerivatives;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.math.impl.linearalgebra.TridiagonalSolver;
+import com.opengamma.strata.pricer.impl.ParallelTasks;
+
+/**
+ * Crank-Nicolson finite difference solver for European options.
+ * <p>
+ * The options are rolled back from expiry to time zero through the grid of a {@link FiniteDifferenceOperator}.
+ * Each time step is solved with the Crank-Nicolson scheme, leading to a tridiagonal linear system
+ * solved by {@link TridiagonalSolver}. The first time steps after expiry are replaced by two fully implicit
+ * half steps each (Rannacher smoothing), which damps the oscillations created by the non-smooth payoffs.
+ * This gives smooth deltas and gammas at and around the strikes and the barriers.
+ * <p>
+ * The value at the lowest and highest spot of the grid is the discounted payoff at the forward.
+ * The value at and beyond the barrier of a knock-out option is the rebate.
+ * <p>
+ * The price, delta and gamma at the spot are obtained by quadratic interpolation between the three nearest nodes.
+ */
+public class CrankNicolsonFiniteDifferenceSolver {
+
+  /**
+   * Default number of Rannacher steps.
+   */
+  private static final int NUM_RANNACHER_STEPS_DEFAULT = 2;
+  /**
+   * The number of options priced in the same task when pricing a strip of options with an executor.
+   */
+  private static final int BLOCK_SIZE = 4;
+
+  /**
+   * Default implementation.
+   */
+  public static final CrankNicolsonFiniteDifferenceSolver DEFAULT =
+      new CrankNicolsonFiniteDifferenceSolver(NUM_RANNACHER_STEPS_DEFAULT);
+
+  /**
+   * The number of time steps replaced by two fully implicit half steps.
+   */
+  private final int numberOfRannacherSteps;
+
+  /**
+   * Creates an instance.
+   *
+   * @param numberOfRannacherSteps  the number of time steps after expiry replaced by two fully implicit half steps
+   */
+  public CrankNicolsonFiniteDifferenceSolver(int numberOfRannacherSteps) {
+    this.numberOfRannacherSteps = ArgChecker.notNegative(numberOfRannacherSteps, "numberOfRannacherSteps");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the price, delta and gamma of an option.
+   * <p>
+   * The derivatives are [0] spot and [1] spot twice.
+   * The spot must be strictly between the lowest and the highest spot of the grid.
+   *
+   * @param option  the option
+   * @param spot  the spot
+   * @param operator  the operator
+   * @return the price, delta and gamma
+   */
+  public ValueDerivatives price(FiniteDifferenceOption option, double spot, FiniteDifferenceOperator operator) {
+    ArgChecker.notNull(operator, "operator");
+    return price(option, spot, operator, FiniteDifferenceWorkspace.of(operator.getGrid()));
+  }
+
+  /**
+   * Calculates the price, delta and gamma of an option, using an existing workspace.
+   * <p>
+   * See {@link #price(FiniteDifferenceOption, double, FiniteDifferenceOperator)}.
+   * The workspace is overwritten. Reusing a workspace avoids allocating the arrays of each time step
+   * when pricing many options on grids of the same size.
+   *
+   * @param option  the option
+   * @param spot  the spot
+   * @param operator  the operator
+   * @param workspace  the workspace
+   * @return the price, delta and gamma
+   */
+  public ValueDerivatives price(
+      FiniteDifferenceOption option,
+      double spot,
+      FiniteDifferenceOperator operator,
+      FiniteDifferenceWorkspace workspace) {
+
+    ArgChecker.notNull(option, "option");
+    ArgChecker.notNull(operator, "operator");
+    ArgChecker.notNull(workspace, "workspace");
+    double[] spots = operator.getGrid().spots();
+    int nbNodes = spots.length;
+    ArgChecker.isTrue(workspace.getNumberOfSpotNodes() == nbNodes, "workspace does not match the grid");
+    ArgChecker.inRangeExclusive(spot, spots[0], spots[nbNodes - 1], "spot");
+    if (option.isKnockedOut(spot)) {
+      return ValueDerivatives.of(option.getRebate(), DoubleArray.of(0d, 0d));
+    }
+    rollBack(option, operator, workspace);
+    return interpolate(spots, workspace.values, spot);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the price, delta and gamma of a strip of options on the same grid.
+   * <p>
+   * See {@link #price(FiniteDifferenceOption, double, FiniteDifferenceOperator)}.
+   * The operator, including the local volatility, is shared by all the options.
+   * The options are priced in blocks, the same workspace being reused for the options of a block.
+   *
+   * @param options  the options
+   * @param spot  the spot
+   * @param operator  the operator
+   * @return the price, delta and gamma, in the order of the options
+   */
+  public List<ValueDerivatives> price(
+      List<FiniteDifferenceOption> options,
+      double spot,
+      FiniteDifferenceOperator operator) {
+
+    return priceStrip(options, spot, operator, MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Calculates the price, delta and gamma of a strip of options on the same grid, using the executor.
+   * <p>
+   * See {@link #price(List, double, FiniteDifferenceOperator)}.
+   * The options are split in blocks, each block being rolled back with its own workspace.
+   * An executor with several threads allows the blocks to be priced in parallel.
+   * The result does not depend on the executor.
+   *
+   * @param options  the options
+   * @param spot  the spot
+   * @param operator  the operator
+   * @param executor  the executor used to price the blocks of options
+   * @return the price, delta and gamma, in the order of the options
+   */
+  public List<ValueDerivatives> price(
+      List<FiniteDifferenceOption> options,
+      double spot,
+      FiniteDifferenceOperator operator,
+      ExecutorService executor) {
+
+    ArgChecker.notNull(executor, "executor");
+    return priceStrip(options, spot, operator, executor);
+  }
+
+  // prices the blocks of options, then combines the results in order
+  private List<ValueDerivatives> priceStrip(
+      List<FiniteDifferenceOption> options,
+      double spot,
+      FiniteDifferenceOperator operator,
+      Executor executor) {
+
+    ArgChecker.noNulls(options, "options");
+    ArgChecker.notNull(operator, "operator");
+    List<CompletableFuture<List<ValueDerivatives>>> blocks = new ArrayList<>();
+    for (List<FiniteDifferenceOption> block : Lists.partition(options, BLOCK_SIZE)) {
+      blocks.add(CompletableFuture.supplyAsync(() -> {
+        FiniteDifferenceWorkspace workspace = FiniteDifferenceWorkspace.of(operator.getGrid());
+        List<ValueDerivatives> results = new ArrayList<>(block.size());
+        for (FiniteDifferenceOption option : block) {
+          results.add(price(option, spot, operator, workspace));
+        }
+        return results;
+      }, executor));
+    }
+    ImmutableList.Builder<ValueDerivatives> builder = ImmutableList.builder();
+    for (CompletableFuture<List<ValueDerivatives>> block : blocks) {
+      builder.addAll(ParallelTasks.join(block));
+    }
+    return builder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  // rolls the option back from expiry to time zero, the values at time zero are in the workspace
+  private void rollBack(
+      FiniteDifferenceOption option,
+      FiniteDifferenceOperator operator,
+      FiniteDifferenceWorkspace work) {
+
+    FiniteDifferenceGrid grid = operator.getGrid();
+    double[] spots = grid.spots();
+    int nbSteps = grid.getNumberOfTimeSteps();
+    for (int i = 0; i < spots.length; i++) {
+      work.values[i] = option.payoff(spots[i]);
+    }
+    for (int j = nbSteps - 1; j >= 0; j--) {
+      double dt = grid.getTime(j + 1) - grid.getTime(j);
+      if (nbSteps - 1 - j < numberOfRannacherSteps) {
+        step(option, operator, work, j, 0.5, 0.5 * dt, 1d);
+        step(option, operator, work, j, 0d, 0.5 * dt, 1d);
+      } else {
+        step(option, operator, work, j, 0d, dt, 0.5);
+      }
+    }
+  }
+
+  // one step of the theta scheme, from the end of the step to the fraction of the time step
+  private void step(
+      FiniteDifferenceOption option,
+      FiniteDifferenceOperator operator,
+      FiniteDifferenceWorkspace work,
+      int step,
+      double fraction,
+      double dt,
+      double theta) {
+
+    double[] spots = operator.getGrid().spots();
+    int nbNodes = spots.length;
+    double[] lower = operator.lower[step];
+    double[] diagonal = operator.diagonal[step];
+    double[] upper = operator.upper[step];
+    double[] values = work.values;
+    double explicit = (1d - theta) * dt;
+    double implicit = theta * dt;
+    double discountFactor = operator.discountFactorToExpiry(step, fraction);
+    double forwardFactor = operator.forwardFactorToExpiry(step, fraction);
+    for (int i = 0; i < nbNodes; i++) {
+      boolean isBoundary = i == 0 || i == nbNodes - 1;
+      if (isBoundary || option.isKnockedOut(spots[i])) {
+        work.rhs[i] = option.isKnockedOut(spots[i]) ?
+            option.getRebate() :
+            discountFactor * option.payoff(spots[i] * forwardFactor);
+        work.diagonal[i] = 1d;
+        if (i > 0) {
+          work.lower[i - 1] = 0d;
+        }
+        if (i < nbNodes - 1) {
+          work.upper[i] = 0d;
+        }
+      } else {
+        work.rhs[i] = values[i] +
+            explicit * (lower[i] * values[i - 1] + diagonal[i] * values[i] + upper[i] * values[i + 1]);
+        work.lower[i - 1] = -implicit * lower[i];
+        work.diagonal[i] = 1d - implicit * diagonal[i];
+        work.upper[i] = -implicit * upper[i];
+      }
+    }
+    TridiagonalSolver.solvTriDag(work.lower, work.diagonal, work.upper, work.rhs, values);
+  }
+
+  // quadratic interpolation of the value and its derivatives on the three nodes nearest to the spot
+  private static ValueDerivatives interpolate(double[] spots, double[] values, double spot) {
+    int nbNodes = spots.length;
+    int index = 1;
+    while (index < nbNodes - 2 && spots[index] < spot) {
+      index++;
+    }
+    if (index > 1 && spot - spots[index - 1] < spots[index] - spot) {
+      index--;
+    }
+    double x0 = spots[index - 1];
+    double x1 = spots[index];
+    double x2 = spots[index + 1];
+    double d0 = (x0 - x1) * (x0 - x2);
+    double d1 = (x1 - x0) * (x1 - x2);
+    double d2 = (x2 - x0) * (x2 - x1);
+    double v0 = values[index - 1] / d0;
+    double v1 = values[index] / d1;
+    double v2 = values[index + 1] / d2;
+    double price = v0 * (spot - x1) * (spot - x2) + v1 * (spot - x0) * (spot - x2) + v2 * (spot - x0) * (spot - x1);
+    double delta = v0 * (2d * spot - x1 - x2) + v1 * (2d * spot - x0 - x2) + v2 * (2d * spot - x0 - x1);
+    double gamma = 2d * (v0 + v1 + v2);
+    return ValueDerivatives.of(price, DoubleArray.of(delta, gamma));
+  }
+
+}
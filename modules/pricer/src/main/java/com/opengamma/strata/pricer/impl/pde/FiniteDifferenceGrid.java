@@ -0,0 +1,251 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.pde;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Grid for the finite difference pricing of options on a single underlying.
+ * <p>
+ * The time grid is uniform between zero and the time to expiry.
+ * The spot grid is non-uniform, with nodes concentrated around a set of points, typically the spot,
+ * the strikes and the barriers. The density of the nodes is
+ * <pre>
+ * 1 + sum_k 1 / (concentration * sqrt(1 + ((x - c_k) / w)^2))
+ * </pre>
+ * where c_k are the concentration points and w is the width of the concentration, a fraction of the spot range.
+ * The concentration points are nodes of the grid, so that the strikes and the barriers are on the grid.
+ * The number of nodes between two consecutive concentration points is proportional to the integral of the density
+ * between them, and the nodes are equally spaced in the integral of the density.
+ * <p>
+ * The grid does not depend on the model or on the options,
+ * so the same grid can be used to price a strip of options.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class FiniteDifferenceGrid {
+
+  /**
+   * The default width of the concentration, as a fraction of the spot range.
+   */
+  private static final double DEFAULT_WIDTH = 0.05;
+  /**
+   * The default concentration.
+   */
+  private static final double DEFAULT_CONCENTRATION = 0.1;
+  /**
+   * The number of bisection steps used to place the nodes.
+   */
+  private static final int NUM_BISECTION = 60;
+
+  /**
+   * The time to expiry.
+   */
+  private final double timeToExpiry;
+  /**
+   * The number of time steps.
+   */
+  private final int numberOfTimeSteps;
+  /**
+   * The spot values of the nodes, in increasing order.
+   */
+  private final double[] spots;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance with the default concentration.
+   * <p>
+   * The concentration points must be strictly between the minimum and maximum spot.
+   *
+   * @param timeToExpiry  the time to expiry
+   * @param numberOfTimeSteps  the number of time steps
+   * @param minSpot  the lowest spot of the grid
+   * @param maxSpot  the highest spot of the grid
+   * @param numberOfSpotNodes  the number of spot nodes, including the boundaries
+   * @param concentrationPoints  the points around which the spot nodes are concentrated
+   * @return the grid
+   */
+  public static FiniteDifferenceGrid of(
+      double timeToExpiry,
+      int numberOfTimeSteps,
+      double minSpot,
+      double maxSpot,
+      int numberOfSpotNodes,
+      DoubleArray concentrationPoints) {
+
+    return of(timeToExpiry, numberOfTimeSteps, minSpot, maxSpot, numberOfSpotNodes, concentrationPoints,
+        DEFAULT_WIDTH, DEFAULT_CONCENTRATION);
+  }
+
+  /**
+   * Obtains an instance.
+   * <p>
+   * The concentration points must be strictly between the minimum and maximum spot.
+   * A smaller width or a smaller concentration leads to more nodes close to the concentration points.
+   *
+   * @param timeToExpiry  the time to expiry
+   * @param numberOfTimeSteps  the number of time steps
+   * @param minSpot  the lowest spot of the grid
+   * @param maxSpot  the highest spot of the grid
+   * @param numberOfSpotNodes  the number of spot nodes, including the boundaries
+   * @param concentrationPoints  the points around which the spot nodes are concentrated
+   * @param width  the width of the concentration, as a fraction of the spot range
+   * @param concentration  the concentration
+   * @return the grid
+   */
+  public static FiniteDifferenceGrid of(
+      double timeToExpiry,
+      int numberOfTimeSteps,
+      double minSpot,
+      double maxSpot,
+      int numberOfSpotNodes,
+      DoubleArray concentrationPoints,
+      double width,
+      double concentration) {
+
+    ArgChecker.isTrue(timeToExpiry > 0d, "timeToExpiry must be positive");
+    ArgChecker.isTrue(numberOfTimeSteps > 0, "numberOfTimeSteps must be positive");
+    ArgChecker.notNegative(minSpot, "minSpot");
+    ArgChecker.isTrue(minSpot < maxSpot, "minSpot must be smaller than maxSpot");
+    ArgChecker.notNull(concentrationPoints, "concentrationPoints");
+    ArgChecker.isTrue(numberOfSpotNodes > concentrationPoints.size() + 2,
+        "numberOfSpotNodes must be greater than the number of concentration points plus 2");
+    ArgChecker.notNegativeOrZero(width, "width");
+    ArgChecker.notNegativeOrZero(concentration, "concentration");
+    double[] points = concentrationPoints.stream().sorted().distinct().toArray();
+    for (double point : points) {
+      ArgChecker.inRangeExclusive(point, minSpot, maxSpot, "concentrationPoint");
+    }
+    double[] spots = spots(minSpot, maxSpot, numberOfSpotNodes, points, width * (maxSpot - minSpot), concentration);
+    return new FiniteDifferenceGrid(timeToExpiry, numberOfTimeSteps, spots);
+  }
+
+  // the spot nodes, inverting the cumulative density at equally spaced levels between the concentration points
+  private static double[] spots(
+      double minSpot,
+      double maxSpot,
+      int nbNodes,
+      double[] points,
+      double width,
+      double concentration) {
+
+    int nbKeys = points.length + 2;
+    double[] keys = new double[nbKeys];
+    keys[0] = minSpot;
+    System.arraycopy(points, 0, keys, 1, points.length);
+    keys[nbKeys - 1] = maxSpot;
+    double total = cumulativeDensity(maxSpot, minSpot, points, width, concentration);
+    double[] spots = new double[nbNodes];
+    spots[0] = minSpot;
+    int previousIndex = 0;
+    double previousLevel = 0d;
+    for (int k = 1; k < nbKeys; k++) {
+      double level = cumulativeDensity(keys[k], minSpot, points, width, concentration);
+      int index = k == nbKeys - 1 ? nbNodes - 1 : (int) Math.round((nbNodes - 1) * level / total);
+      index = Math.min(Math.max(index, previousIndex + 1), nbNodes - nbKeys + k);
+      for (int i = previousIndex + 1; i < index; i++) {
+        double nodeLevel = previousLevel + (level - previousLevel) * (i - previousIndex) / (index - previousIndex);
+        double lower = spots[i - 1];
+        double upper = keys[k];
+        for (int j = 0; j < NUM_BISECTION; j++) {
+          double middle = 0.5 * (lower + upper);
+          if (cumulativeDensity(middle, minSpot, points, width, concentration) < nodeLevel) {
+            lower = middle;
+          } else {
+            upper = middle;
+          }
+        }
+        spots[i] = 0.5 * (lower + upper);
+      }
+      spots[index] = keys[k];
+      previousIndex = index;
+      previousLevel = level;
+    }
+    return spots;
+  }
+
+  // the integral of the density between the minimum spot and the spot
+  private static double cumulativeDensity(
+      double spot,
+      double minSpot,
+      double[] points,
+      double width,
+      double concentration) {
+
+    double value = spot - minSpot;
+    for (double point : points) {
+      value += width / concentration *
+          (asinh((spot - point) / width) - asinh((minSpot - point) / width));
+    }
+    return value;
+  }
+
+  // the inverse hyperbolic sine
+  private static double asinh(double x) {
+    return Math.signum(x) * Math.log(Math.abs(x) + Math.sqrt(x * x + 1d));
+  }
+
+  // restricted constructor
+  private FiniteDifferenceGrid(double timeToExpiry, int numberOfTimeSteps, double[] spots) {
+    this.timeToExpiry = timeToExpiry;
+    this.numberOfTimeSteps = numberOfTimeSteps;
+    this.spots = spots;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the time to expiry.
+   *
+   * @return the time to expiry
+   */
+  public double getTimeToExpiry() {
+    return timeToExpiry;
+  }
+
+  /**
+   * Gets the number of time steps.
+   *
+   * @return the number of time steps
+   */
+  public int getNumberOfTimeSteps() {
+    return numberOfTimeSteps;
+  }
+
+  /**
+   * Gets the time of a time node.
+   *
+   * @param index  the index of the time node, from zero to the number of time steps
+   * @return the time
+   */
+  public double getTime(int index) {
+    return timeToExpiry * index / numberOfTimeSteps;
+  }
+
+  /**
+   * Gets the number of spot nodes.
+   *
+   * @return the number of spot nodes
+   */
+  public int getNumberOfSpotNodes() {
+    return spots.length;
+  }
+
+  /**
+   * Gets the spot values of the nodes.
+   *
+   * @return the spot values, in increasing order
+   */
+  public DoubleArray getSpots() {
+    return DoubleArray.copyOf(spots);
+  }
+
+  // the spot values, without copy
+  double[] spots() {
+    return spots;
+  }
+
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.pde;
+
+import java.util.function.Function;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.market.surface.Surface;
+
+/**
+ * Discretized pricing operator of the local volatility model on a finite difference grid.
+ * <p>
+ * The price V of an option satisfies
+ * <pre>
+ * dV/dt + (r - q) S dV/dS + sigma(t, S)^2 S^2 / 2 d^2V/dS^2 - r V = 0
+ * </pre>
+ * where r is the interest rate, q is the dividend rate and sigma is the local volatility.
+ * The spatial derivatives are discretized by central differences on the non-uniform spot grid.
+ * The coefficients are frozen at the middle of each time step.
+ * <p>
+ * The operator only depends on the grid and on the market data, not on the options.
+ * It is computed once, which is where the local volatility surface is evaluated, and can then be used
+ * to price a strip of options on the grid.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class FiniteDifferenceOperator {
+
+  /**
+   * The grid.
+   */
+  private final FiniteDifferenceGrid grid;
+  /**
+   * The coefficient of the node below, by time step and spot node.
+   */
+  final double[][] lower;
+  /**
+   * The coefficient of the node, by time step and spot node.
+   */
+  final double[][] diagonal;
+  /**
+   * The coefficient of the node above, by time step and spot node.
+   */
+  final double[][] upper;
+  /**
+   * The discount factor from zero to each time node.
+   */
+  private final double[] discountFactors;
+  /**
+   * The forward factor from zero to each time node, the ratio of the forward to the spot.
+   */
+  private final double[] forwardFactors;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the operator of the local volatility model.
+   * <p>
+   * The local volatility surface must be spanned by time and spot.
+   * The interest rate and dividend rate must be zero-coupon continuously compounded rates.
+   * Thus {@code interestRate} and {@code dividendRate} are functions from year fraction to zero rate.
+   *
+   * @param grid  the grid
+   * @param localVolatility  the local volatility surface
+   * @param interestRate  the interest rate
+   * @param dividendRate  the dividend rate
+   * @return the operator
+   */
+  public static FiniteDifferenceOperator ofLocalVolatility(
+      FiniteDifferenceGrid grid,
+      Surface localVolatility,
+      Function<Double, Double> interestRate,
+      Function<Double, Double> dividendRate) {
+
+    ArgChecker.notNull(grid, "grid");
+    ArgChecker.notNull(localVolatility, "localVolatility");
+    ArgChecker.notNull(interestRate, "interestRate");
+    ArgChecker.notNull(dividendRate, "dividendRate");
+    int nbSteps = grid.getNumberOfTimeSteps();
+    double[] spots = grid.spots();
+    int nbNodes = spots.length;
+    double[] discountFactors = new double[nbSteps + 1];
+    double[] forwardFactors = new double[nbSteps + 1];
+    double[] logDiscount = new double[nbSteps + 1];
+    double[] logDividend = new double[nbSteps + 1];
+    discountFactors[0] = 1d;
+    forwardFactors[0] = 1d;
+    for (int j = 1; j <= nbSteps; j++) {
+      double time = grid.getTime(j);
+      logDiscount[j] = -interestRate.apply(time) * time;
+      logDividend[j] = -dividendRate.apply(time) * time;
+      discountFactors[j] = Math.exp(logDiscount[j]);
+      forwardFactors[j] = Math.exp(logDividend[j] - logDiscount[j]);
+    }
+    double[][] lower = new double[nbSteps][nbNodes];
+    double[][] diagonal = new double[nbSteps][nbNodes];
+    double[][] upper = new double[nbSteps][nbNodes];
+    for (int j = 0; j < nbSteps; j++) {
+      double dt = grid.getTime(j + 1) - grid.getTime(j);
+      double middleTime = 0.5 * (grid.getTime(j) + grid.getTime(j + 1));
+      double rate = (logDiscount[j] - logDiscount[j + 1]) / dt;
+      double dividend = (logDividend[j] - logDividend[j + 1]) / dt;
+      for (int i = 1; i < nbNodes - 1; i++) {
+        double spot = spots[i];
+        double hDown = spot - spots[i - 1];
+        double hUp = spots[i + 1] - spot;
+        double vol = localVolatility.zValue(middleTime, spot);
+        double diffusion = 0.5 * vol * vol * spot * spot;
+        double drift = (rate - dividend) * spot;
+        lower[j][i] = (2d * diffusion - drift * hUp) / (hDown * (hDown + hUp));
+        upper[j][i] = (2d * diffusion + drift * hDown) / (hUp * (hDown + hUp));
+        diagonal[j][i] = (-2d * diffusion + drift * (hUp - hDown)) / (hDown * hUp) - rate;
+      }
+    }
+    return new FiniteDifferenceOperator(grid, lower, diagonal, upper, discountFactors, forwardFactors);
+  }
+
+  // restricted constructor
+  private FiniteDifferenceOperator(
+      FiniteDifferenceGrid grid,
+      double[][] lower,
+      double[][] diagonal,
+      double[][] upper,
+      double[] discountFactors,
+      double[] forwardFactors) {
+
+    this.grid = grid;
+    this.lower = lower;
+    this.diagonal = diagonal;
+    this.upper = upper;
+    this.discountFactors = discountFactors;
+    this.forwardFactors = forwardFactors;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the grid.
+   *
+   * @return the grid
+   */
+  public FiniteDifferenceGrid getGrid() {
+    return grid;
+  }
+
+  /**
+   * Calculates the discount factor between a time step and expiry.
+   * <p>
+   * The time is interpolated within the time step, log-linearly in the discount factor.
+   *
+   * @param step  the index of the time step
+   * @param fraction  the fraction of the time step, between 0 and 1
+   * @return the discount factor
+   */
+  double discountFactorToExpiry(int step, double fraction) {
+    return discountFactors[discountFactors.length - 1] / interpolate(discountFactors, step, fraction);
+  }
+
+  /**
+   * Calculates the forward factor between a time step and expiry.
+   * <p>
+   * The time is interpolated within the time step, log-linearly in the forward factor.
+   *
+   * @param step  the index of the time step
+   * @param fraction  the fraction of the time step, between 0 and 1
+   * @return the forward factor
+   */
+  double forwardFactorToExpiry(int step, double fraction) {
+    return forwardFactors[forwardFactors.length - 1] / interpolate(forwardFactors, step, fraction);
+  }
+
+  // log-linear interpolation within a time step
+  private static double interpolate(double[] factors, int step, double fraction) {
+    if (fraction == 0d) {
+      return factors[step];
+    }
+    return factors[step] * Math.pow(factors[step + 1] / factors[step], fraction);
+  }
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.pde;
+
+import java.util.Optional;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.product.common.PutCall;
+import com.opengamma.strata.product.option.BarrierType;
+
+/**
+ * European option priced by finite difference.
+ * <p>
+ * The option is either a vanilla option or a single barrier knock-out option with a continuously monitored
+ * constant barrier. The rebate of a knock-out option is paid when the barrier is hit.
+ * Knock-in options are priced by in-out parity.
+ * <p>
+ * The expiry of the option is the time to expiry of the grid used to price it.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class FiniteDifferenceOption {
+
+  /**
+   * The strike.
+   */
+  private final double strike;
+  /**
+   * The sign, +1 for call and -1 for put.
+   */
+  private final double sign;
+  /**
+   * The barrier type, null for a vanilla option.
+   */
+  private final BarrierType barrierType;
+  /**
+   * The barrier level.
+   */
+  private final double barrierLevel;
+  /**
+   * The rebate.
+   */
+  private final double rebate;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a vanilla option.
+   *
+   * @param strike  the strike
+   * @param putCall  put or call
+   * @return the option
+   */
+  public static FiniteDifferenceOption vanilla(double strike, PutCall putCall) {
+    ArgChecker.notNull(putCall, "putCall");
+    return new FiniteDifferenceOption(strike, putCall.isCall() ? 1d : -1d, null, 0d, 0d);
+  }
+
+  /**
+   * Obtains a single barrier knock-out option.
+   *
+   * @param strike  the strike
+   * @param putCall  put or call
+   * @param barrierType  the barrier type
+   * @param barrierLevel  the barrier level
+   * @param rebate  the rebate, paid when the barrier is hit
+   * @return the option
+   */
+  public static FiniteDifferenceOption knockOut(
+      double strike,
+      PutCall putCall,
+      BarrierType barrierType,
+      double barrierLevel,
+      double rebate) {
+
+    ArgChecker.notNull(putCall, "putCall");
+    ArgChecker.notNull(barrierType, "barrierType");
+    ArgChecker.notNegativeOrZero(barrierLevel, "barrierLevel");
+    return new FiniteDifferenceOption(strike, putCall.isCall() ? 1d : -1d, barrierType, barrierLevel, rebate);
+  }
+
+  // restricted constructor
+  private FiniteDifferenceOption(
+      double strike,
+      double sign,
+      BarrierType barrierType,
+      double barrierLevel,
+      double rebate) {
+
+    this.strike = ArgChecker.notNegative(strike, "strike");
+    this.sign = sign;
+    this.barrierType = barrierType;
+    this.barrierLevel = barrierLevel;
+    this.rebate = rebate;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the strike.
+   *
+   * @return the strike
+   */
+  public double getStrike() {
+    return strike;
+  }
+
+  /**
+   * Gets whether the option is put or call.
+   *
+   * @return put or call
+   */
+  public PutCall getPutCall() {
+    return sign > 0d ? PutCall.CALL : PutCall.PUT;
+  }
+
+  /**
+   * Gets the barrier type, empty for a vanilla option.
+   *
+   * @return the barrier type
+   */
+  public Optional<BarrierType> getBarrierType() {
+    return Optional.ofNullable(barrierType);
+  }
+
+  /**
+   * Gets the barrier level, zero for a vanilla option.
+   *
+   * @return the barrier level
+   */
+  public double getBarrierLevel() {
+    return barrierLevel;
+  }
+
+  /**
+   * Gets the rebate, zero for a vanilla option.
+   *
+   * @return the rebate
+   */
+  public double getRebate() {
+    return rebate;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if the option is knocked out at the spot.
+   * <p>
+   * The barrier is hit when the spot reaches the barrier level.
+   *
+   * @param spot  the spot
+   * @return true if the option is knocked out
+   */
+  public boolean isKnockedOut(double spot) {
+    if (barrierType == null) {
+      return false;
+    }
+    return barrierType.isDown() ? spot <= barrierLevel : spot >= barrierLevel;
+  }
+
+  /**
+   * Calculates the payoff at expiry.
+   *
+   * @param spot  the spot at expiry
+   * @return the payoff
+   */
+  public double payoff(double spot) {
+    if (isKnockedOut(spot)) {
+      return rebate;
+    }
+    return Math.max(sign * (spot - strike), 0d);
+  }
+
+}
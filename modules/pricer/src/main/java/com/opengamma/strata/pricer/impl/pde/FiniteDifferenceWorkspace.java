@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.pde;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Workspace used by the finite difference solver.
+ * <p>
+ * The workspace holds the arrays used at each time step, so that no array is allocated
+ * when rolling an option back through the grid.
+ * A workspace can be reused for any number of options priced on grids with the same number of spot nodes.
+ * <p>
+ * This class is mutable and not thread-safe. Each thread must use its own workspace.
+ */
+public final class FiniteDifferenceWorkspace {
+
+  /**
+   * The option values at the spot nodes.
+   */
+  final double[] values;
+  /**
+   * The right hand side of the linear system.
+   */
+  final double[] rhs;
+  /**
+   * The lower sub-diagonal of the linear system.
+   */
+  final double[] lower;
+  /**
+   * The diagonal of the linear system.
+   */
+  final double[] diagonal;
+  /**
+   * The upper sub-diagonal of the linear system.
+   */
+  final double[] upper;
+
+  /**
+   * Creates a workspace for a grid.
+   *
+   * @param grid  the grid
+   * @return the workspace
+   */
+  public static FiniteDifferenceWorkspace of(FiniteDifferenceGrid grid) {
+    ArgChecker.notNull(grid, "grid");
+    return new FiniteDifferenceWorkspace(grid.getNumberOfSpotNodes());
+  }
+
+  // restricted constructor
+  private FiniteDifferenceWorkspace(int nbNodes) {
+    this.values = new double[nbNodes];
+    this.rhs = new double[nbNodes];
+    this.lower = new double[nbNodes - 1];
+    this.diagonal = new double[nbNodes];
+    this.upper = new double[nbNodes - 1];
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of spot nodes of the grids the workspace can be used with.
+   *
+   * @return the number of spot nodes
+   */
+  public int getNumberOfSpotNodes() {
+    return values.length;
+  }
+
+}
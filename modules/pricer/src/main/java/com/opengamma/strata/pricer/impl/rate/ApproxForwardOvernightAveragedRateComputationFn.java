@@ -9,6 +9,7 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.OptionalDouble;
 
 import com.opengamma.strata.basics.date.DayCount;
@@ -20,6 +21,7 @@ import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.pricer.PricingException;
+import com.opengamma.strata.pricer.rate.CumulativeOvernightFixings;
 import com.opengamma.strata.pricer.rate.OvernightIndexRates;
 import com.opengamma.strata.pricer.rate.RateComputationFn;
 import com.opengamma.strata.pricer.rate.RatesProvider;
@@ -29,6 +31,7 @@ import com.opengamma.strata.product.rate.OvernightAveragedRateComputation;
 * Rate computation implementation for a rate based on a single overnight index that is arithmetically averaged.
 * <p>
 * The rate already fixed are retrieved from the time series of the {@link RatesProvider}.
+* When available, the cumulative index of the fixings is used to add the fixed rates in a single lookup.
 * The rate in the future and not in the cut-off period are computed by approximation.
 * The rate in the cut-off period (already fixed or forward) are added.
 * <p>
@@ -217,12 +220,14 @@ public class ApproxForwardOvernightAveragedRateComputationFn
     private final double accrualFactorTotal;
     private final int nbPeriods;
     private final OvernightIndex index;
+    private final HolidayCalendar fixingCalendar;
     private final int cutoffOffset;
 
     // Construct all the details related to the observation: fixing dates, publication dates, start and end dates, 
     // accrual factors, number of already fixed ON rates.
     private ObservationDetails(OvernightAveragedRateComputation computation, OvernightIndexRates rates) {
       this.index = computation.getIndex();
+      this.fixingCalendar = computation.getFixingCalendar();
       this.rates = rates;
       LocalDate startFixingDate = computation.getStartDate();
       LocalDate endFixingDateP1 = computation.getEndDate();
@@ -257,6 +262,21 @@ public class ApproxForwardOvernightAveragedRateComputationFn
     // fixedPeriod is altered by this method.
     private double pastAccumulation() {
       double accumulatedInterest = 0.0d;
+      // periods published strictly before valuation date and not in the cutoff period, from the cumulative index
+      // the index is only used, and thus built, if the period has started
+      int nbPublished = publishedPeriods();
+      if (nbPublished > fixedPeriod) {
+        Optional<CumulativeOvernightFixings> cumulativeFixings = rates.cumulativeFixings(fixingCalendar);
+        OptionalDouble interest = cumulativeFixings.isPresent() ?
+            cumulativeFixings.get().accumulatedInterest(
+                observations.get(fixedPeriod).getFixingDate(),
+                observations.get(nbPublished - 1).getFixingDate().plusDays(1)) :
+            OptionalDouble.empty();
+        if (interest.isPresent()) {
+          accumulatedInterest = interest.getAsDouble();
+          fixedPeriod = nbPublished;
+        }
+      }
       LocalDateDoubleTimeSeries indexFixingDateSeries = rates.getFixings();
       while ((fixedPeriod < nbPeriods) &&
           rates.getValuationDate().isAfter(observations.get(fixedPeriod).getPublicationDate())) {
@@ -268,6 +288,22 @@ public class ApproxForwardOvernightAveragedRateComputationFn
       return accumulatedInterest;
     }
 
+    // The number of periods not in the cutoff period with publication strictly before valuation date.
+    // The publication dates are in increasing order.
+    private int publishedPeriods() {
+      int low = 0;
+      int high = Math.max(nbPeriods - cutoffOffset + 1, 0);
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (rates.getValuationDate().isAfter(observations.get(mid).getPublicationDate())) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
     // Accumulated rate - publication on valuation: Check if a fixing is available on current date.
     // fixedPeriod is altered by this method.
     private double valuationDateAccumulation() {
@@ -6,9 +6,11 @@
 package com.opengamma.strata.pricer.impl.rate;
 
 import java.time.LocalDate;
+import java.util.Optional;
 import java.util.OptionalDouble;
 
 import com.opengamma.strata.basics.date.DayCount;
+import com.opengamma.strata.basics.date.HolidayCalendar;
 import com.opengamma.strata.basics.index.OvernightIndex;
 import com.opengamma.strata.basics.index.OvernightIndexObservation;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
@@ -17,6 +19,7 @@ import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.pricer.PricingException;
+import com.opengamma.strata.pricer.rate.CumulativeOvernightFixings;
 import com.opengamma.strata.pricer.rate.OvernightIndexRates;
 import com.opengamma.strata.pricer.rate.RateComputationFn;
 import com.opengamma.strata.pricer.rate.RatesProvider;
@@ -26,6 +29,7 @@ import com.opengamma.strata.product.rate.OvernightCompoundedRateComputation;
 * Rate computation implementation for a rate based on a single overnight index that is compounded.
 * <p>
 * Rates that are already fixed are retrieved from the time series of the {@link RatesProvider}.
+* When available, the cumulative index of the fixings is used to compound the fixed rates in a single lookup.
 * Rates that are in the future and not in the cut-off period are computed as unique forward rate in the full future period.
 * Rates that are in the cut-off period (already fixed or forward) are compounded.
 */
@@ -127,6 +131,23 @@ public class ForwardOvernightCompoundedRateComputationFn
     private double pastCompositionFactor() {
       double compositionFactor = 1.0d;
       LocalDate currentFixing = firstFixing;
+      // fixings published strictly before valuation date in the non-cutoff period, from the cumulative index
+      // the index is only used, and thus built, if the period has started
+      LocalDate endFixing = firstUnpublishedFixing();
+      if (endFixing.isAfter(lastFixingNonCutoff)) {
+        endFixing = lastFixingNonCutoff;
+      }
+      if (endFixing.isAfter(firstFixing)) {
+        Optional<CumulativeOvernightFixings> cumulativeFixings =
+            rates.cumulativeFixings(computation.getFixingCalendar());
+        OptionalDouble factor = cumulativeFixings.isPresent() ?
+            cumulativeFixings.get().compoundedFactor(firstFixing, endFixing) :
+            OptionalDouble.empty();
+        if (factor.isPresent()) {
+          compositionFactor = factor.getAsDouble();
+          currentFixing = endFixing;
+        }
+      }
       LocalDate currentPublication = computation.calculatePublicationFromFixing(currentFixing);
       while ((currentFixing.isBefore(lastFixingNonCutoff)) && // fixing in the non-cutoff period
           rates.getValuationDate().isAfter(currentPublication)) { // publication before valuation
@@ -153,6 +174,13 @@ public class ForwardOvernightCompoundedRateComputationFn
       return compositionFactor;
     }
 
+    // The first fixing date with publication on or after valuation date
+    private LocalDate firstUnpublishedFixing() {
+      HolidayCalendar calendar = computation.getFixingCalendar();
+      int publicationOffset = computation.getIndex().getPublicationDateOffset();
+      return calendar.shift(calendar.nextOrSame(rates.getValuationDate()), -publicationOffset);
+    }
+
     // Composition - publication on valuation date: Check if a fixing is available on current date
     private double valuationCompositionFactor() {
       LocalDate currentFixing = nextFixing;
@@ -0,0 +1,321 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.rate.model;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.math.impl.random.CounterBasedRandomEngine;
+import com.opengamma.strata.math.impl.random.NormalRandomNumberGenerator;
+import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
+import com.opengamma.strata.math.impl.statistics.distribution.ProbabilityDistribution;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+
+/**
+ * Generator of Monte Carlo paths in the Hull-White one factor model with piecewise constant volatility.
+ * <p>
+ * The paths are generated in the forward measure associated to the zero-coupon bond maturing at the numeraire time.
+ * In this measure, the price at time t of the zero-coupon bond maturing at u divided by the numeraire is
+ * <pre>
+ * P(t,u) / P(t,T) = P(0,u) / P(0,T) exp(H(u) X(t) - H(u)^2 V(t) / 2)
+ * </pre>
+ * where T is the numeraire time, H(u) = (exp(-a T) - exp(-a u)) / a is the {@linkplain #volatilityFactor(double)
+ * volatility factor}, a is the mean reversion and X is a Gaussian martingale with variance
+ * <pre>
+ * V(t) = integral of sigma(s)^2 exp(2 a s) between 0 and t.
+ * </pre>
+ * A path is made of the values of the factor X at each simulation time.
+ * <p>
+ * Each path is identified by its index and is generated from its own random numbers, depending only
+ * on the seed and the index. A path is thus the same whatever the other paths generated with it,
+ * which allows the paths to be generated in blocks, in any order and on several threads.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class HullWhiteOneFactorMonteCarloPathGenerator {
+
+  /**
+   * The standard normal distribution, used to transform the quasi-random numbers.
+   */
+  private static final ProbabilityDistribution<Double> NORMAL = new NormalDistribution(0d, 1d);
+  /**
+   * The smallest uniform number used with the quasi-random sampling.
+   */
+  private static final double MIN_UNIFORM = 1e-12;
+
+  /**
+   * The mean reversion.
+   */
+  private final double meanReversion;
+  /**
+   * The numeraire time.
+   */
+  private final double numeraireTime;
+  /**
+   * The simulation times.
+   */
+  private final double[] simulationTimes;
+  /**
+   * The variance of the factor at each simulation time.
+   */
+  private final double[] variances;
+  /**
+   * The standard deviation of the increment of the factor between consecutive simulation times.
+   */
+  private final double[] incrementStdDev;
+  /**
+   * The sampling.
+   */
+  private final MonteCarloSampling sampling;
+  /**
+   * The seed.
+   */
+  private final long seed;
+  /**
+   * The prime base of the Halton sequence in each dimension, only used with the quasi-random sampling.
+   */
+  private final int[] haltonBases;
+  /**
+   * The random shift of the Halton sequence in each dimension, only used with the quasi-random sampling.
+   */
+  private final double[] haltonShifts;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   * <p>
+   * The simulation times must be positive and in increasing order.
+   * The numeraire time must not be before the last simulation time.
+   *
+   * @param parameters  the Hull-White model parameters
+   * @param simulationTimes  the simulation times
+   * @param numeraireTime  the maturity of the zero-coupon bond used as numeraire
+   * @param sampling  the sampling
+   * @param seed  the seed of the random numbers
+   * @return the generator
+   */
+  public static HullWhiteOneFactorMonteCarloPathGenerator of(
+      HullWhiteOneFactorPiecewiseConstantParameters parameters,
+      DoubleArray simulationTimes,
+      double numeraireTime,
+      MonteCarloSampling sampling,
+      long seed) {
+
+    return new HullWhiteOneFactorMonteCarloPathGenerator(parameters, simulationTimes, numeraireTime, sampling, seed);
+  }
+
+  // restricted constructor
+  private HullWhiteOneFactorMonteCarloPathGenerator(
+      HullWhiteOneFactorPiecewiseConstantParameters parameters,
+      DoubleArray simulationTimes,
+      double numeraireTime,
+      MonteCarloSampling sampling,
+      long seed) {
+
+    ArgChecker.notNull(parameters, "parameters");
+    ArgChecker.notNull(simulationTimes, "simulationTimes");
+    this.meanReversion = parameters.getMeanReversion();
+    this.numeraireTime = numeraireTime;
+    this.simulationTimes = ArgChecker.notEmpty(simulationTimes.toArray(), "simulationTimes");
+    this.sampling = ArgChecker.notNull(sampling, "sampling");
+    this.seed = seed;
+    int nbTimes = this.simulationTimes.length;
+    ArgChecker.isTrue(this.simulationTimes[0] > 0d, "simulation times must be positive");
+    for (int i = 1; i < nbTimes; i++) {
+      ArgChecker.isTrue(this.simulationTimes[i - 1] < this.simulationTimes[i], "simulation times must be increasing");
+    }
+    ArgChecker.isTrue(numeraireTime >= this.simulationTimes[nbTimes - 1],
+        "numeraire time must not be before the last simulation time");
+    this.variances = new double[nbTimes];
+    this.incrementStdDev = new double[nbTimes];
+    double previousTime = 0d;
+    double variance = 0d;
+    for (int i = 0; i < nbTimes; i++) {
+      double increment = variance(parameters, previousTime, this.simulationTimes[i]);
+      variance += increment;
+      variances[i] = variance;
+      incrementStdDev[i] = Math.sqrt(increment);
+      previousTime = this.simulationTimes[i];
+    }
+    if (sampling == MonteCarloSampling.QUASI_RANDOM) {
+      this.haltonBases = primes(nbTimes);
+      this.haltonShifts = new double[nbTimes];
+      CounterBasedRandomEngine engine = new CounterBasedRandomEngine(seed, -1L);
+      for (int i = 0; i < nbTimes; i++) {
+        haltonShifts[i] = engine.raw();
+      }
+    } else {
+      this.haltonBases = null;
+      this.haltonShifts = null;
+    }
+  }
+
+  // the integral of sigma(s)^2 exp(2 a s) between start and end
+  private static double variance(HullWhiteOneFactorPiecewiseConstantParameters parameters, double start, double end) {
+    double a = parameters.getMeanReversion();
+    DoubleArray volatility = parameters.getVolatility();
+    DoubleArray volatilityTime = parameters.getVolatilityTime();
+    double variance = 0d;
+    for (int i = 0; i < volatility.size(); i++) {
+      double periodStart = Math.max(start, volatilityTime.get(i));
+      double periodEnd = Math.min(end, volatilityTime.get(i + 1));
+      if (periodStart < periodEnd) {
+        double vol = volatility.get(i);
+        variance += vol * vol * (Math.exp(2d * a * periodEnd) - Math.exp(2d * a * periodStart)) / (2d * a);
+      }
+    }
+    return variance;
+  }
+
+  // the first prime numbers
+  private static int[] primes(int nbPrimes) {
+    int[] primes = new int[nbPrimes];
+    int count = 0;
+    for (int candidate = 2; count < nbPrimes; candidate++) {
+      boolean isPrime = true;
+      for (int i = 0; i < count && primes[i] * primes[i] <= candidate; i++) {
+        if (candidate % primes[i] == 0) {
+          isPrime = false;
+          break;
+        }
+      }
+      if (isPrime) {
+        primes[count++] = candidate;
+      }
+    }
+    return primes;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the numeraire time.
+   *
+   * @return the maturity of the zero-coupon bond used as numeraire
+   */
+  public double getNumeraireTime() {
+    return numeraireTime;
+  }
+
+  /**
+   * Gets the simulation times.
+   *
+   * @return the simulation times
+   */
+  public DoubleArray getSimulationTimes() {
+    return DoubleArray.copyOf(simulationTimes);
+  }
+
+  /**
+   * Gets the variance of the factor at each simulation time.
+   *
+   * @return the variances
+   */
+  public DoubleArray getVariances() {
+    return DoubleArray.copyOf(variances);
+  }
+
+  /**
+   * Calculates the volatility factor of a zero-coupon bond.
+   * <p>
+   * This is the factor H(u) in the description of the class.
+   *
+   * @param maturity  the maturity time of the bond
+   * @return the volatility factor
+   */
+  public double volatilityFactor(double maturity) {
+    return (Math.exp(-meanReversion * numeraireTime) - Math.exp(-meanReversion * maturity)) / meanReversion;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Generates a block of paths.
+   * <p>
+   * The result is indexed by simulation time, then by path, so that the values of the factor
+   * at a given simulation time are contiguous.
+   *
+   * @param firstPath  the index of the first path
+   * @param nbPaths  the number of paths
+   * @return the values of the factor, indexed by simulation time and path
+   */
+  public double[][] generatePaths(int firstPath, int nbPaths) {
+    ArgChecker.notNegative(nbPaths, "nbPaths");
+    double[][] paths = new double[simulationTimes.length][nbPaths];
+    generatePaths(firstPath, paths);
+    return paths;
+  }
+
+  /**
+   * Generates a block of paths into an existing array.
+   * <p>
+   * The number of paths generated is the length of the rows of the array.
+   * This allows the same array to be used for each block.
+   *
+   * @param firstPath  the index of the first path
+   * @param paths  the array filled with the values of the factor, indexed by simulation time and path
+   */
+  public void generatePaths(int firstPath, double[][] paths) {
+    ArgChecker.notNegative(firstPath, "firstPath");
+    ArgChecker.isTrue(paths.length == simulationTimes.length, "paths must have one row for each simulation time");
+    int nbTimes = simulationTimes.length;
+    int nbPaths = paths[0].length;
+    double[] normals = new double[nbTimes];
+    for (int i = 0; i < nbPaths; i++) {
+      normals(firstPath + i, normals);
+      double factor = 0d;
+      for (int j = 0; j < nbTimes; j++) {
+        factor += incrementStdDev[j] * normals[j];
+        paths[j][i] = factor;
+      }
+    }
+  }
+
+  // the standard normal random numbers of a path
+  private void normals(long pathIndex, double[] normals) {
+    switch (sampling) {
+      case PSEUDO_RANDOM:
+        pseudoRandomNormals(pathIndex, normals);
+        break;
+      case ANTITHETIC:
+        pseudoRandomNormals(pathIndex / 2, normals);
+        if (pathIndex % 2 == 1) {
+          for (int i = 0; i < normals.length; i++) {
+            normals[i] = -normals[i];
+          }
+        }
+        break;
+      case QUASI_RANDOM:
+        for (int i = 0; i < normals.length; i++) {
+          double uniform = radicalInverse(pathIndex + 1, haltonBases[i]) + haltonShifts[i];
+          uniform -= Math.floor(uniform);
+          normals[i] = NORMAL.getInverseCDF(Math.min(Math.max(uniform, MIN_UNIFORM), 1d - MIN_UNIFORM));
+        }
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown sampling: " + sampling);
+    }
+  }
+
+  // the pseudo-random numbers of a stream
+  private void pseudoRandomNormals(long stream, double[] normals) {
+    double[] values = new NormalRandomNumberGenerator(0d, 1d, new CounterBasedRandomEngine(seed, stream))
+        .getVector(normals.length);
+    System.arraycopy(values, 0, normals, 0, normals.length);
+  }
+
+  // the radical inverse of the index in the base, the Halton sequence
+  private static double radicalInverse(long index, int base) {
+    double inverseBase = 1d / base;
+    double factor = inverseBase;
+    double result = 0d;
+    long remainder = index;
+    while (remainder > 0) {
+      result += (remainder % base) * factor;
+      remainder /= base;
+      factor *= inverseBase;
+    }
+    return result;
+  }
+
+}
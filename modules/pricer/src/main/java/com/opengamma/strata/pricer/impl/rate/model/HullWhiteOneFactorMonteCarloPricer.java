@@ -0,0 +1,370 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.rate.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.math.impl.statistics.leastsquare.GeneralizedLeastSquare;
+import com.opengamma.strata.pricer.impl.ParallelTasks;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+
+/**
+ * Monte Carlo pricer of Bermudan options in the Hull-White one factor model with piecewise constant volatility.
+ * <p>
+ * The option gives the right to enter, at one of the exercise times, into the underlying
+ * represented by its cash flow equivalent. The cash flows of the underlying for each exercise time
+ * are provided as times and amounts discounted to today, as in the explicit formula for European swaptions.
+ * The amounts are signed, positive for amounts received by the option holder.
+ * <p>
+ * The paths are generated by {@link HullWhiteOneFactorMonteCarloPathGenerator}, in the forward measure
+ * associated to the last cash flow time. The exercise strategy is estimated by least-squares regression
+ * (Longstaff-Schwartz) using {@link GeneralizedLeastSquare}. The continuation value at each exercise time
+ * is regressed on a cubic polynomial of the normalized factor, using a set of regression paths that is
+ * independent of the pricing paths. The option is then priced with the estimated strategy on the pricing paths.
+ * <p>
+ * The paths are generated and priced in blocks, each block being stored in primitive arrays.
+ * The blocks are independent of one another and can be priced in parallel using an executor.
+ * As each path is generated from its own random numbers and the blocks are combined in order,
+ * the price does not depend on the executor.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class HullWhiteOneFactorMonteCarloPricer {
+
+  /**
+   * The default number of paths in each block.
+   */
+  public static final int DEFAULT_BLOCK_SIZE = 1000;
+  /**
+   * The least square solver.
+   */
+  private static final GeneralizedLeastSquare LEAST_SQUARE = new GeneralizedLeastSquare();
+  /**
+   * The basis functions of the regression, a cubic polynomial.
+   */
+  private static final List<Function<Double, Double>> BASIS_FUNCTIONS = ImmutableList.of(
+      x -> 1d,
+      x -> x,
+      x -> x * x,
+      x -> x * x * x);
+  /**
+   * The minimal number of in-the-money regression paths for each basis function.
+   * <p>
+   * The option is not exercised early at an exercise time with fewer in-the-money regression paths.
+   */
+  private static final int MIN_PATHS_PER_BASIS_FUNCTION = 10;
+
+  /**
+   * The number of paths used to price the option.
+   */
+  private final int nbPaths;
+  /**
+   * The number of paths used to estimate the exercise strategy.
+   */
+  private final int nbRegressionPaths;
+  /**
+   * The number of paths in each block.
+   */
+  private final int blockSize;
+  /**
+   * The sampling.
+   */
+  private final MonteCarloSampling sampling;
+  /**
+   * The seed of the random numbers.
+   */
+  private final long seed;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   * <p>
+   * The exercise strategy is estimated with a quarter of the number of pricing paths,
+   * and the paths are generated in blocks of {@link #DEFAULT_BLOCK_SIZE}.
+   *
+   * @param nbPaths  the number of paths used to price the option
+   * @param sampling  the sampling
+   * @param seed  the seed of the random numbers
+   * @return the pricer
+   */
+  public static HullWhiteOneFactorMonteCarloPricer of(int nbPaths, MonteCarloSampling sampling, long seed) {
+    return of(nbPaths, Math.max(nbPaths / 4, 1), DEFAULT_BLOCK_SIZE, sampling, seed);
+  }
+
+  /**
+   * Obtains an instance specifying the number of regression paths and the size of the blocks.
+   *
+   * @param nbPaths  the number of paths used to price the option
+   * @param nbRegressionPaths  the number of paths used to estimate the exercise strategy
+   * @param blockSize  the number of paths in each block
+   * @param sampling  the sampling
+   * @param seed  the seed of the random numbers
+   * @return the pricer
+   */
+  public static HullWhiteOneFactorMonteCarloPricer of(
+      int nbPaths,
+      int nbRegressionPaths,
+      int blockSize,
+      MonteCarloSampling sampling,
+      long seed) {
+
+    return new HullWhiteOneFactorMonteCarloPricer(nbPaths, nbRegressionPaths, blockSize, sampling, seed);
+  }
+
+  // restricted constructor
+  private HullWhiteOneFactorMonteCarloPricer(
+      int nbPaths,
+      int nbRegressionPaths,
+      int blockSize,
+      MonteCarloSampling sampling,
+      long seed) {
+
+    this.nbPaths = ArgChecker.notNegativeOrZero(nbPaths, "nbPaths");
+    this.nbRegressionPaths = ArgChecker.notNegativeOrZero(nbRegressionPaths, "nbRegressionPaths");
+    this.blockSize = ArgChecker.notNegativeOrZero(blockSize, "blockSize");
+    this.sampling = ArgChecker.notNull(sampling, "sampling");
+    this.seed = seed;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the price of a Bermudan option.
+   * <p>
+   * For each exercise time, the underlying is described by the times of its cash flows and
+   * the amounts of the cash flows discounted to today. The cash flows must not be before the exercise time.
+   * The price is expressed in the same unit as the discounted amounts.
+   *
+   * @param parameters  the Hull-White model parameters
+   * @param exerciseTimes  the exercise times, positive and in increasing order
+   * @param cashFlowTimes  the times of the cash flows of the underlying, for each exercise time
+   * @param discountedCashFlows  the discounted amounts of the cash flows of the underlying, for each exercise time
+   * @return the price
+   */
+  public double bermudanPrice(
+      HullWhiteOneFactorPiecewiseConstantParameters parameters,
+      DoubleArray exerciseTimes,
+      List<DoubleArray> cashFlowTimes,
+      List<DoubleArray> discountedCashFlows) {
+
+    return price(parameters, exerciseTimes, cashFlowTimes, discountedCashFlows, MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Calculates the price of a Bermudan option, generating and pricing the paths using the executor.
+   * <p>
+   * See {@link #bermudanPrice(HullWhiteOneFactorPiecewiseConstantParameters, DoubleArray, List, List)}.
+   * An executor with several threads allows the blocks of paths to be processed in parallel.
+   * The price does not depend on the executor.
+   *
+   * @param parameters  the Hull-White model parameters
+   * @param exerciseTimes  the exercise times, positive and in increasing order
+   * @param cashFlowTimes  the times of the cash flows of the underlying, for each exercise time
+   * @param discountedCashFlows  the discounted amounts of the cash flows of the underlying, for each exercise time
+   * @param executor  the executor used to process the blocks of paths
+   * @return the price
+   */
+  public double bermudanPrice(
+      HullWhiteOneFactorPiecewiseConstantParameters parameters,
+      DoubleArray exerciseTimes,
+      List<DoubleArray> cashFlowTimes,
+      List<DoubleArray> discountedCashFlows,
+      ExecutorService executor) {
+
+    ArgChecker.notNull(executor, "executor");
+    return price(parameters, exerciseTimes, cashFlowTimes, discountedCashFlows, executor);
+  }
+
+  // generates the regression paths, estimates the exercise strategy, then prices the blocks of paths in order
+  private double price(
+      HullWhiteOneFactorPiecewiseConstantParameters parameters,
+      DoubleArray exerciseTimes,
+      List<DoubleArray> cashFlowTimes,
+      List<DoubleArray> discountedCashFlows,
+      Executor executor) {
+
+    ArgChecker.notNull(exerciseTimes, "exerciseTimes");
+    ArgChecker.notNull(cashFlowTimes, "cashFlowTimes");
+    ArgChecker.notNull(discountedCashFlows, "discountedCashFlows");
+    int nbExercises = exerciseTimes.size();
+    ArgChecker.isTrue(cashFlowTimes.size() == nbExercises, "cashFlowTimes must have one element for each exercise");
+    ArgChecker.isTrue(
+        discountedCashFlows.size() == nbExercises, "discountedCashFlows must have one element for each exercise");
+    double numeraireTime = exerciseTimes.get(nbExercises - 1);
+    for (int i = 0; i < nbExercises; i++) {
+      ArgChecker.isTrue(cashFlowTimes.get(i).size() == discountedCashFlows.get(i).size(),
+          "cash flow times and amounts must have the same size");
+      for (int j = 0; j < cashFlowTimes.get(i).size(); j++) {
+        ArgChecker.isTrue(cashFlowTimes.get(i).get(j) >= exerciseTimes.get(i),
+            "cash flows must not be before the exercise time");
+        numeraireTime = Math.max(numeraireTime, cashFlowTimes.get(i).get(j));
+      }
+    }
+    HullWhiteOneFactorMonteCarloPathGenerator generator =
+        HullWhiteOneFactorMonteCarloPathGenerator.of(parameters, exerciseTimes, numeraireTime, sampling, seed);
+    ExerciseValues exerciseValues = new ExerciseValues(generator, cashFlowTimes, discountedCashFlows);
+    // the regression paths follow the pricing paths, so the two sets of paths are independent
+    List<CompletableFuture<double[][]>> regressionBlocks = new ArrayList<>();
+    for (int first = 0; first < nbRegressionPaths; first += blockSize) {
+      int firstPath = nbPaths + first;
+      int size = Math.min(blockSize, nbRegressionPaths - first);
+      regressionBlocks.add(CompletableFuture.supplyAsync(() -> generator.generatePaths(firstPath, size), executor));
+    }
+    double[][] regressionPaths = new double[nbExercises][nbRegressionPaths];
+    int position = 0;
+    for (CompletableFuture<double[][]> block : regressionBlocks) {
+      double[][] paths = ParallelTasks.join(block);
+      for (int i = 0; i < nbExercises; i++) {
+        System.arraycopy(paths[i], 0, regressionPaths[i], position, paths[i].length);
+      }
+      position += paths[0].length;
+    }
+    double[][] coefficients = exerciseStrategy(exerciseValues, regressionPaths);
+    // the pricing paths
+    List<CompletableFuture<Double>> pricingBlocks = new ArrayList<>();
+    for (int first = 0; first < nbPaths; first += blockSize) {
+      int firstPath = first;
+      int size = Math.min(blockSize, nbPaths - first);
+      pricingBlocks.add(CompletableFuture.supplyAsync(
+          () -> priceBlock(generator, exerciseValues, coefficients, firstPath, size), executor));
+    }
+    double sum = 0d;
+    for (CompletableFuture<Double> block : pricingBlocks) {
+      sum += ParallelTasks.join(block);
+    }
+    return sum / nbPaths;
+  }
+
+  // estimates the exercise strategy by backward induction, returning the regression coefficients for each exercise
+  private static double[][] exerciseStrategy(ExerciseValues exerciseValues, double[][] paths) {
+    int nbExercises = paths.length;
+    int nbPaths = paths[0].length;
+    // the value of the option along each path, in the numeraire unit
+    double[] optionValues = new double[nbPaths];
+    for (int i = 0; i < nbPaths; i++) {
+      optionValues[i] = Math.max(exerciseValues.value(nbExercises - 1, paths[nbExercises - 1][i]), 0d);
+    }
+    double[][] coefficients = new double[nbExercises][];
+    double[] values = new double[nbPaths];
+    for (int k = nbExercises - 2; k >= 0; k--) {
+      int nbInTheMoney = 0;
+      for (int i = 0; i < nbPaths; i++) {
+        values[i] = exerciseValues.value(k, paths[k][i]);
+        if (values[i] > 0d) {
+          nbInTheMoney++;
+        }
+      }
+      if (nbInTheMoney < MIN_PATHS_PER_BASIS_FUNCTION * BASIS_FUNCTIONS.size()) {
+        continue;  // no early exercise
+      }
+      Double[] x = new Double[nbInTheMoney];
+      double[] y = new double[nbInTheMoney];
+      int index = 0;
+      for (int i = 0; i < nbPaths; i++) {
+        if (values[i] > 0d) {
+          x[index] = exerciseValues.normalize(k, paths[k][i]);
+          y[index] = optionValues[i];
+          index++;
+        }
+      }
+      double[] sigma = DoubleArray.filled(nbInTheMoney, 1d).toArray();
+      coefficients[k] = LEAST_SQUARE.solve(x, y, sigma, BASIS_FUNCTIONS).getFitParameters().toArray();
+      for (int i = 0; i < nbPaths; i++) {
+        if (values[i] > 0d &&
+            values[i] > continuationValue(coefficients[k], exerciseValues.normalize(k, paths[k][i]))) {
+          optionValues[i] = values[i];
+        }
+      }
+    }
+    return coefficients;
+  }
+
+  // the sum of the option values on a block of paths, in the numeraire unit
+  private static double priceBlock(
+      HullWhiteOneFactorMonteCarloPathGenerator generator,
+      ExerciseValues exerciseValues,
+      double[][] coefficients,
+      int firstPath,
+      int nbPaths) {
+
+    double[][] paths = generator.generatePaths(firstPath, nbPaths);
+    int nbExercises = paths.length;
+    double sum = 0d;
+    for (int i = 0; i < nbPaths; i++) {
+      for (int k = 0; k < nbExercises; k++) {
+        double value = exerciseValues.value(k, paths[k][i]);
+        if (value > 0d && (k == nbExercises - 1 || coefficients[k] != null &&
+            value > continuationValue(coefficients[k], exerciseValues.normalize(k, paths[k][i])))) {
+          sum += value;
+          break;
+        }
+      }
+    }
+    return sum;
+  }
+
+  // the estimated continuation value, the cubic polynomial evaluated with the Horner scheme
+  private static double continuationValue(double[] coefficients, double x) {
+    return coefficients[0] + x * (coefficients[1] + x * (coefficients[2] + x * coefficients[3]));
+  }
+
+  //-------------------------------------------------------------------------
+  // The value of the underlying at each exercise time as a function of the factor, in the numeraire unit
+  private static final class ExerciseValues {
+    // the discounted amounts, including the convexity term exp(-H^2 V / 2)
+    private final double[][] amounts;
+    // the volatility factors H
+    private final double[][] factors;
+    // the inverse of the standard deviation of the factor
+    private final double[] inverseStdDev;
+
+    private ExerciseValues(
+        HullWhiteOneFactorMonteCarloPathGenerator generator,
+        List<DoubleArray> cashFlowTimes,
+        List<DoubleArray> discountedCashFlows) {
+
+      DoubleArray variances = generator.getVariances();
+      int nbExercises = variances.size();
+      this.amounts = new double[nbExercises][];
+      this.factors = new double[nbExercises][];
+      this.inverseStdDev = new double[nbExercises];
+      for (int k = 0; k < nbExercises; k++) {
+        int nbCashFlows = cashFlowTimes.get(k).size();
+        amounts[k] = new double[nbCashFlows];
+        factors[k] = new double[nbCashFlows];
+        for (int j = 0; j < nbCashFlows; j++) {
+          double factor = generator.volatilityFactor(cashFlowTimes.get(k).get(j));
+          factors[k][j] = factor;
+          amounts[k][j] = discountedCashFlows.get(k).get(j) * Math.exp(-0.5 * factor * factor * variances.get(k));
+        }
+        inverseStdDev[k] = variances.get(k) > 0d ? 1d / Math.sqrt(variances.get(k)) : 0d;
+      }
+    }
+
+    private double value(int exerciseIndex, double x) {
+      double[] amount = amounts[exerciseIndex];
+      double[] factor = factors[exerciseIndex];
+      double value = 0d;
+      for (int j = 0; j < amount.length; j++) {
+        value += amount[j] * Math.exp(factor[j] * x);
+      }
+      return value;
+    }
+
+    private double normalize(int exerciseIndex, double x) {
+      return x * inverseStdDev[exerciseIndex];
+    }
+  }
+
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.rate.model;
+
+/**
+ * The sampling used to generate the paths of a Monte Carlo simulation.
+ */
+public enum MonteCarloSampling {
+
+  /**
+   * Pseudo-random sampling.
+   * <p>
+   * Each path is generated from its own stream of pseudo-random numbers.
+   */
+  PSEUDO_RANDOM,
+  /**
+   * Antithetic sampling.
+   * <p>
+   * The paths are generated in pairs, the second path of a pair using the opposite of the normal
+   * random numbers of the first one. This reduces the variance for payoffs that are monotonic in the factors.
+   */
+  ANTITHETIC,
+  /**
+   * Quasi-random sampling.
+   * <p>
+   * The paths are generated from a low discrepancy (Halton) sequence, randomly shifted using the seed.
+   * The sequence has one dimension for each simulation time, so this is most efficient
+   * when the number of simulation times is small.
+   */
+  QUASI_RANDOM;
+
+}
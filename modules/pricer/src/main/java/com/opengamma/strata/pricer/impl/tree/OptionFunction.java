@@ -131,4 +131,39 @@ public interface OptionFunction {
         transitionProbability.get(j, 1) * value.get(j + 1) + transitionProbability.get(j, 0) * value.get(j)));
   }
 
+  /**
+   * Computes the option values in the intermediate nodes, writing them to an existing array.
+   * <p>
+   * This is equivalent to {@link #getNextOptionValues(double, DoubleMatrix, DoubleArray, DoubleArray, int)},
+   * but allows the backward induction to reuse two arrays rather than allocating an array for each layer.
+   * The option values in the (i+1)-th layer are read from the first (2*i+3) elements of {@code value}.
+   * The option values in the i-th layer are written to the first (2*i+1) elements of {@code result}.
+   * The two arrays must be different and may be longer than required.
+   * <p>
+   * The default implementation invokes
+   * {@link #getNextOptionValues(double, DoubleMatrix, DoubleArray, DoubleArray, int)} and copies the result,
+   * so that options which override that method are handled correctly.
+   * Implementations should override this method to avoid the allocation.
+   * 
+   * @param discountFactor  the discount factor between the two layers
+   * @param transitionProbability  the transition probability
+   * @param stateValue  the state value
+   * @param value  the option values in the (i+1)-th layer, not altered
+   * @param result  the array to which the option values in the i-th layer are written
+   * @param i  the step number for which the next option values are computed
+   */
+  public default void computeNextOptionValues(
+      double discountFactor,
+      DoubleMatrix transitionProbability,
+      DoubleArray stateValue,
+      double[] value,
+      double[] result,
+      int i) {
+
+    int nNodes = 2 * i + 1;
+    DoubleArray next = getNextOptionValues(
+        discountFactor, transitionProbability, stateValue, DoubleArray.ofUnsafe(value).subArray(0, nNodes + 2), i);
+    System.arraycopy(next.toArrayUnsafe(), 0, result, 0, nNodes);
+  }
+
 }
@@ -5,9 +5,13 @@
  */
 package com.opengamma.strata.pricer.impl.tree;
 
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.pricer.fxopt.RecombiningTrinomialTreeData;
 
 /**
@@ -76,14 +80,27 @@ public class TrinomialTree {
       OptionFunction function,
       RecombiningTrinomialTreeData data) {
 
-    int nSteps = data.getNumberOfSteps();
-    ArgChecker.isTrue(nSteps == function.getNumberOfSteps(), "mismatch in number of steps");
-    DoubleArray values = function.getPayoffAtExpiryTrinomial(data.getStateValueAtLayer(nSteps));
-    for (int i = nSteps - 1; i > -1; --i) {
-      values = function.getNextOptionValues(
-          data.getDiscountFactorAtLayer(i), data.getProbabilityAtLayer(i), data.getStateValueAtLayer(i), values, i);
-    }
-    return values.get(0);
+    return optionPrice(ImmutableList.of(function), data).get(0);
+  }
+
+  /**
+   * Price several options under the specified trinomial tree gird.
+   * <p>
+   * The options are rolled back through the tree together, one layer at a time,
+   * so that the data of each layer is only accessed once for all the options.
+   * This is more efficient than pricing the options one by one, for example when
+   * pricing options with different strikes or barriers on the same tree.
+   * 
+   * @param functions  the options
+   * @param data  the trinomial tree data
+   * @return the option prices, in the order of the options
+   */
+  public DoubleArray optionPrice(
+      List<? extends OptionFunction> functions,
+      RecombiningTrinomialTreeData data) {
+
+    double[][] values = rollBack(functions, data, 0);
+    return DoubleArray.of(functions.size(), k -> values[k][0]);
   }
 
   /**
@@ -100,21 +117,78 @@ public class TrinomialTree {
       OptionFunction function,
       RecombiningTrinomialTreeData data) {
 
-    int nSteps = data.getNumberOfSteps();
-    ArgChecker.isTrue(nSteps == function.getNumberOfSteps(), "mismatch in number of steps");
-    DoubleArray values = function.getPayoffAtExpiryTrinomial(data.getStateValueAtLayer(nSteps));
-    double delta = 0d;
-    for (int i = nSteps - 1; i > -1; --i) {
-      values = function.getNextOptionValues(
-          data.getDiscountFactorAtLayer(i), data.getProbabilityAtLayer(i), data.getStateValueAtLayer(i), values, i);
-      if (i == 1) {
-        DoubleArray stateValue = data.getStateValueAtLayer(1);
-        double d1 = (values.get(2) - values.get(1)) / (stateValue.get(2) - stateValue.get(1));
-        double d2 = (values.get(1) - values.get(0)) / (stateValue.get(1) - stateValue.get(0));
+    return optionPriceAdjoint(ImmutableList.of(function), data).get(0);
+  }
+
+  /**
+   * Compute the price and delta of several options under the specified trinomial tree gird.
+   * <p>
+   * The delta is the first derivative of the price with respect to spot, and approximated by the data embedded in 
+   * the trinomial tree.
+   * <p>
+   * The options are rolled back through the tree together,
+   * see {@link #optionPrice(List, RecombiningTrinomialTreeData)}.
+   * 
+   * @param functions  the options
+   * @param data  the trinomial tree data
+   * @return the option price and spot delta, in the order of the options
+   */
+  public List<ValueDerivatives> optionPriceAdjoint(
+      List<? extends OptionFunction> functions,
+      RecombiningTrinomialTreeData data) {
+
+    // roll back to the first layer, which is used for the delta
+    double[][] values = rollBack(functions, data, 1);
+    DoubleArray stateValue = data.getStateValueAtLayer(1);
+    double discountFactor = data.getDiscountFactorAtLayer(0);
+    DoubleMatrix probability = data.getProbabilityAtLayer(0);
+    DoubleArray stateValueAtRoot = data.getStateValueAtLayer(0);
+    ImmutableList.Builder<ValueDerivatives> builder = ImmutableList.builder();
+    for (int k = 0; k < functions.size(); ++k) {
+      double[] layerValues = values[k];
+      double delta = 0d;
+      if (data.getNumberOfSteps() > 1) {
+        double d1 = (layerValues[2] - layerValues[1]) / (stateValue.get(2) - stateValue.get(1));
+        double d2 = (layerValues[1] - layerValues[0]) / (stateValue.get(1) - stateValue.get(0));
         delta = 0.5 * (d1 + d2);
       }
+      double[] price = new double[1];
+      functions.get(k).computeNextOptionValues(discountFactor, probability, stateValueAtRoot, layerValues, price, 0);
+      builder.add(ValueDerivatives.of(price[0], DoubleArray.of(delta)));
+    }
+    return builder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  // rolls the options back to the specified layer, reusing two arrays for each option
+  // the option values at the layer are in the first elements of the returned arrays
+  private double[][] rollBack(
+      List<? extends OptionFunction> functions,
+      RecombiningTrinomialTreeData data,
+      int layer) {
+
+    int nSteps = data.getNumberOfSteps();
+    int nFunctions = functions.size();
+    double[][] values = new double[nFunctions][];
+    double[][] scratch = new double[nFunctions][];
+    for (int k = 0; k < nFunctions; ++k) {
+      OptionFunction function = functions.get(k);
+      ArgChecker.isTrue(nSteps == function.getNumberOfSteps(), "mismatch in number of steps");
+      values[k] = function.getPayoffAtExpiryTrinomial(data.getStateValueAtLayer(nSteps)).toArray();
+      scratch[k] = new double[values[k].length];
+    }
+    for (int i = nSteps - 1; i >= layer; --i) {
+      double discountFactor = data.getDiscountFactorAtLayer(i);
+      DoubleMatrix probability = data.getProbabilityAtLayer(i);
+      DoubleArray stateValue = data.getStateValueAtLayer(i);
+      for (int k = 0; k < nFunctions; ++k) {
+        functions.get(k).computeNextOptionValues(discountFactor, probability, stateValue, values[k], scratch[k], i);
+        double[] swap = values[k];
+        values[k] = scratch[k];
+        scratch[k] = swap;
+      }
     }
-    return ValueDerivatives.of(values.get(0), DoubleArray.of(delta));
+    return values;
   }
 
 }
@@ -5,25 +5,46 @@
  */
 package com.opengamma.strata.pricer.impl.volatility.local;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.function.DoubleBinaryOperator;
 import java.util.function.Function;
 
+import com.google.common.util.concurrent.MoreExecutors;
 import com.opengamma.strata.basics.value.ValueDerivatives;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.tuple.DoublesPair;
 import com.opengamma.strata.market.ValueType;
 import com.opengamma.strata.market.surface.DefaultSurfaceMetadata;
 import com.opengamma.strata.market.surface.DeformedSurface;
+import com.opengamma.strata.market.surface.InterpolatedNodalSurface;
 import com.opengamma.strata.market.surface.Surface;
 import com.opengamma.strata.market.surface.SurfaceMetadata;
 import com.opengamma.strata.market.surface.SurfaceName;
+import com.opengamma.strata.market.surface.interpolator.SurfaceInterpolator;
 import com.opengamma.strata.math.impl.differentiation.ScalarFirstOrderDifferentiator;
 import com.opengamma.strata.math.impl.differentiation.ScalarSecondOrderDifferentiator;
 import com.opengamma.strata.math.impl.differentiation.VectorFieldFirstOrderDifferentiator;
 import com.opengamma.strata.math.impl.differentiation.VectorFieldSecondOrderDifferentiator;
+import com.opengamma.strata.pricer.impl.ParallelTasks;
 
 /**
  * Local volatility computation based on the exact formula.
  * <p>
+ * The local volatility surfaces returned by the {@link LocalVolatilityCalculator} methods compute the local
+ * volatility, and its sensitivity to the parameters of the input surface, each time they are queried.
+ * The derivatives of the input surface are computed numerically for each query.
+ * <p>
+ * Alternatively, the local volatility can be precomputed on a grid of times and strikes,
+ * see {@link #localVolatilityFromImpliedVolatility(Surface, double, Function, Function, DoubleArray, DoubleArray,
+ * SurfaceInterpolator)}. The result is an {@link InterpolatedNodalSurface}, which is cheap to query.
+ * This is the preferred form when the local volatility is queried many times, for example by a tree or a finite
+ * difference pricer. Only the local volatility is computed on the grid, not the sensitivity.
+ * <p>
  * Bruno Dupire, "Pricing with a Smile", Risk (1994).
  */
 public class DupireLocalVolatilityCalculator implements LocalVolatilityCalculator {
@@ -57,7 +78,7 @@ public class DupireLocalVolatilityCalculator implements LocalVolatilityCalculato
         double localVol;
         DoubleArray localVolSensi = DoubleArray.of();
         if (k < SMALL) {
-          localVol = Math.sqrt(vol * vol + 2 * vol * t * (divT));
+          localVol = localVolatilityFromImpliedVolatility(spot, r, q, t, k, vol, divT, 0d, 0d);
           localVolSensi =
               volSensi.multipliedBy((vol + t * divT) / localVol).plus(divTSensi.multipliedBy(vol * t / localVol));
         } else {
@@ -69,15 +90,11 @@ public class DupireLocalVolatilityCalculator implements LocalVolatilityCalculato
           DoubleArray divK2Sensi = SECOND_DERIV_SENSI.differentiateNoCross(
               l -> impliedVolatilitySurface.zValueParameterSensitivity(t, l.get(0)).getSensitivity())
               .apply(DoubleArray.of(k)).column(0);
+          localVol = localVolatilityFromImpliedVolatility(spot, r, q, t, k, vol, divT, divK, divK2);
           double rq = r - q;
           double h1 = (Math.log(spot / k) + (rq + 0.5 * vol * vol) * t) / vol;
           double h2 = h1 - vol * t;
           double den = 1d + 2d * h1 * k * divK + k * k * (h1 * h2 * divK * divK + t * vol * divK2);
-          double var = (vol * vol + 2d * vol * t * (divT + k * rq * divK)) / den;
-          if (var < 0d) {
-            throw new IllegalArgumentException("Negative variance");
-          }
-          localVol = Math.sqrt(var);
           localVolSensi = volSensi.multipliedBy(localVol * k * h2 * divK * (1d + 0.5 * k * h2 * divK) / vol / den +
               0.5 * localVol * Math.pow(k * h1 * divK, 2) / vol / den + (vol + divT * t + rq * t * k * divK) / (localVol * den) -
               0.5 * divK2 * localVol * k * k * t / den)
@@ -125,11 +142,7 @@ public class DupireLocalVolatilityCalculator implements LocalVolatilityCalculato
         DoubleArray divK2Sensi = SECOND_DERIV_SENSI.differentiateNoCross(
             l -> callPriceSurface.zValueParameterSensitivity(t, l.get(0)).getSensitivity())
             .apply(DoubleArray.of(k)).column(0);
-        double var = 2d * (divT + q * price + (r - q) * k * divK) / (k * k * divK2);
-        if (var < 0d) {
-          throw new IllegalArgumentException("Negative variance");
-        }
-        double localVol = Math.sqrt(var);
+        double localVol = localVolatilityFromPrice(r, q, k, price, divT, divK, divK2);
         double factor = 1d / (localVol * k * k * divK2);
         DoubleArray localVolSensi = divTSensi.multipliedBy(factor)
             .plus(divKSensi.multipliedBy((r - q) * k * factor))
@@ -147,4 +160,291 @@ public class DupireLocalVolatilityCalculator implements LocalVolatilityCalculato
     return DeformedSurface.of(metadata, callPriceSurface, func);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the local volatility surface from the implied volatility surface, precomputed on a grid.
+   * <p>
+   * The local volatility is computed at each pair of time and strike of the grid,
+   * and interpolated between the grid nodes by the interpolator.
+   * The value at a node is the value of the surface returned by
+   * {@link #localVolatilityFromImpliedVolatility(Surface, double, Function, Function)} at the same node.
+   * <p>
+   * The interest rate and dividend rate must be zero-coupon continuously compounded rates based on
+   * respective day count convention.
+   * Thus {@code interestRate} and {@code dividendRate} are functions from year fraction to zero rate.
+   *
+   * @param impliedVolatilitySurface  the implied volatility surface
+   * @param spot  the spot
+   * @param interestRate  the interest rate
+   * @param dividendRate  the dividend
+   * @param times  the times of the grid, in increasing order
+   * @param strikes  the strikes of the grid, in increasing order
+   * @param interpolator  the interpolator of the local volatility surface
+   * @return the local volatility surface
+   */
+  public InterpolatedNodalSurface localVolatilityFromImpliedVolatility(
+      Surface impliedVolatilitySurface,
+      double spot,
+      Function<Double, Double> interestRate,
+      Function<Double, Double> dividendRate,
+      DoubleArray times,
+      DoubleArray strikes,
+      SurfaceInterpolator interpolator) {
+
+    return localVolatilityOnGrid(
+        (t, k) -> localVolatilityFromImpliedVolatility(
+            impliedVolatilitySurface, spot, interestRate, dividendRate, t, k),
+        impliedVolatilitySurface.getName(),
+        times,
+        strikes,
+        interpolator,
+        MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Computes the local volatility surface from the implied volatility surface,
+   * precomputed on a grid using the executor.
+   * <p>
+   * See {@link #localVolatilityFromImpliedVolatility(Surface, double, Function, Function, DoubleArray, DoubleArray,
+   * SurfaceInterpolator)}. The times of the grid are computed in parallel if the executor has several threads.
+   * The result does not depend on the executor.
+   *
+   * @param impliedVolatilitySurface  the implied volatility surface
+   * @param spot  the spot
+   * @param interestRate  the interest rate
+   * @param dividendRate  the dividend
+   * @param times  the times of the grid, in increasing order
+   * @param strikes  the strikes of the grid, in increasing order
+   * @param interpolator  the interpolator of the local volatility surface
+   * @param executor  the executor used to compute the times of the grid
+   * @return the local volatility surface
+   */
+  public InterpolatedNodalSurface localVolatilityFromImpliedVolatility(
+      Surface impliedVolatilitySurface,
+      double spot,
+      Function<Double, Double> interestRate,
+      Function<Double, Double> dividendRate,
+      DoubleArray times,
+      DoubleArray strikes,
+      SurfaceInterpolator interpolator,
+      ExecutorService executor) {
+
+    ArgChecker.notNull(executor, "executor");
+    return localVolatilityOnGrid(
+        (t, k) -> localVolatilityFromImpliedVolatility(
+            impliedVolatilitySurface, spot, interestRate, dividendRate, t, k),
+        impliedVolatilitySurface.getName(),
+        times,
+        strikes,
+        interpolator,
+        executor);
+  }
+
+  /**
+   * Computes the local volatility surface from the call price surface, precomputed on a grid.
+   * <p>
+   * The local volatility is computed at each pair of time and strike of the grid,
+   * and interpolated between the grid nodes by the interpolator.
+   * The value at a node is the value of the surface returned by
+   * {@link #localVolatilityFromPrice(Surface, double, Function, Function)} at the same node.
+   * <p>
+   * The interest rate and dividend rate must be zero-coupon continuously compounded rates based on
+   * respective day count convention.
+   * Thus {@code interestRate} and {@code dividendRate} are functions from year fraction to zero rate.
+   *
+   * @param callPriceSurface  the price surface
+   * @param spot  the spot
+   * @param interestRate  the interest rate
+   * @param dividendRate  the dividend rate
+   * @param times  the times of the grid, in increasing order
+   * @param strikes  the strikes of the grid, in increasing order
+   * @param interpolator  the interpolator of the local volatility surface
+   * @return the local volatility surface
+   */
+  public InterpolatedNodalSurface localVolatilityFromPrice(
+      Surface callPriceSurface,
+      double spot,
+      Function<Double, Double> interestRate,
+      Function<Double, Double> dividendRate,
+      DoubleArray times,
+      DoubleArray strikes,
+      SurfaceInterpolator interpolator) {
+
+    return localVolatilityOnGrid(
+        (t, k) -> localVolatilityFromPrice(callPriceSurface, interestRate, dividendRate, t, k),
+        callPriceSurface.getName(),
+        times,
+        strikes,
+        interpolator,
+        MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Computes the local volatility surface from the call price surface, precomputed on a grid using the executor.
+   * <p>
+   * See {@link #localVolatilityFromPrice(Surface, double, Function, Function, DoubleArray, DoubleArray,
+   * SurfaceInterpolator)}. The times of the grid are computed in parallel if the executor has several threads.
+   * The result does not depend on the executor.
+   *
+   * @param callPriceSurface  the price surface
+   * @param spot  the spot
+   * @param interestRate  the interest rate
+   * @param dividendRate  the dividend rate
+   * @param times  the times of the grid, in increasing order
+   * @param strikes  the strikes of the grid, in increasing order
+   * @param interpolator  the interpolator of the local volatility surface
+   * @param executor  the executor used to compute the times of the grid
+   * @return the local volatility surface
+   */
+  public InterpolatedNodalSurface localVolatilityFromPrice(
+      Surface callPriceSurface,
+      double spot,
+      Function<Double, Double> interestRate,
+      Function<Double, Double> dividendRate,
+      DoubleArray times,
+      DoubleArray strikes,
+      SurfaceInterpolator interpolator,
+      ExecutorService executor) {
+
+    ArgChecker.notNull(executor, "executor");
+    return localVolatilityOnGrid(
+        (t, k) -> localVolatilityFromPrice(callPriceSurface, interestRate, dividendRate, t, k),
+        callPriceSurface.getName(),
+        times,
+        strikes,
+        interpolator,
+        executor);
+  }
+
+  //-------------------------------------------------------------------------
+  // computes the local volatility at the nodes of the grid, one task for each time
+  private static InterpolatedNodalSurface localVolatilityOnGrid(
+      DoubleBinaryOperator localVolatility,
+      SurfaceName name,
+      DoubleArray times,
+      DoubleArray strikes,
+      SurfaceInterpolator interpolator,
+      Executor executor) {
+
+    ArgChecker.notEmpty(times.toArray(), "times");
+    ArgChecker.notEmpty(strikes.toArray(), "strikes");
+    ArgChecker.notNull(interpolator, "interpolator");
+    for (int i = 1; i < times.size(); i++) {
+      ArgChecker.isTrue(times.get(i - 1) < times.get(i), "times must be increasing");
+    }
+    for (int j = 1; j < strikes.size(); j++) {
+      ArgChecker.isTrue(strikes.get(j - 1) < strikes.get(j), "strikes must be increasing");
+    }
+    int nbTimes = times.size();
+    int nbStrikes = strikes.size();
+    List<CompletableFuture<double[]>> rows = new ArrayList<>(nbTimes);
+    for (int i = 0; i < nbTimes; i++) {
+      double time = times.get(i);
+      rows.add(CompletableFuture.supplyAsync(
+          () -> strikes.map(strike -> localVolatility.applyAsDouble(time, strike)).toArrayUnsafe(), executor));
+    }
+    double[] xValues = new double[nbTimes * nbStrikes];
+    double[] yValues = new double[nbTimes * nbStrikes];
+    double[] zValues = new double[nbTimes * nbStrikes];
+    for (int i = 0; i < nbTimes; i++) {
+      double[] row = ParallelTasks.join(rows.get(i));
+      for (int j = 0; j < nbStrikes; j++) {
+        xValues[i * nbStrikes + j] = times.get(i);
+        yValues[i * nbStrikes + j] = strikes.get(j);
+        zValues[i * nbStrikes + j] = row[j];
+      }
+    }
+    SurfaceMetadata metadata = DefaultSurfaceMetadata.builder()
+        .xValueType(ValueType.YEAR_FRACTION)
+        .yValueType(ValueType.STRIKE)
+        .zValueType(ValueType.LOCAL_VOLATILITY)
+        .surfaceName(SurfaceName.of("localVol_" + name))
+        .build();
+    return InterpolatedNodalSurface.of(
+        metadata,
+        DoubleArray.ofUnsafe(xValues),
+        DoubleArray.ofUnsafe(yValues),
+        DoubleArray.ofUnsafe(zValues),
+        interpolator);
+  }
+
+  // the local volatility from the implied volatility, with the derivatives computed numerically
+  private static double localVolatilityFromImpliedVolatility(
+      Surface impliedVolatilitySurface,
+      double spot,
+      Function<Double, Double> interestRate,
+      Function<Double, Double> dividendRate,
+      double t,
+      double k) {
+
+    double vol = impliedVolatilitySurface.zValue(t, k);
+    double divT = FIRST_DERIV.differentiate(u -> impliedVolatilitySurface.zValue(u, k)).apply(t);
+    double divK = 0d;
+    double divK2 = 0d;
+    if (k >= SMALL) {
+      divK = FIRST_DERIV.differentiate(l -> impliedVolatilitySurface.zValue(t, l)).apply(k);
+      divK2 = SECOND_DERIV.differentiate(l -> impliedVolatilitySurface.zValue(t, l)).apply(k);
+    }
+    return localVolatilityFromImpliedVolatility(
+        spot, interestRate.apply(t), dividendRate.apply(t), t, k, vol, divT, divK, divK2);
+  }
+
+  // the local volatility from the implied volatility and its derivatives with respect to time and strike
+  private static double localVolatilityFromImpliedVolatility(
+      double spot,
+      double r,
+      double q,
+      double t,
+      double k,
+      double vol,
+      double divT,
+      double divK,
+      double divK2) {
+
+    if (k < SMALL) {
+      return Math.sqrt(vol * vol + 2 * vol * t * (divT));
+    }
+    double rq = r - q;
+    double h1 = (Math.log(spot / k) + (rq + 0.5 * vol * vol) * t) / vol;
+    double h2 = h1 - vol * t;
+    double den = 1d + 2d * h1 * k * divK + k * k * (h1 * h2 * divK * divK + t * vol * divK2);
+    double var = (vol * vol + 2d * vol * t * (divT + k * rq * divK)) / den;
+    if (var < 0d) {
+      throw new IllegalArgumentException("Negative variance");
+    }
+    return Math.sqrt(var);
+  }
+
+  // the local volatility from the call price, with the derivatives computed numerically
+  private static double localVolatilityFromPrice(
+      Surface callPriceSurface,
+      Function<Double, Double> interestRate,
+      Function<Double, Double> dividendRate,
+      double t,
+      double k) {
+
+    double price = callPriceSurface.zValue(t, k);
+    double divT = FIRST_DERIV.differentiate(u -> callPriceSurface.zValue(u, k)).apply(t);
+    double divK = FIRST_DERIV.differentiate(l -> callPriceSurface.zValue(t, l)).apply(k);
+    double divK2 = SECOND_DERIV.differentiate(l -> callPriceSurface.zValue(t, l)).apply(k);
+    return localVolatilityFromPrice(interestRate.apply(t), dividendRate.apply(t), k, price, divT, divK, divK2);
+  }
+
+  // the local volatility from the call price and its derivatives with respect to time and strike
+  private static double localVolatilityFromPrice(
+      double r,
+      double q,
+      double k,
+      double price,
+      double divT,
+      double divK,
+      double divK2) {
+
+    double var = 2d * (divT + q * price + (r - q) * k * divK) / (k * k * divK2);
+    if (var < 0d) {
+      throw new IllegalArgumentException("Negative variance");
+    }
+    return Math.sqrt(var);
+  }
+
 }
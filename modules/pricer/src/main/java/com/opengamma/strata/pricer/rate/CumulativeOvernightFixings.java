@@ -0,0 +1,283 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.rate;
+
+import java.time.LocalDate;
+import java.util.OptionalDouble;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.opengamma.strata.basics.date.DayCount;
+import com.opengamma.strata.basics.date.HolidayCalendar;
+import com.opengamma.strata.basics.index.OvernightIndex;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.tuple.Pair;
+
+/**
+ * Cumulative compounding and averaging index of the fixings of an Overnight index.
+ * <p>
+ * The index is built once from the time-series of fixings, walking the business days of the fixing calendar
+ * from the earliest to the latest fixing. For each fixing date, the accrual factor of the underlying overnight
+ * deposit is computed from the index conventions. The index stores the running product of
+ * {@code (1 + accrualFactor * fixing)} and the running sum of {@code accrualFactor * fixing}.
+ * <p>
+ * The compounded factor or the accumulated interest of the fixings between two dates is then obtained
+ * as a ratio or a difference of two running values, without walking the fixing dates of the period.
+ * The result differs from the day-by-day computation by rounding only, a relative difference
+ * below 1e-12 for the compounded factor and an absolute difference below 1e-12 for the accumulated interest
+ * over ten years of fixings.
+ * <p>
+ * The index has no value for a period that is not fully covered by the time-series,
+ * including when a fixing is missing on a business day of the period.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class CumulativeOvernightFixings {
+
+  /**
+   * The shared indices, by time-series of fixings and then by index and fixing calendar.
+   * The time-series are weakly referenced and compared by identity, the indices do not reference them.
+   */
+  private static final Cache<LocalDateDoubleTimeSeries, ConcurrentMap<Pair<OvernightIndex, HolidayCalendar>,
+      CumulativeOvernightFixings>> SHARED = CacheBuilder.newBuilder().weakKeys().build();
+
+  /**
+   * The index.
+   */
+  private final OvernightIndex index;
+  /**
+   * The fixing calendar.
+   */
+  private final HolidayCalendar fixingCalendar;
+  /**
+   * The first fixing date of the index, empty index if null.
+   */
+  private final LocalDate firstDate;
+  /**
+   * The number of fixing dates strictly before each calendar day, from the first fixing date
+   * to the day after the last fixing date.
+   */
+  private final int[] positions;
+  /**
+   * The number of missing fixings strictly before each fixing date.
+   */
+  private final int[] missing;
+  /**
+   * The compounded factor of the fixings strictly before each fixing date.
+   */
+  private final double[] compounded;
+  /**
+   * The accumulated interest of the fixings strictly before each fixing date.
+   */
+  private final double[] accumulated;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the time-series of fixings.
+   * <p>
+   * The fixing dates are the business days of the fixing calendar.
+   * The fixings of the time-series on other days are ignored.
+   *
+   * @param index  the Overnight index
+   * @param fixingCalendar  the fixing calendar, resolved from the index
+   * @param fixings  the time-series of fixings
+   * @return the index
+   */
+  public static CumulativeOvernightFixings of(
+      OvernightIndex index,
+      HolidayCalendar fixingCalendar,
+      LocalDateDoubleTimeSeries fixings) {
+
+    ArgChecker.notNull(index, "index");
+    ArgChecker.notNull(fixingCalendar, "fixingCalendar");
+    ArgChecker.notNull(fixings, "fixings");
+    if (fixings.isEmpty()) {
+      return empty(index, fixingCalendar);
+    }
+    LocalDate firstDate = fixingCalendar.nextOrSame(fixings.getEarliestDate());
+    LocalDate lastDateP1 = fixings.getLatestDate().plusDays(1);
+    if (!firstDate.isBefore(lastDateP1)) {
+      return empty(index, fixingCalendar);
+    }
+    int nbDays = Math.toIntExact(lastDateP1.toEpochDay() - firstDate.toEpochDay());
+    int nbFixings = fixingCalendar.daysBetween(firstDate, lastDateP1);
+    int[] positions = new int[nbDays + 1];
+    int[] missing = new int[nbFixings + 1];
+    double[] compounded = new double[nbFixings + 1];
+    double[] accumulated = new double[nbFixings + 1];
+    compounded[0] = 1d;
+    DayCount dayCount = index.getDayCount();
+    LocalDate fixingDate = firstDate;
+    int dayIndex = 0;
+    for (int i = 0; i < nbFixings; i++) {
+      int fixingDayIndex = Math.toIntExact(fixingDate.toEpochDay() - firstDate.toEpochDay());
+      while (dayIndex <= fixingDayIndex) {
+        positions[dayIndex++] = i;
+      }
+      LocalDate effectiveDate = fixingCalendar.shift(fixingDate, index.getEffectiveDateOffset());
+      LocalDate maturityDate = fixingCalendar.shift(fixingCalendar.nextOrSame(effectiveDate), 1);
+      double accrualFactor = dayCount.yearFraction(effectiveDate, maturityDate);
+      OptionalDouble fixing = fixings.get(fixingDate);
+      if (fixing.isPresent()) {
+        missing[i + 1] = missing[i];
+        compounded[i + 1] = compounded[i] * (1d + accrualFactor * fixing.getAsDouble());
+        accumulated[i + 1] = accumulated[i] + accrualFactor * fixing.getAsDouble();
+      } else {
+        missing[i + 1] = missing[i] + 1;
+        compounded[i + 1] = compounded[i];
+        accumulated[i + 1] = accumulated[i];
+      }
+      fixingDate = fixingCalendar.next(fixingDate);
+    }
+    while (dayIndex <= nbDays) {
+      positions[dayIndex++] = nbFixings;
+    }
+    return new CumulativeOvernightFixings(
+        index, fixingCalendar, firstDate, positions, missing, compounded, accumulated);
+  }
+
+  /**
+   * Obtains a shared instance from the time-series of fixings.
+   * <p>
+   * The index is built once for each index, fixing calendar and time-series instance,
+   * and shared by all the rates built on the same time-series.
+   * The index is discarded once the time-series is no longer referenced.
+   *
+   * @param index  the Overnight index
+   * @param fixingCalendar  the fixing calendar, resolved from the index
+   * @param fixings  the time-series of fixings
+   * @return the index
+   */
+  static CumulativeOvernightFixings shared(
+      OvernightIndex index,
+      HolidayCalendar fixingCalendar,
+      LocalDateDoubleTimeSeries fixings) {
+
+    ArgChecker.notNull(index, "index");
+    ArgChecker.notNull(fixingCalendar, "fixingCalendar");
+    ArgChecker.notNull(fixings, "fixings");
+    try {
+      return SHARED.get(fixings, ConcurrentHashMap::new)
+          .computeIfAbsent(Pair.of(index, fixingCalendar), key -> of(index, fixingCalendar, fixings));
+    } catch (ExecutionException ex) {
+      throw new IllegalStateException(ex.getCause());
+    }
+  }
+
+  // an index without fixings
+  private static CumulativeOvernightFixings empty(OvernightIndex index, HolidayCalendar fixingCalendar) {
+    return new CumulativeOvernightFixings(
+        index, fixingCalendar, null, new int[0], new int[0], new double[0], new double[0]);
+  }
+
+  // restricted constructor
+  private CumulativeOvernightFixings(
+      OvernightIndex index,
+      HolidayCalendar fixingCalendar,
+      LocalDate firstDate,
+      int[] positions,
+      int[] missing,
+      double[] compounded,
+      double[] accumulated) {
+
+    this.index = index;
+    this.fixingCalendar = fixingCalendar;
+    this.firstDate = firstDate;
+    this.positions = positions;
+    this.missing = missing;
+    this.compounded = compounded;
+    this.accumulated = accumulated;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the Overnight index.
+   *
+   * @return the index
+   */
+  public OvernightIndex getIndex() {
+    return index;
+  }
+
+  /**
+   * Gets the fixing calendar.
+   *
+   * @return the fixing calendar
+   */
+  public HolidayCalendar getFixingCalendar() {
+    return fixingCalendar;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the compounded factor of the fixings in a period.
+   * <p>
+   * This is the product of {@code (1 + accrualFactor * fixing)} over the fixing dates of the period.
+   * The fixing dates of the period are the business days from the start date inclusive to the end date exclusive.
+   * The start date must be a business day. The factor of an empty period is one.
+   *
+   * @param startFixingDate  the first fixing date of the period, inclusive
+   * @param endFixingDate  the end of the period, exclusive
+   * @return the compounded factor, empty if a fixing of the period is not available
+   */
+  public OptionalDouble compoundedFactor(LocalDate startFixingDate, LocalDate endFixingDate) {
+    if (!endFixingDate.isAfter(startFixingDate)) {
+      return OptionalDouble.of(1d);
+    }
+    int start = fixingCalendar.isBusinessDay(startFixingDate) ? position(startFixingDate) : -1;
+    int end = position(endFixingDate);
+    if (start < 0 || end < 0 || missing[end] != missing[start]) {
+      return OptionalDouble.empty();
+    }
+    return OptionalDouble.of(compounded[end] / compounded[start]);
+  }
+
+  /**
+   * Calculates the accumulated interest of the fixings in a period.
+   * <p>
+   * This is the sum of {@code accrualFactor * fixing} over the fixing dates of the period.
+   * The fixing dates of the period are the business days from the start date inclusive to the end date exclusive.
+   * The start date must be a business day. The interest of an empty period is zero.
+   *
+   * @param startFixingDate  the first fixing date of the period, inclusive
+   * @param endFixingDate  the end of the period, exclusive
+   * @return the accumulated interest, empty if a fixing of the period is not available
+   */
+  public OptionalDouble accumulatedInterest(LocalDate startFixingDate, LocalDate endFixingDate) {
+    if (!endFixingDate.isAfter(startFixingDate)) {
+      return OptionalDouble.of(0d);
+    }
+    int start = fixingCalendar.isBusinessDay(startFixingDate) ? position(startFixingDate) : -1;
+    int end = position(endFixingDate);
+    if (start < 0 || end < 0 || missing[end] != missing[start]) {
+      return OptionalDouble.empty();
+    }
+    return OptionalDouble.of(accumulated[end] - accumulated[start]);
+  }
+
+  // the number of fixing dates strictly before the date, -1 if the date is not covered by the index
+  private int position(LocalDate date) {
+    if (firstDate == null) {
+      return -1;
+    }
+    long dayIndex = date.toEpochDay() - firstDate.toEpochDay();
+    if (dayIndex < 0 || dayIndex >= positions.length) {
+      return -1;
+    }
+    return positions[(int) dayIndex];
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "CumulativeOvernightFixings[" + index + ", " + fixingCalendar + "]";
+  }
+
+}
@@ -40,6 +40,7 @@ import com.opengamma.strata.market.param.ParameterPerturbation;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.pricer.DiscountFactors;
 import com.opengamma.strata.pricer.ZeroRateSensitivity;
+import com.opengamma.strata.pricer.sensitivity.ParameterSensitivityAccumulator;
 
 /**
  * An Ibor index curve providing rates from discount factors.
@@ -216,6 +217,27 @@ public final class DiscountIborIndexRates
     return psStart.combinedWith(psEnd);
   }
 
+  @Override
+  public void addIborRateParameterSensitivity(
+      IborIndexObservation observation,
+      Currency sensitivityCurrency,
+      double amount,
+      ParameterSensitivityAccumulator accumulator) {
+
+    double accrualFactor = observation.getYearFraction();
+    double yearFractionStart = discountFactors.relativeYearFraction(observation.getEffectiveDate());
+    double yearFractionEnd = discountFactors.relativeYearFraction(observation.getMaturityDate());
+    double dfForwardStart = discountFactors.discountFactor(yearFractionStart);
+    double dfForwardEnd = discountFactors.discountFactor(yearFractionEnd);
+    double dfStartBar = amount / (accrualFactor * dfForwardEnd);
+    double dfEndBar = -amount * dfForwardStart / (accrualFactor * dfForwardEnd * dfForwardEnd);
+    // the zero rate sensitivity of a discount factor is (-discountFactor * yearFraction)
+    discountFactors.addZeroRateParameterSensitivity(
+        yearFractionStart, sensitivityCurrency, -dfForwardStart * yearFractionStart * dfStartBar, accumulator);
+    discountFactors.addZeroRateParameterSensitivity(
+        yearFractionEnd, sensitivityCurrency, -dfForwardEnd * yearFractionEnd * dfEndBar, accumulator);
+  }
+
   @Override
   public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
     return discountFactors.createParameterSensitivity(currency, sensitivities);
@@ -28,6 +28,7 @@ import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
 
 import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.date.HolidayCalendar;
 import com.opengamma.strata.basics.index.OvernightIndex;
 import com.opengamma.strata.basics.index.OvernightIndexObservation;
 import com.opengamma.strata.collect.ArgChecker;
@@ -145,6 +146,11 @@ public final class DiscountOvernightIndexRates
     return withDiscountFactors(discountFactors.withPerturbation(perturbation));
   }
 
+  @Override
+  public Optional<CumulativeOvernightFixings> cumulativeFixings(HolidayCalendar fixingCalendar) {
+    return Optional.of(CumulativeOvernightFixings.shared(index, fixingCalendar, fixings));
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public double rate(OvernightIndexObservation observation) {
@@ -25,6 +25,7 @@ import com.opengamma.strata.market.param.ParameterPerturbation;
 import com.opengamma.strata.market.param.ParameterizedData;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.sensitivity.ParameterSensitivityAccumulator;
 
 /**
  * Provides access to rates for an Ibor index.
@@ -215,6 +216,29 @@ public interface IborIndexRates
    */
   public abstract CurrencyParameterSensitivities parameterSensitivity(IborRateSensitivity pointSensitivity);
 
+  /**
+   * Adds the parameter sensitivity of the forward rate of the observation to the accumulator.
+   * <p>
+   * The result is the same as adding the parameter sensitivity of the equivalent IBOR rate point sensitivity.
+   * Any fixing of the observation is ignored.
+   * Implementations based on a curve add the sensitivity directly to the accumulator,
+   * without creating the point and parameter sensitivity objects.
+   * 
+   * @param observation  the rate observation
+   * @param sensitivityCurrency  the currency of the sensitivity
+   * @param amount  the sensitivity to the forward rate
+   * @param accumulator  the accumulator to add the parameter sensitivity to
+   * @throws RuntimeException if the result cannot be calculated
+   */
+  public default void addIborRateParameterSensitivity(
+      IborIndexObservation observation,
+      Currency sensitivityCurrency,
+      double amount,
+      ParameterSensitivityAccumulator accumulator) {
+
+    accumulator.add(parameterSensitivity(IborRateSensitivity.of(observation, sensitivityCurrency, amount)));
+  }
+
   /**
    * Creates the parameter sensitivity when the sensitivity values are known.
    * <p>
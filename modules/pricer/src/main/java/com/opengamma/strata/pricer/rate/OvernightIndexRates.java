@@ -6,8 +6,10 @@
 package com.opengamma.strata.pricer.rate;
 
 import java.time.LocalDate;
+import java.util.Optional;
 
 import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.date.HolidayCalendar;
 import com.opengamma.strata.basics.index.OvernightIndex;
 import com.opengamma.strata.basics.index.OvernightIndexObservation;
 import com.opengamma.strata.collect.array.DoubleArray;
@@ -96,6 +98,22 @@ public interface OvernightIndexRates
    */
   public abstract LocalDateDoubleTimeSeries getFixings();
 
+  /**
+   * Gets the cumulative compounding and averaging index of the fixings.
+   * <p>
+   * The index provides the compounded factor or the accumulated interest of the fixings of a period
+   * without reading the fixings of the period one by one. Implementations typically build the index once.
+   * When the index is not available, the fixings must be read from {@link #getFixings()}.
+   * <p>
+   * The default implementation returns empty.
+   * 
+   * @param fixingCalendar  the fixing calendar, resolved from the index
+   * @return the cumulative index of the fixings, empty if not available
+   */
+  public default Optional<CumulativeOvernightFixings> cumulativeFixings(HolidayCalendar fixingCalendar) {
+    return Optional.empty();
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public abstract OvernightIndexRates withParameter(int parameterIndex, double newValue);
@@ -47,6 +47,7 @@ import com.opengamma.strata.market.param.ParameterMetadata;
 import com.opengamma.strata.market.param.ParameterPerturbation;
 import com.opengamma.strata.market.param.UnitParameterSensitivity;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.sensitivity.ParameterSensitivityAccumulator;
 
 /**
  * An Ibor index curve providing rates directly from a forward rates curve.
@@ -252,6 +253,17 @@ public final class SimpleIborIndexRates
     return CurrencyParameterSensitivities.of(sensitivity);
   }
 
+  @Override
+  public void addIborRateParameterSensitivity(
+      IborIndexObservation observation,
+      Currency sensitivityCurrency,
+      double amount,
+      ParameterSensitivityAccumulator accumulator) {
+
+    double relativeYearFraction = relativeYearFraction(observation.getMaturityDate());
+    accumulator.addCurveSensitivity(curve, relativeYearFraction, sensitivityCurrency, amount);
+  }
+
   @Override
   public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
     return CurrencyParameterSensitivities.of(curve.createParameterSensitivity(currency, sensitivities));
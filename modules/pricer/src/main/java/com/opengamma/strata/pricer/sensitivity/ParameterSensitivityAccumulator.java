@@ -0,0 +1,349 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.sensitivity;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+import com.opengamma.strata.market.param.ParameterMetadata;
+import com.opengamma.strata.market.param.ParameterSize;
+import com.opengamma.strata.market.param.UnitParameterSensitivity;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.rate.IborIndexRates;
+
+/**
+ * Accumulator of parameter sensitivities.
+ * <p>
+ * The standard approach to sensitivity is for the pricers to create point sensitivities,
+ * combined using {@link PointSensitivityBuilder}, which are then converted to parameter
+ * sensitivities by the rates provider. For large portfolios, the point sensitivity objects
+ * created for each period of each leg are the main source of allocation.
+ * <p>
+ * This class allows pricers to write the sensitivity to a zero rate or to an IBOR rate directly,
+ * as the curve, time and amount. The amounts are converted to parameter sensitivities immediately
+ * and summed into one preallocated array per market data name and currency. The result is the same as
+ * converting the equivalent point sensitivities using {@code RatesProvider.parameterSensitivity}.
+ * <p>
+ * For discount factors and IBOR rates based on an {@link InterpolatedNodalCurve} with linear or log-linear
+ * interpolation, the weights of the curve nodes are added to the array directly, thus adding a sensitivity
+ * within the range of the nodes does not allocate once the array of the curve exists.
+ * Other curves and interpolators are supported by converting the sensitivity as normal.
+ * <p>
+ * An instance may be reused after calling {@link #clear()}, see {@link #ofCurrentThread()}.
+ * This class is mutable and not thread-safe.
+ */
+public final class ParameterSensitivityAccumulator {
+
+  /**
+   * The accumulator of each thread.
+   */
+  private static final ThreadLocal<ParameterSensitivityAccumulator> THREAD_ACCUMULATOR =
+      ThreadLocal.withInitial(ParameterSensitivityAccumulator::new);
+
+  /**
+   * The accumulated sensitivities, keyed by market data name, one per currency.
+   */
+  private final Map<MarketDataName<?>, Accumulation> sensitivities = new LinkedHashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an empty accumulator.
+   *
+   * @return the accumulator
+   */
+  public static ParameterSensitivityAccumulator create() {
+    return new ParameterSensitivityAccumulator();
+  }
+
+  /**
+   * Obtains the accumulator of the current thread, cleared.
+   * <p>
+   * The same instance is returned each time this method is called on a thread.
+   * As such, the accumulator must not be retained, or used by other threads.
+   * Each call to this method clears the sensitivities accumulated previously.
+   *
+   * @return the accumulator of the current thread
+   */
+  public static ParameterSensitivityAccumulator ofCurrentThread() {
+    ParameterSensitivityAccumulator accumulator = THREAD_ACCUMULATOR.get();
+    accumulator.clear();
+    return accumulator;
+  }
+
+  // restricted constructor
+  private ParameterSensitivityAccumulator() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds the sensitivity to the zero rate of the discount factors at the specified year fraction.
+   * <p>
+   * The amount is the sensitivity to the continuously compounded zero rate,
+   * as would be held in a {@code ZeroRateSensitivity}.
+   *
+   * @param discountFactors  the discount factors
+   * @param yearFraction  the year fraction of the zero rate
+   * @param sensitivityCurrency  the currency of the sensitivity
+   * @param amount  the sensitivity to the zero rate
+   * @return this accumulator, for chaining
+   */
+  public ParameterSensitivityAccumulator addZeroRateSensitivity(
+      DiscountFactors discountFactors,
+      double yearFraction,
+      Currency sensitivityCurrency,
+      double amount) {
+
+    if (amount != 0d) {
+      discountFactors.addZeroRateParameterSensitivity(yearFraction, sensitivityCurrency, amount, this);
+    }
+    return this;
+  }
+
+  /**
+   * Adds the sensitivity to the discount factor at the specified date.
+   * <p>
+   * The amount is the sensitivity to the discount factor itself, which is converted to
+   * the sensitivity to the zero rate.
+   *
+   * @param discountFactors  the discount factors
+   * @param date  the date of the discount factor
+   * @param sensitivityCurrency  the currency of the sensitivity
+   * @param amount  the sensitivity to the discount factor
+   * @return this accumulator, for chaining
+   */
+  public ParameterSensitivityAccumulator addDiscountFactorSensitivity(
+      DiscountFactors discountFactors,
+      LocalDate date,
+      Currency sensitivityCurrency,
+      double amount) {
+
+    double yearFraction = discountFactors.relativeYearFraction(date);
+    double discountFactor = discountFactors.discountFactor(yearFraction);
+    double zeroRateAmount = -discountFactor * yearFraction * amount;
+    return addZeroRateSensitivity(discountFactors, yearFraction, sensitivityCurrency, zeroRateAmount);
+  }
+
+  /**
+   * Adds the sensitivity to the forward rate of an IBOR index.
+   * <p>
+   * Nothing is added if the rate of the observation has already been fixed.
+   *
+   * @param rates  the IBOR index rates
+   * @param observation  the rate observation
+   * @param sensitivityCurrency  the currency of the sensitivity
+   * @param amount  the sensitivity to the forward rate
+   * @return this accumulator, for chaining
+   */
+  public ParameterSensitivityAccumulator addIborRateSensitivity(
+      IborIndexRates rates,
+      IborIndexObservation observation,
+      Currency sensitivityCurrency,
+      double amount) {
+
+    LocalDate fixingDate = observation.getFixingDate();
+    LocalDate valuationDate = rates.getValuationDate();
+    if (amount == 0d || fixingDate.isBefore(valuationDate) ||
+        (fixingDate.equals(valuationDate) && rates.getFixings().containsDate(fixingDate))) {
+      return this;
+    }
+    rates.addIborRateParameterSensitivity(observation, sensitivityCurrency, amount, this);
+    return this;
+  }
+
+  /**
+   * Adds the sensitivity to the y-value of a curve at the specified x-value.
+   * <p>
+   * The amount is the sensitivity to the y-value of the curve. It is converted to the sensitivity
+   * to the parameters of the curve using {@link Curve#yValueParameterSensitivity(double)}.
+   * For an {@link InterpolatedNodalCurve}, the weights of the nodes are added directly.
+   * <p>
+   * This is used by the implementations of discount factors and rates.
+   *
+   * @param curve  the curve
+   * @param x  the x-value
+   * @param sensitivityCurrency  the currency of the sensitivity
+   * @param amount  the sensitivity to the y-value
+   * @return this accumulator, for chaining
+   */
+  public ParameterSensitivityAccumulator addCurveSensitivity(
+      Curve curve,
+      double x,
+      Currency sensitivityCurrency,
+      double amount) {
+
+    if (curve instanceof InterpolatedNodalCurve) {
+      InterpolatedNodalCurve nodalCurve = (InterpolatedNodalCurve) curve;
+      Accumulation accumulation = findAccumulation(nodalCurve.getName(), sensitivityCurrency);
+      if (accumulation == null) {
+        // the metadata is only obtained the first time the curve is seen
+        UnitParameterSensitivity unitSens = nodalCurve.yValueParameterSensitivity(x);
+        accumulation = accumulation(unitSens.getMarketDataName(), sensitivityCurrency,
+            unitSens.getParameterMetadata(), unitSens.getParameterSplit().orElse(null));
+      } else {
+        checkSize(accumulation, nodalCurve.getName(), nodalCurve.getParameterCount());
+      }
+      nodalCurve.addYValueParameterSensitivity(x, amount, accumulation.values);
+    } else {
+      UnitParameterSensitivity unitSens = curve.yValueParameterSensitivity(x);
+      accumulation(
+          unitSens.getMarketDataName(),
+          sensitivityCurrency,
+          unitSens.getParameterMetadata(),
+          unitSens.getParameterSplit().orElse(null))
+              .add(unitSens.getSensitivity(), amount);
+    }
+    return this;
+  }
+
+  /**
+   * Adds parameter sensitivities.
+   * <p>
+   * This is used to add the sensitivities calculated using the standard approach.
+   *
+   * @param parameterSensitivities  the parameter sensitivities
+   * @return this accumulator, for chaining
+   */
+  public ParameterSensitivityAccumulator add(CurrencyParameterSensitivities parameterSensitivities) {
+    for (CurrencyParameterSensitivity sens : parameterSensitivities.getSensitivities()) {
+      accumulation(
+          sens.getMarketDataName(),
+          sens.getCurrency(),
+          sens.getParameterMetadata(),
+          sens.getParameterSplit().orElse(null))
+              .add(sens.getSensitivity(), 1d);
+    }
+    return this;
+  }
+
+  // finds the accumulation for the market data name and currency, null if not found
+  private Accumulation findAccumulation(MarketDataName<?> name, Currency currency) {
+    Accumulation accumulation = sensitivities.get(name);
+    while (accumulation != null && !accumulation.currency.equals(currency)) {
+      accumulation = accumulation.next;
+    }
+    return accumulation;
+  }
+
+  // finds or creates the accumulation for the market data name and currency
+  private Accumulation accumulation(
+      MarketDataName<?> name,
+      Currency currency,
+      List<ParameterMetadata> parameterMetadata,
+      List<ParameterSize> parameterSplit) {
+
+    Accumulation accumulation = findAccumulation(name, currency);
+    if (accumulation == null) {
+      accumulation = new Accumulation(name, currency, parameterMetadata, parameterSplit, sensitivities.get(name));
+      sensitivities.put(name, accumulation);
+    } else {
+      checkSize(accumulation, name, parameterMetadata.size());
+    }
+    return accumulation;
+  }
+
+  // checks the number of parameters matches the accumulation
+  private static void checkSize(Accumulation accumulation, MarketDataName<?> name, int parameterCount) {
+    if (accumulation.values.length != parameterCount) {
+      throw new IllegalArgumentException(Messages.format(
+          "Parameter count mismatch for {}: {} and {}", name, accumulation.values.length, parameterCount));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if no sensitivity has been accumulated.
+   *
+   * @return true if empty
+   */
+  public boolean isEmpty() {
+    return sensitivities.isEmpty();
+  }
+
+  /**
+   * Clears the accumulated sensitivities, allowing this instance to be reused.
+   */
+  public void clear() {
+    sensitivities.clear();
+  }
+
+  /**
+   * Builds the accumulated parameter sensitivities.
+   * <p>
+   * The accumulator is unaffected, and further sensitivities can be added.
+   *
+   * @return the parameter sensitivities
+   */
+  public CurrencyParameterSensitivities build() {
+    List<CurrencyParameterSensitivity> result = new ArrayList<>(sensitivities.size());
+    for (Accumulation first : sensitivities.values()) {
+      for (Accumulation accumulation = first; accumulation != null; accumulation = accumulation.next) {
+        result.add(accumulation.build());
+      }
+    }
+    return CurrencyParameterSensitivities.of(result);
+  }
+
+  @Override
+  public String toString() {
+    return "ParameterSensitivityAccumulator" + sensitivities.keySet();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The sensitivity accumulated for one market data name and currency.
+   */
+  private static final class Accumulation {
+    private final MarketDataName<?> name;
+    private final Currency currency;
+    private final List<ParameterMetadata> parameterMetadata;
+    private final List<ParameterSize> parameterSplit;
+    private final double[] values;
+    // the accumulation of the same name in another currency
+    private final Accumulation next;
+
+    private Accumulation(
+        MarketDataName<?> name,
+        Currency currency,
+        List<ParameterMetadata> parameterMetadata,
+        List<ParameterSize> parameterSplit,
+        Accumulation next) {
+
+      this.name = name;
+      this.currency = currency;
+      this.parameterMetadata = parameterMetadata;
+      this.parameterSplit = parameterSplit;
+      this.values = new double[parameterMetadata.size()];
+      this.next = next;
+    }
+
+    private void add(DoubleArray sensitivity, double amount) {
+      for (int i = 0; i < values.length; i++) {
+        values[i] += sensitivity.get(i) * amount;
+      }
+    }
+
+    private CurrencyParameterSensitivity build() {
+      DoubleArray sensitivity = DoubleArray.copyOf(values);
+      return parameterSplit != null ?
+          CurrencyParameterSensitivity.of(name, parameterMetadata, currency, sensitivity, parameterSplit) :
+          CurrencyParameterSensitivity.of(name, parameterMetadata, currency, sensitivity);
+    }
+  }
+
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swap;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.product.rate.FixedRateComputation;
+import com.opengamma.strata.product.rate.IborRateComputation;
+import com.opengamma.strata.product.rate.RateComputation;
+import com.opengamma.strata.product.swap.NegativeRateMethod;
+import com.opengamma.strata.product.swap.RateAccrualPeriod;
+import com.opengamma.strata.product.swap.RatePaymentPeriod;
+import com.opengamma.strata.product.swap.ResolvedSwapLeg;
+import com.opengamma.strata.product.swap.SwapPaymentPeriod;
+
+/**
+ * A swap leg compiled for fast pricing.
+ * <p>
+ * A {@link ResolvedSwapLeg} is priced by dispatching each payment period to the matching period pricer,
+ * which queries the rates provider for each period. For vanilla fixed and IBOR legs, the structure
+ * of the leg never changes between calls. This class holds the data of such periods in flat arrays,
+ * allowing {@link DiscountingSwapLegPricer} to price them in a single loop with the discount factors
+ * and the IBOR rates queried once for the leg.
+ * <p>
+ * A payment period is compiled if it is a {@link RatePaymentPeriod} with a single accrual period,
+ * no FX reset and negative rates allowed, whose rate is either fixed or observed on the IBOR index of the leg.
+ * The other payment periods, and all the payment events, are priced using the standard pricers.
+ * <p>
+ * An instance is typically created once and used for many valuations.
+ * This class is immutable and thread-safe.
+ */
+public final class CompiledSwapLeg {
+
+  /**
+   * The underlying leg.
+   */
+  private final ResolvedSwapLeg leg;
+  /**
+   * The IBOR index of the compiled periods, null if all the compiled periods are fixed.
+   */
+  private final IborIndex index;
+  /**
+   * The payment dates of the compiled periods.
+   */
+  private final LocalDate[] paymentDates;
+  /**
+   * The notionals of the compiled periods.
+   */
+  private final double[] notionals;
+  /**
+   * The year fractions of the compiled periods.
+   */
+  private final double[] yearFractions;
+  /**
+   * The gearings of the compiled periods.
+   */
+  private final double[] gearings;
+  /**
+   * The spreads of the compiled periods.
+   */
+  private final double[] spreads;
+  /**
+   * The fixed rates of the compiled periods, zero for IBOR periods.
+   */
+  private final double[] fixedRates;
+  /**
+   * The IBOR observations of the compiled periods, null for fixed periods.
+   */
+  private final IborIndexObservation[] observations;
+  /**
+   * The payment periods that are not compiled.
+   */
+  private final ImmutableList<SwapPaymentPeriod> otherPeriods;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Compiles a swap leg.
+   * <p>
+   * The payment periods that cannot be compiled are retained, see {@link #getOtherPeriods()}.
+   *
+   * @param leg  the swap leg
+   * @return the compiled leg
+   */
+  public static CompiledSwapLeg of(ResolvedSwapLeg leg) {
+    ArgChecker.notNull(leg, "leg");
+    List<RatePaymentPeriod> compiled = new ArrayList<>();
+    ImmutableList.Builder<SwapPaymentPeriod> otherPeriods = ImmutableList.builder();
+    IborIndex index = null;
+    for (SwapPaymentPeriod period : leg.getPaymentPeriods()) {
+      RateComputation computation = compilableComputation(period);
+      if (computation instanceof IborRateComputation) {
+        IborIndex periodIndex = ((IborRateComputation) computation).getIndex();
+        if (index == null) {
+          index = periodIndex;
+        } else if (!index.equals(periodIndex)) {
+          computation = null;
+        }
+      }
+      if (computation != null) {
+        compiled.add((RatePaymentPeriod) period);
+      } else {
+        otherPeriods.add(period);
+      }
+    }
+    int nbPeriods = compiled.size();
+    LocalDate[] paymentDates = new LocalDate[nbPeriods];
+    double[] notionals = new double[nbPeriods];
+    double[] yearFractions = new double[nbPeriods];
+    double[] gearings = new double[nbPeriods];
+    double[] spreads = new double[nbPeriods];
+    double[] fixedRates = new double[nbPeriods];
+    IborIndexObservation[] observations = new IborIndexObservation[nbPeriods];
+    for (int i = 0; i < nbPeriods; i++) {
+      RatePaymentPeriod period = compiled.get(i);
+      RateAccrualPeriod accrualPeriod = period.getAccrualPeriods().get(0);
+      paymentDates[i] = period.getPaymentDate();
+      notionals[i] = period.getNotional();
+      yearFractions[i] = accrualPeriod.getYearFraction();
+      gearings[i] = accrualPeriod.getGearing();
+      spreads[i] = accrualPeriod.getSpread();
+      RateComputation computation = accrualPeriod.getRateComputation();
+      if (computation instanceof FixedRateComputation) {
+        fixedRates[i] = ((FixedRateComputation) computation).getRate();
+      } else {
+        observations[i] = ((IborRateComputation) computation).getObservation();
+      }
+    }
+    return new CompiledSwapLeg(
+        leg, index, paymentDates, notionals, yearFractions, gearings, spreads, fixedRates, observations,
+        otherPeriods.build());
+  }
+
+  // the fixed or IBOR rate computation of a period that can be compiled, null if the period cannot be compiled
+  private static RateComputation compilableComputation(SwapPaymentPeriod period) {
+    if (!(period instanceof RatePaymentPeriod)) {
+      return null;
+    }
+    RatePaymentPeriod ratePeriod = (RatePaymentPeriod) period;
+    if (ratePeriod.getFxReset().isPresent() || ratePeriod.getAccrualPeriods().size() != 1) {
+      return null;
+    }
+    RateAccrualPeriod accrualPeriod = ratePeriod.getAccrualPeriods().get(0);
+    if (accrualPeriod.getNegativeRateMethod() != NegativeRateMethod.ALLOW_NEGATIVE) {
+      return null;
+    }
+    RateComputation computation = accrualPeriod.getRateComputation();
+    if (computation instanceof FixedRateComputation || computation instanceof IborRateComputation) {
+      return computation;
+    }
+    return null;
+  }
+
+  // restricted constructor
+  private CompiledSwapLeg(
+      ResolvedSwapLeg leg,
+      IborIndex index,
+      LocalDate[] paymentDates,
+      double[] notionals,
+      double[] yearFractions,
+      double[] gearings,
+      double[] spreads,
+      double[] fixedRates,
+      IborIndexObservation[] observations,
+      ImmutableList<SwapPaymentPeriod> otherPeriods) {
+
+    this.leg = leg;
+    this.index = index;
+    this.paymentDates = paymentDates;
+    this.notionals = notionals;
+    this.yearFractions = yearFractions;
+    this.gearings = gearings;
+    this.spreads = spreads;
+    this.fixedRates = fixedRates;
+    this.observations = observations;
+    this.otherPeriods = otherPeriods;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the underlying leg.
+   *
+   * @return the leg
+   */
+  public ResolvedSwapLeg getLeg() {
+    return leg;
+  }
+
+  /**
+   * Gets the currency of the leg.
+   *
+   * @return the currency
+   */
+  public Currency getCurrency() {
+    return leg.getCurrency();
+  }
+
+  /**
+   * Gets the number of compiled payment periods.
+   *
+   * @return the number of compiled periods
+   */
+  public int getCompiledPeriodCount() {
+    return paymentDates.length;
+  }
+
+  /**
+   * Gets the payment periods that are not compiled.
+   * <p>
+   * These periods are priced using the standard pricers.
+   *
+   * @return the periods that are not compiled
+   */
+  public ImmutableList<SwapPaymentPeriod> getOtherPeriods() {
+    return otherPeriods;
+  }
+
+  //-------------------------------------------------------------------------
+  // the IBOR index, null if all compiled periods are fixed
+  IborIndex index() {
+    return index;
+  }
+
+  // the payment date of the compiled period
+  LocalDate paymentDate(int period) {
+    return paymentDates[period];
+  }
+
+  // the notional of the compiled period
+  double notional(int period) {
+    return notionals[period];
+  }
+
+  // the year fraction of the compiled period
+  double yearFraction(int period) {
+    return yearFractions[period];
+  }
+
+  // the gearing of the compiled period
+  double gearing(int period) {
+    return gearings[period];
+  }
+
+  // the spread of the compiled period
+  double spread(int period) {
+    return spreads[period];
+  }
+
+  // the fixed rate of the compiled period, zero if not fixed
+  double fixedRate(int period) {
+    return fixedRates[period];
+  }
+
+  // the IBOR observation of the compiled period, null if fixed
+  IborIndexObservation observation(int period) {
+    return observations[period];
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "CompiledSwapLeg[" + leg.getType() + " " + leg.getCurrency() + ", compiled periods: " +
+        paymentDates.length + ", other periods: " + otherPeriods.size() + "]";
+  }
+
+}
@@ -13,6 +13,7 @@ import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.index.IborIndexObservation;
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
@@ -21,8 +22,13 @@ import com.opengamma.strata.market.amount.CashFlows;
 import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
+import com.opengamma.strata.market.sensitivity.MutablePointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.rate.IborIndexRates;
 import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.pricer.sensitivity.ParameterSensitivityAccumulator;
 import com.opengamma.strata.product.swap.KnownAmountSwapPaymentPeriod;
 import com.opengamma.strata.product.swap.RatePaymentPeriod;
 import com.opengamma.strata.product.swap.ResolvedSwapLeg;
@@ -34,6 +40,9 @@ import com.opengamma.strata.product.swap.SwapPaymentPeriod;
  * <p>
  * This function provides the ability to price a {@link ResolvedSwapLeg}.
  * The product is priced by pricing each period and event.
+ * <p>
+ * A leg can also be priced in its {@link CompiledSwapLeg} form, where the vanilla fixed and IBOR
+ * periods are priced by discounting in a single loop, and the other periods and events as usual.
  */
 public class DiscountingSwapLegPricer {
 
@@ -694,4 +703,192 @@ public class DiscountingSwapLegPricer {
     }
     return total;
   }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of the compiled swap leg.
+   * <p>
+   * The result is the same as {@link #presentValue(ResolvedSwapLeg, RatesProvider)} for the underlying leg.
+   * The compiled periods are priced by discounting, as by the standard period pricer, without reference
+   * to the period pricer of this instance. The other periods and the events are priced as usual.
+   * 
+   * @param leg  the compiled leg
+   * @param provider  the rates provider
+   * @return the present value of the swap leg
+   */
+  public CurrencyAmount presentValue(CompiledSwapLeg leg, RatesProvider provider) {
+    double total = presentValueCompiledInternal(leg, provider);
+    for (SwapPaymentPeriod period : leg.getOtherPeriods()) {
+      if (!period.getPaymentDate().isBefore(provider.getValuationDate())) {
+        total += paymentPeriodPricer.presentValue(period, provider);
+      }
+    }
+    total += presentValueEventsInternal(leg.getLeg(), provider);
+    return CurrencyAmount.of(leg.getCurrency(), total);
+  }
+
+  /**
+   * Calculates the present value sensitivity of the compiled swap leg.
+   * <p>
+   * The result is the same as {@link #presentValueSensitivity(ResolvedSwapLeg, RatesProvider)}
+   * for the underlying leg, see {@link #presentValue(CompiledSwapLeg, RatesProvider)}.
+   * 
+   * @param leg  the compiled leg
+   * @param provider  the rates provider
+   * @return the present value curve sensitivity of the swap leg
+   */
+  public PointSensitivityBuilder presentValueSensitivity(CompiledSwapLeg leg, RatesProvider provider) {
+    PointSensitivityBuilder builder = presentValueSensitivityCompiledInternal(leg, provider);
+    for (SwapPaymentPeriod period : leg.getOtherPeriods()) {
+      if (!period.getPaymentDate().isBefore(provider.getValuationDate())) {
+        builder = builder.combinedWith(paymentPeriodPricer.presentValueSensitivity(period, provider));
+      }
+    }
+    return builder.combinedWith(presentValueSensitivityEventsInternal(leg.getLeg(), provider));
+  }
+
+  /**
+   * Calculates the present value parameter sensitivity of the compiled swap leg, adding it to the accumulator.
+   * <p>
+   * The sensitivity of the compiled periods is written directly to the accumulator,
+   * without creating point sensitivities. The result is the same as converting
+   * {@link #presentValueSensitivity(CompiledSwapLeg, RatesProvider)} using
+   * {@link RatesProvider#parameterSensitivity(PointSensitivities)}.
+   * <p>
+   * This is intended for bucketed PV01 of large portfolios, where the same accumulator,
+   * such as {@link ParameterSensitivityAccumulator#ofCurrentThread()}, is used for all the legs.
+   * 
+   * @param leg  the compiled leg
+   * @param provider  the rates provider
+   * @param accumulator  the accumulator to add the present value parameter sensitivity to
+   */
+  public void presentValueSensitivity(
+      CompiledSwapLeg leg,
+      RatesProvider provider,
+      ParameterSensitivityAccumulator accumulator) {
+
+    Currency currency = leg.getCurrency();
+    LocalDate valuationDate = provider.getValuationDate();
+    DiscountFactors discountFactors = provider.discountFactors(currency);
+    IborIndexRates iborRates = leg.index() != null ? provider.iborIndexRates(leg.index()) : null;
+    for (int i = 0; i < leg.getCompiledPeriodCount(); i++) {
+      LocalDate paymentDate = leg.paymentDate(i);
+      if (!paymentDate.isBefore(valuationDate)) {
+        double yearFraction = discountFactors.relativeYearFraction(paymentDate);
+        double df = discountFactors.discountFactor(yearFraction);
+        IborIndexObservation observation = leg.observation(i);
+        double rate = leg.fixedRate(i);
+        if (observation != null) {
+          rate = iborRates.rate(observation);
+          double rateBar = leg.gearing(i) * leg.yearFraction(i) * leg.notional(i) * df;
+          accumulator.addIborRateSensitivity(iborRates, observation, currency, rateBar);
+        }
+        double forecastValue = (rate * leg.gearing(i) + leg.spread(i)) * leg.yearFraction(i) * leg.notional(i);
+        accumulator.addZeroRateSensitivity(discountFactors, yearFraction, currency, -df * yearFraction * forecastValue);
+      }
+    }
+    PointSensitivityBuilder builder = presentValueSensitivityEventsInternal(leg.getLeg(), provider);
+    for (SwapPaymentPeriod period : leg.getOtherPeriods()) {
+      if (!period.getPaymentDate().isBefore(valuationDate)) {
+        builder = builder.combinedWith(paymentPeriodPricer.presentValueSensitivity(period, provider));
+      }
+    }
+    PointSensitivities otherSensitivities = builder.build();
+    if (!otherSensitivities.getSensitivities().isEmpty()) {
+      accumulator.add(provider.parameterSensitivity(otherSensitivities));
+    }
+  }
+
+  /**
+   * Computes the Present Value of a Basis Point for a compiled swap leg.
+   * <p>
+   * The result is the same as {@link #pvbp(ResolvedSwapLeg, RatesProvider)} for the underlying leg.
+   * 
+   * @param leg  the compiled leg
+   * @param provider  the rates provider
+   * @return the Present Value of a Basis Point
+   */
+  public double pvbp(CompiledSwapLeg leg, RatesProvider provider) {
+    DiscountFactors discountFactors = provider.discountFactors(leg.getCurrency());
+    double pvbpLeg = 0d;
+    for (int i = 0; i < leg.getCompiledPeriodCount(); i++) {
+      pvbpLeg += discountFactors.discountFactor(leg.paymentDate(i)) * leg.yearFraction(i) * leg.notional(i);
+    }
+    for (SwapPaymentPeriod period : leg.getOtherPeriods()) {
+      pvbpLeg += paymentPeriodPricer.pvbp(period, provider);
+    }
+    return pvbpLeg;
+  }
+
+  /**
+   * Calculates the Present Value of a Basis Point curve sensitivity for a compiled swap leg.
+   * <p>
+   * The result is the same as {@link #pvbpSensitivity(ResolvedSwapLeg, RatesProvider)} for the underlying leg.
+   * 
+   * @param leg  the compiled leg
+   * @param provider  the rates provider
+   * @return the Present Value of a Basis Point sensitivity to the curves
+   */
+  public PointSensitivityBuilder pvbpSensitivity(CompiledSwapLeg leg, RatesProvider provider) {
+    DiscountFactors discountFactors = provider.discountFactors(leg.getCurrency());
+    MutablePointSensitivities sensitivities = new MutablePointSensitivities();
+    for (int i = 0; i < leg.getCompiledPeriodCount(); i++) {
+      discountFactors.zeroRatePointSensitivity(leg.paymentDate(i))
+          .multipliedBy(leg.yearFraction(i) * leg.notional(i))
+          .buildInto(sensitivities);
+    }
+    PointSensitivityBuilder builder = sensitivities;
+    for (SwapPaymentPeriod period : leg.getOtherPeriods()) {
+      builder = builder.combinedWith(paymentPeriodPricer.pvbpSensitivity(period, provider));
+    }
+    return builder;
+  }
+
+  // calculates the present value of the compiled periods in the currency of the swap leg
+  private double presentValueCompiledInternal(CompiledSwapLeg leg, RatesProvider provider) {
+    LocalDate valuationDate = provider.getValuationDate();
+    DiscountFactors discountFactors = provider.discountFactors(leg.getCurrency());
+    IborIndexRates iborRates = leg.index() != null ? provider.iborIndexRates(leg.index()) : null;
+    double total = 0d;
+    for (int i = 0; i < leg.getCompiledPeriodCount(); i++) {
+      LocalDate paymentDate = leg.paymentDate(i);
+      if (!paymentDate.isBefore(valuationDate)) {
+        IborIndexObservation observation = leg.observation(i);
+        double rate = observation != null ? iborRates.rate(observation) : leg.fixedRate(i);
+        double forecastValue = (rate * leg.gearing(i) + leg.spread(i)) * leg.yearFraction(i) * leg.notional(i);
+        total += forecastValue * discountFactors.discountFactor(paymentDate);
+      }
+    }
+    return total;
+  }
+
+  // calculates the present value curve sensitivity of the compiled periods in the currency of the swap leg
+  private MutablePointSensitivities presentValueSensitivityCompiledInternal(
+      CompiledSwapLeg leg,
+      RatesProvider provider) {
+
+    LocalDate valuationDate = provider.getValuationDate();
+    DiscountFactors discountFactors = provider.discountFactors(leg.getCurrency());
+    IborIndexRates iborRates = leg.index() != null ? provider.iborIndexRates(leg.index()) : null;
+    MutablePointSensitivities sensitivities = new MutablePointSensitivities();
+    for (int i = 0; i < leg.getCompiledPeriodCount(); i++) {
+      LocalDate paymentDate = leg.paymentDate(i);
+      if (!paymentDate.isBefore(valuationDate)) {
+        double df = discountFactors.discountFactor(paymentDate);
+        IborIndexObservation observation = leg.observation(i);
+        double rate = leg.fixedRate(i);
+        if (observation != null) {
+          rate = iborRates.rate(observation);
+          iborRates.ratePointSensitivity(observation)
+              .multipliedBy(leg.gearing(i) * leg.yearFraction(i) * leg.notional(i) * df)
+              .buildInto(sensitivities);
+        }
+        double forecastValue = (rate * leg.gearing(i) + leg.spread(i)) * leg.yearFraction(i) * leg.notional(i);
+        discountFactors.zeroRatePointSensitivity(paymentDate)
+            .multipliedBy(forecastValue)
+            .buildInto(sensitivities);
+      }
+    }
+    return sensitivities;
+  }
 }
@@ -0,0 +1,484 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import java.io.Serializable;
+import java.time.Period;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
+
+import com.opengamma.strata.basics.date.Tenor;
+
+/**
+ * Diagnostic of the SABR calibration of the smile at a single expiry and tenor.
+ * <p>
+ * This is produced by {@link SabrSwaptionCalibrator} for each smile that is calibrated successfully.
+ */
+@BeanDefinition(builderScope = "private")
+public final class SabrSwaptionCalibrationDiagnostic
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The expiry of the smile.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Period expiry;
+  /**
+   * The tenor of the underlying swaps.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Tenor tenor;
+  /**
+   * The chi-square of the least square fit.
+   * <p>
+   * This is the sum of the squared differences between the model and market shifted Black volatilities,
+   * divided by the squared errors used in the fit.
+   */
+  @PropertyDefinition
+  private final double chiSquare;
+  /**
+   * Whether the fit is the one from the warm start parameters.
+   * <p>
+   * If warm start parameters are supplied, the smile is fitted from them alone.
+   * If false, the fit is the best of the fits from the standard starting points, either because no warm start
+   * parameters were supplied or because the fit from the warm start parameters failed.
+   */
+  @PropertyDefinition
+  private final boolean warmStart;
+  /**
+   * The number of least square fits performed to calibrate the smile.
+   * <p>
+   * This is one for a successful fit from the warm start parameters, four for the standard starting points,
+   * and five if the fit from the warm start parameters failed.
+   */
+  @PropertyDefinition
+  private final int fitCount;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   * 
+   * @param expiry  the expiry of the smile
+   * @param tenor  the tenor of the underlying swaps
+   * @param chiSquare  the chi-square of the least square fit
+   * @param warmStart  whether the fit is the one from the warm start parameters
+   * @param fitCount  the number of least square fits performed to calibrate the smile
+   * @return the diagnostic
+   */
+  public static SabrSwaptionCalibrationDiagnostic of(
+      Period expiry,
+      Tenor tenor,
+      double chiSquare,
+      boolean warmStart,
+      int fitCount) {
+
+    return new SabrSwaptionCalibrationDiagnostic(expiry, tenor, chiSquare, warmStart, fitCount);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code SabrSwaptionCalibrationDiagnostic}.
+   * @return the meta-bean, not null
+   */
+  public static SabrSwaptionCalibrationDiagnostic.Meta meta() {
+    return SabrSwaptionCalibrationDiagnostic.Meta.INSTANCE;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(SabrSwaptionCalibrationDiagnostic.Meta.INSTANCE);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private SabrSwaptionCalibrationDiagnostic(
+      Period expiry,
+      Tenor tenor,
+      double chiSquare,
+      boolean warmStart,
+      int fitCount) {
+    JodaBeanUtils.notNull(expiry, "expiry");
+    JodaBeanUtils.notNull(tenor, "tenor");
+    this.expiry = expiry;
+    this.tenor = tenor;
+    this.chiSquare = chiSquare;
+    this.warmStart = warmStart;
+    this.fitCount = fitCount;
+  }
+
+  @Override
+  public SabrSwaptionCalibrationDiagnostic.Meta metaBean() {
+    return SabrSwaptionCalibrationDiagnostic.Meta.INSTANCE;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the expiry of the smile.
+   * @return the value of the property, not null
+   */
+  public Period getExpiry() {
+    return expiry;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the tenor of the underlying swaps.
+   * @return the value of the property, not null
+   */
+  public Tenor getTenor() {
+    return tenor;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the chi-square of the least square fit.
+   * <p>
+   * This is the sum of the squared differences between the model and market shifted Black volatilities,
+   * divided by the squared errors used in the fit.
+   * @return the value of the property
+   */
+  public double getChiSquare() {
+    return chiSquare;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets whether the fit is the one from the warm start parameters.
+   * <p>
+   * If warm start parameters are supplied, the smile is fitted from them alone.
+   * If false, the fit is the best of the fits from the standard starting points, either because no warm start
+   * parameters were supplied or because the fit from the warm start parameters failed.
+   * @return the value of the property
+   */
+  public boolean isWarmStart() {
+    return warmStart;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the number of least square fits performed to calibrate the smile.
+   * <p>
+   * This is one for a successful fit from the warm start parameters, four for the standard starting points,
+   * and five if the fit from the warm start parameters failed.
+   * @return the value of the property
+   */
+  public int getFitCount() {
+    return fitCount;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      SabrSwaptionCalibrationDiagnostic other = (SabrSwaptionCalibrationDiagnostic) obj;
+      return JodaBeanUtils.equal(expiry, other.expiry) &&
+          JodaBeanUtils.equal(tenor, other.tenor) &&
+          JodaBeanUtils.equal(chiSquare, other.chiSquare) &&
+          (warmStart == other.warmStart) &&
+          (fitCount == other.fitCount);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(expiry);
+    hash = hash * 31 + JodaBeanUtils.hashCode(tenor);
+    hash = hash * 31 + JodaBeanUtils.hashCode(chiSquare);
+    hash = hash * 31 + JodaBeanUtils.hashCode(warmStart);
+    hash = hash * 31 + JodaBeanUtils.hashCode(fitCount);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(192);
+    buf.append("SabrSwaptionCalibrationDiagnostic{");
+    buf.append("expiry").append('=').append(expiry).append(',').append(' ');
+    buf.append("tenor").append('=').append(tenor).append(',').append(' ');
+    buf.append("chiSquare").append('=').append(chiSquare).append(',').append(' ');
+    buf.append("warmStart").append('=').append(warmStart).append(',').append(' ');
+    buf.append("fitCount").append('=').append(JodaBeanUtils.toString(fitCount));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code SabrSwaptionCalibrationDiagnostic}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code expiry} property.
+     */
+    private final MetaProperty<Period> expiry = DirectMetaProperty.ofImmutable(
+        this, "expiry", SabrSwaptionCalibrationDiagnostic.class, Period.class);
+    /**
+     * The meta-property for the {@code tenor} property.
+     */
+    private final MetaProperty<Tenor> tenor = DirectMetaProperty.ofImmutable(
+        this, "tenor", SabrSwaptionCalibrationDiagnostic.class, Tenor.class);
+    /**
+     * The meta-property for the {@code chiSquare} property.
+     */
+    private final MetaProperty<Double> chiSquare = DirectMetaProperty.ofImmutable(
+        this, "chiSquare", SabrSwaptionCalibrationDiagnostic.class, Double.TYPE);
+    /**
+     * The meta-property for the {@code warmStart} property.
+     */
+    private final MetaProperty<Boolean> warmStart = DirectMetaProperty.ofImmutable(
+        this, "warmStart", SabrSwaptionCalibrationDiagnostic.class, Boolean.TYPE);
+    /**
+     * The meta-property for the {@code fitCount} property.
+     */
+    private final MetaProperty<Integer> fitCount = DirectMetaProperty.ofImmutable(
+        this, "fitCount", SabrSwaptionCalibrationDiagnostic.class, Integer.TYPE);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "expiry",
+        "tenor",
+        "chiSquare",
+        "warmStart",
+        "fitCount");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -1289159373:  // expiry
+          return expiry;
+        case 110246592:  // tenor
+          return tenor;
+        case -797918495:  // chiSquare
+          return chiSquare;
+        case -1787818787:  // warmStart
+          return warmStart;
+        case -537086082:  // fitCount
+          return fitCount;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends SabrSwaptionCalibrationDiagnostic> builder() {
+      return new SabrSwaptionCalibrationDiagnostic.Builder();
+    }
+
+    @Override
+    public Class<? extends SabrSwaptionCalibrationDiagnostic> beanType() {
+      return SabrSwaptionCalibrationDiagnostic.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code expiry} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Period> expiry() {
+      return expiry;
+    }
+
+    /**
+     * The meta-property for the {@code tenor} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Tenor> tenor() {
+      return tenor;
+    }
+
+    /**
+     * The meta-property for the {@code chiSquare} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Double> chiSquare() {
+      return chiSquare;
+    }
+
+    /**
+     * The meta-property for the {@code warmStart} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Boolean> warmStart() {
+      return warmStart;
+    }
+
+    /**
+     * The meta-property for the {@code fitCount} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Integer> fitCount() {
+      return fitCount;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case -1289159373:  // expiry
+          return ((SabrSwaptionCalibrationDiagnostic) bean).getExpiry();
+        case 110246592:  // tenor
+          return ((SabrSwaptionCalibrationDiagnostic) bean).getTenor();
+        case -797918495:  // chiSquare
+          return ((SabrSwaptionCalibrationDiagnostic) bean).getChiSquare();
+        case -1787818787:  // warmStart
+          return ((SabrSwaptionCalibrationDiagnostic) bean).isWarmStart();
+        case -537086082:  // fitCount
+          return ((SabrSwaptionCalibrationDiagnostic) bean).getFitCount();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code SabrSwaptionCalibrationDiagnostic}.
+   */
+  private static final class Builder extends DirectPrivateBeanBuilder<SabrSwaptionCalibrationDiagnostic> {
+
+    private Period expiry;
+    private Tenor tenor;
+    private double chiSquare;
+    private boolean warmStart;
+    private int fitCount;
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+      super(meta());
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -1289159373:  // expiry
+          return expiry;
+        case 110246592:  // tenor
+          return tenor;
+        case -797918495:  // chiSquare
+          return chiSquare;
+        case -1787818787:  // warmStart
+          return warmStart;
+        case -537086082:  // fitCount
+          return fitCount;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case -1289159373:  // expiry
+          this.expiry = (Period) newValue;
+          break;
+        case 110246592:  // tenor
+          this.tenor = (Tenor) newValue;
+          break;
+        case -797918495:  // chiSquare
+          this.chiSquare = (Double) newValue;
+          break;
+        case -1787818787:  // warmStart
+          this.warmStart = (Boolean) newValue;
+          break;
+        case -537086082:  // fitCount
+          this.fitCount = (Integer) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public SabrSwaptionCalibrationDiagnostic build() {
+      return new SabrSwaptionCalibrationDiagnostic(
+          expiry,
+          tenor,
+          chiSquare,
+          warmStart,
+          fitCount);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(192);
+      buf.append("SabrSwaptionCalibrationDiagnostic.Builder{");
+      buf.append("expiry").append('=').append(JodaBeanUtils.toString(expiry)).append(',').append(' ');
+      buf.append("tenor").append('=').append(JodaBeanUtils.toString(tenor)).append(',').append(' ');
+      buf.append("chiSquare").append('=').append(JodaBeanUtils.toString(chiSquare)).append(',').append(' ');
+      buf.append("warmStart").append('=').append(JodaBeanUtils.toString(warmStart)).append(',').append(' ');
+      buf.append("fitCount").append('=').append(JodaBeanUtils.toString(fitCount));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
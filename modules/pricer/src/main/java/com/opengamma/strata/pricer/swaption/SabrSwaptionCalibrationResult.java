@@ -0,0 +1,395 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.result.FailureItem;
+
+/**
+ * The result of a SABR swaption calibration, including the diagnostics of each smile.
+ * <p>
+ * This is produced by {@link SabrSwaptionCalibrator}.
+ */
+@BeanDefinition(builderScope = "private")
+public final class SabrSwaptionCalibrationResult
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The calibrated volatilities.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final SabrParametersSwaptionVolatilities volatilities;
+  /**
+   * The diagnostics of the smiles that were calibrated successfully.
+   * <p>
+   * The diagnostics are in the same order as the data that was calibrated, by tenor and then by expiry.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableList<SabrSwaptionCalibrationDiagnostic> diagnostics;
+  /**
+   * The failures of the smiles that could not be calibrated.
+   * <p>
+   * The smiles that could not be calibrated are not included in the volatilities.
+   * This is only populated if the calibration does not stop on the first failure.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableList<FailureItem> failures;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   * 
+   * @param volatilities  the calibrated volatilities
+   * @param diagnostics  the diagnostics of the smiles that were calibrated successfully
+   * @param failures  the failures of the smiles that could not be calibrated
+   * @return the result
+   */
+  public static SabrSwaptionCalibrationResult of(
+      SabrParametersSwaptionVolatilities volatilities,
+      List<SabrSwaptionCalibrationDiagnostic> diagnostics,
+      List<FailureItem> failures) {
+
+    return new SabrSwaptionCalibrationResult(volatilities, diagnostics, failures);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if all the smiles were calibrated successfully.
+   * 
+   * @return true if there are no failures
+   */
+  public boolean isComplete() {
+    return failures.isEmpty();
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code SabrSwaptionCalibrationResult}.
+   * @return the meta-bean, not null
+   */
+  public static SabrSwaptionCalibrationResult.Meta meta() {
+    return SabrSwaptionCalibrationResult.Meta.INSTANCE;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(SabrSwaptionCalibrationResult.Meta.INSTANCE);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private SabrSwaptionCalibrationResult(
+      SabrParametersSwaptionVolatilities volatilities,
+      List<SabrSwaptionCalibrationDiagnostic> diagnostics,
+      List<FailureItem> failures) {
+    JodaBeanUtils.notNull(volatilities, "volatilities");
+    JodaBeanUtils.notNull(diagnostics, "diagnostics");
+    JodaBeanUtils.notNull(failures, "failures");
+    this.volatilities = volatilities;
+    this.diagnostics = ImmutableList.copyOf(diagnostics);
+    this.failures = ImmutableList.copyOf(failures);
+  }
+
+  @Override
+  public SabrSwaptionCalibrationResult.Meta metaBean() {
+    return SabrSwaptionCalibrationResult.Meta.INSTANCE;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the calibrated volatilities.
+   * @return the value of the property, not null
+   */
+  public SabrParametersSwaptionVolatilities getVolatilities() {
+    return volatilities;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the diagnostics of the smiles that were calibrated successfully.
+   * <p>
+   * The diagnostics are in the same order as the data that was calibrated, by tenor and then by expiry.
+   * @return the value of the property, not null
+   */
+  public ImmutableList<SabrSwaptionCalibrationDiagnostic> getDiagnostics() {
+    return diagnostics;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the failures of the smiles that could not be calibrated.
+   * <p>
+   * The smiles that could not be calibrated are not included in the volatilities.
+   * This is only populated if the calibration does not stop on the first failure.
+   * @return the value of the property, not null
+   */
+  public ImmutableList<FailureItem> getFailures() {
+    return failures;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      SabrSwaptionCalibrationResult other = (SabrSwaptionCalibrationResult) obj;
+      return JodaBeanUtils.equal(volatilities, other.volatilities) &&
+          JodaBeanUtils.equal(diagnostics, other.diagnostics) &&
+          JodaBeanUtils.equal(failures, other.failures);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(volatilities);
+    hash = hash * 31 + JodaBeanUtils.hashCode(diagnostics);
+    hash = hash * 31 + JodaBeanUtils.hashCode(failures);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(128);
+    buf.append("SabrSwaptionCalibrationResult{");
+    buf.append("volatilities").append('=').append(volatilities).append(',').append(' ');
+    buf.append("diagnostics").append('=').append(diagnostics).append(',').append(' ');
+    buf.append("failures").append('=').append(JodaBeanUtils.toString(failures));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code SabrSwaptionCalibrationResult}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code volatilities} property.
+     */
+    private final MetaProperty<SabrParametersSwaptionVolatilities> volatilities = DirectMetaProperty.ofImmutable(
+        this, "volatilities", SabrSwaptionCalibrationResult.class, SabrParametersSwaptionVolatilities.class);
+    /**
+     * The meta-property for the {@code diagnostics} property.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes" })
+    private final MetaProperty<ImmutableList<SabrSwaptionCalibrationDiagnostic>> diagnostics = DirectMetaProperty.ofImmutable(
+        this, "diagnostics", SabrSwaptionCalibrationResult.class, (Class) ImmutableList.class);
+    /**
+     * The meta-property for the {@code failures} property.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes" })
+    private final MetaProperty<ImmutableList<FailureItem>> failures = DirectMetaProperty.ofImmutable(
+        this, "failures", SabrSwaptionCalibrationResult.class, (Class) ImmutableList.class);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "volatilities",
+        "diagnostics",
+        "failures");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -625639549:  // volatilities
+          return volatilities;
+        case -740386388:  // diagnostics
+          return diagnostics;
+        case 675938345:  // failures
+          return failures;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends SabrSwaptionCalibrationResult> builder() {
+      return new SabrSwaptionCalibrationResult.Builder();
+    }
+
+    @Override
+    public Class<? extends SabrSwaptionCalibrationResult> beanType() {
+      return SabrSwaptionCalibrationResult.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code volatilities} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<SabrParametersSwaptionVolatilities> volatilities() {
+      return volatilities;
+    }
+
+    /**
+     * The meta-property for the {@code diagnostics} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<ImmutableList<SabrSwaptionCalibrationDiagnostic>> diagnostics() {
+      return diagnostics;
+    }
+
+    /**
+     * The meta-property for the {@code failures} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<ImmutableList<FailureItem>> failures() {
+      return failures;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case -625639549:  // volatilities
+          return ((SabrSwaptionCalibrationResult) bean).getVolatilities();
+        case -740386388:  // diagnostics
+          return ((SabrSwaptionCalibrationResult) bean).getDiagnostics();
+        case 675938345:  // failures
+          return ((SabrSwaptionCalibrationResult) bean).getFailures();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code SabrSwaptionCalibrationResult}.
+   */
+  private static final class Builder extends DirectPrivateBeanBuilder<SabrSwaptionCalibrationResult> {
+
+    private SabrParametersSwaptionVolatilities volatilities;
+    private List<SabrSwaptionCalibrationDiagnostic> diagnostics = ImmutableList.of();
+    private List<FailureItem> failures = ImmutableList.of();
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+      super(meta());
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -625639549:  // volatilities
+          return volatilities;
+        case -740386388:  // diagnostics
+          return diagnostics;
+        case 675938345:  // failures
+          return failures;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case -625639549:  // volatilities
+          this.volatilities = (SabrParametersSwaptionVolatilities) newValue;
+          break;
+        case -740386388:  // diagnostics
+          this.diagnostics = (List<SabrSwaptionCalibrationDiagnostic>) newValue;
+          break;
+        case 675938345:  // failures
+          this.failures = (List<FailureItem>) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public SabrSwaptionCalibrationResult build() {
+      return new SabrSwaptionCalibrationResult(
+          volatilities,
+          diagnostics,
+          failures);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(128);
+      buf.append("SabrSwaptionCalibrationResult.Builder{");
+      buf.append("volatilities").append('=').append(JodaBeanUtils.toString(volatilities)).append(',').append(' ');
+      buf.append("diagnostics").append('=').append(JodaBeanUtils.toString(diagnostics)).append(',').append(' ');
+      buf.append("failures").append('=').append(JodaBeanUtils.toString(failures));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
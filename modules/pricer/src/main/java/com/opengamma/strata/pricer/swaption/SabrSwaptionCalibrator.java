@@ -11,9 +11,14 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Function;
 
+import com.google.common.util.concurrent.MoreExecutors;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.date.BusinessDayAdjustment;
 import com.opengamma.strata.basics.date.DayCount;
@@ -23,6 +28,8 @@ import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.result.FailureItem;
+import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.market.ValueType;
 import com.opengamma.strata.market.param.ParameterMetadata;
@@ -34,7 +41,9 @@ import com.opengamma.strata.market.surface.interpolator.SurfaceInterpolator;
 import com.opengamma.strata.math.MathException;
 import com.opengamma.strata.math.impl.rootfinding.NewtonRaphsonSingleRootFinder;
 import com.opengamma.strata.math.impl.statistics.leastsquare.LeastSquareResultsWithTransform;
+import com.opengamma.strata.pricer.impl.ParallelTasks;
 import com.opengamma.strata.pricer.impl.option.BlackFormulaRepository;
+import com.opengamma.strata.pricer.impl.option.ImpliedVolatilityFormulaRepository;
 import com.opengamma.strata.pricer.impl.volatility.smile.SabrFormulaData;
 import com.opengamma.strata.pricer.impl.volatility.smile.SabrModelFitter;
 import com.opengamma.strata.pricer.model.SabrInterestRateParameters;
@@ -178,7 +187,6 @@ public final class SabrSwaptionCalibrator {
    *   expiries/tenors which throw MathException
    * @return the SABR volatility object
    */
-  @SuppressWarnings("null")
   public SabrParametersSwaptionVolatilities calibrateWithFixedBetaAndShift(
       SabrSwaptionDefinition definition,
       ZonedDateTime calibrationDateTime,
@@ -188,6 +196,129 @@ public final class SabrSwaptionCalibrator {
       Surface shiftSurface,
       boolean stopOnMathException) {
 
+    return calibrate(
+        definition,
+        calibrationDateTime,
+        data,
+        ratesProvider,
+        betaSurface,
+        shiftSurface,
+        stopOnMathException,
+        Optional.empty(),
+        MoreExecutors.directExecutor())
+        .getVolatilities();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calibrate SABR parameters to a set of raw swaption data, returning the diagnostics of each smile.
+   * <p>
+   * The SABR parameters are calibrated with fixed beta and fixed shift surfaces.
+   * The raw data can be (shifted) log-normal volatilities, normal volatilities or option prices
+   * <p>
+   * The smile at each expiry and tenor is calibrated independently of the others, using the executor.
+   * An executor with several threads allows the smiles to be calibrated in parallel.
+   * The calibrated parameters do not depend on the executor.
+   * <p>
+   * If stopOnMathException is false, the data sets that throw a MathException are skipped and reported
+   * as failures in the result. If true, the first failure is thrown and the smiles that are not yet
+   * calibrated are cancelled.
+   * 
+   * @param definition  the definition of the calibration to be performed
+   * @param calibrationDateTime  the data and time of the calibration
+   * @param data  the map of raw option data, keyed by tenor
+   * @param ratesProvider  the rate provider used to compute the swap forward rates
+   * @param betaSurface  the beta surface
+   * @param shiftSurface  the shift surface
+   * @param stopOnMathException  flag indicating if the calibration should stop on math exceptions or skip the 
+   *   expiries/tenors which throw MathException
+   * @param executor  the executor used to calibrate the smiles
+   * @return the SABR volatility object and the calibration diagnostics
+   */
+  public SabrSwaptionCalibrationResult calibrateWithDiagnostics(
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      TenorRawOptionData data,
+      RatesProvider ratesProvider,
+      Surface betaSurface,
+      Surface shiftSurface,
+      boolean stopOnMathException,
+      ExecutorService executor) {
+
+    return calibrate(
+        definition,
+        calibrationDateTime,
+        data,
+        ratesProvider,
+        betaSurface,
+        shiftSurface,
+        stopOnMathException,
+        Optional.empty(),
+        ArgChecker.notNull(executor, "executor"));
+  }
+
+  /**
+   * Calibrate SABR parameters to a set of raw swaption data, warm-started from existing parameters,
+   * returning the diagnostics of each smile.
+   * <p>
+   * This is identical to {@link #calibrateWithDiagnostics(SabrSwaptionDefinition, ZonedDateTime,
+   * TenorRawOptionData, RatesProvider, Surface, Surface, boolean, ExecutorService)} except for the
+   * starting point of the calibration of each smile.
+   * <p>
+   * The calibration of each smile is performed from the alpha, rho and nu of the start parameters
+   * at the expiry and tenor of the smile, instead of from the four standard starting points.
+   * The start parameters are typically the result of a previous calibration, for example that of the previous day,
+   * in which case a single fit is performed for each smile and the result is more stable from one day to the next.
+   * If the fit from the start parameters fails, the smile is calibrated from the standard starting points.
+   * The diagnostics record which fit was used and the number of fits performed.
+   * 
+   * @param definition  the definition of the calibration to be performed
+   * @param calibrationDateTime  the data and time of the calibration
+   * @param data  the map of raw option data, keyed by tenor
+   * @param ratesProvider  the rate provider used to compute the swap forward rates
+   * @param betaSurface  the beta surface
+   * @param shiftSurface  the shift surface
+   * @param stopOnMathException  flag indicating if the calibration should stop on math exceptions or skip the 
+   *   expiries/tenors which throw MathException
+   * @param startParameters  the parameters from which the calibration of each smile starts
+   * @param executor  the executor used to calibrate the smiles
+   * @return the SABR volatility object and the calibration diagnostics
+   */
+  public SabrSwaptionCalibrationResult calibrateWithDiagnostics(
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      TenorRawOptionData data,
+      RatesProvider ratesProvider,
+      Surface betaSurface,
+      Surface shiftSurface,
+      boolean stopOnMathException,
+      SabrInterestRateParameters startParameters,
+      ExecutorService executor) {
+
+    return calibrate(
+        definition,
+        calibrationDateTime,
+        data,
+        ratesProvider,
+        betaSurface,
+        shiftSurface,
+        stopOnMathException,
+        Optional.of(ArgChecker.notNull(startParameters, "startParameters")),
+        ArgChecker.notNull(executor, "executor"));
+  }
+
+  // calibrates the smiles on the executor, then combines the results in the standard order
+  private SabrSwaptionCalibrationResult calibrate(
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      TenorRawOptionData data,
+      RatesProvider ratesProvider,
+      Surface betaSurface,
+      Surface shiftSurface,
+      boolean stopOnMathException,
+      Optional<SabrInterestRateParameters> startParameters,
+      Executor executor) {
+
     SwaptionVolatilitiesName name = definition.getName();
     FixedIborSwapConvention convention = definition.getConvention();
     DayCount dayCount = definition.getDayCount();
@@ -197,23 +328,21 @@ public final class SabrSwaptionCalibrator {
     fixed.set(1); // Beta fixed
     BusinessDayAdjustment bda = convention.getFloatingLeg().getStartDateBusinessDayAdjustment();
     LocalDate calibrationDate = calibrationDateTime.toLocalDate();
-    // Sorted maps to obtain the surfaces nodes in standard order
-    TreeMap<Double, TreeMap<Double, ParameterMetadata>> parameterMetadataTmp = new TreeMap<>();
-    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityAlphaTmp = new TreeMap<>(); // Sensitivity to the calibrating data
-    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityRhoTmp = new TreeMap<>();
-    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityNuTmp = new TreeMap<>();
-    TreeMap<Double, TreeMap<Double, SabrFormulaData>> sabrPointTmp = new TreeMap<>();
+    // The forwards are computed first, then the smiles are calibrated independently on the executor
+    List<SmileTask> smileTasks = new ArrayList<>();
+    boolean failed = false;
     for (Tenor tenor : data.getTenors()) {
       RawOptionData tenorData = data.getData(tenor);
       double timeTenor = tenor.getPeriod().getYears() + tenor.getPeriod().getMonths() / 12;
       List<Period> expiries = tenorData.getExpiries();
       int nbExpiries = expiries.size();
       for (int loopexpiry = 0; loopexpiry < nbExpiries; loopexpiry++) {
-        Pair<DoubleArray, DoubleArray> availableSmile = tenorData.availableSmileAtExpiry(expiries.get(loopexpiry));
+        Period expiry = expiries.get(loopexpiry);
+        Pair<DoubleArray, DoubleArray> availableSmile = tenorData.availableSmileAtExpiry(expiry);
         if (availableSmile.getFirst().size() == 0) { // If not data is available, no calibration possible
           continue;
         }
-        LocalDate exerciseDate = expirationDate(bda, calibrationDate, expiries.get(loopexpiry));
+        LocalDate exerciseDate = expirationDate(bda, calibrationDate, expiry);
         LocalDate effectiveDate = convention.calculateSpotDateFromTradeDate(exerciseDate, refData);
         double timeToExpiry = dayCount.relativeYearFraction(calibrationDate, exerciseDate);
         double beta = betaSurface.zValue(timeToExpiry, timeTenor);
@@ -221,46 +350,75 @@ public final class SabrSwaptionCalibrator {
         LocalDate endDate = effectiveDate.plus(tenor);
         SwapTrade swap0 = convention.toTrade(calibrationDate, effectiveDate, endDate, BuySell.BUY, 1.0, 0.0);
         double forward = swapPricer.parRate(swap0.getProduct().resolve(refData), ratesProvider);
-        SabrFormulaData sabrPoint = null;
-        DoubleMatrix inverseJacobian = null;
-        boolean error = false;
-        try {
-          Pair<SabrFormulaData, DoubleMatrix> calibrationResult =
-              calibration(forward, shift, beta, fixed, bda, calibrationDateTime, dayCount,
-                  availableSmile.getFirst(), availableSmile.getSecond(), expiries.get(loopexpiry), tenorData);
-          sabrPoint = calibrationResult.getFirst();
-          inverseJacobian = calibrationResult.getSecond();
-        } catch (MathException e) {
-          error = true;
-          if (stopOnMathException) {
-            String message = Messages.format("{} at expiry {} and tenor {}", e.getMessage(),
-                expiries.get(loopexpiry), tenor);
-            throw new MathException(message, e);
-          }
+        Optional<DoubleArray> warmStart = startParameters.map(p -> DoubleArray.of(
+            p.alpha(timeToExpiry, timeTenor), beta, p.rho(timeToExpiry, timeTenor), p.nu(timeToExpiry, timeTenor)));
+        CompletableFuture<SmileCalibration> result = CompletableFuture.supplyAsync(
+            () -> calibration(forward, shift, beta, fixed, bda, calibrationDateTime, dayCount,
+                availableSmile.getFirst(), availableSmile.getSecond(), expiry, tenorData, warmStart),
+            executor);
+        smileTasks.add(new SmileTask(expiry, tenor, timeToExpiry, timeTenor, result));
+        // with a direct executor, the smile is already calibrated; stop at the first failure
+        if (stopOnMathException && result.isCompletedExceptionally()) {
+          failed = true;
+          break;
         }
-        if (!error) {
-          if (!parameterMetadataTmp.containsKey(timeToExpiry)) {
-            parameterMetadataTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityAlphaTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityRhoTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityNuTmp.put(timeToExpiry, new TreeMap<>());
-            sabrPointTmp.put(timeToExpiry, new TreeMap<>());
-          }
-          TreeMap<Double, ParameterMetadata> parameterMetadataExpiryMap = parameterMetadataTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityAlphaExpiryMap = dataSensitivityAlphaTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityRhoExpiryMap = dataSensitivityRhoTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityNuExpiryMap = dataSensitivityNuTmp.get(timeToExpiry);
-          TreeMap<Double, SabrFormulaData> sabrPointExpiryMap = sabrPointTmp.get(timeToExpiry);
-          parameterMetadataExpiryMap.put(timeTenor, SwaptionSurfaceExpiryTenorParameterMetadata.of(
-              timeToExpiry,
-              timeTenor,
-              expiries.get(loopexpiry).toString() + "x" + tenor.toString()));
-          dataSensitivityAlphaExpiryMap.put(timeTenor, inverseJacobian.row(0));
-          dataSensitivityRhoExpiryMap.put(timeTenor, inverseJacobian.row(2));
-          dataSensitivityNuExpiryMap.put(timeTenor, inverseJacobian.row(3));
-          sabrPointExpiryMap.put(timeTenor, sabrPoint);
+      }
+      if (failed) {
+        break;
+      }
+    }
+    // Sorted maps to obtain the surfaces nodes in standard order
+    TreeMap<Double, TreeMap<Double, ParameterMetadata>> parameterMetadataTmp = new TreeMap<>();
+    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityAlphaTmp = new TreeMap<>(); // Sensitivity to the calibrating data
+    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityRhoTmp = new TreeMap<>();
+    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityNuTmp = new TreeMap<>();
+    TreeMap<Double, TreeMap<Double, SabrFormulaData>> sabrPointTmp = new TreeMap<>();
+    List<SabrSwaptionCalibrationDiagnostic> diagnostics = new ArrayList<>();
+    List<FailureItem> failures = new ArrayList<>();
+    for (SmileTask smileTask : smileTasks) {
+      double timeToExpiry = smileTask.timeToExpiry;
+      double timeTenor = smileTask.timeTenor;
+      SmileCalibration calibrationResult;
+      try {
+        calibrationResult = smileTask.join();
+      } catch (MathException e) {
+        String message = Messages.format("{} at expiry {} and tenor {}", e.getMessage(),
+            smileTask.expiry, smileTask.tenor);
+        if (stopOnMathException) {
+          // the smiles that are not yet calibrated are not needed
+          smileTasks.forEach(task -> task.result.cancel(false));
+          throw new MathException(message, e);
         }
+        failures.add(FailureItem.of(FailureReason.CALCULATION_FAILED, e, message));
+        continue;
       }
+      if (!parameterMetadataTmp.containsKey(timeToExpiry)) {
+        parameterMetadataTmp.put(timeToExpiry, new TreeMap<>());
+        dataSensitivityAlphaTmp.put(timeToExpiry, new TreeMap<>());
+        dataSensitivityRhoTmp.put(timeToExpiry, new TreeMap<>());
+        dataSensitivityNuTmp.put(timeToExpiry, new TreeMap<>());
+        sabrPointTmp.put(timeToExpiry, new TreeMap<>());
+      }
+      TreeMap<Double, ParameterMetadata> parameterMetadataExpiryMap = parameterMetadataTmp.get(timeToExpiry);
+      TreeMap<Double, DoubleArray> dataSensitivityAlphaExpiryMap = dataSensitivityAlphaTmp.get(timeToExpiry);
+      TreeMap<Double, DoubleArray> dataSensitivityRhoExpiryMap = dataSensitivityRhoTmp.get(timeToExpiry);
+      TreeMap<Double, DoubleArray> dataSensitivityNuExpiryMap = dataSensitivityNuTmp.get(timeToExpiry);
+      TreeMap<Double, SabrFormulaData> sabrPointExpiryMap = sabrPointTmp.get(timeToExpiry);
+      parameterMetadataExpiryMap.put(timeTenor, SwaptionSurfaceExpiryTenorParameterMetadata.of(
+          timeToExpiry,
+          timeTenor,
+          smileTask.expiry.toString() + "x" + smileTask.tenor.toString()));
+      DoubleMatrix inverseJacobian = calibrationResult.parameterSensitivityToData;
+      dataSensitivityAlphaExpiryMap.put(timeTenor, inverseJacobian.row(0));
+      dataSensitivityRhoExpiryMap.put(timeTenor, inverseJacobian.row(2));
+      dataSensitivityNuExpiryMap.put(timeTenor, inverseJacobian.row(3));
+      sabrPointExpiryMap.put(timeTenor, calibrationResult.sabrParameters);
+      diagnostics.add(SabrSwaptionCalibrationDiagnostic.of(
+          smileTask.expiry,
+          smileTask.tenor,
+          calibrationResult.chiSquare,
+          calibrationResult.warmStart,
+          calibrationResult.fitCount));
     }
     DoubleArray timeToExpiryArray = DoubleArray.EMPTY;
     DoubleArray timeTenorArray = DoubleArray.EMPTY;
@@ -307,7 +465,7 @@ public final class SabrSwaptionCalibrator {
         .of(metadataNu, timeToExpiryArray, timeTenorArray, nuArray, interpolator);
     SabrInterestRateParameters params = SabrInterestRateParameters.of(
         alphaSurface, betaSurface, rhoSurface, nuSurface, shiftSurface, sabrVolatilityFormula);
-    return SabrParametersSwaptionVolatilities.builder()
+    SabrParametersSwaptionVolatilities volatilities = SabrParametersSwaptionVolatilities.builder()
         .name(name)
         .convention(convention)
         .valuationDateTime(calibrationDateTime)
@@ -315,11 +473,14 @@ public final class SabrSwaptionCalibrator {
         .dataSensitivityAlpha(dataSensitivityAlpha)
         .dataSensitivityRho(dataSensitivityRho)
         .dataSensitivityNu(dataSensitivityNu).build();
+    return SabrSwaptionCalibrationResult.of(volatilities, diagnostics, failures);
   }
 
-  // The main part of the calibration. The calibration is done 4 times with different starting points: low and high
-  // volatilities and high and low vol of vol. The best result (in term of chi^2) is returned.
-  private Pair<SabrFormulaData, DoubleMatrix> calibration(
+  // The main part of the calibration. If a warm start is available, the calibration is done from it only.
+  // Otherwise, or if the calibration from the warm start fails, the calibration is done 4 times with different
+  // starting points: low and high volatilities and high and low vol of vol. The best result (in term of chi^2)
+  // is returned.
+  private SmileCalibration calibration(
       double forward,
       double shift,
       double beta,
@@ -330,8 +491,22 @@ public final class SabrSwaptionCalibrator {
       DoubleArray strike,
       DoubleArray data,
       Period expiry,
-      RawOptionData rawData) {
+      RawOptionData rawData,
+      Optional<DoubleArray> warmStart) {
 
+    int fitCount = 0;
+    if (warmStart.isPresent()) {
+      fitCount++;
+      try {
+        Pair<LeastSquareResultsWithTransform, DoubleArray> r = calibrationFromStart(
+            forward, shift, fixed, bda, calibrationDateTime, dayCount, strike, data, expiry, rawData, warmStart.get());
+        return SmileCalibration.of(r, true, fitCount);
+      } catch (MathException | IllegalArgumentException e) {
+        // fall back to the standard starting points, the warm start parameters may be outside the allowed range
+      }
+    }
+    double chi2 = 1.0E+12; // Large number 
+    Pair<LeastSquareResultsWithTransform, DoubleArray> sabrCalibrationResult = null;
     double rhoStart = -0.50 * beta + 0.50 * (1 - beta);
     // Correlation is usually positive for normal and negative for log-normal;.
     double[] alphaStart = new double[4];
@@ -344,51 +519,49 @@ public final class SabrSwaptionCalibrator {
     nuStart[1] = 0.50; // High vol of vol
     nuStart[2] = 0.10;
     nuStart[3] = 0.50;
-    double chi2 = 1.0E+12; // Large number 
-    Pair<LeastSquareResultsWithTransform, DoubleArray> sabrCalibrationResult = null;
     for (int i = 0; i < 4; i++) { // Try different starting points and take the best
       DoubleArray startParameters = DoubleArray.of(alphaStart[i], beta, rhoStart, nuStart[i]);
-      Pair<LeastSquareResultsWithTransform, DoubleArray> r = null;
-      if (rawData.getDataType().equals(ValueType.NORMAL_VOLATILITY)) {
-        r = calibrateLsShiftedFromNormalVolatilities(bda, calibrationDateTime, dayCount,
-            expiry, forward, strike, rawData.getStrikeType(),
-            data, startParameters, fixed, shift);
-      } else {
-        if (rawData.getDataType().equals(ValueType.PRICE)) {
-          r = calibrateLsShiftedFromPrices(bda, calibrationDateTime, dayCount,
-              expiry, forward, strike, rawData.getStrikeType(),
-              data, startParameters, fixed, shift);
-        } else {
-          if (rawData.getDataType().equals(ValueType.BLACK_VOLATILITY)) {
-            r = calibrateLsShiftedFromBlackVolatilities(bda, calibrationDateTime, dayCount,
-                expiry, forward, strike, rawData.getStrikeType(),
-                data, rawData.getShift().orElse(0d), startParameters, fixed, shift);
-          } else {
-            throw new IllegalArgumentException("Data type not supported");
-          }
-        }
-      }
+      Pair<LeastSquareResultsWithTransform, DoubleArray> r = calibrationFromStart(
+          forward, shift, fixed, bda, calibrationDateTime, dayCount, strike, data, expiry, rawData, startParameters);
+      fitCount++;
       if (r.getFirst().getChiSq() < chi2) { // Keep best calibration
         sabrCalibrationResult = r;
         chi2 = r.getFirst().getChiSq();
       }
     }
-    @SuppressWarnings("null")
-    SabrFormulaData sabrParameters =
-        SabrFormulaData.of(sabrCalibrationResult.getFirst().getModelParameters().toArrayUnsafe());
-    DoubleMatrix parameterSensitivityToBlackShifted =
-        sabrCalibrationResult.getFirst().getModelParameterSensitivityToData();
-    DoubleArray blackVolSensitivitytoRawData = sabrCalibrationResult.getSecond();
-    // Multiply the sensitivity to the intermediary (shifted) log-normal vol by its sensitivity to the raw data
-    double[][] parameterSensitivityToDataArray = new double[4][blackVolSensitivitytoRawData.size()];
-    for (int loopsabr = 0; loopsabr < 4; loopsabr++) {
-      for (int loopdata = 0; loopdata < blackVolSensitivitytoRawData.size(); loopdata++) {
-        parameterSensitivityToDataArray[loopsabr][loopdata] =
-            parameterSensitivityToBlackShifted.get(loopsabr, loopdata) * blackVolSensitivitytoRawData.get(loopdata);
-      }
+    return SmileCalibration.of(sabrCalibrationResult, false, fitCount);
+  }
+
+  // The calibration from a single starting point, depending on the type of the raw data
+  private Pair<LeastSquareResultsWithTransform, DoubleArray> calibrationFromStart(
+      double forward,
+      double shift,
+      BitSet fixed,
+      BusinessDayAdjustment bda,
+      ZonedDateTime calibrationDateTime,
+      DayCount dayCount,
+      DoubleArray strike,
+      DoubleArray data,
+      Period expiry,
+      RawOptionData rawData,
+      DoubleArray startParameters) {
+
+    if (rawData.getDataType().equals(ValueType.NORMAL_VOLATILITY)) {
+      return calibrateLsShiftedFromNormalVolatilities(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, startParameters, fixed, shift);
+    }
+    if (rawData.getDataType().equals(ValueType.PRICE)) {
+      return calibrateLsShiftedFromPrices(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, startParameters, fixed, shift);
     }
-    DoubleMatrix parameterSensitivityToData = DoubleMatrix.ofUnsafe(parameterSensitivityToDataArray);
-    return Pair.of(sabrParameters, parameterSensitivityToData);
+    if (rawData.getDataType().equals(ValueType.BLACK_VOLATILITY)) {
+      return calibrateLsShiftedFromBlackVolatilities(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, rawData.getShift().orElse(0d), startParameters, fixed, shift);
+    }
+    throw new IllegalArgumentException("Data type not supported");
   }
 
   //-------------------------------------------------------------------------
@@ -703,6 +876,10 @@ public final class SabrSwaptionCalibrator {
   /**
    * Creates an array of shifted Black volatilities from option prices and the sensitivities of the 
    * Black volatilities with respect to the price inputs.
+   * <p>
+   * The sensitivity is the inverse of the vega. It is not defined when the vega is zero, which is the case
+   * when the price is equal to the intrinsic value or when the vega underflows for an extreme price,
+   * and an exception is thrown rather than returning an infinite sensitivity.
    * 
    * @param forward  the forward rate
    * @param shiftOutput  the shift required in the output
@@ -710,6 +887,7 @@ public final class SabrSwaptionCalibrator {
    * @param strikes  the option strikes
    * @param prices  the option prices
    * @return the shifted black volatilities and their derivatives
+   * @throws IllegalArgumentException if a price is outside the range of Black prices, or the vega is zero
    */
   public Pair<DoubleArray, DoubleArray> blackVolatilitiesShiftedFromPrices(
       double forward,
@@ -719,15 +897,26 @@ public final class SabrSwaptionCalibrator {
       DoubleArray prices) {
 
     int nbStrikes = strikes.size();
-    double[] impliedVolatility = new double[nbStrikes];
+    double forwardShifted = forward + shiftOutput;
+    DoubleArray strikesShifted = strikes.plus(shiftOutput);
+    DoubleArray impliedVolatility = ImpliedVolatilityFormulaRepository.impliedBlackVolatility(
+        prices,
+        DoubleArray.filled(nbStrikes, forwardShifted),
+        strikesShifted,
+        DoubleArray.filled(nbStrikes, timeToExpiry),
+        true);
+    // the derivative of the implied volatility with respect to the price is the inverse of the vega
     double[] impliedVolatilityDerivatives = new double[nbStrikes];
     for (int i = 0; i < nbStrikes; i++) {
-      ValueDerivatives iv = BlackFormulaRepository.impliedVolatilityAdjoint(
-          prices.get(i), forward + shiftOutput, strikes.get(i) + shiftOutput, timeToExpiry, true);
-      impliedVolatility[i] = iv.getValue();
-      impliedVolatilityDerivatives[i] = iv.getDerivative(0);
+      double vega = BlackFormulaRepository.vega(
+          forwardShifted, strikesShifted.get(i), timeToExpiry, impliedVolatility.get(i));
+      double derivative = 1d / vega;
+      ArgChecker.isTrue(Double.isFinite(derivative),
+          "Implied volatility derivative is not defined as the vega is zero for strike {} with price {}",
+          strikes.get(i), prices.get(i));
+      impliedVolatilityDerivatives[i] = derivative;
     }
-    return Pair.of(DoubleArray.ofUnsafe(impliedVolatility), DoubleArray.ofUnsafe(impliedVolatilityDerivatives));
+    return Pair.of(impliedVolatility, DoubleArray.ofUnsafe(impliedVolatilityDerivatives));
   }
 
   //-------------------------------------------------------------------------
@@ -899,4 +1088,78 @@ public final class SabrSwaptionCalibrator {
     return bda.adjust(calibrationDate.plus(expiry), refData);
   }
 
+  //-------------------------------------------------------------------------
+  // The calibration of the smile at a single expiry and tenor, run on the executor
+  private static final class SmileTask {
+    private final Period expiry;
+    private final Tenor tenor;
+    private final double timeToExpiry;
+    private final double timeTenor;
+    private final CompletableFuture<SmileCalibration> result;
+
+    private SmileTask(
+        Period expiry,
+        Tenor tenor,
+        double timeToExpiry,
+        double timeTenor,
+        CompletableFuture<SmileCalibration> result) {
+
+      this.expiry = expiry;
+      this.tenor = tenor;
+      this.timeToExpiry = timeToExpiry;
+      this.timeTenor = timeTenor;
+      this.result = result;
+    }
+
+    // waits for the calibration, rethrowing any exception thrown by it
+    private SmileCalibration join() {
+      return ParallelTasks.join(result);
+    }
+  }
+
+  // The calibrated SABR parameters of a smile and their sensitivity to the raw data
+  private static final class SmileCalibration {
+    private final SabrFormulaData sabrParameters;
+    private final DoubleMatrix parameterSensitivityToData;
+    private final double chiSquare;
+    private final boolean warmStart;
+    private final int fitCount;
+
+    private SmileCalibration(
+        SabrFormulaData sabrParameters,
+        DoubleMatrix parameterSensitivityToData,
+        double chiSquare,
+        boolean warmStart,
+        int fitCount) {
+
+      this.sabrParameters = sabrParameters;
+      this.parameterSensitivityToData = parameterSensitivityToData;
+      this.chiSquare = chiSquare;
+      this.warmStart = warmStart;
+      this.fitCount = fitCount;
+    }
+
+    private static SmileCalibration of(
+        Pair<LeastSquareResultsWithTransform, DoubleArray> sabrCalibrationResult,
+        boolean warmStart,
+        int fitCount) {
+
+      LeastSquareResultsWithTransform leastSquareResults = sabrCalibrationResult.getFirst();
+      SabrFormulaData sabrParameters = SabrFormulaData.of(leastSquareResults.getModelParameters().toArrayUnsafe());
+      DoubleMatrix parameterSensitivityToBlackShifted = leastSquareResults.getModelParameterSensitivityToData();
+      DoubleArray blackVolSensitivitytoRawData = sabrCalibrationResult.getSecond();
+      // Multiply the sensitivity to the intermediary (shifted) log-normal vol by its sensitivity to the raw data
+      double[][] parameterSensitivityToDataArray = new double[4][blackVolSensitivitytoRawData.size()];
+      for (int loopsabr = 0; loopsabr < 4; loopsabr++) {
+        for (int loopdata = 0; loopdata < blackVolSensitivitytoRawData.size(); loopdata++) {
+          parameterSensitivityToDataArray[loopsabr][loopdata] =
+              parameterSensitivityToBlackShifted.get(loopsabr, loopdata) * blackVolSensitivitytoRawData.get(loopdata);
+        }
+      }
+      DoubleMatrix parameterSensitivityToData = DoubleMatrix.ofUnsafe(parameterSensitivityToDataArray);
+      return new SmileCalibration(
+          sabrParameters, parameterSensitivityToData, leastSquareResults.getChiSq(), warmStart, fitCount);
+    }
+  }
+
 }
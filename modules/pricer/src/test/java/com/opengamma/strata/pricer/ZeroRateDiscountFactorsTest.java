@@ -15,6 +15,7 @@ import static com.opengamma.strata.collect.TestHelper.date;
 import static com.opengamma.strata.pricer.CompoundedRateType.CONTINUOUS;
 import static com.opengamma.strata.pricer.CompoundedRateType.PERIODIC;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.util.Optional;
@@ -31,6 +32,7 @@ import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
 import com.opengamma.strata.market.curve.interpolator.CurveInterpolator;
 import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.pricer.sensitivity.ParameterSensitivityAccumulator;
 
 /**
  * Test {@link ZeroRateDiscountFactors}.
@@ -243,6 +245,16 @@ public class ZeroRateDiscountFactorsTest {
     assertEquals(test.parameterSensitivity(point).size(), 1);
   }
 
+  public void test_addZeroRateParameterSensitivity() {
+    ZeroRateDiscountFactors test = ZeroRateDiscountFactors.of(GBP, DATE_VAL, CURVE);
+    ParameterSensitivityAccumulator accumulator = ParameterSensitivityAccumulator.create();
+    test.addZeroRateParameterSensitivity(1.5d, GBP, 25d, accumulator);
+    test.addZeroRateParameterSensitivity(3d, USD, 10d, accumulator);
+    CurrencyParameterSensitivities expected = test.parameterSensitivity(ZeroRateSensitivity.of(GBP, 1.5d, 25d))
+        .combinedWith(test.parameterSensitivity(ZeroRateSensitivity.of(GBP, 3d, USD, 10d)));
+    assertTrue(accumulator.build().equalWithTolerance(expected, TOL));
+  }
+
   //-------------------------------------------------------------------------
   public void test_createParameterSensitivity() {
     ZeroRateDiscountFactors test = ZeroRateDiscountFactors.of(GBP, DATE_VAL, CURVE);
@@ -34,6 +34,7 @@ import com.opengamma.strata.market.curve.interpolator.CurveInterpolator;
 import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+import com.opengamma.strata.pricer.sensitivity.ParameterSensitivityAccumulator;
 
 /**
  * Test {@link ZeroRatePeriodicDiscountFactors}.
@@ -286,6 +287,16 @@ public class ZeroRatePeriodicDiscountFactorsTest {
     assertEquals(sensi1.getCurrency(), GBP);
   }
 
+  public void test_addZeroRateParameterSensitivity() {
+    ZeroRatePeriodicDiscountFactors test = ZeroRatePeriodicDiscountFactors.of(GBP, DATE_VAL, CURVE);
+    ParameterSensitivityAccumulator accumulator = ParameterSensitivityAccumulator.create();
+    test.addZeroRateParameterSensitivity(1.5d, GBP, 25d, accumulator);
+    test.addZeroRateParameterSensitivity(3d, USD, 10d, accumulator);
+    CurrencyParameterSensitivities expected = test.parameterSensitivity(ZeroRateSensitivity.of(GBP, 1.5d, 25d))
+        .combinedWith(test.parameterSensitivity(ZeroRateSensitivity.of(GBP, 3d, USD, 10d)));
+    assertTrue(accumulator.build().equalWithTolerance(expected, TOLERANCE_DELTA));
+  }
+
   //-------------------------------------------------------------------------
   public void test_parameterSensitivity_full() {
     ZeroRatePeriodicDiscountFactors test = ZeroRatePeriodicDiscountFactors.of(GBP, DATE_VAL, CURVE);
@@ -13,10 +13,12 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.function.Function;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.collect.array.DoubleArray;
@@ -135,6 +137,10 @@ public class SabrExtrapolationReplicationCmsPeriodPricerTest {
       new RatesFiniteDifferenceSensitivityCalculator(EPS);  
   private static final DiscountingSwapProductPricer PRICER_SWAP =
       DiscountingSwapProductPricer.DEFAULT;
+  private static final SabrExtrapolationReplicationCmsPeriodPricer PRICER_GL =
+      SabrExtrapolationReplicationCmsPeriodPricer.ofGaussLegendre(PRICER_SWAP, CUT_OFF_STRIKE, MU, 20);
+  private static final SabrExtrapolationReplicationCmsPeriodPricer PRICER_GL_40 =
+      SabrExtrapolationReplicationCmsPeriodPricer.ofGaussLegendre(PRICER_SWAP, CUT_OFF_STRIKE, MU, 40);
 
   public void test_presentValue_zero() {
     CurrencyAmount pv = PRICER.presentValue(COUPON, RATES_PROVIDER, VOLATILITIES);
@@ -224,6 +230,66 @@ public class SabrExtrapolationReplicationCmsPeriodPricerTest {
     assertEquals(pvCap2.getAmount() - pvFloor2.getAmount(), pvCpn2.getAmount() - pvStrike2, 1.0E+3);
   }
 
+  public void test_presentValue_gaussLegendre() {
+    for (CmsPeriod period : new CmsPeriod[] {COUPON, CAPLET, FLOORLET, CAPLET_NEGATIVE, FLOORLET_NEGATIVE}) {
+      CurrencyAmount computed = PRICER_GL.presentValue(period, RATES_PROVIDER, VOLATILITIES_SHIFT);
+      CurrencyAmount expected = PRICER.presentValue(period, RATES_PROVIDER, VOLATILITIES_SHIFT);
+      assertEquals(computed.getAmount(), expected.getAmount(), NOTIONAL * 1.0e-7);
+    }
+    for (CmsPeriod period : new CmsPeriod[] {COUPON, CAPLET, FLOORLET}) {
+      CurrencyAmount computed = PRICER_GL.presentValue(period, RATES_PROVIDER, VOLATILITIES);
+      CurrencyAmount expected = PRICER.presentValue(period, RATES_PROVIDER, VOLATILITIES);
+      assertEquals(computed.getAmount(), expected.getAmount(), NOTIONAL * 1.0e-7);
+    }
+  }
+
+  public void test_presentValueSensitivity_gaussLegendre() {
+    for (CmsPeriod period : new CmsPeriod[] {COUPON, CAPLET, FLOORLET}) {
+      CurrencyParameterSensitivities computed = RATES_PROVIDER.parameterSensitivity(
+          PRICER_GL.presentValueSensitivityRates(period, RATES_PROVIDER, VOLATILITIES).build());
+      CurrencyParameterSensitivities expected = RATES_PROVIDER.parameterSensitivity(
+          PRICER.presentValueSensitivityRates(period, RATES_PROVIDER, VOLATILITIES).build());
+      assertTrue(computed.equalWithTolerance(expected, NOTIONAL * 1.0e-6));
+      PointSensitivities computedSabr = PRICER_GL
+          .presentValueSensitivityModelParamsSabr(period, RATES_PROVIDER, VOLATILITIES).build();
+      PointSensitivities expectedSabr = PRICER
+          .presentValueSensitivityModelParamsSabr(period, RATES_PROVIDER, VOLATILITIES).build();
+      // the adaptive integration of the SABR sensitivity has a relative tolerance of 1.0e-3
+      assertTrue(computedSabr.equalWithTolerance(expectedSabr, NOTIONAL * 1.0e-4));
+      PointSensitivities convergedSabr = PRICER_GL_40
+          .presentValueSensitivityModelParamsSabr(period, RATES_PROVIDER, VOLATILITIES).build();
+      assertTrue(computedSabr.equalWithTolerance(convergedSabr, NOTIONAL * 1.0e-7));
+    }
+  }
+
+  public void test_presentValue_list() {
+    List<CmsPeriod> periods =
+        ImmutableList.of(COUPON, CAPLET, FLOORLET, CAPLET_NEGATIVE, FLOORLET_NEGATIVE, CAPLET_SELL);
+    for (SabrExtrapolationReplicationCmsPeriodPricer pricer : new SabrExtrapolationReplicationCmsPeriodPricer[] {
+        PRICER, PRICER_GL}) {
+      List<CurrencyAmount> computed = pricer.presentValue(periods, RATES_PROVIDER, VOLATILITIES_SHIFT);
+      assertEquals(computed.size(), periods.size());
+      for (int i = 0; i < periods.size(); i++) {
+        CurrencyAmount expected = pricer.presentValue(periods.get(i), RATES_PROVIDER, VOLATILITIES_SHIFT);
+        assertEquals(computed.get(i).getCurrency(), expected.getCurrency());
+        assertEquals(computed.get(i).getAmount(), expected.getAmount(), NOTIONAL * TOL);
+      }
+    }
+  }
+
+  public void test_presentValueSensitivityStrike_gaussLegendre() {
+    for (CmsPeriod period : new CmsPeriod[] {CAPLET, FLOORLET}) {
+      double computed = PRICER_GL.presentValueSensitivityStrike(period, RATES_PROVIDER, VOLATILITIES);
+      double expected = PRICER.presentValueSensitivityStrike(period, RATES_PROVIDER, VOLATILITIES);
+      assertEquals(computed, expected, NOTIONAL * 1.0e-5);
+    }
+  }
+
+  public void test_gaussLegendre_invalid() {
+    assertThrowsIllegalArg(() -> SabrExtrapolationReplicationCmsPeriodPricer.ofGaussLegendre(
+        PRICER_SWAP, CUT_OFF_STRIKE, MU, 1));
+  }
+
   //-------------------------------------------------------------------------
   public void test_presentValueSensitivity() {
     PointSensitivityBuilder pvPointCoupon = PRICER.presentValueSensitivityRates(COUPON_SELL, RATES_PROVIDER, VOLATILITIES);
@@ -8,14 +8,20 @@ package com.opengamma.strata.pricer.credit;
 import static com.opengamma.strata.basics.currency.Currency.EUR;
 import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
 import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.collect.Guavate.toImmutableSet;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.basics.schedule.Frequency;
@@ -291,4 +297,70 @@ public class FastCreditCurveCalibratorTest extends IsdaCompliantCreditCurveCalib
     testJacobian(BUILDER_MARKIT, ccMf, ratesProvider, nodes, quotes, ONE_PC, EPS);
   }
 
+  public void multipleLegalEntitiesTest() {
+    LocalDate valuationDate = LocalDate.of(2013, 2, 27);
+    DoubleArray ycTime = DoubleArray.of(0.5, 1d, 2d, 5d, 10d, 30d);
+    DoubleArray ycRate = DoubleArray.of(0.0046, 0.0076, 0.0040, 0.0094, 0.0203, 0.0311);
+    IsdaCreditDiscountFactors yc =
+        IsdaCreditDiscountFactors.of(EUR, valuationDate, CurveName.of("yc_usd"), ycTime, ycRate, ACT_365F);
+    LocalDate startDate = LocalDate.of(2012, 12, 20);
+    LocalDate[] pillarDates = new LocalDate[] {
+        LocalDate.of(2014, 3, 20), LocalDate.of(2016, 3, 20), LocalDate.of(2018, 3, 20), LocalDate.of(2023, 3, 20)};
+    double[] quotes = new double[] {0.008163, 0.015136, 0.021905, 0.027549};
+    CdsConvention conv = ImmutableCdsConvention.of("conv", EUR, ACT_360, Frequency.P3M, BUS_ADJ, CDS_SETTLE_STD);
+    int nNames = 5;
+    ImmutableMarketDataBuilder builderCredit = ImmutableMarketData.builder(valuationDate);
+    ImmutableMap.Builder<StandardId, RecoveryRates> recoveryRates = ImmutableMap.builder();
+    ImmutableList.Builder<IsdaCreditCurveDefinition> curveDefinitions = ImmutableList.builder();
+    for (int j = 0; j < nNames; ++j) {
+      StandardId legalEntity = StandardId.of("OG", "ABC" + j);
+      recoveryRates.put(legalEntity, ConstantRecoveryRates.of(legalEntity, valuationDate, 0.25 + 0.05 * j));
+      List<CdsIsdaCreditCurveNode> nodes = new ArrayList<>(pillarDates.length);
+      for (int i = 0; i < pillarDates.length; ++i) {
+        CdsTemplate temp = DatesCdsTemplate.of(startDate, pillarDates[i], conv);
+        QuoteId id = QuoteId.of(StandardId.of("OG", legalEntity.getValue() + "-" + pillarDates[i]));
+        nodes.add(CdsIsdaCreditCurveNode.ofParSpread(temp, id, legalEntity));
+        builderCredit.addValue(id, quotes[i] * (1d + 0.2 * j));
+      }
+      curveDefinitions.add(IsdaCreditCurveDefinition.of(
+          CurveName.of("cc" + j), EUR, valuationDate, ACT_365F, nodes, true, false));
+    }
+    ImmutableMarketData marketData = builderCredit.build();
+    ImmutableCreditRatesProvider ratesProvider = ImmutableCreditRatesProvider.builder()
+        .valuationDate(valuationDate)
+        .discountCurves(ImmutableMap.of(EUR, yc))
+        .recoveryRateCurves(recoveryRates.build())
+        .creditCurves(ImmutableMap.of())
+        .build();
+    List<IsdaCreditCurveDefinition> definitions = curveDefinitions.build();
+    ImmutableCreditRatesProvider computed = BUILDER_ISDA.calibrate(definitions, marketData, ratesProvider, REF_DATA);
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      IsdaCreditCurveCalibrationResult result =
+          BUILDER_ISDA.calibrateWithDiagnostics(definitions, marketData, ratesProvider, REF_DATA, executor);
+      assertEquals(result.getRatesProvider(), computed);
+      assertEquals(result.getCalibrationTimes().keySet(),
+          definitions.stream().map(IsdaCreditCurveDefinition::getName).collect(toImmutableSet()));
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(ImmutableCreditRatesProvider.meta().creditCurves().get(computed).size(), nNames);
+    for (IsdaCreditCurveDefinition definition : definitions) {
+      LegalEntitySurvivalProbabilities expected =
+          BUILDER_ISDA.calibrate(definition, marketData, ratesProvider, REF_DATA);
+      assertEquals(computed.survivalProbabilities(expected.getLegalEntityId(), EUR), expected);
+    }
+    // an existing curve is replaced, and the other curves are kept
+    ImmutableCreditRatesProvider recalibrated =
+        BUILDER_ISDA.calibrate(definitions.subList(0, 2), marketData, computed, REF_DATA);
+    assertEquals(recalibrated, computed);
+    // the legal entity and currency must be unique
+    IsdaCreditCurveDefinition other = IsdaCreditCurveDefinition.of(
+        CurveName.of("other"), EUR, valuationDate, ACT_365F, definitions.get(0).getCurveNodes(), true, false);
+    List<IsdaCreditCurveDefinition> duplicated = ImmutableList.of(definitions.get(0), other);
+    assertThrowsIllegalArg(() -> BUILDER_ISDA.calibrate(duplicated, marketData, ratesProvider, REF_DATA));
+    List<IsdaCreditCurveDefinition> duplicatedName = ImmutableList.of(definitions.get(0), definitions.get(0));
+    assertThrowsIllegalArg(() -> BUILDER_ISDA.calibrate(duplicatedName, marketData, ratesProvider, REF_DATA));
+  }
+
 }
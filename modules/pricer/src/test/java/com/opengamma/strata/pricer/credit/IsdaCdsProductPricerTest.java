@@ -23,10 +23,12 @@ import java.util.List;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.CurrencyAmountArray;
 import com.opengamma.strata.basics.date.BusinessDayAdjustment;
 import com.opengamma.strata.basics.date.BusinessDayConventions;
 import com.opengamma.strata.basics.date.DaysAdjustment;
@@ -284,6 +286,52 @@ public class IsdaCdsProductPricerTest {
     assertEquals(price, protPv - coupon * annuity, TOL);
   }
 
+  public void scenarioTest() {
+    InterpolatedNodalCurve shiftedCc = NODAL_CC.withYValues(RATE_CC.plus(0.001));
+    InterpolatedNodalCurve shiftedYc = NODAL_YC.withYValues(RATE_YC.plus(0.002));
+    InterpolatedNodalCurve otherNodesCc = NODAL_CC.withValues(TIME_CC.subArray(1), RATE_CC.subArray(1));
+    List<CreditRatesProvider> providers = ImmutableList.of(
+        RATES_PROVIDER,
+        createCreditRatesProvider(VALUATION_DATE, NODAL_YC, shiftedCc),
+        createCreditRatesProvider(VALUATION_DATE, shiftedYc, NODAL_CC),
+        createCreditRatesProvider(VALUATION_DATE, NODAL_YC, otherNodesCc),
+        createCreditRatesProvider(VALUATION_DATE, shiftedYc, shiftedCc));
+    for (IsdaCdsProductPricer pricer : new IsdaCdsProductPricer[] {PRICER, PRICER_FIX, PRICER_CORRECT}) {
+      for (ResolvedCds product : new ResolvedCds[] {PRODUCT_NEXTDAY, PRODUCT_BEFORE, PRODUCT_AFTER, PRODUCT_NS_BTW}) {
+        LocalDate settlementDate = product.getSettlementDateOffset().adjust(VALUATION_DATE, REF_DATA);
+        for (PriceType priceType : PriceType.values()) {
+          DoubleArray prices = pricer.price(product, providers, settlementDate, priceType, REF_DATA);
+          CurrencyAmountArray pvs = pricer.presentValue(product, providers, settlementDate, priceType, REF_DATA);
+          assertEquals(prices.size(), providers.size());
+          assertEquals(pvs.getCurrency(), USD);
+          for (int i = 0; i < providers.size(); i++) {
+            double price = pricer.price(product, providers.get(i), settlementDate, priceType, REF_DATA);
+            CurrencyAmount pv = pricer.presentValue(product, providers.get(i), settlementDate, priceType, REF_DATA);
+            assertEquals(prices.get(i), price, TOL);
+            assertEquals(pvs.get(i).getAmount(), pv.getAmount(), NOTIONAL * TOL);
+          }
+        }
+      }
+    }
+  }
+
+  public void scenarioEndedTest() {
+    LocalDate valuationDate = PRODUCT_NEXTDAY.getProtectionEndDate().plusDays(1);
+    CreditRatesProvider provider = createCreditRatesProvider(valuationDate);
+    LocalDate settlementDate = PRODUCT_NEXTDAY.getSettlementDateOffset().adjust(valuationDate, REF_DATA);
+    List<CreditRatesProvider> providers = ImmutableList.of(provider, provider);
+    DoubleArray prices = PRICER.price(PRODUCT_NEXTDAY, providers, settlementDate, CLEAN, REF_DATA);
+    assertEquals(prices, DoubleArray.filled(2));
+  }
+
+  public void scenarioInvalidTest() {
+    LocalDate settlementDate = PRODUCT_NEXTDAY.getSettlementDateOffset().adjust(VALUATION_DATE, REF_DATA);
+    List<CreditRatesProvider> providers =
+        ImmutableList.of(RATES_PROVIDER, createCreditRatesProvider(VALUATION_DATE.plusDays(1)));
+    assertThrowsIllegalArg(() -> PRICER.price(PRODUCT_NEXTDAY, providers, settlementDate, CLEAN, REF_DATA));
+    assertThrowsIllegalArg(() -> PRICER.price(PRODUCT_NEXTDAY, ImmutableList.of(), settlementDate, CLEAN, REF_DATA));
+  }
+
   //-------------------------------------------------------------------------
   public void pvSensitivityTest() {
     PointSensitivityBuilder pointNext = PRICER.presentValueSensitivity(PRODUCT_NEXTDAY, RATES_PROVIDER,
@@ -755,8 +803,16 @@ public class IsdaCdsProductPricerTest {
 
   //-------------------------------------------------------------------------
   private CreditRatesProvider createCreditRatesProvider(LocalDate valuationDate) {
-    IsdaCreditDiscountFactors yc = IsdaCreditDiscountFactors.of(USD, valuationDate, NODAL_YC);
-    CreditDiscountFactors cc = IsdaCreditDiscountFactors.of(USD, valuationDate, NODAL_CC);
+    return createCreditRatesProvider(valuationDate, NODAL_YC, NODAL_CC);
+  }
+
+  private CreditRatesProvider createCreditRatesProvider(
+      LocalDate valuationDate,
+      InterpolatedNodalCurve nodalYc,
+      InterpolatedNodalCurve nodalCc) {
+
+    IsdaCreditDiscountFactors yc = IsdaCreditDiscountFactors.of(USD, valuationDate, nodalYc);
+    CreditDiscountFactors cc = IsdaCreditDiscountFactors.of(USD, valuationDate, nodalCc);
     ConstantRecoveryRates rr = ConstantRecoveryRates.of(LEGAL_ENTITY, valuationDate, 0.25);
     return ImmutableCreditRatesProvider.builder()
         .valuationDate(valuationDate)
@@ -12,13 +12,16 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.CurrencyAmountArray;
 import com.opengamma.strata.basics.currency.Payment;
 import com.opengamma.strata.basics.date.HolidayCalendarId;
 import com.opengamma.strata.basics.date.HolidayCalendarIds;
@@ -199,6 +202,30 @@ public class IsdaCdsTradePricerTest {
     assertTrue(computedMf.equalWithTolerance(expectedMf, TOL));
   }
 
+  public void test_scenario() {
+    ImmutableCreditRatesProvider shifted = ImmutableCreditRatesProvider.builder()
+        .valuationDate(VALUATION_DATE)
+        .creditCurves(ImmutableMap.of(Pair.of(LEGAL_ENTITY, USD), LegalEntitySurvivalProbabilities.of(
+            LEGAL_ENTITY, IsdaCreditDiscountFactors.of(USD, VALUATION_DATE, NODAL_CC.withYValues(RATE_CC.plus(0.01))))))
+        .discountCurves(ImmutableMap.of(USD, YIELD_CRVE))
+        .recoveryRateCurves(ImmutableMap.of(LEGAL_ENTITY, RECOVERY_RATES))
+        .build();
+    List<CreditRatesProvider> providers = ImmutableList.of(RATES_PROVIDER, shifted);
+    for (ResolvedCdsTrade trade : new ResolvedCdsTrade[] {TRADE, TRADE_NO_SETTLE_DATE}) {
+      DoubleArray prices = PRICER.price(trade, providers, PriceType.CLEAN, REF_DATA);
+      CurrencyAmountArray pvs = PRICER.presentValue(trade, providers, PriceType.DIRTY, REF_DATA);
+      CurrencyAmountArray pvsOnSettle = PRICER.presentValueOnSettle(trade, providers, PriceType.CLEAN, REF_DATA);
+      for (int i = 0; i < providers.size(); i++) {
+        CreditRatesProvider provider = providers.get(i);
+        assertEquals(prices.get(i), PRICER.price(trade, provider, PriceType.CLEAN, REF_DATA), 1.0e-14);
+        assertEquals(pvs.get(i).getAmount(),
+            PRICER.presentValue(trade, provider, PriceType.DIRTY, REF_DATA).getAmount(), NOTIONAL * 1.0e-14);
+        assertEquals(pvsOnSettle.get(i).getAmount(),
+            PRICER.presentValueOnSettle(trade, provider, PriceType.CLEAN, REF_DATA).getAmount(), NOTIONAL * 1.0e-14);
+      }
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void test_presentValueOnSettle() {
     CurrencyAmount computed = PRICER.presentValueOnSettle(TRADE, RATES_PROVIDER, PriceType.CLEAN, REF_DATA);
@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.testng.Assert.assertEquals;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.curve.CurveName;
+
+/**
+ * Test {@link IsdaCreditCurveCalibrationResult}.
+ */
+@Test
+public class IsdaCreditCurveCalibrationResultTest {
+
+  private static final LocalDate VALUATION = LocalDate.of(2016, 5, 6);
+  private static final StandardId LEGAL_ENTITY = StandardId.of("OG", "ABC");
+  private static final ImmutableCreditRatesProvider RATES_PROVIDER = ratesProvider(VALUATION);
+  private static final ImmutableMap<CurveName, Duration> TIMES =
+      ImmutableMap.of(CurveName.of("cc1"), Duration.ofMillis(3), CurveName.of("cc2"), Duration.ofMillis(5));
+
+  public void test_of() {
+    IsdaCreditCurveCalibrationResult test = IsdaCreditCurveCalibrationResult.of(RATES_PROVIDER, TIMES);
+    assertEquals(test.getRatesProvider(), RATES_PROVIDER);
+    assertEquals(test.getCalibrationTimes(), TIMES);
+    assertEquals(test.getTotalCalibrationTime(), Duration.ofMillis(8));
+    IsdaCreditCurveCalibrationResult empty = IsdaCreditCurveCalibrationResult.of(RATES_PROVIDER, ImmutableMap.of());
+    assertEquals(empty.getTotalCalibrationTime(), Duration.ZERO);
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    IsdaCreditCurveCalibrationResult test1 = IsdaCreditCurveCalibrationResult.of(RATES_PROVIDER, TIMES);
+    coverImmutableBean(test1);
+    IsdaCreditCurveCalibrationResult test2 =
+        IsdaCreditCurveCalibrationResult.of(ratesProvider(VALUATION.plusDays(1)), ImmutableMap.of());
+    coverBeanEquals(test1, test2);
+  }
+
+  public void test_serialization() {
+    assertSerialization(IsdaCreditCurveCalibrationResult.of(RATES_PROVIDER, TIMES));
+  }
+
+  //-------------------------------------------------------------------------
+  private static ImmutableCreditRatesProvider ratesProvider(LocalDate valuationDate) {
+    IsdaCreditDiscountFactors discountFactors = IsdaCreditDiscountFactors.of(
+        USD, valuationDate, CurveName.of("yc_usd"), DoubleArray.of(1d, 5d), DoubleArray.of(0.01, 0.02), ACT_365F);
+    return ImmutableCreditRatesProvider.builder()
+        .valuationDate(valuationDate)
+        .discountCurves(ImmutableMap.of(USD, discountFactors))
+        .recoveryRateCurves(ImmutableMap.of(LEGAL_ENTITY, ConstantRecoveryRates.of(LEGAL_ENTITY, valuationDate, 0.4)))
+        .creditCurves(ImmutableMap.of())
+        .build();
+  }
+
+}
@@ -48,11 +48,13 @@ import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.market.ValueType;
 import com.opengamma.strata.market.curve.CurveGroupDefinition;
 import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.CurveInfoType;
 import com.opengamma.strata.market.curve.CurveMetadata;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.CurveNode;
 import com.opengamma.strata.market.curve.DefaultCurveMetadata;
 import com.opengamma.strata.market.curve.InterpolatedNodalCurveDefinition;
+import com.opengamma.strata.market.curve.JacobianCalibrationMatrix;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolator;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
 import com.opengamma.strata.market.curve.interpolator.CurveInterpolator;
@@ -375,6 +377,35 @@ public class CalibrationZeroRateUsd3OisIrsBsTest {
     assertPresentValue(result);
   }
   
+  public void calibration_blocks_oneGroup() {
+    // each curve is a block: the forward curves depend on the previous curves but not on the next ones
+    ImmutableList<ImmutableList<CurveName>> blocks =
+        CALIBRATOR.calibrationBlocks(CURVE_GROUP_CONFIG, KNOWN_DATA, ALL_QUOTES, REF_DATA);
+    assertEquals(blocks.size(), 3);
+    assertEquals(blocks.get(0), ImmutableList.of(DSCON_CURVE_NAME));
+    assertEquals(blocks.get(1), ImmutableList.of(FWD3_CURVE_NAME));
+    assertEquals(blocks.get(2), ImmutableList.of(FWD6_CURVE_NAME));
+    // a single curve group is a single block
+    assertEquals(
+        CALIBRATOR.calibrationBlocks(GROUP_3, KNOWN_DATA, ALL_QUOTES, REF_DATA),
+        ImmutableList.of(ImmutableList.of(FWD6_CURVE_NAME)));
+    ImmutableRatesProvider result = CALIBRATOR.calibrate(CURVE_GROUP_CONFIG, ALL_QUOTES, REF_DATA);
+    // the Jacobian matrices cover the whole group, even though the curves are calibrated in blocks
+    JacobianCalibrationMatrix jacobianDsc =
+        result.getDiscountCurves().get(USD).getMetadata().getInfo(CurveInfoType.JACOBIAN);
+    JacobianCalibrationMatrix jacobianFwd6 =
+        result.getIndexCurves().get(USD_LIBOR_6M).getMetadata().getInfo(CurveInfoType.JACOBIAN);
+    assertEquals(jacobianDsc.getCurveCount(), 3);
+    assertEquals(jacobianFwd6.getCurveCount(), 3);
+    assertEquals(jacobianFwd6.getTotalParameterCount(), DSC_NB_NODES + FWD3_NB_NODES + FWD6_NB_NODES);
+    // discounting curve does not depend on the forward curves
+    for (int i = 0; i < DSC_NB_NODES; i++) {
+      for (int j = DSC_NB_NODES; j < jacobianDsc.getTotalParameterCount(); j++) {
+        assertEquals(jacobianDsc.getJacobianMatrix().get(i, j), 0d, 1.0E-12);
+      }
+    }
+  }
+
   public void calibration_market_quote_sensitivity_one_group() {
     double shift = 1.0E-6;
     Function<MarketData, RatesProvider> f =
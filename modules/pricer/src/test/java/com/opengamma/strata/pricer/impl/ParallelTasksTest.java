@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
+import static org.testng.Assert.assertEquals;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link ParallelTasks}.
+ */
+@Test
+public class ParallelTasksTest {
+
+  public void test_join() {
+    assertEquals(ParallelTasks.join(CompletableFuture.supplyAsync(() -> "A")), "A");
+  }
+
+  public void test_join_runtimeException() {
+    CompletableFuture<String> result = CompletableFuture.supplyAsync(() -> {
+      throw new IllegalArgumentException("Bad");
+    });
+    assertThrowsIllegalArg(() -> ParallelTasks.join(result), "Bad");
+  }
+
+  public void test_join_error() {
+    CompletableFuture<String> result = CompletableFuture.supplyAsync(() -> {
+      throw new AssertionError("Bad");
+    });
+    assertThrows(() -> ParallelTasks.join(result), CompletionException.class);
+  }
+
+  public void coverage() {
+    coverPrivateConstructor(ParallelTasks.class);
+  }
+
+}
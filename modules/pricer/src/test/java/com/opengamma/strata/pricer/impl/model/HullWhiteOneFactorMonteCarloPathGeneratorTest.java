@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.model;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorMonteCarloPathGenerator;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorPiecewiseConstantInterestRateModel;
+import com.opengamma.strata.pricer.impl.rate.model.MonteCarloSampling;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+
+/**
+ * Test {@link HullWhiteOneFactorMonteCarloPathGenerator}.
+ */
+@Test
+public class HullWhiteOneFactorMonteCarloPathGeneratorTest {
+
+  private static final double MEAN_REVERSION = 0.01;
+  private static final DoubleArray VOLATILITY = DoubleArray.of(0.01, 0.011, 0.012, 0.013, 0.014);
+  private static final DoubleArray VOLATILITY_TIME = DoubleArray.of(0.5, 1.0, 2.0, 5.0);
+  private static final HullWhiteOneFactorPiecewiseConstantParameters MODEL_PARAMETERS =
+      HullWhiteOneFactorPiecewiseConstantParameters.of(MEAN_REVERSION, VOLATILITY, VOLATILITY_TIME);
+  private static final HullWhiteOneFactorPiecewiseConstantInterestRateModel MODEL =
+      HullWhiteOneFactorPiecewiseConstantInterestRateModel.DEFAULT;
+  private static final DoubleArray TIMES = DoubleArray.of(0.25, 1.5, 3d, 6d);
+  private static final double NUMERAIRE_TIME = 10d;
+  private static final long SEED = 12345L;
+
+  public void test_variance() {
+    HullWhiteOneFactorMonteCarloPathGenerator test = HullWhiteOneFactorMonteCarloPathGenerator.of(
+        MODEL_PARAMETERS, TIMES, NUMERAIRE_TIME, MonteCarloSampling.PSEUDO_RANDOM, SEED);
+    assertEquals(test.getSimulationTimes(), TIMES);
+    assertEquals(test.getNumeraireTime(), NUMERAIRE_TIME);
+    double maturity = 7d;
+    for (int i = 0; i < TIMES.size(); i++) {
+      double alpha = MODEL.alpha(MODEL_PARAMETERS, 0d, TIMES.get(i), NUMERAIRE_TIME, maturity);
+      double computed = test.volatilityFactor(maturity) * Math.sqrt(test.getVariances().get(i));
+      assertEquals(computed, alpha, 1e-14);
+    }
+    assertEquals(test.volatilityFactor(NUMERAIRE_TIME), 0d);
+  }
+
+  public void test_blocks() {
+    for (MonteCarloSampling sampling : MonteCarloSampling.values()) {
+      HullWhiteOneFactorMonteCarloPathGenerator test =
+          HullWhiteOneFactorMonteCarloPathGenerator.of(MODEL_PARAMETERS, TIMES, NUMERAIRE_TIME, sampling, SEED);
+      double[][] all = test.generatePaths(0, 20);
+      double[][] block = test.generatePaths(7, 5);
+      double[][] buffer = new double[TIMES.size()][5];
+      test.generatePaths(7, buffer);
+      for (int i = 0; i < TIMES.size(); i++) {
+        for (int j = 0; j < 5; j++) {
+          assertEquals(block[i][j], all[i][j + 7]);
+          assertEquals(buffer[i][j], all[i][j + 7]);
+        }
+      }
+    }
+  }
+
+  public void test_antithetic() {
+    HullWhiteOneFactorMonteCarloPathGenerator test = HullWhiteOneFactorMonteCarloPathGenerator.of(
+        MODEL_PARAMETERS, TIMES, NUMERAIRE_TIME, MonteCarloSampling.ANTITHETIC, SEED);
+    double[][] paths = test.generatePaths(0, 10);
+    for (int i = 0; i < TIMES.size(); i++) {
+      for (int j = 0; j < 10; j += 2) {
+        assertEquals(paths[i][j + 1], -paths[i][j]);
+      }
+    }
+  }
+
+  public void test_martingale() {
+    // the bond price divided by the numeraire is a martingale
+    int nbPaths = 20000;
+    double maturity = 7d;
+    for (MonteCarloSampling sampling : MonteCarloSampling.values()) {
+      HullWhiteOneFactorMonteCarloPathGenerator test =
+          HullWhiteOneFactorMonteCarloPathGenerator.of(MODEL_PARAMETERS, TIMES, NUMERAIRE_TIME, sampling, SEED);
+      double[][] paths = test.generatePaths(0, nbPaths);
+      double factor = test.volatilityFactor(maturity);
+      for (int i = 0; i < TIMES.size(); i++) {
+        double variance = test.getVariances().get(i);
+        double sum = 0d;
+        double sumFactor = 0d;
+        double sumFactorSq = 0d;
+        for (int j = 0; j < nbPaths; j++) {
+          sum += Math.exp(factor * paths[i][j] - 0.5 * factor * factor * variance);
+          sumFactor += paths[i][j];
+          sumFactorSq += paths[i][j] * paths[i][j];
+        }
+        assertEquals(sum / nbPaths, 1d, 3e-3);
+        assertEquals(sumFactor / nbPaths, 0d, 0.05 * Math.sqrt(variance));
+        assertEquals(sumFactorSq / nbPaths, variance, 0.05 * variance);
+      }
+    }
+  }
+
+  public void test_invalid() {
+    MonteCarloSampling sampling = MonteCarloSampling.PSEUDO_RANDOM;
+    assertThrowsIllegalArg(() -> HullWhiteOneFactorMonteCarloPathGenerator.of(
+        MODEL_PARAMETERS, DoubleArray.of(), NUMERAIRE_TIME, sampling, SEED));
+    assertThrowsIllegalArg(() -> HullWhiteOneFactorMonteCarloPathGenerator.of(
+        MODEL_PARAMETERS, DoubleArray.of(0d, 1d), NUMERAIRE_TIME, sampling, SEED));
+    assertThrowsIllegalArg(() -> HullWhiteOneFactorMonteCarloPathGenerator.of(
+        MODEL_PARAMETERS, DoubleArray.of(2d, 1d), NUMERAIRE_TIME, sampling, SEED));
+    assertThrowsIllegalArg(() -> HullWhiteOneFactorMonteCarloPathGenerator.of(
+        MODEL_PARAMETERS, TIMES, 5d, sampling, SEED));
+    HullWhiteOneFactorMonteCarloPathGenerator test =
+        HullWhiteOneFactorMonteCarloPathGenerator.of(MODEL_PARAMETERS, TIMES, NUMERAIRE_TIME, sampling, SEED);
+    assertThrowsIllegalArg(() -> test.generatePaths(-1, 10));
+    assertThrowsIllegalArg(() -> test.generatePaths(0, new double[2][10]));
+  }
+
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.model;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.DoubleUnaryOperator;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.math.impl.rootfinding.BracketRoot;
+import com.opengamma.strata.math.impl.rootfinding.BrentSingleRootFinder;
+import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
+import com.opengamma.strata.math.impl.statistics.distribution.ProbabilityDistribution;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorMonteCarloPricer;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorPiecewiseConstantInterestRateModel;
+import com.opengamma.strata.pricer.impl.rate.model.MonteCarloSampling;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+
+/**
+ * Test {@link HullWhiteOneFactorMonteCarloPricer}.
+ */
+@Test
+public class HullWhiteOneFactorMonteCarloPricerTest {
+
+  private static final double MEAN_REVERSION = 0.01;
+  private static final DoubleArray VOLATILITY = DoubleArray.of(0.01, 0.011, 0.012, 0.013, 0.014);
+  private static final DoubleArray VOLATILITY_TIME = DoubleArray.of(0.5, 1.0, 2.0, 5.0);
+  private static final HullWhiteOneFactorPiecewiseConstantParameters MODEL_PARAMETERS =
+      HullWhiteOneFactorPiecewiseConstantParameters.of(MEAN_REVERSION, VOLATILITY, VOLATILITY_TIME);
+  private static final HullWhiteOneFactorPiecewiseConstantInterestRateModel MODEL =
+      HullWhiteOneFactorPiecewiseConstantInterestRateModel.DEFAULT;
+  private static final ProbabilityDistribution<Double> NORMAL = new NormalDistribution(0d, 1d);
+  private static final long SEED = 12345L;
+
+  // receiver swaptions on a swap with annual fixed coupons ending in 5 years, exercisable every year
+  private static final double RATE = 0.02;
+  private static final double COUPON = 0.025;
+  private static final double END_TIME = 5d;
+  private static final DoubleArray EXERCISE_TIMES = DoubleArray.of(1d, 2d, 3d, 4d);
+  private static final List<DoubleArray> CASH_FLOW_TIMES;
+  private static final List<DoubleArray> DISCOUNTED_CASH_FLOWS;
+  static {
+    List<DoubleArray> times = new ArrayList<>();
+    List<DoubleArray> amounts = new ArrayList<>();
+    for (int i = 0; i < EXERCISE_TIMES.size(); i++) {
+      double start = EXERCISE_TIMES.get(i);
+      int nbCoupons = (int) Math.round(END_TIME - start);
+      DoubleArray time = DoubleArray.of(nbCoupons + 1, j -> start + j);
+      DoubleArray amount = DoubleArray.of(nbCoupons + 1, j -> j == 0 ? -1d : COUPON + (j == nbCoupons ? 1d : 0d));
+      times.add(time);
+      amounts.add(amount.multipliedBy(time.map(t -> Math.exp(-RATE * t))));
+    }
+    CASH_FLOW_TIMES = ImmutableList.copyOf(times);
+    DISCOUNTED_CASH_FLOWS = ImmutableList.copyOf(amounts);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_european() {
+    int nbPaths = 100_000;
+    for (int i = 0; i < EXERCISE_TIMES.size(); i++) {
+      double expected = europeanPrice(i);
+      for (MonteCarloSampling sampling : MonteCarloSampling.values()) {
+        HullWhiteOneFactorMonteCarloPricer pricer = HullWhiteOneFactorMonteCarloPricer.of(nbPaths, sampling, SEED);
+        double computed = pricer.bermudanPrice(
+            MODEL_PARAMETERS,
+            DoubleArray.of(EXERCISE_TIMES.get(i)),
+            ImmutableList.of(CASH_FLOW_TIMES.get(i)),
+            ImmutableList.of(DISCOUNTED_CASH_FLOWS.get(i)));
+        assertEquals(computed, expected, 0.03 * expected);
+      }
+    }
+  }
+
+  public void test_bermudan() {
+    // the Bermudan option is worth more than each European option, and less than all of them
+    double maxEuropean = 0d;
+    double sumEuropean = 0d;
+    for (int i = 0; i < EXERCISE_TIMES.size(); i++) {
+      maxEuropean = Math.max(maxEuropean, europeanPrice(i));
+      sumEuropean += europeanPrice(i);
+    }
+    for (MonteCarloSampling sampling : MonteCarloSampling.values()) {
+      HullWhiteOneFactorMonteCarloPricer pricer = HullWhiteOneFactorMonteCarloPricer.of(40_000, sampling, SEED);
+      double computed =
+          pricer.bermudanPrice(MODEL_PARAMETERS, EXERCISE_TIMES, CASH_FLOW_TIMES, DISCOUNTED_CASH_FLOWS);
+      assertTrue(computed > 0.98 * maxEuropean);
+      assertTrue(computed < sumEuropean);
+    }
+  }
+
+  public void test_executor() {
+    HullWhiteOneFactorMonteCarloPricer pricer =
+        HullWhiteOneFactorMonteCarloPricer.of(10_000, 4_000, 500, MonteCarloSampling.ANTITHETIC, SEED);
+    double expected = pricer.bermudanPrice(MODEL_PARAMETERS, EXERCISE_TIMES, CASH_FLOW_TIMES, DISCOUNTED_CASH_FLOWS);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      double computed = pricer.bermudanPrice(
+          MODEL_PARAMETERS, EXERCISE_TIMES, CASH_FLOW_TIMES, DISCOUNTED_CASH_FLOWS, executor);
+      assertEquals(computed, expected);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> HullWhiteOneFactorMonteCarloPricer.of(0, MonteCarloSampling.PSEUDO_RANDOM, SEED));
+    assertThrowsIllegalArg(
+        () -> HullWhiteOneFactorMonteCarloPricer.of(1000, 1000, 0, MonteCarloSampling.PSEUDO_RANDOM, SEED));
+    HullWhiteOneFactorMonteCarloPricer pricer =
+        HullWhiteOneFactorMonteCarloPricer.of(1000, MonteCarloSampling.PSEUDO_RANDOM, SEED);
+    assertThrowsIllegalArg(() -> pricer.bermudanPrice(
+        MODEL_PARAMETERS, EXERCISE_TIMES, CASH_FLOW_TIMES.subList(0, 2), DISCOUNTED_CASH_FLOWS));
+    assertThrowsIllegalArg(() -> pricer.bermudanPrice(
+        MODEL_PARAMETERS, DoubleArray.of(1.5), CASH_FLOW_TIMES.subList(0, 1), DISCOUNTED_CASH_FLOWS.subList(0, 1)));
+    assertThrowsIllegalArg(() -> pricer.bermudanPrice(
+        MODEL_PARAMETERS, DoubleArray.of(1d), CASH_FLOW_TIMES.subList(0, 1), DISCOUNTED_CASH_FLOWS.subList(1, 2)));
+  }
+
+  // the explicit formula for the European option exercised at the exercise time of the index
+  private static double europeanPrice(int index) {
+    double exerciseTime = EXERCISE_TIMES.get(index);
+    DoubleArray times = CASH_FLOW_TIMES.get(index);
+    DoubleArray amounts = DISCOUNTED_CASH_FLOWS.get(index);
+    DoubleArray alpha = times.map(t -> MODEL.alpha(MODEL_PARAMETERS, 0d, exerciseTime, END_TIME, t));
+    DoubleUnaryOperator value = x -> {
+      double sum = 0d;
+      for (int j = 0; j < alpha.size(); j++) {
+        sum += amounts.get(j) * Math.exp(alpha.get(j) * x - 0.5 * alpha.get(j) * alpha.get(j));
+      }
+      return sum;
+    };
+    double[] bracket = new BracketRoot().getBracketedPoints(
+        value, -1d, 1d, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+    double kappa = new BrentSingleRootFinder().getRoot(value, bracket[0], bracket[1]);
+    double sign = value.applyAsDouble(kappa + 1d) > 0d ? 1d : -1d;
+    double price = 0d;
+    for (int j = 0; j < alpha.size(); j++) {
+      price += amounts.get(j) * NORMAL.getCDF(sign * (alpha.get(j) - kappa));
+    }
+    return price;
+  }
+
+  //-------------------------------------------------------------------------
+  @Test(enabled = false)
+  public void performance() {
+    long startTime, endTime;
+    int nbPaths = 100_000;
+    int nbRep = 5;
+    HullWhiteOneFactorMonteCarloPricer pricer =
+        HullWhiteOneFactorMonteCarloPricer.of(nbPaths, MonteCarloSampling.ANTITHETIC, SEED);
+    ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    double count = 0d;
+    for (int rep = 0; rep < nbRep; rep++) {
+      startTime = System.currentTimeMillis();
+      count += pricer.bermudanPrice(MODEL_PARAMETERS, EXERCISE_TIMES, CASH_FLOW_TIMES, DISCOUNTED_CASH_FLOWS);
+      endTime = System.currentTimeMillis();
+      System.out.println("Performance: Bermudan option with " + nbPaths + " paths on one thread in "
+          + (endTime - startTime) + " ms.");
+      startTime = System.currentTimeMillis();
+      count += pricer.bermudanPrice(MODEL_PARAMETERS, EXERCISE_TIMES, CASH_FLOW_TIMES, DISCOUNTED_CASH_FLOWS, executor);
+      endTime = System.currentTimeMillis();
+      System.out.println("Performance: Bermudan option with " + nbPaths + " paths on all threads in "
+          + (endTime - startTime) + " ms.");
+    }
+    executor.shutdown();
+    System.out.println("Avoiding hotspot: " + count);
+  }
+
+}
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.pricer.impl.option;
 
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.product.common.PutCall.CALL;
 import static com.opengamma.strata.product.common.PutCall.PUT;
 import static org.testng.Assert.assertEquals;
@@ -15,6 +16,7 @@ import java.util.function.Function;
 import org.testng.annotations.Test;
 
 import com.opengamma.strata.basics.value.ValueDerivatives;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.math.impl.integration.GaussHermiteQuadratureIntegrator1D;
 import com.opengamma.strata.math.impl.integration.RungeKuttaIntegrator1D;
@@ -8845,4 +8847,113 @@ public class BlackFormulaRepositoryTest {
     assertEquals(bsD2[1][2], bsD2[2][1], TOLERANCE_1, "AD Second order: 2nd - str-vol");
   }
 
+  //-------------------------------------------------------------------------
+  public void test_batch() {
+    int nStrikes = STRIKES_INPUT.length;
+    int nVols = VOLS.length;
+    int size = nStrikes * nVols;
+    DoubleArray forward = DoubleArray.of(size, i -> FORWARD * (1d + 0.01 * (i % 3)));
+    DoubleArray strike = DoubleArray.of(size, i -> STRIKES_INPUT[i / nVols]);
+    DoubleArray time = DoubleArray.of(size, i -> i % 5 == 0 ? 0d : TIME_TO_EXPIRY * (i % 5) / 4d);
+    DoubleArray vol = DoubleArray.of(size, i -> VOLS[i % nVols]);
+    for (boolean isCall : new boolean[] {true, false}) {
+      DoubleArray price = BlackFormulaRepository.price(forward, strike, time, vol, isCall);
+      DoubleArray delta = BlackFormulaRepository.delta(forward, strike, time, vol, isCall);
+      for (int i = 0; i < size; i++) {
+        assertEquals(price.get(i),
+            BlackFormulaRepository.price(forward.get(i), strike.get(i), time.get(i), vol.get(i), isCall));
+        assertEquals(delta.get(i),
+            BlackFormulaRepository.delta(forward.get(i), strike.get(i), time.get(i), vol.get(i), isCall));
+      }
+    }
+    DoubleArray gamma = BlackFormulaRepository.gamma(forward, strike, time, vol);
+    DoubleArray theta = BlackFormulaRepository.driftlessTheta(forward, strike, time, vol);
+    DoubleArray vega = BlackFormulaRepository.vega(forward, strike, time, vol);
+    for (int i = 0; i < size; i++) {
+      assertEquals(gamma.get(i), BlackFormulaRepository.gamma(forward.get(i), strike.get(i), time.get(i), vol.get(i)));
+      assertEquals(theta.get(i),
+          BlackFormulaRepository.driftlessTheta(forward.get(i), strike.get(i), time.get(i), vol.get(i)));
+      assertEquals(vega.get(i), BlackFormulaRepository.vega(forward.get(i), strike.get(i), time.get(i), vol.get(i)));
+    }
+  }
+
+  public void test_batch_boundaries() {
+    // zero and large values, at-the-money and NaN, which are evaluated by the single option formula
+    DoubleArray forward = DoubleArray.of(0d, 0.02, 0.02, 0.02, 0.02, 1e14, 1e14, 0.02, 0.02);
+    DoubleArray strike = DoubleArray.of(0.02, 0d, 0.02, 0.03, 0.03, 0.02, 1e14, 0.03, 0.03);
+    DoubleArray time = DoubleArray.of(1d, 1d, 1d, 0d, 1e30, 1d, 1d, 1d, Double.POSITIVE_INFINITY);
+    DoubleArray vol = DoubleArray.of(0.2, 0.2, 0.2, 0.2, 0.2, 0.2, 0.2, 1e-15, 0d);
+    for (boolean isCall : new boolean[] {true, false}) {
+      DoubleArray price = BlackFormulaRepository.price(forward, strike, time, vol, isCall);
+      DoubleArray delta = BlackFormulaRepository.delta(forward, strike, time, vol, isCall);
+      for (int i = 0; i < forward.size(); i++) {
+        assertEquals(price.get(i),
+            BlackFormulaRepository.price(forward.get(i), strike.get(i), time.get(i), vol.get(i), isCall));
+        assertEquals(delta.get(i),
+            BlackFormulaRepository.delta(forward.get(i), strike.get(i), time.get(i), vol.get(i), isCall));
+      }
+    }
+    DoubleArray gamma = BlackFormulaRepository.gamma(forward, strike, time, vol);
+    DoubleArray theta = BlackFormulaRepository.driftlessTheta(forward, strike, time, vol);
+    DoubleArray vega = BlackFormulaRepository.vega(forward, strike, time, vol);
+    for (int i = 0; i < forward.size(); i++) {
+      assertEquals(gamma.get(i), BlackFormulaRepository.gamma(forward.get(i), strike.get(i), time.get(i), vol.get(i)));
+      assertEquals(theta.get(i),
+          BlackFormulaRepository.driftlessTheta(forward.get(i), strike.get(i), time.get(i), vol.get(i)));
+      assertEquals(vega.get(i), BlackFormulaRepository.vega(forward.get(i), strike.get(i), time.get(i), vol.get(i)));
+    }
+  }
+
+  public void test_batch_empty() {
+    assertEquals(
+        BlackFormulaRepository.price(DoubleArray.EMPTY, DoubleArray.EMPTY, DoubleArray.EMPTY, DoubleArray.EMPTY, true),
+        DoubleArray.EMPTY);
+  }
+
+  public void test_batch_invalid() {
+    DoubleArray valid = DoubleArray.of(1d, 1d);
+    DoubleArray negative = DoubleArray.of(1d, -1d);
+    assertThrowsIllegalArg(() -> BlackFormulaRepository.price(DoubleArray.of(1d), valid, valid, valid, true));
+    assertThrowsIllegalArg(() -> BlackFormulaRepository.vega(valid, valid, DoubleArray.of(1d), valid));
+    assertThrowsIllegalArg(() -> BlackFormulaRepository.price(negative, valid, valid, valid, true));
+    assertThrowsIllegalArg(() -> BlackFormulaRepository.delta(valid, negative, valid, valid, false));
+    assertThrowsIllegalArg(() -> BlackFormulaRepository.gamma(valid, valid, negative, valid));
+    assertThrowsIllegalArg(() -> BlackFormulaRepository.driftlessTheta(valid, valid, valid, negative));
+  }
+
+  @Test(enabled = false)
+  public void performance_batch() {
+    long startTime, endTime;
+    int nbTests = 10000;
+    int nbRep = 5;
+    int size = 120;
+    DoubleArray forward = DoubleArray.of(size, i -> 0.01 + 0.0001 * i);
+    DoubleArray strike = DoubleArray.filled(size, 0.015);
+    DoubleArray time = DoubleArray.of(size, i -> 0.25 * (i + 1));
+    DoubleArray vol = DoubleArray.of(size, i -> 0.2 + 0.001 * i);
+    double count = 0d;
+    for (int rep = 0; rep < nbRep; rep++) {
+      startTime = System.currentTimeMillis();
+      for (int looprep = 0; looprep < nbTests; looprep++) {
+        for (int i = 0; i < size; i++) {
+          count += BlackFormulaRepository.price(forward.get(i), strike.get(i), time.get(i), vol.get(i), true);
+          count += BlackFormulaRepository.vega(forward.get(i), strike.get(i), time.get(i), vol.get(i));
+        }
+      }
+      endTime = System.currentTimeMillis();
+      System.out.println("Performance: " + nbTests + " scalar price and vega for " + size + " options in "
+          + (endTime - startTime) + " ms.");
+      startTime = System.currentTimeMillis();
+      for (int looprep = 0; looprep < nbTests; looprep++) {
+        count += BlackFormulaRepository.price(forward, strike, time, vol, true).get(0);
+        count += BlackFormulaRepository.vega(forward, strike, time, vol).get(0);
+      }
+      endTime = System.currentTimeMillis();
+      System.out.println("Performance: " + nbTests + " batch price and vega for " + size + " options in "
+          + (endTime - startTime) + " ms.");
+    }
+    System.out.println("Avoiding hotspot: " + count);
+    // Previous run: 340 ms scalar and 315 ms batch, the normal distribution dominating the time
+  }
+
 }
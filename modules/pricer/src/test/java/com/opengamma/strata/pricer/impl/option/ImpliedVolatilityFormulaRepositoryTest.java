@@ -0,0 +1,230 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.option;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.product.common.PutCall;
+
+/**
+ * Test {@link ImpliedVolatilityFormulaRepository}.
+ */
+@Test
+public class ImpliedVolatilityFormulaRepositoryTest {
+
+  private static final double[] FORWARDS = {0.03, 1d, 100d};
+  private static final double[] LOG_MONEYNESS = {-3d, -1d, -0.1, -0.01, 0d, 0.01, 0.1, 1d, 3d};
+  private static final double[] TIMES = {0.01, 0.25, 1d, 5d, 30d};
+  private static final double[] BLACK_VOLS = {0.01, 0.05, 0.2, 0.5, 1d};
+  private static final double[] NORMAL_VOLS = {0.0001, 0.001, 0.01, 0.1};
+  private static final double TOL = 1e-11;
+
+  private static final int SIZE = 20;
+  private static final DoubleArray FORWARD = DoubleArray.of(SIZE, i -> 0.01 + 0.001 * (i % 4));
+  private static final DoubleArray STRIKE = DoubleArray.of(SIZE, i -> 0.005 + 0.001 * i);
+  private static final DoubleArray TIME = DoubleArray.of(SIZE, i -> 0.5 + 0.5 * (i % 5));
+  private static final DoubleArray VOL = DoubleArray.of(SIZE, i -> 0.2 + 0.05 * (i % 3));
+
+  //-------------------------------------------------------------------------
+  public void test_black_roundTrip() {
+    for (double forward : FORWARDS) {
+      for (double moneyness : LOG_MONEYNESS) {
+        double strike = forward * Math.exp(moneyness);
+        for (double time : TIMES) {
+          for (double vol : BLACK_VOLS) {
+            for (boolean isCall : new boolean[] {true, false}) {
+              double price = BlackFormulaRepository.price(forward, strike, time, vol, isCall);
+              double intrinsic = Math.max((isCall ? 1d : -1d) * (forward - strike), 0d);
+              if (price == 0d || price - intrinsic < 1e-10 * price) {
+                continue;  // the time value is lost in the rounding of the price
+              }
+              double computed = ImpliedVolatilityFormulaRepository.impliedBlackVolatility(
+                  price, forward, strike, time, isCall);
+              assertEquals(computed, vol, vol * tolerance(price, intrinsic));
+            }
+          }
+        }
+      }
+    }
+  }
+
+  public void test_black_atm() {
+    double forward = 0.02;
+    double time = 2d;
+    for (double vol : BLACK_VOLS) {
+      double price = BlackFormulaRepository.price(forward, forward, time, vol, true);
+      double computed = ImpliedVolatilityFormulaRepository.impliedBlackVolatility(price, forward, forward, time, true);
+      assertEquals(computed, vol, vol * TOL);
+    }
+  }
+
+  public void test_black_zeroTimeValue() {
+    assertEquals(ImpliedVolatilityFormulaRepository.impliedBlackVolatility(0d, 0.02, 0.03, 1d, true), 0d);
+    assertEquals(ImpliedVolatilityFormulaRepository.impliedBlackVolatility(0.01, 0.02, 0.01, 1d, true), 0d);
+    // zero strike and zero time to expiry are valid when there is no time value
+    assertEquals(ImpliedVolatilityFormulaRepository.impliedBlackVolatility(0.02, 0.02, 0d, 1d, true), 0d);
+    assertEquals(ImpliedVolatilityFormulaRepository.impliedBlackVolatility(0d, 0.02, 0d, 1d, false), 0d);
+    assertEquals(ImpliedVolatilityFormulaRepository.impliedBlackVolatility(0.01, 0.02, 0.01, 0d, true), 0d);
+    assertEquals(ImpliedVolatilityFormulaRepository.impliedBlackVolatility(0d, 0.02, 0.03, 0d, true), 0d);
+  }
+
+  public void test_black_compareGeneric() {
+    for (int i = 0; i < SIZE; i++) {
+      double price = BlackFormulaRepository.price(FORWARD.get(i), STRIKE.get(i), TIME.get(i), VOL.get(i), true);
+      double computed = ImpliedVolatilityFormulaRepository.impliedBlackVolatility(
+          price, FORWARD.get(i), STRIKE.get(i), TIME.get(i), true);
+      double expected = BlackFormulaRepository.impliedVolatility(
+          price, FORWARD.get(i), STRIKE.get(i), TIME.get(i), true);
+      assertEquals(computed, expected, 1e-7);
+    }
+  }
+
+  public void test_black_batch() {
+    for (boolean isCall : new boolean[] {true, false}) {
+      DoubleArray price = BlackFormulaRepository.price(FORWARD, STRIKE, TIME, VOL, isCall);
+      DoubleArray computed = ImpliedVolatilityFormulaRepository.impliedBlackVolatility(
+          price, FORWARD, STRIKE, TIME, isCall);
+      for (int i = 0; i < SIZE; i++) {
+        double expected = ImpliedVolatilityFormulaRepository.impliedBlackVolatility(
+            price.get(i), FORWARD.get(i), STRIKE.get(i), TIME.get(i), isCall);
+        double intrinsic = Math.max((isCall ? 1d : -1d) * (FORWARD.get(i) - STRIKE.get(i)), 0d);
+        assertEquals(computed.get(i), expected);
+        assertEquals(computed.get(i), VOL.get(i), VOL.get(i) * tolerance(price.get(i), intrinsic));
+      }
+    }
+  }
+
+  public void test_black_invalid() {
+    // below intrinsic value
+    assertThrowsIllegalArg(
+        () -> ImpliedVolatilityFormulaRepository.impliedBlackVolatility(0.009, 0.02, 0.01, 1d, true));
+    // above upper bound
+    assertThrowsIllegalArg(
+        () -> ImpliedVolatilityFormulaRepository.impliedBlackVolatility(0.021, 0.02, 0.01, 1d, true));
+    assertThrowsIllegalArg(
+        () -> ImpliedVolatilityFormulaRepository.impliedBlackVolatility(0.011, 0.02, 0.01, 1d, false));
+    assertThrowsIllegalArg(
+        () -> ImpliedVolatilityFormulaRepository.impliedBlackVolatility(-0.001, 0.02, 0.01, 1d, true));
+    assertThrowsIllegalArg(
+        () -> ImpliedVolatilityFormulaRepository.impliedBlackVolatility(0.001, -0.02, 0.01, 1d, true));
+    assertThrowsIllegalArg(
+        () -> ImpliedVolatilityFormulaRepository.impliedBlackVolatility(0.001, 0.02, 0d, 1d, true));
+    assertThrowsIllegalArg(
+        () -> ImpliedVolatilityFormulaRepository.impliedBlackVolatility(0.001, 0.02, 0.01, 0d, true));
+    // time value with zero strike or zero time to expiry
+    assertThrowsIllegalArg(
+        () -> ImpliedVolatilityFormulaRepository.impliedBlackVolatility(0.001, 0.02, 0d, 1d, false));
+    assertThrowsIllegalArg(
+        () -> ImpliedVolatilityFormulaRepository.impliedBlackVolatility(0.011, 0.02, 0.01, 0d, true));
+    assertThrowsIllegalArg(
+        () -> ImpliedVolatilityFormulaRepository.impliedBlackVolatility(0.001, 0.02, 0.01, -1d, true));
+    assertThrowsIllegalArg(
+        () -> ImpliedVolatilityFormulaRepository.impliedBlackVolatility(0.001, 0.02, 1d / 0d, 1d, true));
+    DoubleArray shorter = DoubleArray.filled(SIZE - 1, 0.01);
+    assertThrowsIllegalArg(
+        () -> ImpliedVolatilityFormulaRepository.impliedBlackVolatility(VOL, FORWARD, shorter, TIME, true));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_normal_roundTrip() {
+    for (double forward : FORWARDS) {
+      for (double moneyness : LOG_MONEYNESS) {
+        double strike = forward + 0.01 * moneyness;
+        for (double time : TIMES) {
+          for (double vol : NORMAL_VOLS) {
+            for (PutCall putCall : PutCall.values()) {
+              double price = NormalFormulaRepository.price(forward, strike, time, vol, putCall);
+              double intrinsic = Math.max((putCall.isCall() ? 1d : -1d) * (forward - strike), 0d);
+              if (price == 0d || price - intrinsic < 1e-10 * price) {
+                continue;  // the time value is lost in the rounding of the price
+              }
+              double computed = ImpliedVolatilityFormulaRepository.impliedNormalVolatility(
+                  price, forward, strike, time, putCall);
+              assertEquals(computed, vol, vol * tolerance(price, intrinsic));
+            }
+          }
+        }
+      }
+    }
+  }
+
+  public void test_normal_negativeRates() {
+    double forward = -0.002;
+    double strike = -0.004;
+    double vol = 0.006;
+    for (PutCall putCall : PutCall.values()) {
+      double price = NormalFormulaRepository.price(forward, strike, 3d, vol, putCall);
+      double computed = ImpliedVolatilityFormulaRepository.impliedNormalVolatility(price, forward, strike, 3d, putCall);
+      assertEquals(computed, vol, vol * TOL);
+    }
+  }
+
+  public void test_normal_batch() {
+    for (PutCall putCall : PutCall.values()) {
+      DoubleArray vol = VOL.multipliedBy(0.05);
+      DoubleArray price = NormalFormulaRepository.price(FORWARD, STRIKE, TIME, vol, putCall);
+      DoubleArray computed = ImpliedVolatilityFormulaRepository.impliedNormalVolatility(
+          price, FORWARD, STRIKE, TIME, putCall);
+      for (int i = 0; i < SIZE; i++) {
+        double expected = ImpliedVolatilityFormulaRepository.impliedNormalVolatility(
+            price.get(i), FORWARD.get(i), STRIKE.get(i), TIME.get(i), putCall);
+        assertEquals(computed.get(i), expected);
+        assertEquals(computed.get(i), vol.get(i), vol.get(i) * TOL);
+      }
+    }
+  }
+
+  public void test_normal_invalid() {
+    assertThrowsIllegalArg(
+        () -> ImpliedVolatilityFormulaRepository.impliedNormalVolatility(0.009, 0.02, 0.01, 1d, PutCall.CALL));
+    assertThrowsIllegalArg(
+        () -> ImpliedVolatilityFormulaRepository.impliedNormalVolatility(0.001, 0.02, 0.01, 0d, PutCall.CALL));
+    DoubleArray shorter = DoubleArray.filled(SIZE - 1, 0.01);
+    assertThrowsIllegalArg(
+        () -> ImpliedVolatilityFormulaRepository.impliedNormalVolatility(VOL, FORWARD, STRIKE, shorter, PutCall.PUT));
+  }
+
+  //-------------------------------------------------------------------------
+  // the accuracy is limited by the rounding of the out-of-the-money part of the price
+  private static double tolerance(double price, double intrinsic) {
+    return Math.max(TOL, 1e-14 * price / (price - intrinsic));
+  }
+
+  //-------------------------------------------------------------------------
+  @Test(enabled = false)
+  public void performance() {
+    long startTime, endTime;
+    int nbTests = 1000;
+    int nbRep = 5;
+    DoubleArray price = BlackFormulaRepository.price(FORWARD, STRIKE, TIME, VOL, true);
+    double count = 0d;
+    for (int rep = 0; rep < nbRep; rep++) {
+      startTime = System.currentTimeMillis();
+      for (int looprep = 0; looprep < nbTests; looprep++) {
+        for (int i = 0; i < SIZE; i++) {
+          count += BlackFormulaRepository.impliedVolatility(
+              price.get(i), FORWARD.get(i), STRIKE.get(i), TIME.get(i), true);
+        }
+      }
+      endTime = System.currentTimeMillis();
+      System.out.println("Performance: " + nbTests + " generic implied volatility for " + SIZE + " options in "
+          + (endTime - startTime) + " ms.");
+      startTime = System.currentTimeMillis();
+      for (int looprep = 0; looprep < nbTests; looprep++) {
+        count += ImpliedVolatilityFormulaRepository.impliedBlackVolatility(price, FORWARD, STRIKE, TIME, true).get(0);
+      }
+      endTime = System.currentTimeMillis();
+      System.out.println("Performance: " + nbTests + " fast implied volatility for " + SIZE + " options in "
+          + (endTime - startTime) + " ms.");
+    }
+    System.out.println("Avoiding hotspot: " + count);
+  }
+
+}
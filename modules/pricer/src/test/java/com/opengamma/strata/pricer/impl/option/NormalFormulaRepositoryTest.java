@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.option;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.product.common.PutCall;
+
+/**
+ * Test {@link NormalFormulaRepository}.
+ */
+@Test
+public class NormalFormulaRepositoryTest {
+
+  private static final int SIZE = 20;
+  private static final DoubleArray FORWARD = DoubleArray.of(SIZE, i -> 0.01 + 0.001 * (i % 4));
+  private static final DoubleArray STRIKE = DoubleArray.of(SIZE, i -> 0.005 + 0.001 * i);
+  private static final DoubleArray TIME = DoubleArray.of(SIZE, i -> i % 5 == 0 ? 0d : 0.5 * (i % 5));
+  private static final DoubleArray VOL = DoubleArray.of(SIZE, i -> 0.004 + 0.0005 * (i % 3));
+
+  public void test_batch() {
+    for (PutCall putCall : PutCall.values()) {
+      DoubleArray price = NormalFormulaRepository.price(FORWARD, STRIKE, TIME, VOL, putCall);
+      DoubleArray delta = NormalFormulaRepository.delta(FORWARD, STRIKE, TIME, VOL, putCall);
+      DoubleArray gamma = NormalFormulaRepository.gamma(FORWARD, STRIKE, TIME, VOL, putCall);
+      DoubleArray theta = NormalFormulaRepository.theta(FORWARD, STRIKE, TIME, VOL, putCall);
+      DoubleArray vega = NormalFormulaRepository.vega(FORWARD, STRIKE, TIME, VOL, putCall);
+      for (int i = 0; i < SIZE; i++) {
+        double forward = FORWARD.get(i);
+        double strike = STRIKE.get(i);
+        double time = TIME.get(i);
+        double vol = VOL.get(i);
+        assertEquals(price.get(i), NormalFormulaRepository.price(forward, strike, time, vol, putCall));
+        assertEquals(delta.get(i), NormalFormulaRepository.delta(forward, strike, time, vol, putCall));
+        assertEquals(gamma.get(i), NormalFormulaRepository.gamma(forward, strike, time, vol, putCall));
+        assertEquals(theta.get(i), NormalFormulaRepository.theta(forward, strike, time, vol, putCall));
+        assertEquals(vega.get(i), NormalFormulaRepository.vega(forward, strike, time, vol, putCall));
+      }
+    }
+  }
+
+  public void test_batch_invalid() {
+    DoubleArray shorter = DoubleArray.filled(SIZE - 1, 0.01);
+    assertThrowsIllegalArg(() -> NormalFormulaRepository.price(FORWARD, shorter, TIME, VOL, PutCall.CALL));
+    assertThrowsIllegalArg(() -> NormalFormulaRepository.vega(FORWARD, STRIKE, shorter, VOL, PutCall.PUT));
+    assertThrowsIllegalArg(() -> NormalFormulaRepository.delta(FORWARD, STRIKE, TIME, shorter, PutCall.CALL));
+  }
+
+}
@@ -11,6 +11,7 @@ import static org.testng.Assert.assertTrue;
 import org.testng.annotations.Test;
 
 import com.opengamma.strata.basics.value.ValueDerivatives;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.pricer.impl.volatility.smile.SabrFormulaData;
 import com.opengamma.strata.pricer.impl.volatility.smile.SabrHaganVolatilityFunctionProvider;
 import com.opengamma.strata.pricer.impl.volatility.smile.VolatilityFunctionProvider;
@@ -68,6 +69,20 @@ public class SabrExtrapolationRightFunctionTest {
     assertEquals(priceExpectedOut, priceOut, TOLERANCE_PRICE);
   }
 
+  /**
+   * Tests the prices for a set of strikes against the price for each strike.
+   */
+  public void price_array() {
+    DoubleArray strikes = DoubleArray.of(0.0, 0.02, 0.05, 0.08, CUT_OFF_STRIKE, 0.12, 0.20);
+    for (PutCall putCall : PutCall.values()) {
+      DoubleArray prices = SABR_EXTRAPOLATION.price(strikes, putCall);
+      assertEquals(prices.size(), strikes.size());
+      for (int i = 0; i < strikes.size(); i++) {
+        assertEquals(prices.get(i), SABR_EXTRAPOLATION.price(strikes.get(i), putCall));
+      }
+    }
+  }
+
   /**
    * Tests the price for options in SABR model with extrapolation.
    */
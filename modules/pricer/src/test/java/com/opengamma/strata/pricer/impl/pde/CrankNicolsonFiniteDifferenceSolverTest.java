@@ -0,0 +1,256 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.pde;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.value.ValueDerivatives;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.surface.ConstantSurface;
+import com.opengamma.strata.market.surface.Surface;
+import com.opengamma.strata.pricer.impl.option.BlackBarrierPriceFormulaRepository;
+import com.opengamma.strata.pricer.impl.option.BlackOneTouchCashPriceFormulaRepository;
+import com.opengamma.strata.pricer.impl.option.BlackScholesFormulaRepository;
+import com.opengamma.strata.pricer.impl.tree.ConstantContinuousSingleBarrierKnockoutFunction;
+import com.opengamma.strata.pricer.impl.tree.CoxRossRubinsteinLatticeSpecification;
+import com.opengamma.strata.pricer.impl.tree.LatticeSpecification;
+import com.opengamma.strata.pricer.impl.tree.TrinomialTree;
+import com.opengamma.strata.pricer.impl.volatility.local.DupireLocalVolatilityCalculator;
+import com.opengamma.strata.product.common.PutCall;
+import com.opengamma.strata.product.option.BarrierType;
+import com.opengamma.strata.product.option.KnockType;
+import com.opengamma.strata.product.option.SimpleConstantContinuousBarrier;
+
+/**
+ * Test {@link CrankNicolsonFiniteDifferenceSolver}.
+ */
+@Test
+public class CrankNicolsonFiniteDifferenceSolverTest {
+
+  private static final CrankNicolsonFiniteDifferenceSolver SOLVER = CrankNicolsonFiniteDifferenceSolver.DEFAULT;
+  private static final BlackBarrierPriceFormulaRepository BARRIER_FORMULA = new BlackBarrierPriceFormulaRepository();
+  private static final BlackOneTouchCashPriceFormulaRepository REBATE_FORMULA =
+      new BlackOneTouchCashPriceFormulaRepository();
+
+  private static final double SPOT = 100d;
+  private static final double TIME_TO_EXPIRY = 1d;
+  private static final double VOL = 0.2;
+  private static final double RATE = 0.03;
+  private static final double DIVIDEND = 0.01;
+  private static final double CARRY = RATE - DIVIDEND;
+  private static final Function<Double, Double> RATE_FUNCTION = t -> RATE;
+  private static final Function<Double, Double> DIVIDEND_FUNCTION = t -> DIVIDEND;
+  private static final Surface LOCAL_VOL = ConstantSurface.of("localVol", VOL);
+  private static final double[] STRIKES = {80d, 90d, 100d, 110d, 120d};
+  private static final double DOWN_BARRIER = 85d;
+  private static final double UP_BARRIER = 130d;
+
+  private static final double TOL_PRICE = 1e-3;
+  private static final double TOL_DELTA = 1e-4;
+  private static final double TOL_GAMMA = 1e-4;
+  private static final double TOL_BARRIER = 5e-3;
+
+  private static final FiniteDifferenceGrid GRID = FiniteDifferenceGrid.of(
+      TIME_TO_EXPIRY, 200, 20d, 400d, 400, DoubleArray.of(DOWN_BARRIER, SPOT, UP_BARRIER).concat(STRIKES));
+  private static final FiniteDifferenceOperator OPERATOR =
+      FiniteDifferenceOperator.ofLocalVolatility(GRID, LOCAL_VOL, RATE_FUNCTION, DIVIDEND_FUNCTION);
+
+  //-------------------------------------------------------------------------
+  public void test_vanilla() {
+    for (double strike : STRIKES) {
+      for (PutCall putCall : PutCall.values()) {
+        ValueDerivatives computed = SOLVER.price(FiniteDifferenceOption.vanilla(strike, putCall), SPOT, OPERATOR);
+        boolean isCall = putCall.isCall();
+        double price = BlackScholesFormulaRepository.price(SPOT, strike, TIME_TO_EXPIRY, VOL, RATE, CARRY, isCall);
+        double delta = BlackScholesFormulaRepository.delta(SPOT, strike, TIME_TO_EXPIRY, VOL, RATE, CARRY, isCall);
+        double gamma = BlackScholesFormulaRepository.gamma(SPOT, strike, TIME_TO_EXPIRY, VOL, RATE, CARRY);
+        assertEquals(computed.getValue(), price, TOL_PRICE);
+        assertEquals(computed.getDerivative(0), delta, TOL_DELTA);
+        assertEquals(computed.getDerivative(1), gamma, TOL_GAMMA);
+      }
+    }
+  }
+
+  public void test_vanilla_offNode() {
+    double spot = 101.3;
+    double strike = 103.7;
+    ValueDerivatives computed = SOLVER.price(FiniteDifferenceOption.vanilla(strike, PutCall.CALL), spot, OPERATOR);
+    double price = BlackScholesFormulaRepository.price(spot, strike, TIME_TO_EXPIRY, VOL, RATE, CARRY, true);
+    double delta = BlackScholesFormulaRepository.delta(spot, strike, TIME_TO_EXPIRY, VOL, RATE, CARRY, true);
+    assertEquals(computed.getValue(), price, TOL_PRICE);
+    assertEquals(computed.getDerivative(0), delta, TOL_DELTA);
+  }
+
+  public void test_knockOut() {
+    for (double strike : STRIKES) {
+      for (PutCall putCall : PutCall.values()) {
+        boolean isCall = putCall.isCall();
+        FiniteDifferenceOption downOut =
+            FiniteDifferenceOption.knockOut(strike, putCall, BarrierType.DOWN, DOWN_BARRIER, 0d);
+        SimpleConstantContinuousBarrier downBarrier =
+            SimpleConstantContinuousBarrier.of(BarrierType.DOWN, KnockType.KNOCK_OUT, DOWN_BARRIER);
+        double downPrice =
+            BARRIER_FORMULA.price(SPOT, strike, TIME_TO_EXPIRY, CARRY, RATE, VOL, isCall, downBarrier);
+        assertEquals(SOLVER.price(downOut, SPOT, OPERATOR).getValue(), downPrice, TOL_BARRIER);
+        FiniteDifferenceOption upOut =
+            FiniteDifferenceOption.knockOut(strike, putCall, BarrierType.UP, UP_BARRIER, 0d);
+        SimpleConstantContinuousBarrier upBarrier =
+            SimpleConstantContinuousBarrier.of(BarrierType.UP, KnockType.KNOCK_OUT, UP_BARRIER);
+        double upPrice =
+            BARRIER_FORMULA.price(SPOT, strike, TIME_TO_EXPIRY, CARRY, RATE, VOL, isCall, upBarrier);
+        assertEquals(SOLVER.price(upOut, SPOT, OPERATOR).getValue(), upPrice, TOL_BARRIER);
+      }
+    }
+  }
+
+  public void test_knockOut_rebate() {
+    double rebate = 5d;
+    FiniteDifferenceOption option =
+        FiniteDifferenceOption.knockOut(100d, PutCall.CALL, BarrierType.DOWN, DOWN_BARRIER, rebate);
+    FiniteDifferenceOption optionNoRebate =
+        FiniteDifferenceOption.knockOut(100d, PutCall.CALL, BarrierType.DOWN, DOWN_BARRIER, 0d);
+    SimpleConstantContinuousBarrier touch =
+        SimpleConstantContinuousBarrier.of(BarrierType.DOWN, KnockType.KNOCK_IN, DOWN_BARRIER);
+    double touchPrice = REBATE_FORMULA.price(SPOT, TIME_TO_EXPIRY, CARRY, RATE, VOL, touch);
+    double computed = SOLVER.price(option, SPOT, OPERATOR).getValue();
+    double computedNoRebate = SOLVER.price(optionNoRebate, SPOT, OPERATOR).getValue();
+    assertEquals(computed - computedNoRebate, rebate * touchPrice, TOL_BARRIER);
+  }
+
+  public void test_knockedOut() {
+    FiniteDifferenceOption option =
+        FiniteDifferenceOption.knockOut(100d, PutCall.CALL, BarrierType.UP, SPOT, 2d);
+    ValueDerivatives computed = SOLVER.price(option, SPOT, OPERATOR);
+    assertEquals(computed.getValue(), 2d);
+    assertEquals(computed.getDerivatives(), DoubleArray.of(0d, 0d));
+  }
+
+  public void test_localVolatility() {
+    Surface localVol = new DupireLocalVolatilityCalculator().localVolatilityFromImpliedVolatility(
+        ConstantSurface.of("impliedVol", VOL), SPOT, RATE_FUNCTION, DIVIDEND_FUNCTION);
+    FiniteDifferenceOperator operator =
+        FiniteDifferenceOperator.ofLocalVolatility(GRID, localVol, RATE_FUNCTION, DIVIDEND_FUNCTION);
+    for (double strike : STRIKES) {
+      FiniteDifferenceOption option = FiniteDifferenceOption.vanilla(strike, PutCall.CALL);
+      double expected = SOLVER.price(option, SPOT, OPERATOR).getValue();
+      assertEquals(SOLVER.price(option, SPOT, operator).getValue(), expected, 1e-10);
+    }
+  }
+
+  public void test_rannacher() {
+    // without smoothing, Crank-Nicolson oscillates around the strike for short expiries
+    FiniteDifferenceGrid grid = FiniteDifferenceGrid.of(0.02, 20, 50d, 200d, 300, DoubleArray.of(SPOT));
+    FiniteDifferenceOperator operator =
+        FiniteDifferenceOperator.ofLocalVolatility(grid, LOCAL_VOL, RATE_FUNCTION, DIVIDEND_FUNCTION);
+    FiniteDifferenceOption option = FiniteDifferenceOption.vanilla(SPOT, PutCall.CALL);
+    double gamma = BlackScholesFormulaRepository.gamma(SPOT, SPOT, 0.02, VOL, RATE, CARRY);
+    double smoothed = SOLVER.price(option, SPOT, operator).getDerivative(1);
+    double unsmoothed = new CrankNicolsonFiniteDifferenceSolver(0).price(option, SPOT, operator).getDerivative(1);
+    assertEquals(smoothed, gamma, 0.1 * gamma);
+    assertEquals(Math.abs(smoothed - gamma) < Math.abs(unsmoothed - gamma), true);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_strip() {
+    List<FiniteDifferenceOption> options = strip();
+    List<ValueDerivatives> computed = SOLVER.price(options, SPOT, OPERATOR);
+    assertEquals(computed.size(), options.size());
+    FiniteDifferenceWorkspace workspace = FiniteDifferenceWorkspace.of(GRID);
+    for (int i = 0; i < options.size(); i++) {
+      assertEquals(computed.get(i), SOLVER.price(options.get(i), SPOT, OPERATOR));
+      assertEquals(computed.get(i), SOLVER.price(options.get(i), SPOT, OPERATOR, workspace));
+    }
+  }
+
+  public void test_strip_executor() {
+    List<FiniteDifferenceOption> options = strip();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      assertEquals(SOLVER.price(options, SPOT, OPERATOR, executor), SOLVER.price(options, SPOT, OPERATOR));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void test_invalid() {
+    FiniteDifferenceOption option = FiniteDifferenceOption.vanilla(100d, PutCall.CALL);
+    assertThrowsIllegalArg(() -> SOLVER.price(option, 20d, OPERATOR));
+    assertThrowsIllegalArg(() -> SOLVER.price(option, 500d, OPERATOR));
+    FiniteDifferenceGrid otherGrid = FiniteDifferenceGrid.of(TIME_TO_EXPIRY, 10, 20d, 400d, 50, DoubleArray.of(SPOT));
+    assertThrowsIllegalArg(() -> SOLVER.price(option, SPOT, OPERATOR, FiniteDifferenceWorkspace.of(otherGrid)));
+    assertThrowsIllegalArg(() -> SOLVER.price(ImmutableList.of(option), SPOT, OPERATOR, null));
+    assertThrowsIllegalArg(() -> new CrankNicolsonFiniteDifferenceSolver(-1));
+  }
+
+  private static List<FiniteDifferenceOption> strip() {
+    List<FiniteDifferenceOption> options = new ArrayList<>();
+    for (double strike : STRIKES) {
+      options.add(FiniteDifferenceOption.vanilla(strike, PutCall.PUT));
+      options.add(FiniteDifferenceOption.knockOut(strike, PutCall.CALL, BarrierType.DOWN, DOWN_BARRIER, 1d));
+      options.add(FiniteDifferenceOption.knockOut(strike, PutCall.PUT, BarrierType.UP, UP_BARRIER, 0d));
+    }
+    return options;
+  }
+
+  //-------------------------------------------------------------------------
+  @Test(enabled = false)
+  public void performance() {
+    long startTime, endTime;
+    int nbTests = 10;
+    int nbRep = 5;
+    int nbSteps = 200;
+    TrinomialTree tree = new TrinomialTree();
+    LatticeSpecification lattice = new CoxRossRubinsteinLatticeSpecification();
+    DoubleArray rebate = DoubleArray.filled(nbSteps + 1);
+    List<FiniteDifferenceOption> options = strip();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    double count = 0d;
+    for (int rep = 0; rep < nbRep; rep++) {
+      startTime = System.currentTimeMillis();
+      for (int looprep = 0; looprep < nbTests; looprep++) {
+        for (double strike : STRIKES) {
+          ConstantContinuousSingleBarrierKnockoutFunction function = ConstantContinuousSingleBarrierKnockoutFunction.of(
+              strike, TIME_TO_EXPIRY, PutCall.CALL, nbSteps, BarrierType.DOWN, DOWN_BARRIER, rebate);
+          count += tree.optionPrice(function, lattice, SPOT, VOL, RATE, DIVIDEND);
+        }
+      }
+      endTime = System.currentTimeMillis();
+      System.out.println("Performance: " + nbTests + " trinomial tree for " + STRIKES.length + " options in "
+          + (endTime - startTime) + " ms.");
+      startTime = System.currentTimeMillis();
+      for (int looprep = 0; looprep < nbTests; looprep++) {
+        FiniteDifferenceOperator operator =
+            FiniteDifferenceOperator.ofLocalVolatility(GRID, LOCAL_VOL, RATE_FUNCTION, DIVIDEND_FUNCTION);
+        count += SOLVER.price(options, SPOT, operator).get(0).getValue();
+      }
+      endTime = System.currentTimeMillis();
+      System.out.println("Performance: " + nbTests + " finite difference for " + options.size() + " options in "
+          + (endTime - startTime) + " ms.");
+      startTime = System.currentTimeMillis();
+      for (int looprep = 0; looprep < nbTests; looprep++) {
+        FiniteDifferenceOperator operator =
+            FiniteDifferenceOperator.ofLocalVolatility(GRID, LOCAL_VOL, RATE_FUNCTION, DIVIDEND_FUNCTION);
+        count += SOLVER.price(options, SPOT, operator, executor).get(0).getValue();
+      }
+      endTime = System.currentTimeMillis();
+      System.out.println("Performance: " + nbTests + " parallel finite difference for " + options.size()
+          + " options in " + (endTime - startTime) + " ms.");
+    }
+    executor.shutdown();
+    System.out.println("Avoiding hotspot: " + count);
+  }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.pde;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Test {@link FiniteDifferenceGrid}.
+ */
+@Test
+public class FiniteDifferenceGridTest {
+
+  private static final DoubleArray POINTS = DoubleArray.of(110d, 85d, 100d, 100d, 130d);
+
+  public void test_of() {
+    FiniteDifferenceGrid test = FiniteDifferenceGrid.of(2d, 50, 20d, 400d, 200, POINTS);
+    assertEquals(test.getTimeToExpiry(), 2d);
+    assertEquals(test.getNumberOfTimeSteps(), 50);
+    assertEquals(test.getTime(0), 0d);
+    assertEquals(test.getTime(25), 1d);
+    assertEquals(test.getTime(50), 2d);
+    assertEquals(test.getNumberOfSpotNodes(), 200);
+    double[] spots = test.getSpots().toArray();
+    assertEquals(spots.length, 200);
+    assertEquals(spots[0], 20d);
+    assertEquals(spots[199], 400d);
+    for (int i = 1; i < spots.length; i++) {
+      assertTrue(spots[i - 1] < spots[i]);
+    }
+    for (int i = 0; i < POINTS.size(); i++) {
+      assertTrue(Arrays.binarySearch(spots, POINTS.get(i)) >= 0);
+    }
+  }
+
+  public void test_of_concentration() {
+    FiniteDifferenceGrid test = FiniteDifferenceGrid.of(1d, 10, 20d, 400d, 200, DoubleArray.of(100d));
+    double[] spots = test.getSpots().toArray();
+    int index = Arrays.binarySearch(spots, 100d);
+    double spacingAtPoint = spots[index + 1] - spots[index];
+    double spacingAtBoundary = spots[199] - spots[198];
+    assertTrue(spacingAtPoint < 0.2 * spacingAtBoundary);
+    FiniteDifferenceGrid lessConcentrated =
+        FiniteDifferenceGrid.of(1d, 10, 20d, 400d, 200, DoubleArray.of(100d), 0.05, 1d);
+    double[] otherSpots = lessConcentrated.getSpots().toArray();
+    int otherIndex = Arrays.binarySearch(otherSpots, 100d);
+    assertTrue(spacingAtPoint < otherSpots[otherIndex + 1] - otherSpots[otherIndex]);
+  }
+
+  public void test_of_invalid() {
+    assertThrowsIllegalArg(() -> FiniteDifferenceGrid.of(0d, 10, 20d, 400d, 200, POINTS));
+    assertThrowsIllegalArg(() -> FiniteDifferenceGrid.of(1d, 0, 20d, 400d, 200, POINTS));
+    assertThrowsIllegalArg(() -> FiniteDifferenceGrid.of(1d, 10, 400d, 20d, 200, POINTS));
+    assertThrowsIllegalArg(() -> FiniteDifferenceGrid.of(1d, 10, 20d, 400d, 6, POINTS));
+    assertThrowsIllegalArg(() -> FiniteDifferenceGrid.of(1d, 10, 20d, 90d, 200, POINTS));
+    assertThrowsIllegalArg(() -> FiniteDifferenceGrid.of(1d, 10, 20d, 400d, 200, POINTS, 0d, 0.1));
+  }
+
+}
@@ -10,6 +10,9 @@ import static com.opengamma.strata.basics.index.OvernightIndices.GBP_SONIA;
 import static com.opengamma.strata.basics.index.OvernightIndices.USD_FED_FUND;
 import static com.opengamma.strata.collect.TestHelper.assertThrows;
 import static com.opengamma.strata.collect.TestHelper.date;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -17,11 +20,13 @@ import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.Optional;
 
 import org.testng.annotations.Test;
 
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.date.HolidayCalendar;
 import com.opengamma.strata.basics.index.OvernightIndexObservation;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
@@ -1135,4 +1140,43 @@ public class ApproxForwardOvernightAveragedRateComputationFnTest {
     }
   }
 
+  /** Test the cumulative index of the fixings against the fixings read one by one. */
+  public void rateCumulativeFixings() {
+    DoubleArray time_usd = DoubleArray.of(0.0, 0.5, 1.0, 2.0, 5.0, 10.0);
+    DoubleArray rate_usd = DoubleArray.of(0.0100, 0.0110, 0.0115, 0.0130, 0.0135, 0.0135);
+    Curve fedFundCurve = InterpolatedNodalCurve.of(
+        Curves.zeroRates("USD-Fed-Fund", ACT_ACT_ISDA), time_usd, rate_usd, INTERPOLATOR);
+    HolidayCalendar calendar = USD_FED_FUND.getFixingCalendar().resolve(REF_DATA);
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    for (LocalDate fixingDate = date(2014, 1, 2); fixingDate.isBefore(date(2015, 1, 13));
+        fixingDate = calendar.next(fixingDate)) {
+      builder.put(fixingDate, 0.0010 + 0.0001 * fixingDate.getDayOfMonth());
+    }
+    LocalDateDoubleTimeSeries fixings = builder.build();
+    LocalDate[] valuationDate = {date(2014, 3, 3), date(2015, 1, 9), date(2015, 1, 12), date(2015, 1, 13)};
+    for (int cutoff = 0; cutoff < 3; cutoff += 2) {
+      OvernightAveragedRateComputation ro =
+          OvernightAveragedRateComputation.of(USD_FED_FUND, date(2014, 3, 3), FIXING_END_DATE, cutoff, REF_DATA);
+      for (int loopvaldate = 0; loopvaldate < valuationDate.length; loopvaldate++) {
+        ImmutableRatesProvider prov = ImmutableRatesProvider.builder(valuationDate[loopvaldate])
+            .overnightIndexCurve(USD_FED_FUND, fedFundCurve, fixings)
+            .build();
+        OvernightIndexRates rates = prov.overnightIndexRates(USD_FED_FUND);
+        assertTrue(rates.cumulativeFixings(calendar).isPresent());
+        OvernightIndexRates ratesNoIndex = mock(OvernightIndexRates.class, delegatesTo(rates));
+        doReturn(Optional.empty()).when(ratesNoIndex).cumulativeFixings(any());
+        SimpleRatesProvider simpleProv = new SimpleRatesProvider(ratesNoIndex);
+        double rateExpected = OBS_FN_APPROX_FWD.rate(ro, DUMMY_ACCRUAL_START_DATE, DUMMY_ACCRUAL_END_DATE, simpleProv);
+        double rateComputed = OBS_FN_APPROX_FWD.rate(ro, DUMMY_ACCRUAL_START_DATE, DUMMY_ACCRUAL_END_DATE, prov);
+        assertEquals(rateComputed, rateExpected, TOLERANCE_RATE);
+        PointSensitivityBuilder sensitivityExpected =
+            OBS_FN_APPROX_FWD.rateSensitivity(ro, DUMMY_ACCRUAL_START_DATE, DUMMY_ACCRUAL_END_DATE, simpleProv);
+        PointSensitivityBuilder sensitivityComputed =
+            OBS_FN_APPROX_FWD.rateSensitivity(ro, DUMMY_ACCRUAL_START_DATE, DUMMY_ACCRUAL_END_DATE, prov);
+        assertTrue(sensitivityComputed.build().normalized().equalWithTolerance(
+            sensitivityExpected.build().normalized(), EPS_FD));
+      }
+    }
+  }
+
 }
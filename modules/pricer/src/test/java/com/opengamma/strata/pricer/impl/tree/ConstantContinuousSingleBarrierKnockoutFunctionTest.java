@@ -8,10 +8,13 @@ package com.opengamma.strata.pricer.impl.tree;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
+import java.util.Arrays;
+
 import org.testng.annotations.Test;
 
 import com.opengamma.strata.collect.DoubleArrayMath;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.pricer.impl.option.BlackBarrierPriceFormulaRepository;
 import com.opengamma.strata.pricer.impl.option.BlackOneTouchCashPriceFormulaRepository;
 import com.opengamma.strata.product.common.PutCall;
@@ -87,6 +90,15 @@ public class ConstantContinuousSingleBarrierKnockoutFunctionTest {
             + 0.5 * tmp,
         REBATE_AMOUNT);
     assertTrue(DoubleArrayMath.fuzzyEquals(computedNextValues.toArray(), expectedNextValues.toArray(), tol));
+    // test computeNextOptionValues, with the values stored in a larger buffer
+    double[][] probs = new double[2 * n + 1][];
+    Arrays.fill(probs, new double[] {dp, mp, up});
+    DoubleArray stateValue = DoubleArray.of(2 * n + 1, k -> spot * Math.pow(d, n - k) * Math.pow(m, k));
+    double[] buffer = Arrays.copyOf(values.toArray(), 2 * NUM + 1);
+    double[] result = new double[2 * NUM + 1];
+    test.computeNextOptionValues(df, DoubleMatrix.ofUnsafe(probs), stateValue, buffer, result, n);
+    assertTrue(DoubleArrayMath.fuzzyEquals(
+        Arrays.copyOf(result, 2 * n + 1), expectedNextValues.toArray(), tol));
   }
 
   public void test_optionPrice_down() {
@@ -131,6 +143,15 @@ public class ConstantContinuousSingleBarrierKnockoutFunctionTest {
         df * 0.05 * dp,
         0.0);
     assertTrue(DoubleArrayMath.fuzzyEquals(computedNextValues.toArray(), expectedNextValues.toArray(), tol));
+    // test computeNextOptionValues, with the values stored in a larger buffer
+    double[][] probs = new double[2 * n + 1][];
+    Arrays.fill(probs, new double[] {dp, mp, up});
+    DoubleArray stateValue = DoubleArray.of(2 * n + 1, k -> spot * Math.pow(d, n - k) * Math.pow(m, k));
+    double[] buffer = Arrays.copyOf(values.toArray(), 2 * NUM + 1);
+    double[] result = new double[2 * NUM + 1];
+    test.computeNextOptionValues(df, DoubleMatrix.ofUnsafe(probs), stateValue, buffer, result, n);
+    assertTrue(DoubleArrayMath.fuzzyEquals(
+        Arrays.copyOf(result, 2 * n + 1), expectedNextValues.toArray(), tol));
   }
 
   private static final TrinomialTree TRINOMIAL_TREE = new TrinomialTree();
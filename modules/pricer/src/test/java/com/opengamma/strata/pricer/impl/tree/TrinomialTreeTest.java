@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.pricer.impl.tree;
 
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static org.testng.Assert.assertEquals;
 
 import java.util.ArrayList;
@@ -13,11 +14,13 @@ import java.util.List;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.pricer.fxopt.RecombiningTrinomialTreeData;
 import com.opengamma.strata.product.common.PutCall;
+import com.opengamma.strata.product.option.BarrierType;
 
 /**
  * Test {@link TrinomialTree}.
@@ -82,4 +85,63 @@ public class TrinomialTreeTest {
     }
   }
 
+  /**
+   * Test consistency between rolling back several options together and rolling back each option alone.
+   */
+  public void test_trinomialTree_multipleOptions() {
+    int nSteps = 57;
+    double dt = TIME / nSteps;
+    double interest = 0.03;
+    double vol = 0.2;
+    LatticeSpecification lattice = new CoxRossRubinsteinLatticeSpecification();
+    double[] params = lattice.getParametersTrinomial(vol, interest, dt).toArray();
+    DoubleArray time = DoubleArray.of(nSteps + 1, i -> dt * i);
+    DoubleArray df = DoubleArray.of(nSteps, i -> Math.exp(-interest * dt));
+    double[][] stateValue = new double[nSteps + 1][];
+    stateValue[0] = new double[] {SPOT };
+    List<DoubleMatrix> prob = new ArrayList<DoubleMatrix>();
+    double[] probs = new double[] {params[5], params[4], params[3] };
+    for (int i = 0; i < nSteps; ++i) {
+      int index = i;
+      stateValue[i + 1] = DoubleArray.of(2 * i + 3,
+          j -> SPOT * Math.pow(params[2], index + 1 - j) * Math.pow(params[1], j)).toArray();
+      double[][] probMatrix = new double[2 * i + 1][];
+      Arrays.fill(probMatrix, probs);
+      prob.add(DoubleMatrix.ofUnsafe(probMatrix));
+    }
+    RecombiningTrinomialTreeData treeData =
+        RecombiningTrinomialTreeData.of(DoubleMatrix.ofUnsafe(stateValue), prob, df, time);
+    List<OptionFunction> functions = new ArrayList<>();
+    for (double strike : STRIKES) {
+      functions.add(EuropeanVanillaOptionFunction.of(strike, TIME, PutCall.CALL, nSteps));
+      functions.add(ConstantContinuousSingleBarrierKnockoutFunction.of(
+          strike, TIME, PutCall.PUT, nSteps, BarrierType.DOWN, 90d, DoubleArray.filled(nSteps + 1, 1d)));
+      functions.add(ConstantContinuousSingleBarrierKnockoutFunction.of(
+          strike, TIME, PutCall.CALL, nSteps, BarrierType.UP, 135d, DoubleArray.filled(nSteps + 1)));
+    }
+    DoubleArray prices = TRINOMIAL_TREE.optionPrice(functions, treeData);
+    List<ValueDerivatives> priceDerivs = TRINOMIAL_TREE.optionPriceAdjoint(functions, treeData);
+    assertEquals(prices.size(), functions.size());
+    assertEquals(priceDerivs.size(), functions.size());
+    for (int i = 0; i < functions.size(); ++i) {
+      ValueDerivatives expected = TRINOMIAL_TREE.optionPriceAdjoint(functions.get(i), treeData);
+      assertEquals(prices.get(i), TRINOMIAL_TREE.optionPrice(functions.get(i), treeData));
+      assertEquals(priceDerivs.get(i).getValue(), expected.getValue());
+      assertEquals(priceDerivs.get(i).getDerivative(0), expected.getDerivative(0));
+      assertEquals(prices.get(i), expected.getValue());
+    }
+  }
+
+  public void test_trinomialTree_multipleOptions_wrongSteps() {
+    RecombiningTrinomialTreeData treeData = RecombiningTrinomialTreeData.of(
+        DoubleMatrix.ofUnsafe(new double[][] {{SPOT }, {SPOT * 0.9, SPOT, SPOT * 1.1 } }),
+        ImmutableList.of(DoubleMatrix.ofUnsafe(new double[][] {{0.25, 0.5, 0.25 } })),
+        DoubleArray.of(1d),
+        DoubleArray.of(0d, 0.1));
+    List<OptionFunction> functions = ImmutableList.of(
+        EuropeanVanillaOptionFunction.of(SPOT, 0.1, PutCall.CALL, 1),
+        EuropeanVanillaOptionFunction.of(SPOT, 0.1, PutCall.CALL, 2));
+    assertThrowsIllegalArg(() -> TRINOMIAL_TREE.optionPrice(functions, treeData));
+  }
+
 }
@@ -5,10 +5,13 @@
  */
 package com.opengamma.strata.pricer.impl.volatility.local;
 
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.market.curve.interpolator.CurveExtrapolators.INTERPOLATOR;
 import static com.opengamma.strata.market.curve.interpolator.CurveInterpolators.NATURAL_SPLINE;
 import static org.testng.Assert.assertEquals;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Function;
 
 import org.testng.annotations.Test;
@@ -50,6 +53,7 @@ public class DupireLocalVolatilityCalculatorTest {
   private static final double[] TEST_STRIKES = new double[] {1.1, 1.4, 2.2 };
   private static final double[] TEST_TIMES = new double[] {0.1, 0.6, 1.1 };
   private static final double FD_EPS = 1.0e-5;
+  private static final double TOL = 1.0e-12;
 
   private static final DupireLocalVolatilityCalculator CALC = new DupireLocalVolatilityCalculator();
 
@@ -194,6 +198,67 @@ public class DupireLocalVolatilityCalculatorTest {
     }
   }
 
+  public void test_localVolatilityOnGrid() {
+    Function<Double, Double> interestRate = x -> 0.05;
+    Function<Double, Double> dividendRate = x -> 0.01;
+    // the rates consistent with the call prices
+    Function<Double, Double> interestRatePrice = x -> 0.03;
+    Function<Double, Double> dividendRatePrice = x -> 0.02;
+    DoubleArray times = DoubleArray.copyOf(TEST_TIMES);
+    DoubleArray strikes = DoubleArray.copyOf(TEST_STRIKES);
+    DeformedSurface lazyVol =
+        CALC.localVolatilityFromImpliedVolatility(VOL_SURFACE, SPOT, interestRate, dividendRate);
+    InterpolatedNodalSurface gridVol = CALC.localVolatilityFromImpliedVolatility(
+        VOL_SURFACE, SPOT, interestRate, dividendRate, times, strikes, INTERPOLATOR_2D);
+    DeformedSurface lazyPrice =
+        CALC.localVolatilityFromPrice(PRICE_SURFACE, SPOT, interestRatePrice, dividendRatePrice);
+    InterpolatedNodalSurface gridPrice = CALC.localVolatilityFromPrice(
+        PRICE_SURFACE, SPOT, interestRatePrice, dividendRatePrice, times, strikes, INTERPOLATOR_2D);
+    assertEquals(gridVol.getName(), lazyVol.getName());
+    assertEquals(gridVol.getParameterCount(), times.size() * strikes.size());
+    for (int i = 0; i < times.size(); i++) {
+      for (int j = 0; j < strikes.size(); j++) {
+        double time = times.get(i);
+        double strike = strikes.get(j);
+        assertEquals(gridVol.zValue(time, strike), lazyVol.zValue(time, strike), TOL);
+        assertEquals(gridPrice.zValue(time, strike), lazyPrice.zValue(time, strike), TOL);
+      }
+    }
+  }
+
+  public void test_localVolatilityOnGrid_executor() {
+    Function<Double, Double> interestRate = x -> 0.05;
+    Function<Double, Double> dividendRate = x -> 0.01;
+    DoubleArray times = DoubleArray.copyOf(TEST_TIMES);
+    DoubleArray strikes = DoubleArray.copyOf(TEST_STRIKES);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      InterpolatedNodalSurface expected = CALC.localVolatilityFromImpliedVolatility(
+          VOL_SURFACE, SPOT, interestRate, dividendRate, times, strikes, INTERPOLATOR_2D);
+      InterpolatedNodalSurface computed = CALC.localVolatilityFromImpliedVolatility(
+          VOL_SURFACE, SPOT, interestRate, dividendRate, times, strikes, INTERPOLATOR_2D, executor);
+      assertEquals(computed, expected);
+      Function<Double, Double> interestRatePrice = x -> 0.03;
+      Function<Double, Double> dividendRatePrice = x -> 0.02;
+      InterpolatedNodalSurface expectedPrice = CALC.localVolatilityFromPrice(
+          PRICE_SURFACE, SPOT, interestRatePrice, dividendRatePrice, times, strikes, INTERPOLATOR_2D);
+      InterpolatedNodalSurface computedPrice = CALC.localVolatilityFromPrice(
+          PRICE_SURFACE, SPOT, interestRatePrice, dividendRatePrice, times, strikes, INTERPOLATOR_2D, executor);
+      assertEquals(computedPrice, expectedPrice);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void test_localVolatilityOnGrid_invalid() {
+    Function<Double, Double> rate = x -> 0.01;
+    DoubleArray strikes = DoubleArray.of(0.9, 1.1, 1.4);
+    assertThrowsIllegalArg(() -> CALC.localVolatilityFromImpliedVolatility(
+        VOL_SURFACE, SPOT, rate, rate, DoubleArray.of(0.5, 0.2), strikes, INTERPOLATOR_2D));
+    assertThrowsIllegalArg(() -> CALC.localVolatilityFromImpliedVolatility(
+        VOL_SURFACE, SPOT, rate, rate, DoubleArray.of(0.2, 0.5), DoubleArray.of(), INTERPOLATOR_2D));
+  }
+
   private double volFromFormula(double r, double q, double time, double strike, NodalSurface surface) {
     double vol = surface.zValue(time, strike);
     double volT = 0.5 / FD_EPS * (surface.zValue(time + FD_EPS, strike) - surface.zValue(time - FD_EPS, strike));
@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.rate;
+
+import static com.opengamma.strata.basics.index.OvernightIndices.CHF_TOIS;
+import static com.opengamma.strata.basics.index.OvernightIndices.GBP_SONIA;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.date.HolidayCalendar;
+import com.opengamma.strata.basics.index.OvernightIndex;
+import com.opengamma.strata.basics.index.OvernightIndexObservation;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+
+/**
+ * Test {@link CumulativeOvernightFixings}.
+ */
+@Test
+public class CumulativeOvernightFixingsTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate FIRST_FIXING = date(2016, 12, 1);
+  private static final LocalDate LAST_FIXING = date(2017, 3, 31);
+  private static final double TOLERANCE = 1.0E-12;
+  private static final LocalDate FIRST_FIXING_LONG = date(2007, 1, 2);
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    HolidayCalendar calendar = GBP_SONIA.getFixingCalendar().resolve(REF_DATA);
+    CumulativeOvernightFixings test = CumulativeOvernightFixings.of(GBP_SONIA, calendar, fixings(calendar, null));
+    assertEquals(test.getIndex(), GBP_SONIA);
+    assertEquals(test.getFixingCalendar(), calendar);
+  }
+
+  public void test_compoundedFactor_accumulatedInterest() {
+    // effective offset 0 for SONIA and 1 for TOIS
+    for (OvernightIndex index : new OvernightIndex[] {GBP_SONIA, CHF_TOIS}) {
+      HolidayCalendar calendar = index.getFixingCalendar().resolve(REF_DATA);
+      LocalDateDoubleTimeSeries fixings = fixings(calendar, null);
+      CumulativeOvernightFixings test = CumulativeOvernightFixings.of(index, calendar, fixings);
+      LocalDate[] startDates = {FIRST_FIXING, date(2016, 12, 23), date(2017, 2, 1)};
+      LocalDate[] endDates = {date(2016, 12, 28), date(2017, 1, 1), date(2017, 3, 20), LAST_FIXING.plusDays(1)};
+      for (LocalDate startDate : startDates) {
+        for (LocalDate endDate : endDates) {
+          double compounded = 1d;
+          double accumulated = 0d;
+          for (LocalDate fixingDate = calendar.nextOrSame(startDate); fixingDate.isBefore(endDate);
+              fixingDate = calendar.next(fixingDate)) {
+            double yearFraction = OvernightIndexObservation.of(index, fixingDate, REF_DATA).getYearFraction();
+            compounded *= 1d + yearFraction * fixings.get(fixingDate).getAsDouble();
+            accumulated += yearFraction * fixings.get(fixingDate).getAsDouble();
+          }
+          assertEquals(test.compoundedFactor(startDate, endDate).getAsDouble(), compounded, TOLERANCE);
+          assertEquals(test.accumulatedInterest(startDate, endDate).getAsDouble(), accumulated, TOLERANCE);
+        }
+      }
+    }
+  }
+
+  // agreement with the day-by-day computation over ten years of fixings, to the tolerance stated in the javadoc
+  public void test_compoundedFactor_accumulatedInterest_longHistory() {
+    for (OvernightIndex index : new OvernightIndex[] {GBP_SONIA, CHF_TOIS}) {
+      HolidayCalendar calendar = index.getFixingCalendar().resolve(REF_DATA);
+      LocalDateDoubleTimeSeries fixings = fixings(calendar, FIRST_FIXING_LONG, null);
+      CumulativeOvernightFixings test = CumulativeOvernightFixings.of(index, calendar, fixings);
+      LocalDate endDate = LAST_FIXING.plusDays(1);
+      for (LocalDate startDate = FIRST_FIXING_LONG; startDate.isBefore(endDate); startDate = startDate.plusYears(2)) {
+        LocalDate start = calendar.nextOrSame(startDate);
+        double compounded = 1d;
+        double accumulated = 0d;
+        for (LocalDate fixingDate = start; fixingDate.isBefore(endDate); fixingDate = calendar.next(fixingDate)) {
+          double yearFraction = OvernightIndexObservation.of(index, fixingDate, REF_DATA).getYearFraction();
+          compounded *= 1d + yearFraction * fixings.get(fixingDate).getAsDouble();
+          accumulated += yearFraction * fixings.get(fixingDate).getAsDouble();
+        }
+        assertEquals(test.compoundedFactor(start, endDate).getAsDouble() / compounded, 1d, TOLERANCE);
+        assertEquals(test.accumulatedInterest(start, endDate).getAsDouble(), accumulated, TOLERANCE);
+      }
+    }
+  }
+
+  public void test_shared() {
+    HolidayCalendar calendar = GBP_SONIA.getFixingCalendar().resolve(REF_DATA);
+    LocalDateDoubleTimeSeries fixings = fixings(calendar, null);
+    CumulativeOvernightFixings test = CumulativeOvernightFixings.shared(GBP_SONIA, calendar, fixings);
+    assertSame(CumulativeOvernightFixings.shared(GBP_SONIA, calendar, fixings), test);
+    HolidayCalendar otherCalendar = CHF_TOIS.getFixingCalendar().resolve(REF_DATA);
+    assertNotSame(CumulativeOvernightFixings.shared(CHF_TOIS, otherCalendar, fixings), test);
+    assertNotSame(CumulativeOvernightFixings.shared(GBP_SONIA, calendar, fixings(calendar, null)), test);
+  }
+
+  public void test_emptyPeriod() {
+    HolidayCalendar calendar = GBP_SONIA.getFixingCalendar().resolve(REF_DATA);
+    CumulativeOvernightFixings test = CumulativeOvernightFixings.of(GBP_SONIA, calendar, fixings(calendar, null));
+    LocalDate date = date(2017, 1, 10);
+    assertEquals(test.compoundedFactor(date, date).getAsDouble(), 1d);
+    assertEquals(test.accumulatedInterest(date, date).getAsDouble(), 0d);
+  }
+
+  public void test_notCovered() {
+    HolidayCalendar calendar = GBP_SONIA.getFixingCalendar().resolve(REF_DATA);
+    LocalDate missingDate = date(2017, 1, 10);
+    CumulativeOvernightFixings test =
+        CumulativeOvernightFixings.of(GBP_SONIA, calendar, fixings(calendar, missingDate));
+    // missing fixing
+    assertFalse(test.compoundedFactor(date(2017, 1, 3), date(2017, 1, 20)).isPresent());
+    assertFalse(test.accumulatedInterest(missingDate, missingDate.plusDays(1)).isPresent());
+    assertTrue(test.compoundedFactor(date(2017, 1, 3), missingDate).isPresent());
+    assertTrue(test.accumulatedInterest(missingDate.plusDays(1), date(2017, 1, 20)).isPresent());
+    // before the first fixing or after the last fixing
+    assertFalse(test.compoundedFactor(date(2016, 11, 30), date(2017, 1, 3)).isPresent());
+    assertFalse(test.accumulatedInterest(date(2017, 3, 1), LAST_FIXING.plusDays(2)).isPresent());
+    // start date not a business day
+    assertFalse(test.compoundedFactor(date(2017, 1, 1), date(2017, 1, 6)).isPresent());
+  }
+
+  public void test_emptyTimeSeries() {
+    HolidayCalendar calendar = GBP_SONIA.getFixingCalendar().resolve(REF_DATA);
+    CumulativeOvernightFixings test =
+        CumulativeOvernightFixings.of(GBP_SONIA, calendar, LocalDateDoubleTimeSeries.empty());
+    assertFalse(test.compoundedFactor(date(2017, 1, 3), date(2017, 1, 20)).isPresent());
+    assertFalse(test.accumulatedInterest(date(2017, 1, 3), date(2017, 1, 20)).isPresent());
+  }
+
+  //-------------------------------------------------------------------------
+  // fixings on each business day, except the missing date
+  private static LocalDateDoubleTimeSeries fixings(HolidayCalendar calendar, LocalDate missingDate) {
+    return fixings(calendar, FIRST_FIXING, missingDate);
+  }
+
+  private static LocalDateDoubleTimeSeries fixings(
+      HolidayCalendar calendar,
+      LocalDate firstFixing,
+      LocalDate missingDate) {
+
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    for (LocalDate fixingDate = firstFixing; !fixingDate.isAfter(LAST_FIXING);
+        fixingDate = calendar.next(fixingDate)) {
+      if (!fixingDate.equals(missingDate)) {
+        builder.put(fixingDate, 0.0050 + 0.0001 * fixingDate.getDayOfMonth());
+      }
+    }
+    return builder.build();
+  }
+
+}
@@ -15,6 +15,7 @@ import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 
 import java.time.LocalDate;
 import java.util.Optional;
@@ -22,6 +23,7 @@ import java.util.Optional;
 import org.testng.annotations.Test;
 
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.date.HolidayCalendar;
 import com.opengamma.strata.basics.index.OvernightIndexObservation;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
@@ -104,6 +106,21 @@ public class DiscountOvernightIndexRatesTest {
     assertEquals(test.getDiscountFactors(), DFCURVE);
   }
 
+  //-------------------------------------------------------------------------
+  public void test_cumulativeFixings() {
+    HolidayCalendar calendar = GBP_SONIA.getFixingCalendar().resolve(REF_DATA);
+    DiscountOvernightIndexRates test = DiscountOvernightIndexRates.of(GBP_SONIA, DFCURVE, SERIES);
+    CumulativeOvernightFixings cumulativeFixings = test.cumulativeFixings(calendar).get();
+    assertEquals(cumulativeFixings.getIndex(), GBP_SONIA);
+    assertEquals(cumulativeFixings.getFixingCalendar(), calendar);
+    assertSame(test.cumulativeFixings(calendar).get(), cumulativeFixings);
+    assertSame(test.withDiscountFactors(DFCURVE2).cumulativeFixings(calendar).get(), cumulativeFixings);
+    double expected = (1d + GBP_SONIA_BEFORE.getYearFraction() * RATE_BEFORE) *
+        (1d + GBP_SONIA_VAL.getYearFraction() * RATE_VAL);
+    assertEquals(
+        cumulativeFixings.compoundedFactor(DATE_BEFORE, DATE_VAL.plusDays(1)).getAsDouble(), expected, 1e-14);
+  }
+
   //-------------------------------------------------------------------------
   public void test_withDiscountFactors() {
     DiscountOvernightIndexRates test = DiscountOvernightIndexRates.of(GBP_SONIA, DFCURVE, SERIES);
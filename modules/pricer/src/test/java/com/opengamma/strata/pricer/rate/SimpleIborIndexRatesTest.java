@@ -15,6 +15,7 @@ import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.util.Optional;
@@ -35,6 +36,7 @@ import com.opengamma.strata.market.curve.interpolator.CurveInterpolator;
 import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.sensitivity.ParameterSensitivityAccumulator;
 
 /**
  * Tests {@link SimpleIborIndexRates}.
@@ -202,6 +204,15 @@ public class SimpleIborIndexRatesTest {
     assertEquals(test.parameterSensitivity(point).size(), 1);
   }
 
+  public void test_addIborRateParameterSensitivity() {
+    SimpleIborIndexRates test = SimpleIborIndexRates.of(GBP_LIBOR_3M, DATE_VAL, CURVE, SERIES);
+    ParameterSensitivityAccumulator accumulator = ParameterSensitivityAccumulator.create();
+    test.addIborRateParameterSensitivity(GBP_LIBOR_3M_AFTER, GBP, 25d, accumulator);
+    CurrencyParameterSensitivities expected =
+        test.parameterSensitivity(IborRateSensitivity.of(GBP_LIBOR_3M_AFTER, GBP, 25d));
+    assertTrue(accumulator.build().equalWithTolerance(expected, TOLERANCE_RATE));
+  }
+
   //-------------------------------------------------------------------------
   public void test_createParameterSensitivity() {
     SimpleIborIndexRates test = SimpleIborIndexRates.of(GBP_LIBOR_3M, DATE_VAL, CURVE, SERIES);
@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.sensitivity;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_3M;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.market.curve.ConstantCurve;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.DefaultCurveMetadata;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.ZeroRateDiscountFactors;
+import com.opengamma.strata.pricer.ZeroRateSensitivity;
+import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
+import com.opengamma.strata.pricer.rate.IborIndexRates;
+import com.opengamma.strata.pricer.rate.IborRateSensitivity;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+
+/**
+ * Test {@link ParameterSensitivityAccumulator}.
+ */
+@Test
+public class ParameterSensitivityAccumulatorTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final ImmutableRatesProvider[] PROVIDERS = {
+      RatesProviderDataSets.MULTI_GBP_USD, RatesProviderDataSets.MULTI_GBP_USD_SIMPLE};
+  private static final LocalDate DATE_1 = date(2015, 3, 16);
+  private static final LocalDate DATE_2 = date(2019, 7, 22);
+  private static final double TOLERANCE = 1.0e-8;
+
+  //-------------------------------------------------------------------------
+  public void test_addZeroRateSensitivity() {
+    for (ImmutableRatesProvider provider : PROVIDERS) {
+      DiscountFactors dscGbp = provider.discountFactors(GBP);
+      DiscountFactors dscUsd = provider.discountFactors(USD);
+      ParameterSensitivityAccumulator test = ParameterSensitivityAccumulator.create();
+      test.addZeroRateSensitivity(dscGbp, 1.5d, GBP, 1000d)
+          .addZeroRateSensitivity(dscGbp, 4.2d, GBP, -250d)
+          .addZeroRateSensitivity(dscUsd, 2.5d, GBP, 500d)
+          .addZeroRateSensitivity(dscUsd, 2.5d, USD, 700d);
+      PointSensitivities points = PointSensitivities.of(
+          ZeroRateSensitivity.of(GBP, 1.5d, 1000d),
+          ZeroRateSensitivity.of(GBP, 4.2d, -250d),
+          ZeroRateSensitivity.of(USD, 2.5d, GBP, 500d),
+          ZeroRateSensitivity.of(USD, 2.5d, 700d));
+      assertTrue(test.build().equalWithTolerance(provider.parameterSensitivity(points), TOLERANCE));
+    }
+  }
+
+  public void test_addDiscountFactorSensitivity() {
+    for (ImmutableRatesProvider provider : PROVIDERS) {
+      DiscountFactors dscGbp = provider.discountFactors(GBP);
+      ParameterSensitivityAccumulator test = ParameterSensitivityAccumulator.create();
+      test.addDiscountFactorSensitivity(dscGbp, DATE_1, GBP, 1000d)
+          .addDiscountFactorSensitivity(dscGbp, DATE_2, GBP, 300d);
+      PointSensitivities points = dscGbp.zeroRatePointSensitivity(DATE_1).multipliedBy(1000d)
+          .combinedWith(dscGbp.zeroRatePointSensitivity(DATE_2).multipliedBy(300d))
+          .build();
+      assertTrue(test.build().equalWithTolerance(provider.parameterSensitivity(points), TOLERANCE));
+    }
+  }
+
+  public void test_addIborRateSensitivity() {
+    for (ImmutableRatesProvider provider : PROVIDERS) {
+      IborIndexRates rates = provider.iborIndexRates(GBP_LIBOR_3M);
+      IborIndexObservation observation1 = IborIndexObservation.of(GBP_LIBOR_3M, DATE_1, REF_DATA);
+      IborIndexObservation observation2 = IborIndexObservation.of(GBP_LIBOR_3M, DATE_2, REF_DATA);
+      ParameterSensitivityAccumulator test = ParameterSensitivityAccumulator.create();
+      test.addIborRateSensitivity(rates, observation1, GBP, 1000d)
+          .addIborRateSensitivity(rates, observation2, USD, 400d);
+      PointSensitivities points = PointSensitivities.of(
+          IborRateSensitivity.of(observation1, 1000d),
+          IborRateSensitivity.of(observation2, USD, 400d));
+      assertTrue(test.build().equalWithTolerance(provider.parameterSensitivity(points), TOLERANCE));
+    }
+  }
+
+  public void test_addIborRateSensitivity_fixed() {
+    ImmutableRatesProvider provider = RatesProviderDataSets.MULTI_GBP_USD;
+    IborIndexRates rates = provider.iborIndexRates(GBP_LIBOR_3M);
+    LocalDate fixingDate = GBP_LIBOR_3M.getFixingCalendar().resolve(REF_DATA).previous(provider.getValuationDate());
+    IborIndexObservation observation = IborIndexObservation.of(GBP_LIBOR_3M, fixingDate, REF_DATA);
+    ParameterSensitivityAccumulator test = ParameterSensitivityAccumulator.create();
+    test.addIborRateSensitivity(rates, observation, GBP, 1000d);
+    assertTrue(test.isEmpty());
+    assertEquals(test.build(), CurrencyParameterSensitivities.empty());
+  }
+
+  public void test_add_parameterSensitivities() {
+    ImmutableRatesProvider provider = RatesProviderDataSets.MULTI_GBP_USD;
+    DiscountFactors dscGbp = provider.discountFactors(GBP);
+    CurrencyParameterSensitivities sens = provider.parameterSensitivity(
+        PointSensitivities.of(ZeroRateSensitivity.of(GBP, 3d, 100d), ZeroRateSensitivity.of(USD, 3d, 100d)));
+    ParameterSensitivityAccumulator test = ParameterSensitivityAccumulator.create();
+    test.addZeroRateSensitivity(dscGbp, 1d, GBP, 50d).add(sens);
+    CurrencyParameterSensitivities expected = provider.parameterSensitivity(
+        PointSensitivities.of(ZeroRateSensitivity.of(GBP, 1d, 50d))).combinedWith(sens);
+    assertTrue(test.build().equalWithTolerance(expected, TOLERANCE));
+  }
+
+  public void test_addCurveSensitivity() {
+    Curve nodalCurve = ((ZeroRateDiscountFactors) RatesProviderDataSets.MULTI_GBP_USD.discountFactors(GBP)).getCurve();
+    Curve constantCurve = ConstantCurve.of(DefaultCurveMetadata.of("Constant"), 0.01d);
+    ParameterSensitivityAccumulator test = ParameterSensitivityAccumulator.create();
+    test.addCurveSensitivity(nodalCurve, 1.5d, GBP, 100d)
+        .addCurveSensitivity(nodalCurve, 40d, GBP, 20d)
+        .addCurveSensitivity(nodalCurve, 2.5d, USD, 30d)
+        .addCurveSensitivity(constantCurve, 2d, GBP, 50d);
+    CurrencyParameterSensitivities expected = CurrencyParameterSensitivities.of(
+        nodalCurve.yValueParameterSensitivity(1.5d).multipliedBy(GBP, 100d),
+        nodalCurve.yValueParameterSensitivity(40d).multipliedBy(GBP, 20d),
+        nodalCurve.yValueParameterSensitivity(2.5d).multipliedBy(USD, 30d),
+        constantCurve.yValueParameterSensitivity(2d).multipliedBy(GBP, 50d));
+    assertTrue(test.build().equalWithTolerance(expected, TOLERANCE));
+  }
+
+  // once the array of each curve exists, adding sensitivities within the range of the nodes does not allocate
+  public void test_allocation() throws Exception {
+    // the allocated memory is only available from the platform extension of the bean, which is queried reflectively
+    ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    Method allocatedBytes;
+    try {
+      Class<?> extension = Class.forName("com.sun.management.ThreadMXBean");
+      allocatedBytes = extension.getMethod("getThreadAllocatedBytes", long.class);
+    } catch (ClassNotFoundException | NoSuchMethodException ex) {
+      throw new SkipException("Thread allocated memory not supported");
+    }
+    long threadId = Thread.currentThread().getId();
+    if (!allocatedBytes.getDeclaringClass().isInstance(threadBean) ||
+        (Long) allocatedBytes.invoke(threadBean, threadId) < 0) {
+      throw new SkipException("Thread allocated memory not supported");
+    }
+    ImmutableRatesProvider provider = RatesProviderDataSets.MULTI_GBP_USD;
+    DiscountFactors dscGbp = provider.discountFactors(GBP);
+    IborIndexRates rates = provider.iborIndexRates(GBP_LIBOR_3M);
+    IborIndexObservation observation = IborIndexObservation.of(GBP_LIBOR_3M, DATE_2, REF_DATA);
+    ParameterSensitivityAccumulator test = ParameterSensitivityAccumulator.create();
+    int nbAdd = 10_000;
+    for (int i = 0; i < nbAdd; i++) {
+      test.addZeroRateSensitivity(dscGbp, 1d + i * 1e-4, GBP, 1000d)
+          .addIborRateSensitivity(rates, observation, GBP, 1000d);
+    }
+    long allocatedBefore = (Long) allocatedBytes.invoke(threadBean, threadId);
+    for (int i = 0; i < nbAdd; i++) {
+      test.addZeroRateSensitivity(dscGbp, 1d + i * 1e-4, GBP, 1000d)
+          .addIborRateSensitivity(rates, observation, GBP, 1000d);
+    }
+    long allocated = (Long) allocatedBytes.invoke(threadBean, threadId) - allocatedBefore;
+    // the bean may allocate when called, far less than one object for each sensitivity
+    assertTrue(allocated < nbAdd, "Allocated " + allocated + " bytes");
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_clear() {
+    ImmutableRatesProvider provider = RatesProviderDataSets.MULTI_GBP_USD;
+    ParameterSensitivityAccumulator test = ParameterSensitivityAccumulator.create();
+    assertTrue(test.isEmpty());
+    test.addZeroRateSensitivity(provider.discountFactors(GBP), 1d, GBP, 50d);
+    assertFalse(test.isEmpty());
+    test.clear();
+    assertTrue(test.isEmpty());
+    assertEquals(test.build(), CurrencyParameterSensitivities.empty());
+  }
+
+  public void test_ofCurrentThread() {
+    ImmutableRatesProvider provider = RatesProviderDataSets.MULTI_GBP_USD;
+    ParameterSensitivityAccumulator test = ParameterSensitivityAccumulator.ofCurrentThread();
+    test.addZeroRateSensitivity(provider.discountFactors(GBP), 1d, GBP, 50d);
+    ParameterSensitivityAccumulator other = ParameterSensitivityAccumulator.ofCurrentThread();
+    assertSame(other, test);
+    assertTrue(other.isEmpty());
+  }
+
+}
@@ -84,6 +84,7 @@ import com.opengamma.strata.pricer.impl.swap.DispatchingSwapPaymentEventPricer;
 import com.opengamma.strata.pricer.rate.IborRateSensitivity;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.pricer.sensitivity.ParameterSensitivityAccumulator;
 import com.opengamma.strata.pricer.sensitivity.RatesFiniteDifferenceSensitivityCalculator;
 import com.opengamma.strata.product.common.BuySell;
 import com.opengamma.strata.product.common.PayReceive;
@@ -105,6 +106,7 @@ import com.opengamma.strata.product.swap.SwapPaymentEvent;
 import com.opengamma.strata.product.swap.SwapPaymentPeriod;
 import com.opengamma.strata.product.swap.SwapTrade;
 import com.opengamma.strata.product.swap.type.FixedInflationSwapConvention;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConventions;
 import com.opengamma.strata.product.swap.type.FixedInflationSwapConventions;
 import com.opengamma.strata.product.swap.type.IborIborSwapConventions;
 
@@ -859,4 +861,58 @@ public class DiscountingSwapLegPricerTest {
     }
   }
 
+  //-------------------------------------------------------------------------
+  public void test_compiled_fixedIbor() {
+    ResolvedSwap swap = FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M
+        .createTrade(RATES_USD.getValuationDate(), TENOR_10Y, BuySell.BUY, NOTIONAL, 0.02, REF_DATA)
+        .getProduct()
+        .resolve(REF_DATA);
+    for (ResolvedSwapLeg leg : swap.getLegs()) {
+      CompiledSwapLeg compiled = CompiledSwapLeg.of(leg);
+      assertEquals(compiled.getCompiledPeriodCount(), leg.getPaymentPeriods().size());
+      assertCompiled(leg, compiled, RATES_USD);
+    }
+  }
+
+  public void test_compiled_otherPeriods() {
+    LocalDate tradeDate = RATES_USD.getValuationDate();
+    LocalDate effectiveDate = USD_LIBOR_3M_LIBOR_6M.calculateSpotDateFromTradeDate(tradeDate, REF_DATA);
+    ResolvedSwapLeg compounded = IborIborSwapConventions.USD_LIBOR_3M_LIBOR_6M.getSpreadLeg()
+        .toLeg(effectiveDate, effectiveDate.plus(TENOR_10Y), RECEIVE, NOTIONAL, 0.0015)
+        .resolve(REF_DATA);
+    CompiledSwapLeg compiledCompounded = CompiledSwapLeg.of(compounded);
+    assertEquals(compiledCompounded.getCompiledPeriodCount(), 0);
+    assertEquals(compiledCompounded.getOtherPeriods(), compounded.getPaymentPeriods());
+    assertCompiled(compounded, compiledCompounded, RATES_USD);
+    CompiledSwapLeg compiledMulti = CompiledSwapLeg.of(IBOR_SWAP_LEG_REC_GBP_MULTI);
+    assertEquals(compiledMulti.getCompiledPeriodCount(), 2);
+    assertCompiled(IBOR_SWAP_LEG_REC_GBP_MULTI, compiledMulti, RATES_GBP);
+  }
+
+  public void test_compiled_past() {
+    ResolvedSwapLeg fixedLeg = FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M
+        .createTrade(RATES_USD.getValuationDate(), TENOR_10Y, BuySell.BUY, NOTIONAL, 0.02, REF_DATA)
+        .getProduct()
+        .resolve(REF_DATA)
+        .getLegs(FIXED).get(0);
+    assertCompiled(fixedLeg, CompiledSwapLeg.of(fixedLeg), RatesProviderDataSets.multiUsd(date(2016, 3, 1)));
+  }
+
+  private void assertCompiled(ResolvedSwapLeg leg, CompiledSwapLeg compiled, RatesProvider provider) {
+    assertEquals(
+        PRICER_LEG.presentValue(compiled, provider).getAmount(),
+        PRICER_LEG.presentValue(leg, provider).getAmount(),
+        NOTIONAL * TOLERANCE);
+    assertTrue(PRICER_LEG.presentValueSensitivity(compiled, provider).build().normalized().equalWithTolerance(
+        PRICER_LEG.presentValueSensitivity(leg, provider).build().normalized(), NOTIONAL * TOLERANCE));
+    assertEquals(PRICER_LEG.pvbp(compiled, provider), PRICER_LEG.pvbp(leg, provider), NOTIONAL * TOLERANCE);
+    assertTrue(PRICER_LEG.pvbpSensitivity(compiled, provider).build().normalized().equalWithTolerance(
+        PRICER_LEG.pvbpSensitivity(leg, provider).build().normalized(), NOTIONAL * TOLERANCE));
+    ParameterSensitivityAccumulator accumulator = ParameterSensitivityAccumulator.ofCurrentThread();
+    PRICER_LEG.presentValueSensitivity(compiled, provider, accumulator);
+    CurrencyParameterSensitivities expected =
+        provider.parameterSensitivity(PRICER_LEG.presentValueSensitivity(leg, provider).build());
+    assertTrue(accumulator.build().equalWithTolerance(expected, NOTIONAL * TOLERANCE));
+  }
+
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.testng.Assert.assertEquals;
+
+import java.time.Period;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.date.Tenor;
+
+/**
+ * Tests {@link SabrSwaptionCalibrationDiagnostic}.
+ */
+@Test
+public class SabrSwaptionCalibrationDiagnosticTest {
+
+  private static final Period EXPIRY = Period.ofMonths(6);
+  private static final Tenor TENOR = Tenor.TENOR_5Y;
+
+  //-------------------------------------------------------------------------
+  public void of() {
+    SabrSwaptionCalibrationDiagnostic test = SabrSwaptionCalibrationDiagnostic.of(EXPIRY, TENOR, 1.5, true, 1);
+    assertEquals(test.getExpiry(), EXPIRY);
+    assertEquals(test.getTenor(), TENOR);
+    assertEquals(test.getChiSquare(), 1.5);
+    assertEquals(test.isWarmStart(), true);
+    assertEquals(test.getFitCount(), 1);
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    SabrSwaptionCalibrationDiagnostic test = SabrSwaptionCalibrationDiagnostic.of(EXPIRY, TENOR, 1.5, true, 1);
+    coverImmutableBean(test);
+    SabrSwaptionCalibrationDiagnostic test2 =
+        SabrSwaptionCalibrationDiagnostic.of(Period.ofYears(1), Tenor.TENOR_10Y, 0.5, false, 4);
+    coverBeanEquals(test, test2);
+  }
+
+  public void test_serialization() {
+    SabrSwaptionCalibrationDiagnostic test = SabrSwaptionCalibrationDiagnostic.of(EXPIRY, TENOR, 1.5, true, 1);
+    assertSerialization(test);
+  }
+
+}
@@ -24,6 +24,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.testng.annotations.Test;
 
@@ -43,6 +45,7 @@ import com.opengamma.strata.market.observable.QuoteId;
 import com.opengamma.strata.market.param.ParameterMetadata;
 import com.opengamma.strata.market.surface.ConstantSurface;
 import com.opengamma.strata.market.surface.DefaultSurfaceMetadata;
+import com.opengamma.strata.market.surface.InterpolatedNodalSurface;
 import com.opengamma.strata.market.surface.Surface;
 import com.opengamma.strata.market.surface.SurfaceMetadata;
 import com.opengamma.strata.market.surface.interpolator.GridSurfaceInterpolator;
@@ -50,6 +53,8 @@ import com.opengamma.strata.market.surface.interpolator.SurfaceInterpolator;
 import com.opengamma.strata.pricer.curve.CalibrationMeasures;
 import com.opengamma.strata.pricer.curve.CurveCalibrator;
 import com.opengamma.strata.pricer.impl.option.BlackFormulaRepository;
+import com.opengamma.strata.pricer.model.SabrInterestRateParameters;
+import com.opengamma.strata.pricer.model.SabrVolatilityFormula;
 import com.opengamma.strata.pricer.option.TenorRawOptionData;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.swap.DiscountingSwapProductPricer;
@@ -122,6 +127,9 @@ public class SabrSwaptionCalibratorCubeBlackCleanDataTest {
   private static final double TOLERANCE_PRICE_CALIBRATION_ROOT = 1.0E-6; // Calibration root finding
   private static final double TOLERANCE_PARAM_SENSITIVITY = 4.0E-2;
   private static final double TOLERANCE_EXPIRY = 1.0E-6;
+  private static final double TOLERANCE_CHI2 = 1.0E-6;
+  private static final double TOLERANCE_PARAM_WARM = 1.0E-4;
+  private static final double TOLERANCE_CHI_SQUARE_WARM = 1.0E-8;
 
   @Test
   public void log_normal_cube() {
@@ -164,6 +172,75 @@ public class SabrSwaptionCalibratorCubeBlackCleanDataTest {
     }
   }
 
+  @Test
+  public void log_normal_cube_parallel() {
+    Surface betaSurface = ConstantSurface.of("Beta", 0.50)
+        .withMetadata(DefaultSurfaceMetadata.builder()
+            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION)
+            .zValueType(ValueType.SABR_BETA).surfaceName("Beta").build());
+    Surface shiftSurface = ConstantSurface.of("Shift", 0d)
+        .withMetadata(DefaultSurfaceMetadata.builder()
+            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION).surfaceName("Shift").build());
+    SabrParametersSwaptionVolatilities expected = SABR_CALIBRATION.calibrateWithFixedBetaAndShift(
+        DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, betaSurface, shiftSurface);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      SabrSwaptionCalibrationResult computed = SABR_CALIBRATION.calibrateWithDiagnostics(
+          DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, betaSurface, shiftSurface, true, executor);
+      assertEquals(computed.getVolatilities(), expected);
+      assertTrue(computed.isComplete());
+      assertEquals(computed.getDiagnostics().size(), TENORS.size() * EXPIRIES.size());
+      for (int looptenor = 0; looptenor < TENORS.size(); looptenor++) {
+        for (int loopexpiry = 0; loopexpiry < EXPIRIES.size(); loopexpiry++) {
+          SabrSwaptionCalibrationDiagnostic diagnostic =
+              computed.getDiagnostics().get(looptenor * EXPIRIES.size() + loopexpiry);
+          assertEquals(diagnostic.getTenor(), TENORS.get(looptenor));
+          assertEquals(diagnostic.getExpiry(), EXPIRIES.get(loopexpiry));
+          assertTrue(!diagnostic.isWarmStart());
+          assertEquals(diagnostic.getFitCount(), 4);
+        }
+      }
+      // warm start from the calibrated parameters
+      SabrSwaptionCalibrationResult warm = SABR_CALIBRATION.calibrateWithDiagnostics(
+          DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, betaSurface, shiftSurface, true,
+          expected.getParameters(), executor);
+      assertEquals(warm.getDiagnostics().size(), TENORS.size() * EXPIRIES.size());
+      for (int i = 0; i < warm.getDiagnostics().size(); i++) {
+        SabrSwaptionCalibrationDiagnostic diagnostic = warm.getDiagnostics().get(i);
+        double chiSquareStandard = computed.getDiagnostics().get(i).getChiSquare();
+        // a single fit from the warm start replaces the four fits from the standard starting points
+        assertTrue(diagnostic.isWarmStart());
+        assertEquals(diagnostic.getFitCount(), 1);
+        assertEquals(diagnostic.getChiSquare(), chiSquareStandard, chiSquareStandard * TOLERANCE_CHI_SQUARE_WARM);
+      }
+      // invalid warm start parameters, the standard starting points are used instead
+      InterpolatedNodalSurface alphaSurface = (InterpolatedNodalSurface) expected.getParameters().getAlphaSurface();
+      SabrInterestRateParameters invalidParameters = SabrInterestRateParameters.of(
+          alphaSurface.withZValues(DoubleArray.filled(alphaSurface.getParameterCount(), Double.NaN)),
+          betaSurface,
+          expected.getParameters().getRhoSurface(),
+          expected.getParameters().getNuSurface(),
+          shiftSurface,
+          SabrVolatilityFormula.hagan());
+      SabrSwaptionCalibrationResult fallback = SABR_CALIBRATION.calibrateWithDiagnostics(
+          DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, betaSurface, shiftSurface, true,
+          invalidParameters, executor);
+      assertEquals(fallback.getVolatilities(), expected);
+      for (int i = 0; i < fallback.getDiagnostics().size(); i++) {
+        SabrSwaptionCalibrationDiagnostic diagnostic = fallback.getDiagnostics().get(i);
+        assertTrue(!diagnostic.isWarmStart());
+        assertEquals(diagnostic.getFitCount(), 5);
+        assertEquals(diagnostic.getChiSquare(), computed.getDiagnostics().get(i).getChiSquare());
+      }
+      DoubleArray alphaExpected = ((InterpolatedNodalSurface) expected.getParameters().getAlphaSurface()).getZValues();
+      DoubleArray alphaWarm = ((InterpolatedNodalSurface) warm.getVolatilities().getParameters().getAlphaSurface())
+          .getZValues();
+      assertTrue(alphaWarm.equalWithTolerance(alphaExpected, TOLERANCE_PARAM_WARM));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   @Test(enabled = true)
   public void log_normal_atm() {
     double beta = 0.50;
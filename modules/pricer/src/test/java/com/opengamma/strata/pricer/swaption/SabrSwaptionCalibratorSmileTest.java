@@ -6,6 +6,7 @@
 package com.opengamma.strata.pricer.swaption;
 
 import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M;
 import static org.testng.Assert.assertEquals;
 
@@ -19,6 +20,7 @@ import org.testng.annotations.Test;
 
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.date.BusinessDayAdjustment;
+import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.market.ValueType;
@@ -137,6 +139,31 @@ public class SabrSwaptionCalibratorSmileTest {
     checkCalibrationPrice(MONEYNESS_5, VOLATILITY_BLACK_5, startParameters, fixed, shift, TOLERANCE_PRICE_CALIBRATION_LS);
   }
 
+  public void black_volatilities_from_prices() {
+    double shift = 0.0100;
+    DoubleArray strikes = MONEYNESS_5.plus(FORWARD);
+    DoubleArray prices = DoubleArray.of(strikes.size(), i -> BlackFormulaRepository.price(
+        FORWARD + shift, strikes.get(i) + shift, TIME_EXPIRY, VOLATILITY_BLACK_5.get(i), true));
+    Pair<DoubleArray, DoubleArray> computed =
+        SABR_CALIBRATION.blackVolatilitiesShiftedFromPrices(FORWARD, shift, TIME_EXPIRY, strikes, prices);
+    for (int i = 0; i < strikes.size(); i++) {
+      ValueDerivatives expected = BlackFormulaRepository.impliedVolatilityAdjoint(
+          prices.get(i), FORWARD + shift, strikes.get(i) + shift, TIME_EXPIRY, true);
+      assertEquals(computed.getFirst().get(i), expected.getValue(), 1.0E-10);
+      double derivative = expected.getDerivative(0);
+      assertEquals(computed.getSecond().get(i), derivative, Math.abs(derivative) * 1.0E-8);
+    }
+  }
+
+  public void black_volatilities_from_prices_zeroVega() {
+    // a price equal to the intrinsic value implies a zero volatility, for which the vega is zero
+    DoubleArray strikes = DoubleArray.of(FORWARD - 0.01, FORWARD);
+    DoubleArray prices =
+        DoubleArray.of(0.01, BlackFormulaRepository.price(FORWARD, FORWARD, TIME_EXPIRY, 0.30, true));
+    assertThrowsIllegalArg(
+        () -> SABR_CALIBRATION.blackVolatilitiesShiftedFromPrices(FORWARD, 0d, TIME_EXPIRY, strikes, prices));
+  }
+
   private void checkCalibrationNormal(
       DoubleArray moneyness,
       DoubleArray normalVol,
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.product;
+
+import java.util.List;
+
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.CalculationTargetReference;
+
+/**
+ * A book of trades stored in columns, with the trades created on demand.
+ * <p>
+ * When a book contains a large number of trades created from the same convention,
+ * the trades differ only in a few values, such as their dates, direction, notional and rate.
+ * An implementation holds the convention once, together with a primitive array for each of these values.
+ * As such, memory use scales with the number of trades rather than the number of objects per trade.
+ * <p>
+ * The book can be passed to the calculation runner in two ways.
+ * The list returned by {@link #asTrades()} creates a trade each time an element is accessed,
+ * however the calculation runner holds each trade for the whole calculation.
+ * The list returned by {@link #asTargets()} contains a {@link CalculationTargetReference} for each trade,
+ * which the calculation runner holds instead, creating the trade each time it is needed by a calculation.
+ * <p>
+ * Implementations must be immutable and thread-safe.
+ * 
+ * @param <T>  the type of the trade
+ */
+public interface TradeColumns<T extends Trade> {
+
+  /**
+   * Returns the number of trades in the book.
+   *
+   * @return the number of trades
+   */
+  public abstract int size();
+
+  /**
+   * Creates the trade at the specified index.
+   * <p>
+   * A new trade is created each time this method is called.
+   *
+   * @param index  the index of the trade
+   * @return the trade
+   * @throws IndexOutOfBoundsException if the index is invalid
+   */
+  public abstract T getTrade(int index);
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a view of the book as a list of trades.
+   * <p>
+   * Each trade is created when it is accessed in the list, and is not retained by the list.
+   * The list is unmodifiable.
+   *
+   * @return the list of trades
+   */
+  public default List<T> asTrades() {
+    return new TradeColumnsList<>(this);
+  }
+
+  /**
+   * Returns a view of the book as a list of calculation targets that refer to the trades.
+   * <p>
+   * Each element is a {@link CalculationTargetReference} that creates the trade at the same index
+   * when {@link CalculationTargetReference#createTarget()} is called.
+   * The list is unmodifiable.
+   *
+   * @return the list of calculation targets
+   */
+  public default List<CalculationTarget> asTargets() {
+    return new TradeColumnsList<>(this, TradeColumnsTarget::new);
+  }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.product;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * The list view of a book of trades stored in columns.
+ * <p>
+ * Each element is created when it is accessed, and is not retained by the list.
+ * 
+ * @param <E>  the type of the element
+ */
+final class TradeColumnsList<E> extends AbstractList<E> implements RandomAccess, Serializable {
+
+  /** Serialization version. */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The trades.
+   */
+  private final TradeColumns<?> columns;
+  /**
+   * The function to create an element, null if the element is the trade.
+   */
+  private final ElementFunction<E> function;
+
+  // creates a list of trades
+  @SuppressWarnings("unchecked")
+  TradeColumnsList(TradeColumns<? extends E> columns) {
+    this.columns = (TradeColumns<?>) columns;
+    this.function = null;
+  }
+
+  // creates a list of elements derived from the index of the trade
+  TradeColumnsList(TradeColumns<?> columns, ElementFunction<E> function) {
+    this.columns = columns;
+    this.function = function;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  @SuppressWarnings("unchecked")
+  public E get(int index) {
+    if (function == null) {
+      return (E) columns.getTrade(index);
+    }
+    if (index < 0 || index >= columns.size()) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + columns.size());
+    }
+    return function.apply(columns, index);
+  }
+
+  @Override
+  public int size() {
+    return columns.size();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an element from the trades and the index.
+   * 
+   * @param <E>  the type of the element
+   */
+  @FunctionalInterface
+  interface ElementFunction<E> extends Serializable {
+    /**
+     * Creates the element.
+     * 
+     * @param columns  the trades
+     * @param index  the index
+     * @return the element
+     */
+    E apply(TradeColumns<?> columns, int index);
+  }
+
+}
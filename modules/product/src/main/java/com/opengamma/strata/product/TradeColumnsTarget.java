@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.product;
+
+import java.io.Serializable;
+
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.CalculationTargetReference;
+
+/**
+ * A reference to a trade in a book of trades stored in columns.
+ * <p>
+ * Two references are equal if they refer to the same index in the same book.
+ */
+final class TradeColumnsTarget implements CalculationTargetReference, Serializable {
+
+  /** Serialization version. */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The trades.
+   */
+  private final TradeColumns<?> columns;
+  /**
+   * The index of the trade.
+   */
+  private final int index;
+
+  // creates an instance
+  TradeColumnsTarget(TradeColumns<?> columns, int index) {
+    this.columns = columns;
+    this.index = index;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public CalculationTarget createTarget() {
+    return columns.getTrade(index);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj instanceof TradeColumnsTarget) {
+      TradeColumnsTarget other = (TradeColumnsTarget) obj;
+      return columns == other.columns && index == other.index;
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return System.identityHashCode(columns) * 31 + index;
+  }
+
+  @Override
+  public String toString() {
+    return "TradeColumnsTarget[" + columns + ", index=" + index + "]";
+  }
+
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.product.deposit.type;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.ReferenceDataNotFoundException;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.product.TradeColumns;
+import com.opengamma.strata.product.TradeInfo;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.deposit.ResolvedTermDepositTrade;
+import com.opengamma.strata.product.deposit.TermDepositTrade;
+
+/**
+ * A book of term deposit trades created from a single convention, stored in columns.
+ * <p>
+ * Each {@link TermDepositTrade} is a graph of objects, including the dates, adjustments and day count.
+ * When a book contains a large number of term deposits created from the same convention,
+ * the trades differ only in their dates, direction, notional and rate.
+ * This class holds the convention once, together with a primitive array for each of these values.
+ * As such, memory use scales with the number of trades rather than the number of objects per trade.
+ * <p>
+ * The trades are materialized on demand using {@link TermDepositConvention#toTrade(TradeInfo,
+ * LocalDate, LocalDate, BuySell, double, double)}. The list returned by {@link #asTargets()} can be
+ * passed directly to the calculation runner as the list of calculation targets.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class TermDepositTradeColumns
+    implements TradeColumns<TermDepositTrade>, Serializable {
+
+  /** Serialization version. */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The convention used to create the trades.
+   */
+  private final TermDepositConvention convention;
+  /**
+   * The trade identifiers, with null if the trade has no identifier.
+   */
+  private final StandardId[] ids;
+  /**
+   * The trade dates, as epoch days.
+   */
+  private final int[] tradeDates;
+  /**
+   * The start dates, as epoch days.
+   */
+  private final int[] startDates;
+  /**
+   * The end dates, as epoch days.
+   */
+  private final int[] endDates;
+  /**
+   * The buy/sell flags, true if buying.
+   */
+  private final boolean[] buys;
+  /**
+   * The notional amounts.
+   */
+  private final double[] notionals;
+  /**
+   * The rates.
+   */
+  private final double[] rates;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a builder used to create a book of trades based on the specified convention.
+   *
+   * @param convention  the convention used to create the trades
+   * @return the builder
+   */
+  public static Builder builder(TermDepositConvention convention) {
+    return new Builder(convention);
+  }
+
+  // restricted constructor
+  private TermDepositTradeColumns(Builder builder) {
+    int size = builder.size;
+    this.convention = builder.convention;
+    this.ids = Arrays.copyOf(builder.ids, size);
+    this.tradeDates = Arrays.copyOf(builder.tradeDates, size);
+    this.startDates = Arrays.copyOf(builder.startDates, size);
+    this.endDates = Arrays.copyOf(builder.endDates, size);
+    this.buys = Arrays.copyOf(builder.buys, size);
+    this.notionals = Arrays.copyOf(builder.notionals, size);
+    this.rates = Arrays.copyOf(builder.rates, size);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the convention used to create the trades.
+   *
+   * @return the convention
+   */
+  public TermDepositConvention getConvention() {
+    return convention;
+  }
+
+  @Override
+  public int size() {
+    return notionals.length;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public TermDepositTrade getTrade(int index) {
+    TradeInfo info = TradeInfo.builder()
+        .id(ids[index])
+        .tradeDate(LocalDate.ofEpochDay(tradeDates[index]))
+        .build();
+    return convention.toTrade(
+        info,
+        LocalDate.ofEpochDay(startDates[index]),
+        LocalDate.ofEpochDay(endDates[index]),
+        BuySell.ofBuy(buys[index]),
+        notionals[index],
+        rates[index]);
+  }
+
+  /**
+   * Creates and resolves the trade at the specified index.
+   *
+   * @param index  the index of the trade
+   * @param refData  the reference data, used to resolve the trade
+   * @return the resolved trade
+   * @throws IndexOutOfBoundsException if the index is invalid
+   * @throws ReferenceDataNotFoundException if an identifier cannot be resolved in the reference data
+   */
+  public ResolvedTermDepositTrade resolveTrade(int index, ReferenceData refData) {
+    return getTrade(index).resolve(refData);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "TermDepositTradeColumns[convention=" + convention + ", size=" + size() + "]";
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Builder for {@code TermDepositTradeColumns}.
+   */
+  public static final class Builder {
+
+    private final TermDepositConvention convention;
+    private int size;
+    private StandardId[] ids = new StandardId[16];
+    private int[] tradeDates = new int[16];
+    private int[] startDates = new int[16];
+    private int[] endDates = new int[16];
+    private boolean[] buys = new boolean[16];
+    private double[] notionals = new double[16];
+    private double[] rates = new double[16];
+
+    // restricted constructor
+    private Builder(TermDepositConvention convention) {
+      this.convention = ArgChecker.notNull(convention, "convention");
+    }
+
+    /**
+     * Adds a trade to the book.
+     * <p>
+     * The notional is unsigned, with buy/sell determining the direction of the trade.
+     * If buying the term deposit, the principal is paid at the start date and the
+     * principal plus interest is received at the end date.
+     * If selling the term deposit, the principal is received at the start date and the
+     * principal plus interest is paid at the end date.
+     *
+     * @param id  the trade identifier, null if none
+     * @param tradeDate  the date of the trade
+     * @param startDate  the start date
+     * @param endDate  the end date
+     * @param buySell  the buy/sell flag
+     * @param notional  the notional amount
+     * @param rate  the fixed rate
+     * @return this builder
+     */
+    public Builder add(
+        StandardId id,
+        LocalDate tradeDate,
+        LocalDate startDate,
+        LocalDate endDate,
+        BuySell buySell,
+        double notional,
+        double rate) {
+
+      ArgChecker.notNull(tradeDate, "tradeDate");
+      ArgChecker.notNull(startDate, "startDate");
+      ArgChecker.notNull(endDate, "endDate");
+      ArgChecker.notNull(buySell, "buySell");
+      ArgChecker.notNegative(notional, "notional");
+      ArgChecker.inOrderNotEqual(startDate, endDate, "startDate", "endDate");
+      ensureCapacity();
+      ids[size] = id;
+      tradeDates[size] = (int) tradeDate.toEpochDay();
+      startDates[size] = (int) startDate.toEpochDay();
+      endDates[size] = (int) endDate.toEpochDay();
+      buys[size] = buySell.isBuy();
+      notionals[size] = notional;
+      rates[size] = rate;
+      size++;
+      return this;
+    }
+
+    // grows the columns if necessary
+    private void ensureCapacity() {
+      if (size == notionals.length) {
+        int capacity = size * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        tradeDates = Arrays.copyOf(tradeDates, capacity);
+        startDates = Arrays.copyOf(startDates, capacity);
+        endDates = Arrays.copyOf(endDates, capacity);
+        buys = Arrays.copyOf(buys, capacity);
+        notionals = Arrays.copyOf(notionals, capacity);
+        rates = Arrays.copyOf(rates, capacity);
+      }
+    }
+
+    /**
+     * Builds the book of trades.
+     *
+     * @return the book of trades
+     */
+    public TermDepositTradeColumns build() {
+      return new TermDepositTradeColumns(this);
+    }
+  }
+
+}
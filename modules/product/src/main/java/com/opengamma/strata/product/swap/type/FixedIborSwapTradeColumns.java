@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.product.swap.type;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.ReferenceDataNotFoundException;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.product.TradeColumns;
+import com.opengamma.strata.product.TradeInfo;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.swap.ResolvedSwapTrade;
+import com.opengamma.strata.product.swap.SwapTrade;
+
+/**
+ * A book of Fixed-Ibor swap trades created from a single convention, stored in columns.
+ * <p>
+ * Each {@link SwapTrade} is a graph of many objects, including the legs, schedules and calculations.
+ * When a book contains a large number of vanilla swaps created from the same convention,
+ * the trades differ only in their dates, direction, notional and fixed rate.
+ * This class holds the convention once, together with a primitive array for each of these values.
+ * As such, memory use scales with the number of trades rather than the number of objects per trade.
+ * <p>
+ * The trades are materialized on demand using {@link FixedIborSwapConvention#toTrade(TradeInfo,
+ * LocalDate, LocalDate, BuySell, double, double)}. The list returned by {@link #asTargets()} can be
+ * passed directly to the calculation runner as the list of calculation targets.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class FixedIborSwapTradeColumns
+    implements TradeColumns<SwapTrade>, Serializable {
+
+  /** Serialization version. */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The convention used to create the trades.
+   */
+  private final FixedIborSwapConvention convention;
+  /**
+   * The trade identifiers, with null if the trade has no identifier.
+   */
+  private final StandardId[] ids;
+  /**
+   * The trade dates, as epoch days.
+   */
+  private final int[] tradeDates;
+  /**
+   * The start dates, as epoch days.
+   */
+  private final int[] startDates;
+  /**
+   * The end dates, as epoch days.
+   */
+  private final int[] endDates;
+  /**
+   * The buy/sell flags, true if buying.
+   */
+  private final boolean[] buys;
+  /**
+   * The notional amounts.
+   */
+  private final double[] notionals;
+  /**
+   * The fixed rates.
+   */
+  private final double[] fixedRates;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a builder used to create a book of trades based on the specified convention.
+   *
+   * @param convention  the convention used to create the trades
+   * @return the builder
+   */
+  public static Builder builder(FixedIborSwapConvention convention) {
+    return new Builder(convention);
+  }
+
+  // restricted constructor
+  private FixedIborSwapTradeColumns(Builder builder) {
+    int size = builder.size;
+    this.convention = builder.convention;
+    this.ids = Arrays.copyOf(builder.ids, size);
+    this.tradeDates = Arrays.copyOf(builder.tradeDates, size);
+    this.startDates = Arrays.copyOf(builder.startDates, size);
+    this.endDates = Arrays.copyOf(builder.endDates, size);
+    this.buys = Arrays.copyOf(builder.buys, size);
+    this.notionals = Arrays.copyOf(builder.notionals, size);
+    this.fixedRates = Arrays.copyOf(builder.fixedRates, size);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the convention used to create the trades.
+   *
+   * @return the convention
+   */
+  public FixedIborSwapConvention getConvention() {
+    return convention;
+  }
+
+  @Override
+  public int size() {
+    return notionals.length;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public SwapTrade getTrade(int index) {
+    TradeInfo info = TradeInfo.builder()
+        .id(ids[index])
+        .tradeDate(LocalDate.ofEpochDay(tradeDates[index]))
+        .build();
+    return convention.toTrade(
+        info,
+        LocalDate.ofEpochDay(startDates[index]),
+        LocalDate.ofEpochDay(endDates[index]),
+        BuySell.ofBuy(buys[index]),
+        notionals[index],
+        fixedRates[index]);
+  }
+
+  /**
+   * Creates and resolves the trade at the specified index.
+   *
+   * @param index  the index of the trade
+   * @param refData  the reference data, used to resolve the trade
+   * @return the resolved trade
+   * @throws IndexOutOfBoundsException if the index is invalid
+   * @throws ReferenceDataNotFoundException if an identifier cannot be resolved in the reference data
+   */
+  public ResolvedSwapTrade resolveTrade(int index, ReferenceData refData) {
+    return getTrade(index).resolve(refData);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "FixedIborSwapTradeColumns[convention=" + convention + ", size=" + size() + "]";
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Builder for {@code FixedIborSwapTradeColumns}.
+   */
+  public static final class Builder {
+
+    private final FixedIborSwapConvention convention;
+    private int size;
+    private StandardId[] ids = new StandardId[16];
+    private int[] tradeDates = new int[16];
+    private int[] startDates = new int[16];
+    private int[] endDates = new int[16];
+    private boolean[] buys = new boolean[16];
+    private double[] notionals = new double[16];
+    private double[] fixedRates = new double[16];
+
+    // restricted constructor
+    private Builder(FixedIborSwapConvention convention) {
+      this.convention = ArgChecker.notNull(convention, "convention");
+    }
+
+    /**
+     * Adds a trade to the book.
+     * <p>
+     * The notional is unsigned, with buy/sell determining the direction of the trade.
+     * If buying the swap, the floating rate is received from the counterparty, with the fixed rate being paid.
+     * If selling the swap, the floating rate is paid to the counterparty, with the fixed rate being received.
+     *
+     * @param id  the trade identifier, null if none
+     * @param tradeDate  the date of the trade
+     * @param startDate  the start date
+     * @param endDate  the end date
+     * @param buySell  the buy/sell flag
+     * @param notional  the notional amount
+     * @param fixedRate  the fixed rate
+     * @return this builder
+     */
+    public Builder add(
+        StandardId id,
+        LocalDate tradeDate,
+        LocalDate startDate,
+        LocalDate endDate,
+        BuySell buySell,
+        double notional,
+        double fixedRate) {
+
+      ArgChecker.notNull(tradeDate, "tradeDate");
+      ArgChecker.notNull(startDate, "startDate");
+      ArgChecker.notNull(endDate, "endDate");
+      ArgChecker.notNull(buySell, "buySell");
+      ArgChecker.notNegative(notional, "notional");
+      ArgChecker.inOrderNotEqual(startDate, endDate, "startDate", "endDate");
+      ensureCapacity();
+      ids[size] = id;
+      tradeDates[size] = (int) tradeDate.toEpochDay();
+      startDates[size] = (int) startDate.toEpochDay();
+      endDates[size] = (int) endDate.toEpochDay();
+      buys[size] = buySell.isBuy();
+      notionals[size] = notional;
+      fixedRates[size] = fixedRate;
+      size++;
+      return this;
+    }
+
+    // grows the columns if necessary
+    private void ensureCapacity() {
+      if (size == notionals.length) {
+        int capacity = size * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        tradeDates = Arrays.copyOf(tradeDates, capacity);
+        startDates = Arrays.copyOf(startDates, capacity);
+        endDates = Arrays.copyOf(endDates, capacity);
+        buys = Arrays.copyOf(buys, capacity);
+        notionals = Arrays.copyOf(notionals, capacity);
+        fixedRates = Arrays.copyOf(fixedRates, capacity);
+      }
+    }
+
+    /**
+     * Builds the book of trades.
+     *
+     * @return the book of trades
+     */
+    public FixedIborSwapTradeColumns build() {
+      return new FixedIborSwapTradeColumns(this);
+    }
+  }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.product.fra.type;
+
+import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_3M;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static com.opengamma.strata.product.common.BuySell.BUY;
+import static com.opengamma.strata.product.common.BuySell.SELL;
+import static org.testng.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.CalculationTargetReference;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.product.TradeInfo;
+import com.opengamma.strata.product.fra.FraTrade;
+
+/**
+ * Test {@link FraTradeColumns}.
+ */
+@Test
+public class FraTradeColumnsTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final FraConvention CONVENTION = FraConvention.of(GBP_LIBOR_3M);
+  private static final StandardId ID = StandardId.of("OG-Trade", "1");
+  private static final LocalDate TRADE_DATE = date(2017, 6, 28);
+  private static final LocalDate START_DATE = date(2017, 9, 28);
+  private static final LocalDate END_DATE = date(2017, 12, 28);
+
+  //-------------------------------------------------------------------------
+  public void test_builder() {
+    FraTradeColumns test = FraTradeColumns.builder(CONVENTION)
+        .add(ID, TRADE_DATE, START_DATE, END_DATE, START_DATE, BUY, 1_000_000d, 0.02)
+        .add(null, TRADE_DATE, START_DATE, date(2018, 3, 28), START_DATE, SELL, 2_000_000d, 0.015)
+        .build();
+    assertEquals(test.getConvention(), CONVENTION);
+    assertEquals(test.size(), 2);
+    FraTrade expected0 = CONVENTION.toTrade(
+        TradeInfo.builder().id(ID).tradeDate(TRADE_DATE).build(),
+        START_DATE, END_DATE, START_DATE, BUY, 1_000_000d, 0.02);
+    FraTrade expected1 = CONVENTION.toTrade(
+        TRADE_DATE, START_DATE, date(2018, 3, 28), START_DATE, SELL, 2_000_000d, 0.015);
+    assertEquals(test.getTrade(0), expected0);
+    assertEquals(test.getTrade(1), expected1);
+    assertEquals(test.resolveTrade(1, REF_DATA), expected1.resolve(REF_DATA));
+    assertEquals(test.toString(), "FraTradeColumns[convention=" + CONVENTION + ", size=2]");
+  }
+
+  public void test_builder_manyTrades() {
+    FraTradeColumns.Builder builder = FraTradeColumns.builder(CONVENTION);
+    for (int i = 0; i < 100; i++) {
+      builder.add(
+          StandardId.of("OG-Trade", Integer.toString(i)), TRADE_DATE, START_DATE, END_DATE, START_DATE, BUY, i, 0.02);
+    }
+    FraTradeColumns test = builder.build();
+    assertEquals(test.size(), 100);
+    TradeInfo info = TradeInfo.builder().id(StandardId.of("OG-Trade", "57")).tradeDate(TRADE_DATE).build();
+    assertEquals(test.getTrade(57), CONVENTION.toTrade(info, START_DATE, END_DATE, START_DATE, BUY, 57, 0.02));
+  }
+
+  public void test_builder_invalid() {
+    FraTradeColumns.Builder builder = FraTradeColumns.builder(CONVENTION);
+    assertThrowsIllegalArg(() -> FraTradeColumns.builder(null));
+    assertThrowsIllegalArg(() -> builder.add(ID, null, START_DATE, END_DATE, START_DATE, BUY, 1d, 0.02));
+    assertThrowsIllegalArg(() -> builder.add(ID, TRADE_DATE, START_DATE, END_DATE, null, BUY, 1d, 0.02));
+    assertThrowsIllegalArg(() -> builder.add(ID, TRADE_DATE, END_DATE, START_DATE, START_DATE, BUY, 1d, 0.02));
+    assertThrowsIllegalArg(() -> builder.add(ID, TRADE_DATE, START_DATE, END_DATE, START_DATE, BUY, -1d, 0.02));
+    assertEquals(builder.build().size(), 0);
+  }
+
+  public void test_asTrades() {
+    FraTradeColumns test = FraTradeColumns.builder(CONVENTION)
+        .add(ID, TRADE_DATE, START_DATE, END_DATE, START_DATE, BUY, 1_000_000d, 0.02)
+        .build();
+    List<FraTrade> trades = test.asTrades();
+    assertEquals(trades.size(), 1);
+    assertEquals(trades.get(0), test.getTrade(0));
+    assertThrows(() -> trades.add(test.getTrade(0)), UnsupportedOperationException.class);
+  }
+
+  public void test_asTargets() {
+    FraTradeColumns test = FraTradeColumns.builder(CONVENTION)
+        .add(ID, TRADE_DATE, START_DATE, END_DATE, START_DATE, BUY, 1_000_000d, 0.02)
+        .build();
+    List<CalculationTarget> targets = test.asTargets();
+    assertEquals(targets.size(), 1);
+    assertEquals(((CalculationTargetReference) targets.get(0)).createTarget(), test.getTrade(0));
+    assertThrows(() -> targets.add(test.getTrade(0)), UnsupportedOperationException.class);
+  }
+
+}
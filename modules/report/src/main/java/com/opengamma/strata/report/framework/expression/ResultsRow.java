@@ -12,6 +12,7 @@ import java.util.Set;
 
 import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.CalculationTargetReference;
 import com.opengamma.strata.calc.Column;
 import com.opengamma.strata.calc.Measure;
 import com.opengamma.strata.calc.runner.CalculationFunctions;
@@ -37,6 +38,9 @@ class ResultsRow {
   /** The index of the row in the result whose data is exposed by this object. */
   private final int rowIndex;
 
+  /** The target of the row, created from the reference if the results hold a reference. */
+  private final CalculationTarget target;
+
   /**
    * Returns a new instance exposing the data from a single row in the results.
    *
@@ -46,16 +50,22 @@ class ResultsRow {
   ResultsRow(ReportCalculationResults results, int rowIndex) {
     this.results = results;
     this.rowIndex = rowIndex;
+    CalculationTarget rowTarget = results.getTargets().get(rowIndex);
+    this.target = rowTarget instanceof CalculationTargetReference ?
+        ((CalculationTargetReference) rowTarget).createTarget() :
+        rowTarget;
   }
 
   //-------------------------------------------------------------------------
   /**
    * Returns the target from the row.
+   * <p>
+   * If the results contain a {@link CalculationTargetReference}, this is the target created from the reference.
    *
    * @return the target from the row
    */
   CalculationTarget getTarget() {
-    return results.getTargets().get(rowIndex);
+    return target;
   }
 
   /**
@@ -140,7 +150,7 @@ class ResultsRow {
    * @return the result of calculating the named measure for the trade in the row
    */
   Result<?> getResult(String measureName) {
-    List<String> validMeasureNames = measureNames(results.getTargets().get(rowIndex), results.getCalculationFunctions());
+    List<String> validMeasureNames = measureNames(target, results.getCalculationFunctions());
     if (!validMeasureNames.contains(measureName)) {
       return Result.failure(
           FailureReason.INVALID,
@@ -65,6 +65,19 @@ public abstract class ReportFormatter<R extends Report> {
     Unchecked.wrap(outputWriter::flush);
   }
 
+  /**
+   * Formats a single row of the report in CSV format.
+   * <p>
+   * This allows a report to be written one row at a time, without formatting the whole report.
+   * 
+   * @param report  the report
+   * @param rowIdx  the index of the row
+   * @return the formatted values in the row, one for each column
+   */
+  public ImmutableList<String> formatCsvRow(R report, int rowIdx) {
+    return formatRow(report, rowIdx, ReportOutputFormat.CSV);
+  }
+
   /**
    * Outputs the report as an ASCII table.
    * 
@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.trade;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.runner.CalculationFunctions;
+import com.opengamma.strata.calc.runner.RowCalculationListener;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Unchecked;
+import com.opengamma.strata.collect.io.CsvOutput;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.report.ReportCalculationResults;
+
+/**
+ * Calculation listener that writes a trade report in CSV format as the calculations progress.
+ * <p>
+ * Each row of the report is produced from the results of a single target as soon as they are available,
+ * using {@link TradeReportRunner} and {@link TradeReportFormatter} exactly as for a complete report.
+ * The formatted rows are buffered and written in batches, in the order of the targets.
+ * <p>
+ * This allows a report to be produced for a large portfolio without holding the results for
+ * every trade in memory. The output is the same as {@link TradeReport#writeCsv(OutputStream)}.
+ * <p>
+ * The output stream is flushed, but not closed, when the calculations are complete.
+ */
+public final class TradeReportCsvListener extends RowCalculationListener {
+
+  /**
+   * The default number of rows written in each batch.
+   */
+  public static final int DEFAULT_BATCH_SIZE = 1000;
+
+  /** The report template. */
+  private final TradeReportTemplate reportTemplate;
+  /** The valuation date. */
+  private final LocalDate valuationDate;
+  /** The calculation functions, used to evaluate the report columns. */
+  private final CalculationFunctions calculationFunctions;
+  /** The reference data, used to evaluate the report columns. */
+  private final ReferenceData refData;
+  /** The number of rows written in each batch. */
+  private final int batchSize;
+  /** The writer wrapping the output stream. */
+  private final Writer writer;
+  /** The CSV output. */
+  private final CsvOutput csvOutput;
+  /** The formatted rows that have not yet been written. */
+  private final List<List<String>> batch = new ArrayList<>();
+
+  /** The columns that define what values are calculated. */
+  private List<Column> columns;
+  /** The column headers of the calculation results. */
+  private List<ColumnHeader> columnHeaders;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a listener that writes the report to the specified output stream.
+   * <p>
+   * Rows are written in batches of {@link #DEFAULT_BATCH_SIZE}.
+   *
+   * @param reportTemplate  the report template
+   * @param valuationDate  the valuation date used in the calculations
+   * @param calculationFunctions  the calculation functions used in the calculations
+   * @param refData  the reference data used in the calculations
+   * @param out  the output stream to write to
+   * @return the listener
+   */
+  public static TradeReportCsvListener of(
+      TradeReportTemplate reportTemplate,
+      LocalDate valuationDate,
+      CalculationFunctions calculationFunctions,
+      ReferenceData refData,
+      OutputStream out) {
+
+    return of(reportTemplate, valuationDate, calculationFunctions, refData, out, DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * Obtains a listener that writes the report to the specified output stream using the specified batch size.
+   *
+   * @param reportTemplate  the report template
+   * @param valuationDate  the valuation date used in the calculations
+   * @param calculationFunctions  the calculation functions used in the calculations
+   * @param refData  the reference data used in the calculations
+   * @param out  the output stream to write to
+   * @param batchSize  the number of rows written in each batch
+   * @return the listener
+   */
+  public static TradeReportCsvListener of(
+      TradeReportTemplate reportTemplate,
+      LocalDate valuationDate,
+      CalculationFunctions calculationFunctions,
+      ReferenceData refData,
+      OutputStream out,
+      int batchSize) {
+
+    return new TradeReportCsvListener(reportTemplate, valuationDate, calculationFunctions, refData, out, batchSize);
+  }
+
+  // restricted constructor
+  private TradeReportCsvListener(
+      TradeReportTemplate reportTemplate,
+      LocalDate valuationDate,
+      CalculationFunctions calculationFunctions,
+      ReferenceData refData,
+      OutputStream out,
+      int batchSize) {
+
+    this.reportTemplate = ArgChecker.notNull(reportTemplate, "reportTemplate");
+    this.valuationDate = ArgChecker.notNull(valuationDate, "valuationDate");
+    this.calculationFunctions = ArgChecker.notNull(calculationFunctions, "calculationFunctions");
+    this.refData = ArgChecker.notNull(refData, "refData");
+    this.batchSize = ArgChecker.notNegativeOrZero(batchSize, "batchSize");
+    this.writer = new BufferedWriter(new OutputStreamWriter(ArgChecker.notNull(out, "out"), StandardCharsets.UTF_8));
+    this.csvOutput = new CsvOutput(writer);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  protected void rowsStarted(List<CalculationTarget> targets, List<Column> columns) {
+    this.columns = columns;
+    this.columnHeaders = columns.stream()
+        .map(Column::toHeader)
+        .collect(toImmutableList());
+    csvOutput.writeLine(reportTemplate.getColumns().stream()
+        .map(TradeReportColumn::getHeader)
+        .collect(toImmutableList()));
+  }
+
+  @Override
+  protected void rowReceived(int rowIndex, CalculationTarget target, List<Result<?>> results) {
+    ReportCalculationResults rowResults = ReportCalculationResults.of(
+        valuationDate,
+        ImmutableList.of(target),
+        columns,
+        Results.of(columnHeaders, results),
+        calculationFunctions,
+        refData);
+    TradeReport report = TradeReportRunner.INSTANCE.runReport(rowResults, reportTemplate);
+    batch.add(TradeReportFormatter.INSTANCE.formatCsvRow(report, 0));
+    if (batch.size() >= batchSize) {
+      writeBatch();
+    }
+  }
+
+  @Override
+  protected void rowsComplete() {
+    writeBatch();
+  }
+
+  // writes the buffered rows and flushes the output
+  private void writeBatch() {
+    csvOutput.writeLines(batch, false);
+    batch.clear();
+    Unchecked.wrap(writer::flush);
+  }
+
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.trade;
+
+import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_3M;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static com.opengamma.strata.product.common.BuySell.BUY;
+import static com.opengamma.strata.product.common.BuySell.SELL;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.date.AdjustableDate;
+import com.opengamma.strata.calc.CalculationRules;
+import com.opengamma.strata.calc.CalculationRunner;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.runner.CalculationFunctions;
+import com.opengamma.strata.calc.runner.CalculationResult;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.measure.StandardComponents;
+import com.opengamma.strata.product.TradeInfo;
+import com.opengamma.strata.product.fra.Fra;
+import com.opengamma.strata.product.fra.FraTrade;
+import com.opengamma.strata.product.fra.type.FraConvention;
+import com.opengamma.strata.product.fra.type.FraTradeColumns;
+import com.opengamma.strata.report.ReportCalculationResults;
+
+/**
+ * Test {@link TradeReportCsvListener}.
+ */
+@Test
+public class TradeReportCsvListenerTest {
+
+  private static final LocalDate VAL_DATE = date(2015, 6, 30);
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final CalculationFunctions FUNCTIONS = StandardComponents.calculationFunctions();
+  private static final Column COLUMN = Column.of(Measure.of("PresentValue"));
+  private static final List<Column> COLUMNS = ImmutableList.of(COLUMN);
+  private static final TradeReportTemplate TEMPLATE = TradeReportTemplate.builder()
+      .columns(
+          TradeReportColumn.builder().header("Counterparty").value("Trade.Counterparty.Value").build(),
+          TradeReportColumn.builder().header("PV").value("Measures.PresentValue").build())
+      .build();
+  private static final List<CalculationTarget> TRADES = ImmutableList.of(
+      trade("cpty1", 1_000_000),
+      trade("cpty2", 10_000_000),
+      trade("cpty3", 100_000_000));
+  private static final List<Result<?>> RESULTS = ImmutableList.of(
+      Result.success(CurrencyAmount.of(Currency.GBP, 2d)),
+      Result.failure(FailureReason.CALCULATION_FAILED, "Failed"),
+      Result.success(CurrencyAmount.of(Currency.GBP, 4d)));
+
+  //-------------------------------------------------------------------------
+  public void test_matchesReport() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TradeReportCsvListener test = TradeReportCsvListener.of(TEMPLATE, VAL_DATE, FUNCTIONS, REF_DATA, out);
+    test.calculationsStarted(TRADES, COLUMNS);
+    // results arrive out of order
+    test.resultReceived(TRADES.get(2), CalculationResult.of(2, 0, RESULTS.get(2)));
+    test.resultReceived(TRADES.get(0), CalculationResult.of(0, 0, RESULTS.get(0)));
+    test.resultReceived(TRADES.get(1), CalculationResult.of(1, 0, RESULTS.get(1)));
+    test.calculationsComplete();
+
+    ReportCalculationResults results = ReportCalculationResults.of(
+        VAL_DATE, TRADES, COLUMNS, Results.of(ImmutableList.of(COLUMN.toHeader()), RESULTS), FUNCTIONS, REF_DATA);
+    TradeReport report = TradeReportRunner.INSTANCE.runReport(results, TEMPLATE);
+    ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    report.writeCsv(expected);
+    assertThat(out.toString(StandardCharsets.UTF_8.name())).isEqualTo(expected.toString(StandardCharsets.UTF_8.name()));
+  }
+
+  public void test_batches() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TradeReportCsvListener test = TradeReportCsvListener.of(TEMPLATE, VAL_DATE, FUNCTIONS, REF_DATA, out, 2);
+    test.calculationsStarted(TRADES, COLUMNS);
+    test.resultReceived(TRADES.get(1), CalculationResult.of(1, 0, RESULTS.get(1)));
+    test.resultReceived(TRADES.get(0), CalculationResult.of(0, 0, RESULTS.get(0)));
+    // the first batch of two rows has been written
+    String written = out.toString(StandardCharsets.UTF_8.name());
+    assertThat(written).contains("cpty1").contains("cpty2").doesNotContain("cpty3");
+
+    test.resultReceived(TRADES.get(2), CalculationResult.of(2, 0, RESULTS.get(2)));
+    assertThat(out.toString(StandardCharsets.UTF_8.name())).isEqualTo(written);
+    test.calculationsComplete();
+    assertThat(out.toString(StandardCharsets.UTF_8.name())).startsWith(written).contains("cpty3");
+  }
+
+  public void test_targetReferences() throws Exception {
+    // the rows are produced from the trades created from the references held by the runner
+    FraTradeColumns book = FraTradeColumns.builder(FraConvention.of(GBP_LIBOR_3M))
+        .add(StandardId.of("OG", "1"), VAL_DATE, date(2015, 8, 5), date(2015, 11, 5), date(2015, 8, 7), BUY, 1e6, 0.01)
+        .add(StandardId.of("OG", "2"), VAL_DATE, date(2015, 9, 5), date(2015, 12, 5), date(2015, 9, 7), SELL, 2e6, 0.02)
+        .build();
+    TradeReportTemplate template = TradeReportTemplate.builder()
+        .columns(
+            TradeReportColumn.builder().header("Id").value("Trade.Id.Value").build(),
+            TradeReportColumn.builder().header("Notional").value("Product.Notional").build(),
+            TradeReportColumn.builder().header("PV").value("Measures.PresentValue").build())
+        .build();
+    CalculationRules rules = CalculationRules.of(FUNCTIONS);
+    CalculationRunner runner = CalculationRunner.of(MoreExecutors.newDirectExecutorService());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TradeReportCsvListener test = TradeReportCsvListener.of(template, VAL_DATE, FUNCTIONS, REF_DATA, out);
+    runner.calculateAsync(rules, book.asTargets(), COLUMNS, MarketData.empty(VAL_DATE), REF_DATA, test);
+
+    Results calculated = runner.calculate(rules, book.asTrades(), COLUMNS, MarketData.empty(VAL_DATE), REF_DATA);
+    ReportCalculationResults results = ReportCalculationResults.of(
+        VAL_DATE, book.asTrades(), COLUMNS, calculated, FUNCTIONS, REF_DATA);
+    TradeReport report = TradeReportRunner.INSTANCE.runReport(results, template);
+    ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    report.writeCsv(expected);
+    String written = out.toString(StandardCharsets.UTF_8.name());
+    assertThat(written).isEqualTo(expected.toString(StandardCharsets.UTF_8.name()));
+    assertThat(written).contains("1,1000000").contains("2,2000000");
+
+    // reports can also be run on the references
+    ReportCalculationResults referenceResults = ReportCalculationResults.of(
+        VAL_DATE, book.asTargets(), COLUMNS, calculated, FUNCTIONS, REF_DATA);
+    ByteArrayOutputStream referenceOut = new ByteArrayOutputStream();
+    TradeReportRunner.INSTANCE.runReport(referenceResults, template).writeCsv(referenceOut);
+    assertThat(referenceOut.toString(StandardCharsets.UTF_8.name())).isEqualTo(written);
+  }
+
+  //-------------------------------------------------------------------------
+  private static FraTrade trade(String counterparty, double notional) {
+    TradeInfo tradeInfo = TradeInfo.builder()
+        .counterparty(StandardId.of("cpty", counterparty))
+        .build();
+    Fra fra = Fra.builder()
+        .buySell(BUY)
+        .notional(notional)
+        .startDate(date(2015, 8, 5))
+        .endDate(date(2015, 11, 5))
+        .paymentDate(AdjustableDate.of(date(2015, 8, 7)))
+        .fixedRate(0.25d)
+        .index(GBP_LIBOR_3M)
+        .build();
+    return FraTrade.builder()
+        .info(tradeInfo)
+        .product(fra)
+        .build();
+  }
+
+}